@@ -0,0 +1,70 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config;
+
+import com.github.pjungermann.config.validation.ConfigValidationException;
+import com.github.pjungermann.config.validation.ConfigValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup benchmark of the {@link Application}: creating the components
+ * and running a first small validation within a new JVM for each measurement,
+ * using the plain Java wiring ({@link ApplicationComponents#create()})
+ * or the Spring context with classpath scanning.
+ *
+ * @author Patrick Jungermann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 10, jvmArgsAppend = "-Dlog4j.configuration=log4j-benchmark.properties")
+public class StartupBenchmark {
+
+    static final String TEST_RESOURCES = "src/test/resources/";
+
+    @Benchmark
+    public Object plain() {
+        return validate(ApplicationComponents.create().validator);
+    }
+
+    @Benchmark
+    public Object spring() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(Application.class)) {
+            return validate(ApplicationComponents.of(context).validator);
+        }
+    }
+
+    private static Object validate(final ConfigValidator validator) {
+        try {
+            validator.validate(
+                    new String[]{TEST_RESOURCES + "collectionTypeTest/config_valid.groovy"},
+                    new String[]{TEST_RESOURCES + "collectionTypeTest/spec.groovy"},
+                    true,
+                    null,
+                    false
+            );
+            return null;
+
+        } catch (ConfigValidationException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.dataset;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+
+/**
+ * A generated dataset consisting of one config file
+ * and the matching specification files.
+ *
+ * @author Patrick Jungermann
+ */
+public class Dataset {
+
+    /**
+     * The generated config file.
+     */
+    public final File config;
+
+    /**
+     * Directory containing all generated specification files.
+     */
+    public final File specs;
+
+    /**
+     * The amount of flattened keys the config will contain once loaded.
+     */
+    public final long keys;
+
+    public Dataset(@NotNull final File config, @NotNull final File specs, final long keys) {
+        this.config = config;
+        this.specs = specs;
+        this.keys = keys;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(config=" + config + ", specs=" + specs + ", keys=" + keys + ")";
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.dataset;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single generated config entry with its position within the
+ * nested section structure, its {@link Kind} and derived values.
+ *
+ * All values get derived from the entry's {@link #hash} only,
+ * which makes the generated dataset fully reproducible.
+ *
+ * @author Patrick Jungermann
+ */
+public class DatasetEntry {
+
+    /**
+     * The kind of an entry which defines its value and the
+     * constraints used for it within the specification.
+     */
+    public enum Kind {
+        TEXT("name"),
+        PORT("port"),
+        TIMEOUT("timeout"),
+        FLAG("enabled"),
+        FEATURE("feature"),
+        URL("url"),
+        EMAIL("email"),
+        IP("ip"),
+        CREDIT_CARD("card"),
+        COLLECTION("items"),
+        VALIDATED("token");
+
+        /**
+         * Prefix used for the entry names of this kind.
+         */
+        public final String prefix;
+
+        Kind(@NotNull final String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    static final String[] CREDIT_CARDS = {"4111111111111111", "5555555555554444", "378282246310005"};
+
+    public final int index;
+    public final String[] sections;
+    public final String name;
+    public final Kind kind;
+    public final long hash;
+    public final boolean invalid;
+    public final int collectionSize;
+
+    DatasetEntry(final int index,
+                 @NotNull final String[] sections,
+                 @NotNull final Kind kind,
+                 final long hash,
+                 final boolean invalid,
+                 final int collectionSize) {
+        this.index = index;
+        this.sections = sections;
+        this.name = kind.prefix + index;
+        this.kind = kind;
+        this.hash = hash;
+        this.invalid = invalid;
+        this.collectionSize = collectionSize;
+    }
+
+    /**
+     * @return the flattened key of this entry.
+     */
+    @NotNull
+    public String key() {
+        return String.join(".", sections) + "." + name;
+    }
+
+    /**
+     * @return whether a URL or email value uses a custom TLD.
+     */
+    public boolean usesCustomTLD() {
+        return (hash & 1) == 0;
+    }
+
+    /**
+     * @return the typed value of this entry,
+     *          e.g. an {@link Integer} for {@link Kind#PORT}.
+     */
+    @NotNull
+    public Object value() {
+        final long positive = hash >>> 1;
+        switch (kind) {
+            case TEXT:
+                return invalid ? "INVALID VALUE" : "value-" + positive % 100000;
+
+            case PORT:
+                return invalid ? 70000 : (int) (1 + positive % 65535);
+
+            case TIMEOUT:
+                return invalid ? 1.23456d : (positive % 1000000) / 1000d;
+
+            case FLAG:
+                return invalid ? "maybe" : (positive & 1) == 0;
+
+            case FEATURE:
+                return invalid ? "unknown-feature" : "feature-" + positive % SyntheticConfigGenerator.FEATURES;
+
+            case URL:
+                if (invalid) {
+                    return "not a url";
+                }
+                return "https://host" + positive % 1000
+                        + (usesCustomTLD() ? ".internal" : ".example.com")
+                        + ":" + (1024 + positive % 1000) + "/path/" + index;
+
+            case EMAIL:
+                if (invalid) {
+                    return "not-an-email";
+                }
+                return "user" + positive % 1000 + "@" + (usesCustomTLD() ? "team.corp" : "example.org");
+
+            case IP:
+                if (invalid) {
+                    return "999.1.1.1";
+                }
+                return "10." + (positive & 0xff) + "." + ((positive >>> 8) & 0xff) + "." + (1 + (positive >>> 16) % 254);
+
+            case CREDIT_CARD:
+                return invalid ? "1234567890123456" : CREDIT_CARDS[(int) (positive % CREDIT_CARDS.length)];
+
+            case COLLECTION:
+                return collection();
+
+            case VALIDATED:
+                return invalid ? "x" + positive % 1000 : "v" + positive % 1000;
+
+            default:
+                throw new IllegalStateException("unsupported kind " + kind);
+        }
+    }
+
+    /**
+     * @return the items of a {@link Kind#COLLECTION} entry.
+     */
+    @NotNull
+    public List<CollectionItem> collection() {
+        final List<CollectionItem> items = new ArrayList<>(collectionSize);
+        for (int i = 0; i < collectionSize; i++) {
+            items.add(new CollectionItem("item-" + i, collectionPort(i)));
+        }
+
+        return items;
+    }
+
+    /**
+     * @param item    index of the collection item.
+     * @return the port of the collection item.
+     */
+    public int collectionPort(final int item) {
+        if (invalid && item == 0) {
+            return 0;
+        }
+
+        return (int) (1 + ((hash >>> 1) + item) % 65535);
+    }
+
+    /**
+     * Item of a {@link Kind#COLLECTION} entry.
+     */
+    public static class CollectionItem {
+        public final String name;
+        public final int port;
+
+        CollectionItem(@NotNull final String name, final int port) {
+            this.name = name;
+            this.port = port;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.dataset;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Config formats supported by the {@link SyntheticConfigGenerator}.
+ *
+ * @author Patrick Jungermann
+ */
+public enum DatasetFormat {
+
+    GROOVY("groovy", true, true),
+    INI("ini", false, false),
+    JSON("json", true, true),
+    PROPERTIES("properties", false, false),
+    YAML("yaml", true, true);
+
+    /**
+     * File extension used for the config file.
+     */
+    public final String extension;
+
+    /**
+     * Whether the format can represent collections at all.
+     * If not, collections get written as a delimited text value.
+     */
+    public final boolean collections;
+
+    /**
+     * Whether the format provides typed values (numbers, booleans, ...)
+     * or only text values which need a type conversion ({@code as})
+     * within the specification.
+     */
+    public final boolean typed;
+
+    DatasetFormat(@NotNull final String extension, final boolean collections, final boolean typed) {
+        this.extension = extension;
+        this.collections = collections;
+        this.typed = typed;
+    }
+
+    /**
+     * @return whether collections get kept as collection value by the
+     *          {@link com.github.pjungermann.config.types.ConfigConverter converter}
+     *          or flattened into indexed keys instead (i.e. {@code key.0.name}).
+     */
+    public boolean keepsCollections() {
+        return this == GROOVY || this == JSON;
+    }
+
+    /**
+     * @param formats    Comma-separated list of format names, e.g. {@code "json,yaml"}.
+     * @return the parsed formats.
+     */
+    @NotNull
+    public static List<DatasetFormat> parse(@NotNull final String formats) {
+        final List<DatasetFormat> parsed = new ArrayList<>();
+        for (final String format : formats.split(",")) {
+            parsed.add(valueOf(format.trim().toUpperCase(Locale.ROOT)));
+        }
+
+        return parsed;
+    }
+}
@@ -0,0 +1,809 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.dataset;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.github.pjungermann.config.dataset.DatasetEntry.CollectionItem;
+import com.github.pjungermann.config.dataset.DatasetEntry.Kind;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Generates large synthetic configs for scale tests and benchmarks
+ * together with matching Groovy DSL specifications which make use of all
+ * registered constraints.
+ *
+ * <p>
+ * The generated data is fully deterministic for a given seed and set of
+ * parameters, so that benchmark results of different runs can be compared.
+ * Entries get grouped into sections of {@link #entriesPerSection} entries
+ * which get nested with a fan-out of {@link #fanOut} and a depth of at least
+ * {@link #minDepth}. Collections of 1 to 10 items get generated regularly,
+ * while some of them will contain {@link #largeCollectionSize} items.
+ * </p>
+ *
+ * <p>
+ * The specification gets split into multiple files at
+ * {@value #SPECIFICATION_CHUNK_SIZE} definitions each, as Groovy does not
+ * support methods exceeding 64kb and the whole specification file will
+ * end up in one method.
+ * </p>
+ *
+ * @author Patrick Jungermann
+ */
+public class SyntheticConfigGenerator {
+
+    public static final long DEFAULT_SEED = 42L;
+    public static final int DEFAULT_FAN_OUT = 10;
+    public static final int DEFAULT_MIN_DEPTH = 3;
+    public static final int DEFAULT_ENTRIES_PER_SECTION = 50;
+    public static final int DEFAULT_LARGE_COLLECTION_SIZE = 1000;
+    public static final int SPECIFICATION_CHUNK_SIZE = 250;
+    public static final int FEATURES = 2000;
+
+    /**
+     * Collections with more items than this will be written as
+     * generating expression for Groovy configs to not exceed the
+     * method size limit.
+     */
+    static final int INLINE_COLLECTION_LIMIT = 20;
+
+    static final String CONFIG_FILE_NAME = "config";
+    static final String SPECIFICATIONS_DIR_NAME = "specs";
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    private final int keys;
+    private final int fanOut;
+    private final int minDepth;
+    private final int entriesPerSection;
+    private final int largeCollectionSize;
+    private final double invalidRatio;
+    private final int depth;
+
+    /**
+     * @param seed    The seed used to derive all values from.
+     * @param keys    The amount of entries to generate.
+     */
+    public SyntheticConfigGenerator(final long seed, final int keys) {
+        this(seed, keys, DEFAULT_FAN_OUT, DEFAULT_MIN_DEPTH, DEFAULT_ENTRIES_PER_SECTION,
+                DEFAULT_LARGE_COLLECTION_SIZE, 0d);
+    }
+
+    /**
+     * @param seed                   The seed used to derive all values from.
+     * @param keys                   The amount of entries to generate.
+     * @param fanOut                 The amount of child sections per section.
+     * @param minDepth               The minimal nesting depth of the sections.
+     * @param entriesPerSection      The amount of entries per (leaf) section.
+     * @param largeCollectionSize    The amount of items used for large collections.
+     * @param invalidRatio           The ratio of entries which will get an invalid value
+     *                               ({@code 0} to {@code 1}).
+     */
+    public SyntheticConfigGenerator(final long seed,
+                                    final int keys,
+                                    final int fanOut,
+                                    final int minDepth,
+                                    final int entriesPerSection,
+                                    final int largeCollectionSize,
+                                    final double invalidRatio) {
+        if (keys < 1 || fanOut < 2 || minDepth < 1 || entriesPerSection < 1 || largeCollectionSize < 1) {
+            throw new IllegalArgumentException("keys, fanOut, minDepth, entriesPerSection and "
+                    + "largeCollectionSize need to be positive (fanOut > 1)");
+        }
+        if (invalidRatio < 0d || invalidRatio > 1d) {
+            throw new IllegalArgumentException("invalidRatio needs to be between 0 and 1: " + invalidRatio);
+        }
+
+        this.seed = seed;
+        this.keys = keys;
+        this.fanOut = fanOut;
+        this.minDepth = minDepth;
+        this.entriesPerSection = entriesPerSection;
+        this.largeCollectionSize = largeCollectionSize;
+        this.invalidRatio = invalidRatio;
+        this.depth = calculateDepth();
+    }
+
+    private int calculateDepth() {
+        final int sections = (keys + entriesPerSection - 1) / entriesPerSection;
+
+        int depth = 1;
+        long capacity = fanOut;
+        while (capacity < sections) {
+            capacity *= fanOut;
+            depth++;
+        }
+
+        return Math.max(depth, minDepth);
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     */
+    static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * @param index    The index of the entry.
+     * @return the entry at the given index.
+     */
+    @NotNull
+    public DatasetEntry entry(final int index) {
+        final long hash = mix(seed + (index + 1) * GOLDEN_GAMMA);
+        final long secondary = mix(hash);
+
+        final Kind[] kinds = Kind.values();
+        final Kind kind = kinds[(int) ((hash >>> 1) % kinds.length)];
+        final boolean invalid = (secondary >>> 11) * 0x1.0p-53 < invalidRatio;
+
+        int collectionSize = 0;
+        if (kind == Kind.COLLECTION) {
+            final int selector = (int) ((secondary >>> 1) % 100);
+            collectionSize = selector == 0 ? largeCollectionSize : 1 + selector % 10;
+        }
+
+        return new DatasetEntry(index, sections(index), kind, hash, invalid, collectionSize);
+    }
+
+    @NotNull
+    private String[] sections(final int index) {
+        int section = index / entriesPerSection;
+
+        final String[] sections = new String[depth];
+        for (int level = depth - 1; level >= 0; level--) {
+            sections[level] = "s" + section % fanOut;
+            section /= fanOut;
+        }
+
+        return sections;
+    }
+
+    /**
+     * Generates the config file and the matching specification files
+     * into the target directory.
+     *
+     * @param targetDir    The directory to write the dataset to.
+     * @param format       The format of the config file.
+     * @return the generated {@link Dataset}.
+     * @throws IOException if the files could not be written.
+     */
+    @NotNull
+    public Dataset generate(@NotNull final File targetDir, @NotNull final DatasetFormat format) throws IOException {
+        final File specsDir = new File(targetDir, SPECIFICATIONS_DIR_NAME);
+        if (!specsDir.isDirectory() && !specsDir.mkdirs()) {
+            throw new IOException("could not create the directory " + specsDir);
+        }
+
+        final File configFile = new File(targetDir, CONFIG_FILE_NAME + "." + format.extension);
+        final long flattenedKeys;
+        try (final ConfigWriter configWriter = configWriter(configFile, format);
+             final SpecificationWriter specWriter = new SpecificationWriter(specsDir, format)) {
+            flattenedKeys = write(configWriter, specWriter);
+        }
+
+        return new Dataset(configFile, specsDir, flattenedKeys);
+    }
+
+    /**
+     * Returns the dataset for the given parameters, generated with the
+     * default settings, from the cache directory and generates it only if
+     * it was not generated before.
+     *
+     * @param cacheDir    The base directory for generated datasets.
+     * @param seed        The seed used to derive all values from.
+     * @param keys        The amount of entries to generate.
+     * @param format      The format of the config file.
+     * @return the (cached) dataset.
+     * @throws IOException if the dataset could not be written.
+     */
+    @NotNull
+    public static Dataset cached(@NotNull final File cacheDir,
+                                 final long seed,
+                                 final int keys,
+                                 @NotNull final DatasetFormat format) throws IOException {
+        final File targetDir = new File(cacheDir, seed + "-" + keys + "/" + format.extension);
+        final File marker = new File(targetDir, ".complete");
+        final SyntheticConfigGenerator generator = new SyntheticConfigGenerator(seed, keys);
+
+        if (marker.isFile()) {
+            final String flattenedKeys = new String(Files.readAllBytes(marker.toPath()), StandardCharsets.UTF_8);
+            return new Dataset(
+                    new File(targetDir, CONFIG_FILE_NAME + "." + format.extension),
+                    new File(targetDir, SPECIFICATIONS_DIR_NAME),
+                    Long.parseLong(flattenedKeys.trim())
+            );
+        }
+
+        final Dataset dataset = generator.generate(targetDir, format);
+        Files.write(marker.toPath(), String.valueOf(dataset.keys).getBytes(StandardCharsets.UTF_8));
+
+        return dataset;
+    }
+
+    private long write(@NotNull final ConfigWriter configWriter,
+                       @NotNull final SpecificationWriter specWriter) throws IOException {
+        long flattenedKeys = 0;
+
+        String[] previous = new String[0];
+        for (int i = 0; i < keys; i++) {
+            final DatasetEntry entry = entry(i);
+
+            int common = 0;
+            while (common < previous.length && previous[common].equals(entry.sections[common])) {
+                common++;
+            }
+            for (int level = previous.length - 1; level >= common; level--) {
+                configWriter.closeSection(previous, level);
+            }
+            for (int level = common; level < entry.sections.length; level++) {
+                configWriter.openSection(entry.sections, level);
+            }
+
+            configWriter.entry(entry);
+            flattenedKeys += specWriter.entry(entry);
+            previous = entry.sections;
+        }
+        for (int level = previous.length - 1; level >= 0; level--) {
+            configWriter.closeSection(previous, level);
+        }
+
+        return flattenedKeys;
+    }
+
+    @NotNull
+    private ConfigWriter configWriter(@NotNull final File file, @NotNull final DatasetFormat format)
+            throws IOException {
+        switch (format) {
+            case GROOVY:
+                return new GroovyConfigWriter(file);
+            case INI:
+                return new IniConfigWriter(file);
+            case JSON:
+                return new JsonConfigWriter(file);
+            case PROPERTIES:
+                return new PropertiesConfigWriter(file);
+            case YAML:
+                return new YamlConfigWriter(file);
+            default:
+                throw new IllegalArgumentException("unsupported format " + format);
+        }
+    }
+
+    @NotNull
+    static BufferedWriter newWriter(@NotNull final File file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param entry    The collection entry.
+     * @return the collection as text value for formats without collection support.
+     */
+    @NotNull
+    static String collectionAsText(@NotNull final DatasetEntry entry) {
+        if (entry.invalid) {
+            return "broken";
+        }
+
+        final StringBuilder builder = new StringBuilder();
+        for (final CollectionItem item : entry.collection()) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(item.name).append(':').append(item.port);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Writes the config in a streaming fashion.
+     */
+    interface ConfigWriter extends Closeable {
+
+        void openSection(@NotNull String[] sections, int level) throws IOException;
+
+        void closeSection(@NotNull String[] sections, int level) throws IOException;
+
+        void entry(@NotNull DatasetEntry entry) throws IOException;
+    }
+
+    static class GroovyConfigWriter implements ConfigWriter {
+
+        private final BufferedWriter writer;
+
+        GroovyConfigWriter(@NotNull final File file) throws IOException {
+            writer = newWriter(file);
+        }
+
+        private void indent(final int level) throws IOException {
+            for (int i = 0; i < level; i++) {
+                writer.write("    ");
+            }
+        }
+
+        @Override
+        public void openSection(@NotNull final String[] sections, final int level) throws IOException {
+            indent(level);
+            writer.write(sections[level]);
+            writer.write(" {\n");
+        }
+
+        @Override
+        public void closeSection(@NotNull final String[] sections, final int level) throws IOException {
+            indent(level);
+            writer.write("}\n");
+        }
+
+        @Override
+        public void entry(@NotNull final DatasetEntry entry) throws IOException {
+            indent(entry.sections.length);
+            writer.write(entry.name);
+            writer.write(" = ");
+
+            if (entry.kind == Kind.COLLECTION) {
+                writeCollection(entry);
+
+            } else {
+                final Object value = entry.value();
+                if (value instanceof String) {
+                    writer.write('\'');
+                    writer.write((String) value);
+                    writer.write('\'');
+
+                } else if (value instanceof Double) {
+                    writer.write(value.toString());
+                    writer.write('d');
+
+                } else {
+                    writer.write(value.toString());
+                }
+            }
+
+            writer.write('\n');
+        }
+
+        private void writeCollection(@NotNull final DatasetEntry entry) throws IOException {
+            if (entry.collectionSize > INLINE_COLLECTION_LIMIT) {
+                // same as DatasetEntry#collectionPort(int)
+                final String port = "(int) ((" + (entry.hash >>> 1) + "L + it) % 65535 + 1)";
+                writer.write("(0..<" + entry.collectionSize + ").collect { [name: 'item-' + it, port: "
+                        + (entry.invalid ? "it == 0 ? 0 : " + port : port) + "] }");
+                return;
+            }
+
+            writer.write('[');
+            boolean first = true;
+            for (final CollectionItem item : entry.collection()) {
+                if (!first) {
+                    writer.write(", ");
+                }
+                first = false;
+                writer.write("[name: '" + item.name + "', port: " + item.port + "]");
+            }
+            writer.write(']');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    static class IniConfigWriter implements ConfigWriter {
+
+        private final BufferedWriter writer;
+
+        IniConfigWriter(@NotNull final File file) throws IOException {
+            writer = newWriter(file);
+        }
+
+        @Override
+        public void openSection(@NotNull final String[] sections, final int level) throws IOException {
+            if (level == sections.length - 1) {
+                writer.write("[" + String.join(".", sections) + "]\n");
+            }
+        }
+
+        @Override
+        public void closeSection(@NotNull final String[] sections, final int level) throws IOException {
+            if (level == sections.length - 1) {
+                writer.write('\n');
+            }
+        }
+
+        @Override
+        public void entry(@NotNull final DatasetEntry entry) throws IOException {
+            final Object value = entry.kind == Kind.COLLECTION ? collectionAsText(entry) : entry.value();
+            writer.write(entry.name + " = " + value + "\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    static class JsonConfigWriter implements ConfigWriter {
+
+        private final JsonGenerator generator;
+
+        JsonConfigWriter(@NotNull final File file) throws IOException {
+            generator = new JsonFactory().createGenerator(file, JsonEncoding.UTF8);
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+        }
+
+        @Override
+        public void openSection(@NotNull final String[] sections, final int level) throws IOException {
+            generator.writeObjectFieldStart(sections[level]);
+        }
+
+        @Override
+        public void closeSection(@NotNull final String[] sections, final int level) throws IOException {
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void entry(@NotNull final DatasetEntry entry) throws IOException {
+            generator.writeFieldName(entry.name);
+            if (entry.kind == Kind.COLLECTION) {
+                generator.writeStartArray();
+                for (final CollectionItem item : entry.collection()) {
+                    generator.writeStartObject();
+                    generator.writeStringField("name", item.name);
+                    generator.writeNumberField("port", item.port);
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                return;
+            }
+
+            final Object value = entry.value();
+            if (value instanceof Integer) {
+                generator.writeNumber((Integer) value);
+
+            } else if (value instanceof Double) {
+                generator.writeNumber((Double) value);
+
+            } else if (value instanceof Boolean) {
+                generator.writeBoolean((Boolean) value);
+
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+
+    static class PropertiesConfigWriter implements ConfigWriter {
+
+        private final BufferedWriter writer;
+
+        PropertiesConfigWriter(@NotNull final File file) throws IOException {
+            writer = newWriter(file);
+        }
+
+        @Override
+        public void openSection(@NotNull final String[] sections, final int level) throws IOException {
+            // flat format
+        }
+
+        @Override
+        public void closeSection(@NotNull final String[] sections, final int level) throws IOException {
+            // flat format
+        }
+
+        @Override
+        public void entry(@NotNull final DatasetEntry entry) throws IOException {
+            final Object value = entry.kind == Kind.COLLECTION ? collectionAsText(entry) : entry.value();
+            writer.write(entry.key() + "=" + value + "\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    static class YamlConfigWriter implements ConfigWriter {
+
+        private final BufferedWriter writer;
+
+        YamlConfigWriter(@NotNull final File file) throws IOException {
+            writer = newWriter(file);
+        }
+
+        private void indent(final int level) throws IOException {
+            for (int i = 0; i < level; i++) {
+                writer.write("  ");
+            }
+        }
+
+        @Override
+        public void openSection(@NotNull final String[] sections, final int level) throws IOException {
+            indent(level);
+            writer.write(sections[level]);
+            writer.write(":\n");
+        }
+
+        @Override
+        public void closeSection(@NotNull final String[] sections, final int level) throws IOException {
+            // indentation based
+        }
+
+        @Override
+        public void entry(@NotNull final DatasetEntry entry) throws IOException {
+            final int level = entry.sections.length;
+            indent(level);
+            writer.write(entry.name);
+            writer.write(':');
+
+            if (entry.kind == Kind.COLLECTION) {
+                writer.write('\n');
+                for (final CollectionItem item : entry.collection()) {
+                    indent(level + 1);
+                    writer.write("- name: \"" + item.name + "\"\n");
+                    indent(level + 2);
+                    writer.write("port: " + item.port + "\n");
+                }
+                return;
+            }
+
+            final Object value = entry.value();
+            writer.write(' ');
+            if (value instanceof String) {
+                writer.write('"');
+                writer.write((String) value);
+                writer.write('"');
+
+            } else {
+                writer.write(value.toString());
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes the specification for all entries,
+     * split into chunks of {@value #SPECIFICATION_CHUNK_SIZE} definitions.
+     */
+    class SpecificationWriter implements Closeable {
+
+        private final File dir;
+        private final DatasetFormat format;
+        private BufferedWriter writer;
+        private int chunk = 0;
+        private int definitions = 0;
+
+        SpecificationWriter(@NotNull final File dir, @NotNull final DatasetFormat format) {
+            this.dir = dir;
+            this.format = format;
+        }
+
+        private void definition(@NotNull final String key, @NotNull final String constraints) throws IOException {
+            if (writer == null || definitions >= SPECIFICATION_CHUNK_SIZE) {
+                nextChunk();
+            }
+
+            writer.write("\"" + key + "\"(" + constraints + ")\n");
+            definitions++;
+        }
+
+        private void nextChunk() throws IOException {
+            close();
+
+            final String name = String.format(Locale.ROOT, "spec-%05d.groovy", chunk++);
+            writer = newWriter(new File(dir, name));
+            writer.write("// generated by " + SyntheticConfigGenerator.class.getSimpleName()
+                    + " (seed=" + seed + ", keys=" + keys + ", format=" + format.extension + ")\n");
+            writer.write("def FEATURES = (0..<" + FEATURES + ").collect { 'feature-' + it }\n");
+            writer.write("def STARTS_WITH_V = { config, key, value -> value.toString().startsWith('v') }\n\n");
+            definitions = 0;
+        }
+
+        /**
+         * @param entry    The entry to write the specification for.
+         * @return the amount of flattened keys of the entry.
+         */
+        long entry(@NotNull final DatasetEntry entry) throws IOException {
+            final String key = entry.key();
+            final String as = format.typed ? "" : "as: %s, ";
+
+            switch (entry.kind) {
+                case TEXT:
+                    definition(key, "nullable: false, blank: false, matches: /[a-z]+-\\d+/, minSize: 7, maxSize: 32");
+                    break;
+
+                case PORT:
+                    definition(key, String.format(as, "Integer") + "nullable: false, min: 1, max: 65535");
+                    break;
+
+                case TIMEOUT:
+                    definition(key, String.format(as, "Double") + "nullable: false, min: 0d, max: 1000d, scale: 3");
+                    break;
+
+                case FLAG:
+                    definition(key, "nullable: false, inList: "
+                            + (format.typed ? "[true, false]" : "['true', 'false']"));
+                    break;
+
+                case FEATURE:
+                    definition(key, "nullable: false, inList: FEATURES");
+                    break;
+
+                case URL:
+                    definition(key, "nullable: false, url: "
+                            + (entry.usesCustomTLD() ? "[customTLDs: ['internal']]" : "true"));
+                    break;
+
+                case EMAIL:
+                    definition(key, "nullable: false, email: "
+                            + (entry.usesCustomTLD() ? "[customTLDs: ['corp']]" : "true"));
+                    break;
+
+                case IP:
+                    definition(key, "nullable: false, inetAddress: 'IPv4'");
+                    break;
+
+                case CREDIT_CARD:
+                    definition(key, "nullable: false, creditCard: true");
+                    break;
+
+                case COLLECTION:
+                    return collection(entry);
+
+                case VALIDATED:
+                    definition(key, "nullable: false, validator: STARTS_WITH_V");
+                    break;
+
+                default:
+                    throw new IllegalStateException("unsupported kind " + entry.kind);
+            }
+
+            return 1;
+        }
+
+        private long collection(@NotNull final DatasetEntry entry) throws IOException {
+            final String key = entry.key();
+
+            if (!format.collections) {
+                // possessive quantifiers, as backtracking would overflow the stack for large collections
+                definition(key, "nullable: false, matches: /(?:item-\\d++:\\d++,)*+item-\\d++:\\d++/");
+                return 1;
+            }
+
+            if (format.keepsCollections()) {
+                definition(key, "nullable: false, size: 1.." + largeCollectionSize);
+                definition(key + ".[*].name", "matches: /item-\\d+/");
+                definition(key + ".[*].port", "range: 1..65535");
+                return 1;
+            }
+
+            for (int i = 0; i < entry.collectionSize; i++) {
+                definition(key + "." + i + ".name", "nullable: false, matches: /item-\\d+/");
+                definition(key + "." + i + ".port", "nullable: false, range: 1..65535");
+            }
+
+            return 2L * entry.collectionSize;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        }
+    }
+
+    /**
+     * Generates datasets from the command line.
+     *
+     * <pre>
+     * SyntheticConfigGenerator &lt;targetDir&gt; [keys=1000] [seed=42] [formats=groovy,ini,json,properties,yaml]
+     *     [invalidRatio=0] [fanOut=10] [minDepth=3] [entriesPerSection=50] [largeCollectionSize=1000]
+     * </pre>
+     *
+     * @param args    the target directory followed by optional {@code name=value} parameters.
+     * @throws IOException if the dataset could not be written.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: " + SyntheticConfigGenerator.class.getSimpleName()
+                    + " <targetDir> [keys=1000] [seed=42] [formats=groovy,ini,json,properties,yaml]"
+                    + " [invalidRatio=0] [fanOut=10] [minDepth=3] [entriesPerSection=50]"
+                    + " [largeCollectionSize=1000]");
+            System.exit(1);
+        }
+
+        final File targetDir = new File(args[0]);
+        int keys = 1000;
+        long seed = DEFAULT_SEED;
+        List<DatasetFormat> formats = Arrays.asList(DatasetFormat.values());
+        double invalidRatio = 0d;
+        int fanOut = DEFAULT_FAN_OUT;
+        int minDepth = DEFAULT_MIN_DEPTH;
+        int entriesPerSection = DEFAULT_ENTRIES_PER_SECTION;
+        int largeCollectionSize = DEFAULT_LARGE_COLLECTION_SIZE;
+
+        for (int i = 1; i < args.length; i++) {
+            final String[] parameter = args[i].split("=", 2);
+            if (parameter.length != 2) {
+                throw new IllegalArgumentException("expected name=value, got: " + args[i]);
+            }
+
+            final String value = parameter[1];
+            switch (parameter[0]) {
+                case "keys":
+                    keys = Integer.parseInt(value);
+                    break;
+                case "seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "formats":
+                    formats = DatasetFormat.parse(value);
+                    break;
+                case "invalidRatio":
+                    invalidRatio = Double.parseDouble(value);
+                    break;
+                case "fanOut":
+                    fanOut = Integer.parseInt(value);
+                    break;
+                case "minDepth":
+                    minDepth = Integer.parseInt(value);
+                    break;
+                case "entriesPerSection":
+                    entriesPerSection = Integer.parseInt(value);
+                    break;
+                case "largeCollectionSize":
+                    largeCollectionSize = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown parameter: " + parameter[0]);
+            }
+        }
+
+        final SyntheticConfigGenerator generator = new SyntheticConfigGenerator(
+                seed, keys, fanOut, minDepth, entriesPerSection, largeCollectionSize, invalidRatio);
+        for (final DatasetFormat format : formats) {
+            final Dataset dataset = generator.generate(new File(targetDir, format.extension), format);
+            System.out.println(dataset);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.specification.constraint;
+
+import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.ConfigError;
+import com.github.pjungermann.config.reference.SourceLine;
+import com.github.pjungermann.config.specification.constraint.blank.BlankConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.creditCard.CreditCardConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.email.EmailConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.inList.InListConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.inetAddress.InetAddressConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.matches.MatchesConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.matches.RegexMode;
+import com.github.pjungermann.config.specification.constraint.max.MaxConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.maxSize.MaxSizeConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.min.MinConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.minSize.MinSizeConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.nullable.NullableConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.range.RangeConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.scale.ScaleConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.size.SizeConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.url.UrlConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.validator.ValidatorConstraintFactory;
+import groovy.lang.Closure;
+import groovy.lang.IntRange;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+
+/**
+ * Benchmarks for all {@link Constraint} implementations
+ * validating a valid value, either for a plain key
+ * or for all entries of a collection key.
+ *
+ * @author Patrick Jungermann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configuration=log4j-benchmark.properties")
+public class ConstraintBenchmark {
+
+    static final SourceLine SOURCE_LINE = new SourceLine(new File("benchmark.groovy"), 1);
+
+    static final int COLLECTION_SIZE = 10;
+
+    @Param({
+            "blank",
+            "creditCard",
+            "email",
+            "inList",
+            "inListLarge",
+            "inetAddress",
+            "matches",
+            "matchesLinear",
+            "max",
+            "maxSize",
+            "min",
+            "minSize",
+            "nullable",
+            "range",
+            "scale",
+            "size",
+            "url",
+            "urlCustomTLDs",
+            "validator"
+    })
+    public String constraint;
+
+    /**
+     * {@code plain} for a simple config key,
+     * {@code collection} for a collection key
+     * ({@code {key}.[*]}) applied to all entries.
+     */
+    @Param({"plain", "collection"})
+    public String keyType;
+
+    private Constraint instance;
+    private Config config;
+
+    @Setup
+    public void setUp() {
+        final ConstraintFactory factory;
+        final Object expectation;
+        final Object value;
+
+        switch (constraint) {
+            case "blank":
+                factory = new BlankConstraintFactory();
+                expectation = false;
+                value = "value";
+                break;
+
+            case "creditCard":
+                factory = new CreditCardConstraintFactory();
+                expectation = true;
+                value = "4111111111111111";
+                break;
+
+            case "email":
+                factory = new EmailConstraintFactory();
+                expectation = true;
+                value = "someone@example.com";
+                break;
+
+            case "inList":
+                factory = new InListConstraintFactory();
+                expectation = asList("eu-central-1", "eu-west-1", "us-east-1", "us-west-2");
+                value = "us-east-1";
+                break;
+
+            case "inListLarge":
+                factory = new InListConstraintFactory();
+                final List<String> regions = new ArrayList<>(5000);
+                for (int i = 0; i < 5000; i++) {
+                    regions.add("region-" + i);
+                }
+                expectation = regions;
+                value = "region-4999";
+                break;
+
+            case "inetAddress":
+                factory = new InetAddressConstraintFactory();
+                expectation = true;
+                value = "192.168.0.1";
+                break;
+
+            case "matches":
+                factory = new MatchesConstraintFactory();
+                expectation = "[a-z]+-\\d+";
+                value = "value-123";
+                break;
+
+            case "matchesLinear":
+                final MatchesConstraintFactory linearFactory = new MatchesConstraintFactory();
+                linearFactory.setDefaultMode(RegexMode.LINEAR);
+                factory = linearFactory;
+                expectation = "[a-z]+-\\d+";
+                value = "value-123";
+                break;
+
+            case "max":
+                factory = new MaxConstraintFactory();
+                expectation = 65535;
+                value = 8080;
+                break;
+
+            case "maxSize":
+                factory = new MaxSizeConstraintFactory();
+                expectation = 10;
+                value = "value";
+                break;
+
+            case "min":
+                factory = new MinConstraintFactory();
+                expectation = 1024;
+                value = 8080;
+                break;
+
+            case "minSize":
+                factory = new MinSizeConstraintFactory();
+                expectation = 1;
+                value = "value";
+                break;
+
+            case "nullable":
+                factory = new NullableConstraintFactory();
+                expectation = false;
+                value = "value";
+                break;
+
+            case "range":
+                factory = new RangeConstraintFactory();
+                expectation = new IntRange(true, 1024, 65535);
+                value = 8080;
+                break;
+
+            case "scale":
+                factory = new ScaleConstraintFactory();
+                expectation = 2;
+                value = 12.5D;
+                break;
+
+            case "size":
+                factory = new SizeConstraintFactory();
+                expectation = new IntRange(true, 1, 10);
+                value = "value";
+                break;
+
+            case "url":
+                factory = new UrlConstraintFactory();
+                expectation = true;
+                value = "https://example.com/path?query=value";
+                break;
+
+            case "urlCustomTLDs":
+                factory = new UrlConstraintFactory();
+                expectation = singletonMap(
+                        "customTLDs",
+                        asList("corp", "dev", "home", "internal", "intranet", "lan", "local", "localdomain", "test")
+                );
+                value = "https://service.internal:8443/path?query=value";
+                break;
+
+            case "validator":
+                factory = new ValidatorConstraintFactory();
+                expectation = new Closure<Boolean>(this) {
+                    @Override
+                    public Boolean call(final Object... args) {
+                        return args.length == 3 && args[2] != null;
+                    }
+                };
+                value = "value";
+                break;
+
+            default:
+                throw new IllegalArgumentException("unsupported constraint: " + constraint);
+        }
+
+        config = new Config();
+        switch (keyType) {
+            case "plain":
+                instance = factory.create("benchmark.key", expectation, SOURCE_LINE);
+                config.put("benchmark.key", value);
+                break;
+
+            case "collection":
+                instance = factory.create("benchmark.list.[*]", expectation, SOURCE_LINE);
+                final List<Object> values = new ArrayList<>(COLLECTION_SIZE);
+                for (int i = 0; i < COLLECTION_SIZE; i++) {
+                    values.add(value);
+                }
+                config.put("benchmark.list", values);
+                break;
+
+            default:
+                throw new IllegalArgumentException("unsupported key type: " + keyType);
+        }
+
+        if (instance.validate(config) != null) {
+            throw new IllegalStateException("benchmark value is expected to be valid: " + instance);
+        }
+    }
+
+    @Benchmark
+    public ConfigError validate() {
+        return instance.validate(config);
+    }
+}
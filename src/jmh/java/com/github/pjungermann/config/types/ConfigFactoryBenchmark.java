@@ -0,0 +1,124 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.types;
+
+import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.DefaultKeyBuilder;
+import com.github.pjungermann.config.KeyBuilder;
+import com.github.pjungermann.config.types.groovy.ConfigObjectConfigFactory;
+import com.github.pjungermann.config.types.groovy.ConfigObjectConverter;
+import com.github.pjungermann.config.types.ini.IniConfigFactory;
+import com.github.pjungermann.config.types.ini.IniConverter;
+import com.github.pjungermann.config.types.json.JsonConfigFactory;
+import com.github.pjungermann.config.types.json.JsonConverter;
+import com.github.pjungermann.config.types.properties.PropertiesConfigFactory;
+import com.github.pjungermann.config.types.properties.PropertiesConverter;
+import com.github.pjungermann.config.types.yaml.YamlConfigFactory;
+import com.github.pjungermann.config.types.yaml.YamlConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for all {@link ConfigFactory} implementations,
+ * parsing a config file and converting it into a {@link Config}.
+ *
+ * @author Patrick Jungermann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configuration=log4j-benchmark.properties")
+public class ConfigFactoryBenchmark {
+
+    static final File CONFIG_ROOT = new File("src/test/resources/configs");
+
+    @Param({"groovy", "ini", "json", "properties", "yaml"})
+    public String format;
+
+    private ConfigFactory factory;
+    private File source;
+    private Config context;
+
+    @Setup
+    public void setUp() {
+        final KeyBuilder keyBuilder = new DefaultKeyBuilder();
+
+        switch (format) {
+            case "groovy":
+                final ConfigObjectConverter configObjectConverter = new ConfigObjectConverter();
+                configObjectConverter.setKeyBuilder(keyBuilder);
+                final ConfigObjectConfigFactory configObjectConfigFactory = new ConfigObjectConfigFactory();
+                configObjectConfigFactory.setConverter(configObjectConverter);
+
+                factory = configObjectConfigFactory;
+                source = new File(CONFIG_ROOT, "config.groovy");
+                break;
+
+            case "ini":
+                final IniConverter iniConverter = new IniConverter();
+                iniConverter.setKeyBuilder(keyBuilder);
+                final IniConfigFactory iniConfigFactory = new IniConfigFactory();
+                iniConfigFactory.setConverter(iniConverter);
+
+                factory = iniConfigFactory;
+                source = new File(CONFIG_ROOT, "config.ini");
+                break;
+
+            case "json":
+                final JsonConverter jsonConverter = new JsonConverter();
+                jsonConverter.setKeyBuilder(keyBuilder);
+                final JsonConfigFactory jsonConfigFactory = new JsonConfigFactory();
+                jsonConfigFactory.setConverter(jsonConverter);
+
+                factory = jsonConfigFactory;
+                source = new File(CONFIG_ROOT, "config.json");
+                break;
+
+            case "properties":
+                final PropertiesConfigFactory propertiesConfigFactory = new PropertiesConfigFactory();
+                propertiesConfigFactory.setConverter(new PropertiesConverter());
+
+                factory = propertiesConfigFactory;
+                source = new File(CONFIG_ROOT, "sub-dir/config.properties");
+                break;
+
+            case "yaml":
+                final YamlConverter yamlConverter = new YamlConverter();
+                yamlConverter.setKeyBuilder(keyBuilder);
+                final YamlConfigFactory yamlConfigFactory = new YamlConfigFactory();
+                yamlConfigFactory.setConverter(yamlConverter);
+
+                factory = yamlConfigFactory;
+                source = new File(CONFIG_ROOT, "sub-dir/config.yaml");
+                break;
+
+            default:
+                throw new IllegalArgumentException("unsupported format: " + format);
+        }
+
+        context = new Config();
+    }
+
+    @Benchmark
+    public Config create() throws IOException, ConfigConversionException {
+        return factory.create(source, null, context);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import com.github.pjungermann.config.Application;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Macro benchmark for the whole {@link ConfigValidator} pipeline:
+ * loading the configs and specifications, type conversion,
+ * validation and error reporting.
+ *
+ * @author Patrick Jungermann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configuration=log4j-benchmark.properties")
+public class ConfigValidatorBenchmark {
+
+    static final String TEST_RESOURCES = "src/test/resources/";
+
+    /**
+     * <dl>
+     *     <dt>{@code collection-valid}</dt>
+     *     <dd>collection key constraints, valid config</dd>
+     *
+     *     <dt>{@code collection-invalid}</dt>
+     *     <dd>collection key constraints, invalid config</dd>
+     *
+     *     <dt>{@code all-formats}</dt>
+     *     <dd>all config formats, strict mode, validation errors</dd>
+     * </dl>
+     */
+    @Param({"collection-valid", "collection-invalid", "all-formats"})
+    public String scenario;
+
+    private AnnotationConfigApplicationContext context;
+    private ConfigValidator validator;
+
+    private String[] configs;
+    private String[] specs;
+    private boolean strict;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(Application.class);
+        validator = context.getBean(ConfigValidator.class);
+
+        switch (scenario) {
+            case "collection-valid":
+                configs = new String[]{TEST_RESOURCES + "collectionTypeTest/config_valid.groovy"};
+                specs = new String[]{TEST_RESOURCES + "collectionTypeTest/spec.groovy"};
+                strict = false;
+                break;
+
+            case "collection-invalid":
+                configs = new String[]{TEST_RESOURCES + "collectionTypeTest/config_invalid.groovy"};
+                specs = new String[]{TEST_RESOURCES + "collectionTypeTest/spec.groovy"};
+                strict = false;
+                break;
+
+            case "all-formats":
+                configs = new String[]{TEST_RESOURCES + "configs"};
+                specs = new String[]{TEST_RESOURCES + "specs"};
+                strict = true;
+                break;
+
+            default:
+                throw new IllegalArgumentException("unsupported scenario: " + scenario);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object validate() {
+        try {
+            validator.validate(configs, specs, true, null, strict);
+            return null;
+
+        } catch (ConfigValidationException e) {
+            return e;
+        }
+    }
+}
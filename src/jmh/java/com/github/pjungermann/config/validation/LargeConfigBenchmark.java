@@ -0,0 +1,124 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import com.github.pjungermann.config.Application;
+import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.dataset.Dataset;
+import com.github.pjungermann.config.dataset.DatasetFormat;
+import com.github.pjungermann.config.dataset.SyntheticConfigGenerator;
+import com.github.pjungermann.config.loader.ConfigLoader;
+import com.github.pjungermann.config.specification.ConfigSpecificationLoader;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling benchmark for the {@link ConfigLoader} and the {@link ConfigValidator}
+ * using large synthetic datasets created by the {@link SyntheticConfigGenerator}.
+ *
+ * Datasets get generated once per parameter combination into
+ * {@code build/benchmark-datasets} and reused by later runs.
+ *
+ * @author Patrick Jungermann
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dlog4j.configuration=log4j-benchmark.properties"})
+public class LargeConfigBenchmark {
+
+    static final File DATASETS_DIR = new File("build/benchmark-datasets");
+
+    /**
+     * Larger sizes (e.g. {@code -p keys=100000,1000000}) can be selected explicitly.
+     */
+    @Param({"1000", "10000"})
+    public int keys;
+
+    @Param({"groovy", "ini", "json", "properties", "yaml"})
+    public String format;
+
+    @Param({"" + SyntheticConfigGenerator.DEFAULT_SEED})
+    public long seed;
+
+    private AnnotationConfigApplicationContext context;
+    private ConfigLoader configLoader;
+    private ConfigValidator validator;
+
+    private String[] configs;
+    private String[] specs;
+
+    private Config config;
+    private ValidationPlan plan;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Dataset dataset = SyntheticConfigGenerator.cached(
+                DATASETS_DIR, seed, keys, DatasetFormat.parse(format).get(0));
+
+        context = new AnnotationConfigApplicationContext(Application.class);
+        configLoader = context.getBean(ConfigLoader.class);
+        validator = context.getBean(ConfigValidator.class);
+
+        configs = new String[]{dataset.config.getPath()};
+        specs = new String[]{dataset.specs.getPath()};
+
+        config = configLoader.load(configs);
+        plan = new ValidationPlan(context.getBean(ConfigSpecificationLoader.class).load(true, specs));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Config load() {
+        return configLoader.load(configs);
+    }
+
+    @Benchmark
+    public Object validate() {
+        try {
+            validator.validate(configs, specs, true, null, true);
+            return null;
+
+        } catch (ConfigValidationException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Validates an already loaded config against a compiled plan,
+     * as done when validating many configs with the same specification.
+     */
+    @Benchmark
+    public Object validateWithPlan() {
+        try {
+            validator.validate(new Config(config), plan, true);
+            return null;
+
+        } catch (ConfigValidationException e) {
+            return e;
+        }
+    }
+}
@@ -15,18 +15,37 @@
  */
 package com.github.pjungermann.config;
 
+import com.github.pjungermann.config.server.ValidationServer;
+import com.github.pjungermann.config.specification.constraint.ErrorBudget;
+import com.github.pjungermann.config.validation.BatchSummary;
+import com.github.pjungermann.config.validation.ConfigSet;
 import com.github.pjungermann.config.validation.ConfigValidationException;
 import com.github.pjungermann.config.validation.ConfigValidator;
+import com.github.pjungermann.config.validation.OrderedConfigSetReports;
+import com.github.pjungermann.config.validation.report.ReportFormat;
+import com.github.pjungermann.config.validation.report.ValidationReport;
+import com.github.pjungermann.config.watch.ConfigWatcher;
 import org.apache.commons.cli.MissingArgumentException;
 import org.apache.commons.cli.MissingOptionException;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.cli.UnrecognizedOptionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
 /**
  * Application to run the validation.
  *
@@ -56,12 +75,165 @@ public class Application {
             return;
         }
 
-        final AnnotationConfigApplicationContext context =
-                new AnnotationConfigApplicationContext(Application.class);
+        final ApplicationComponents components = cli.springContext
+                ? ApplicationComponents.of(new AnnotationConfigApplicationContext(Application.class))
+                : ApplicationComponents.create();
+
+        components.matchesConstraintFactory.setDefaultMode(cli.regexMode);
+        components.compiledSpecificationCache.setDirectory(cli.specCache);
+        components.configLoader.setParallel(cli.parallelLoad);
+        components.configLoader.setCompact(cli.compactKeys);
+
+        if (cli.serve != null) {
+            serve(components.server, cli.serve, cli.tokenFile);
+            return;
+        }
+
+        if (cli.watch) {
+            watch(components.watcher, cli);
+            return;
+        }
+
+        final ConfigValidator validator = components.validator;
+        if (cli.batch) {
+            final BatchSummary summary;
+            try {
+                summary = validateSets(validator, components.messageSource, cli);
+
+            } catch (IOException e) {
+                throw new UncheckedIOException("writing the validation reports failed", e);
+            }
+
+            LOGGER.info("config validation finished");
+            if (!summary.isValid()) {
+                throw new ConfigValidationException(summary.getInvalidSets() + " of " + summary.results.size()
+                        + " config sets are invalid, see the validation reports for the errors.");
+            }
+            return;
+        }
+
+        final ErrorBudget budget = ErrorBudget.of(cli.maxErrors);
+        if (cli.format == null) {
+            if (cli.documents) {
+                validator.validateDocuments(cli.configs, cli.specs, cli.recursive, cli.profile, cli.strict, budget);
 
-        final ConfigValidator validator = context.getBean(ConfigValidator.class);
-        validator.validate(cli.configs, cli.specs, cli.recursive, cli.profile, cli.strict);
+            } else {
+                validator.validate(cli.configs, cli.specs, cli.recursive, cli.profile, cli.strict, budget);
+            }
+
+            LOGGER.info("config validation finished");
+            return;
+        }
+
+        final boolean valid;
+        try {
+            valid = validate(validator, components.messageSource, cli, budget);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("writing the validation report failed", e);
+        }
 
         LOGGER.info("config validation finished");
+        if (!valid) {
+            throw new ConfigValidationException("Validation failed, see the validation report for the errors.");
+        }
+    }
+
+    private static boolean validate(final ConfigValidator validator,
+                                    final MessageSource messageSource,
+                                    final ApplicationCLI cli,
+                                    final ErrorBudget budget) throws IOException {
+        if (cli.output == null) {
+            return validate(validator, messageSource, cli, budget, System.out);
+        }
+
+        try (final OutputStream out = new BufferedOutputStream(new FileOutputStream(cli.output))) {
+            return validate(validator, messageSource, cli, budget, out);
+        }
+    }
+
+    private static boolean validate(final ConfigValidator validator,
+                                    final MessageSource messageSource,
+                                    final ApplicationCLI cli,
+                                    final ErrorBudget budget,
+                                    final OutputStream out) throws IOException {
+        try (final ValidationReport report = cli.format.createReport(out, messageSource, Locale.getDefault())) {
+            if (cli.documents) {
+                return validator.validateDocuments(
+                        cli.configs, cli.specs, cli.recursive, cli.profile, cli.strict, report, budget);
+            }
+
+            return validator.validate(
+                    cli.configs, cli.specs, cli.recursive, cli.profile, cli.strict, report, budget);
+        }
+    }
+
+    private static BatchSummary validateSets(final ConfigValidator validator,
+                                             final MessageSource messageSource,
+                                             final ApplicationCLI cli) throws IOException {
+        final ReportFormat format = cli.format == null ? ReportFormat.TEXT : cli.format;
+        final List<ConfigSet> sets = new ArrayList<>(cli.configs.length);
+        for (final String source : cli.configs) {
+            sets.add(ConfigSet.of(source));
+        }
+
+        if (cli.output == null) {
+            final BatchSummary summary = validator.validateSets(
+                    sets, cli.specs, cli.recursive, cli.profile, cli.strict,
+                    new OrderedConfigSetReports(System.out, format, messageSource, Locale.getDefault()),
+                    cli.maxErrors);
+            System.out.println(summary.toText());
+
+            return summary;
+        }
+
+        if (!cli.output.isDirectory() && !cli.output.mkdirs()) {
+            throw new IOException("cannot create the report directory " + cli.output);
+        }
+
+        final BatchSummary summary = validator.validateSets(
+                sets, cli.specs, cli.recursive, cli.profile, cli.strict,
+                (set, index) -> format.createReport(
+                        new File(cli.output, getReportFileName(set, index, format)), messageSource, Locale.getDefault()),
+                cli.maxErrors);
+
+        try (final OutputStream out = new BufferedOutputStream(
+                new FileOutputStream(new File(cli.output, "summary.json")))) {
+            summary.writeJson(out);
+        }
+        System.out.println(summary.toText());
+
+        return summary;
+    }
+
+    /**
+     * @return a unique file name for the report of the set, e.g. {@code 0001-services_a.jsonl}.
+     */
+    static String getReportFileName(final ConfigSet set, final int index, final ReportFormat format) {
+        return String.format("%04d-%s.%s", index + 1, set.name.replaceAll("[^A-Za-z0-9._-]+", "_"),
+                format.getFileExtension());
+    }
+
+    private static void serve(final ValidationServer server, final int port, final File tokenFile) {
+        try {
+            server.start(port, tokenFile);
+            // deletes the token file
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+
+        } catch (IOException e) {
+            LOGGER.error("starting the validation server failed", e);
+        }
+    }
+
+    private static void watch(final ConfigWatcher watcher, final ApplicationCLI cli) {
+        try {
+            watcher.watch(cli.configs, cli.specs, cli.recursive, cli.profile, cli.strict);
+
+        } catch (IOException e) {
+            LOGGER.error("watching the config and specification files failed", e);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
@@ -15,8 +15,15 @@
  */
 package com.github.pjungermann.config;
 
+import com.github.pjungermann.config.specification.constraint.matches.RegexMode;
+import com.github.pjungermann.config.validation.report.ReportFormat;
 import org.apache.commons.cli.*;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Application's command line interface.
@@ -25,6 +32,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public class ApplicationCLI {
 
+    static final String DEFAULT_TOKEN_FILE_NAME = ".config-validator.token";
+
     static final Option PROFILE_OPTION = Option
             .builder("p")
             .longOpt("profile")
@@ -36,7 +45,6 @@ public class ApplicationCLI {
     static final Option CONFIGS_OPTION = Option
             .builder()
             .longOpt("configs")
-            .required()
             .hasArgs()
             .numberOfArgs(Option.UNLIMITED_VALUES)
             .valueSeparator(';')
@@ -47,7 +55,6 @@ public class ApplicationCLI {
     static final Option SPECS_OPTION = Option
             .builder()
             .longOpt("specs")
-            .required()
             .hasArgs()
             .numberOfArgs(Option.UNLIMITED_VALUES)
             .valueSeparator(';')
@@ -69,6 +76,115 @@ public class ApplicationCLI {
             .desc("In strict mode, keys without specification are not permitted.")
             .build();
 
+    static final Option REGEX_MODE_OPTION = Option
+            .builder()
+            .longOpt("regex-mode")
+            .hasArg()
+            .argName("backtracking|linear")
+            .desc("default regular expression engine for \"matches\" constraints (default: backtracking)")
+            .build();
+
+    static final Option SPEC_CACHE_OPTION = Option
+            .builder()
+            .longOpt("spec-cache")
+            .hasArg()
+            .argName("directory")
+            .desc("directory to cache compiled specifications at (disabled by default)")
+            .build();
+
+    static final Option WATCH_OPTION = Option
+            .builder("w")
+            .longOpt("watch")
+            .required(false)
+            .desc("keep running and re-validate whenever a config or specification file changes")
+            .build();
+
+    static final Option PARALLEL_LOAD_OPTION = Option
+            .builder()
+            .longOpt("parallel-load")
+            .required(false)
+            .desc("load config sources which cannot reference other configs (all but Groovy) in parallel")
+            .build();
+
+    static final Option DOCUMENTS_OPTION = Option
+            .builder()
+            .longOpt("documents")
+            .required(false)
+            .desc("validate each document of the config sources (e.g. of multi-document YAML files) on its own")
+            .build();
+
+    static final Option COMPACT_KEYS_OPTION = Option
+            .builder()
+            .longOpt("compact-keys")
+            .required(false)
+            .desc("store the loaded config with shared key prefixes to reduce the memory usage of large configs")
+            .build();
+
+    static final Option FORMAT_OPTION = Option
+            .builder()
+            .longOpt("format")
+            .hasArg()
+            .argName("text|jsonl|sarif")
+            .desc("stream the validation report in this format instead of failing with all errors as message")
+            .build();
+
+    static final Option OUTPUT_OPTION = Option
+            .builder("o")
+            .longOpt("output")
+            .hasArg()
+            .argName("file")
+            .desc("file to write the validation report to (default: standard output)")
+            .build();
+
+    static final Option FAIL_FAST_OPTION = Option
+            .builder()
+            .longOpt("fail-fast")
+            .required(false)
+            .desc("stop the validation at the first error (same as --max-errors 1)")
+            .build();
+
+    static final Option MAX_ERRORS_OPTION = Option
+            .builder()
+            .longOpt("max-errors")
+            .hasArg()
+            .argName("amount")
+            .desc("stop the validation after this amount of errors (default: no limit)")
+            .build();
+
+    static final Option BATCH_OPTION = Option
+            .builder()
+            .longOpt("batch")
+            .required(false)
+            .desc("validate each config source as its own config set against the specifications loaded once;"
+                    + " with --output, the reports per set and a summary get written to this directory")
+            .build();
+
+    static final Option SERVE_OPTION = Option
+            .builder()
+            .longOpt("serve")
+            .hasArg()
+            .argName("port")
+            .desc("run as validation server at the loopback interface and port (0 for any free port),"
+                    + " keeping the compiled specifications in memory; --configs and --specs are not used")
+            .build();
+
+    static final Option TOKEN_FILE_OPTION = Option
+            .builder()
+            .longOpt("token-file")
+            .hasArg()
+            .argName("file")
+            .desc("file to write the token of the validation server to, which has to be sent with each request"
+                    + " (default: ~/" + DEFAULT_TOKEN_FILE_NAME + ")")
+            .build();
+
+    static final Option SPRING_CONTEXT_OPTION = Option
+            .builder()
+            .longOpt("spring-context")
+            .required(false)
+            .desc("create the components using a Spring context with classpath scanning, e.g. to add own"
+                    + " constraints or config factories (slower startup)")
+            .build();
+
     static final Options OPTIONS;
 
     static {
@@ -78,6 +194,20 @@ public class ApplicationCLI {
         OPTIONS.addOption(SPECS_OPTION);
         OPTIONS.addOption(RECURSIVE_OPTION);
         OPTIONS.addOption(STRICT_OPTION);
+        OPTIONS.addOption(REGEX_MODE_OPTION);
+        OPTIONS.addOption(SPEC_CACHE_OPTION);
+        OPTIONS.addOption(WATCH_OPTION);
+        OPTIONS.addOption(PARALLEL_LOAD_OPTION);
+        OPTIONS.addOption(DOCUMENTS_OPTION);
+        OPTIONS.addOption(COMPACT_KEYS_OPTION);
+        OPTIONS.addOption(FORMAT_OPTION);
+        OPTIONS.addOption(OUTPUT_OPTION);
+        OPTIONS.addOption(FAIL_FAST_OPTION);
+        OPTIONS.addOption(MAX_ERRORS_OPTION);
+        OPTIONS.addOption(BATCH_OPTION);
+        OPTIONS.addOption(SERVE_OPTION);
+        OPTIONS.addOption(TOKEN_FILE_OPTION);
+        OPTIONS.addOption(SPRING_CONTEXT_OPTION);
     }
 
     public static void usage() {
@@ -93,14 +223,161 @@ public class ApplicationCLI {
     public final String[] specs;
     public final boolean recursive;
     public final boolean strict;
+    public final RegexMode regexMode;
+    @Nullable
+    public final File specCache;
+    public final boolean watch;
+    public final boolean parallelLoad;
+    public final boolean documents;
+    public final boolean compactKeys;
+    @Nullable
+    public final ReportFormat format;
+    @Nullable
+    public final File output;
+    /**
+     * Maximal amount of errors or {@code 0} for no limit.
+     */
+    public final long maxErrors;
+    public final boolean batch;
+    /**
+     * Port to run the validation server at or {@code null} to validate the configs.
+     */
+    @Nullable
+    public final Integer serve;
+    /**
+     * File to write the token of the validation server to.
+     */
+    public final File tokenFile;
+    public final boolean springContext;
 
     public ApplicationCLI(@NotNull final String[] arguments) throws ParseException {
         final CommandLine cmd = new DefaultParser().parse(OPTIONS, arguments);
 
+        final String serveValue = cmd.getOptionValue(SERVE_OPTION.getLongOpt());
+        serve = serveValue == null ? null : parsePort(serveValue);
+        if (serve == null) {
+            requireOptions(cmd, CONFIGS_OPTION, SPECS_OPTION);
+        }
+
+        final String tokenFileValue = cmd.getOptionValue(TOKEN_FILE_OPTION.getLongOpt());
+        tokenFile = tokenFileValue == null
+                ? new File(System.getProperty("user.home"), DEFAULT_TOKEN_FILE_NAME)
+                : new File(tokenFileValue);
+
         profile = cmd.getOptionValue(PROFILE_OPTION.getLongOpt());
         configs = cmd.getOptionValues(CONFIGS_OPTION.getLongOpt());
         specs = cmd.getOptionValues(SPECS_OPTION.getLongOpt());
         recursive = cmd.hasOption(RECURSIVE_OPTION.getLongOpt());
         strict = cmd.hasOption(STRICT_OPTION.getLongOpt());
+
+        final String regexModeValue = cmd.getOptionValue(REGEX_MODE_OPTION.getLongOpt());
+        regexMode = regexModeValue == null ? RegexMode.BACKTRACKING : RegexMode.of(regexModeValue);
+        if (regexMode == null) {
+            throw new ParseException("unsupported regex mode: " + regexModeValue);
+        }
+
+        final String specCacheValue = cmd.getOptionValue(SPEC_CACHE_OPTION.getLongOpt());
+        specCache = specCacheValue == null ? null : new File(specCacheValue);
+
+        watch = cmd.hasOption(WATCH_OPTION.getLongOpt());
+        parallelLoad = cmd.hasOption(PARALLEL_LOAD_OPTION.getLongOpt());
+        documents = cmd.hasOption(DOCUMENTS_OPTION.getLongOpt());
+        compactKeys = cmd.hasOption(COMPACT_KEYS_OPTION.getLongOpt());
+
+        final String formatValue = cmd.getOptionValue(FORMAT_OPTION.getLongOpt());
+        format = formatValue == null ? null : ReportFormat.of(formatValue);
+        if (formatValue != null && format == null) {
+            throw new ParseException("unsupported report format: " + formatValue);
+        }
+
+        final String outputValue = cmd.getOptionValue(OUTPUT_OPTION.getLongOpt());
+        output = outputValue == null ? null : new File(outputValue);
+
+        final String maxErrorsValue = cmd.getOptionValue(MAX_ERRORS_OPTION.getLongOpt());
+        if (cmd.hasOption(FAIL_FAST_OPTION.getLongOpt())) {
+            if (maxErrorsValue != null) {
+                throw new ParseException("--fail-fast and --max-errors cannot be combined");
+            }
+            maxErrors = 1;
+
+        } else if (maxErrorsValue != null) {
+            maxErrors = parseMaxErrors(maxErrorsValue);
+
+        } else {
+            maxErrors = 0;
+        }
+
+        springContext = cmd.hasOption(SPRING_CONTEXT_OPTION.getLongOpt());
+        batch = cmd.hasOption(BATCH_OPTION.getLongOpt());
+        if (watch && (documents || format != null || output != null)) {
+            throw new ParseException("--watch cannot be combined with --documents, --format or --output");
+        }
+        if (batch && (watch || documents)) {
+            throw new ParseException("--batch cannot be combined with --watch or --documents");
+        }
+        if (serve != null && (watch || batch || documents)) {
+            throw new ParseException("--serve cannot be combined with --watch, --batch or --documents");
+        }
+        if (watch && maxErrors > 0) {
+            // the watch mode reports all errors to keep track of the resolved ones
+            throw new ParseException("--watch cannot be combined with --fail-fast or --max-errors");
+        }
+        if (serve != null && maxErrors > 0) {
+            throw new ParseException("--serve cannot be combined with --fail-fast or --max-errors,"
+                    + " use the request parameter max-errors instead");
+        }
+        if (serve != null && (format != null || output != null)) {
+            // the format is a parameter of each request and the report is its response
+            throw new ParseException("--serve cannot be combined with --format or --output");
+        }
+    }
+
+    /**
+     * The config and specification sources are required for all modes but the server.
+     */
+    private static void requireOptions(@NotNull final CommandLine cmd,
+                                       @NotNull final Option... options) throws MissingOptionException {
+        final List<String> missing = new ArrayList<>();
+        for (final Option option : options) {
+            if (!cmd.hasOption(option.getLongOpt())) {
+                missing.add(option.getLongOpt());
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            throw new MissingOptionException(missing);
+        }
+    }
+
+    private static int parsePort(@NotNull final String value) throws ParseException {
+        final int port;
+        try {
+            port = Integer.parseInt(value.trim());
+
+        } catch (NumberFormatException e) {
+            throw new ParseException("invalid port: " + value);
+        }
+
+        if (port < 0 || port > 65535) {
+            throw new ParseException("the port has to be between 0 and 65535: " + value);
+        }
+
+        return port;
+    }
+
+    private static long parseMaxErrors(@NotNull final String value) throws ParseException {
+        final long maxErrors;
+        try {
+            maxErrors = Long.parseLong(value.trim());
+
+        } catch (NumberFormatException e) {
+            throw new ParseException("invalid amount of max. errors: " + value);
+        }
+
+        if (maxErrors < 1) {
+            throw new ParseException("the amount of max. errors has to be at least 1: " + value);
+        }
+
+        return maxErrors;
     }
 }
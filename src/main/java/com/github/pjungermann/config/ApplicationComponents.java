@@ -0,0 +1,213 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config;
+
+import com.github.pjungermann.config.loader.DefaultConfigLoader;
+import com.github.pjungermann.config.server.ValidationPlanCache;
+import com.github.pjungermann.config.server.ValidationServer;
+import com.github.pjungermann.config.specification.DefaultConfigSpecificationLoader;
+import com.github.pjungermann.config.specification.constraint.ConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.ConstraintRegistry;
+import com.github.pjungermann.config.specification.constraint.blank.BlankConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.creditCard.CreditCardConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.email.EmailConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.inList.InListConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.inetAddress.InetAddressConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.matches.MatchesConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.max.MaxConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.maxSize.MaxSizeConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.min.MinConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.minSize.MinSizeConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.nullable.NullableConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.range.RangeConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.scale.ScaleConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.size.SizeConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.url.UrlConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.validator.ValidatorConstraintFactory;
+import com.github.pjungermann.config.specification.dsl.groovy.CompiledSpecificationCache;
+import com.github.pjungermann.config.specification.dsl.groovy.GroovyDSLSpecificationReader;
+import com.github.pjungermann.config.specification.types.AsTypeConverter;
+import com.github.pjungermann.config.types.ConfigFactory;
+import com.github.pjungermann.config.types.DefaultConfigFactorySelector;
+import com.github.pjungermann.config.types.groovy.ConfigObjectConfigFactory;
+import com.github.pjungermann.config.types.groovy.ConfigObjectConverter;
+import com.github.pjungermann.config.types.ini.IniConfigFactory;
+import com.github.pjungermann.config.types.ini.IniConverter;
+import com.github.pjungermann.config.types.json.JsonConfigFactory;
+import com.github.pjungermann.config.types.json.JsonConverter;
+import com.github.pjungermann.config.types.properties.PropertiesConfigFactory;
+import com.github.pjungermann.config.types.properties.PropertiesConverter;
+import com.github.pjungermann.config.types.yaml.YamlConfigFactory;
+import com.github.pjungermann.config.types.yaml.YamlConverter;
+import com.github.pjungermann.config.validation.ConfigValidator;
+import com.github.pjungermann.config.watch.ConfigWatcher;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.MessageSource;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Components used by the {@link Application}, either wired by plain Java
+ * ({@link #create()}) or taken from a Spring {@link ApplicationContext}
+ * ({@link #of(ApplicationContext)}).
+ *
+ * The plain wiring avoids the classpath scanning and context refresh and creates
+ * the same components as the component scan of the {@link Application}.
+ * Additional components (e.g. own constraints) are only supported using Spring.
+ *
+ * @author Patrick Jungermann
+ */
+public class ApplicationComponents {
+
+    public final MessageSource messageSource;
+    public final MatchesConstraintFactory matchesConstraintFactory;
+    public final CompiledSpecificationCache compiledSpecificationCache;
+    public final DefaultConfigLoader configLoader;
+    public final ConfigValidator validator;
+    public final ConfigWatcher watcher;
+    public final ValidationServer server;
+
+    public ApplicationComponents(@NotNull final MessageSource messageSource,
+                                 @NotNull final MatchesConstraintFactory matchesConstraintFactory,
+                                 @NotNull final CompiledSpecificationCache compiledSpecificationCache,
+                                 @NotNull final DefaultConfigLoader configLoader,
+                                 @NotNull final ConfigValidator validator,
+                                 @NotNull final ConfigWatcher watcher,
+                                 @NotNull final ValidationServer server) {
+        this.messageSource = messageSource;
+        this.matchesConstraintFactory = matchesConstraintFactory;
+        this.compiledSpecificationCache = compiledSpecificationCache;
+        this.configLoader = configLoader;
+        this.validator = validator;
+        this.watcher = watcher;
+        this.server = server;
+    }
+
+    /**
+     * @param context    The context containing the components.
+     * @return the components of the context.
+     */
+    @NotNull
+    public static ApplicationComponents of(@NotNull final ApplicationContext context) {
+        return new ApplicationComponents(
+                context.getBean(MessageSource.class),
+                context.getBean(MatchesConstraintFactory.class),
+                context.getBean(CompiledSpecificationCache.class),
+                context.getBean(DefaultConfigLoader.class),
+                context.getBean(ConfigValidator.class),
+                context.getBean(ConfigWatcher.class),
+                context.getBean(ValidationServer.class)
+        );
+    }
+
+    /**
+     * @return newly created and wired components.
+     */
+    @NotNull
+    public static ApplicationComponents create() {
+        final MessageSource messageSource = new MessageSourceConfiguration().messageSource();
+
+        final DefaultConfigFactorySelector configFactorySelector = new DefaultConfigFactorySelector();
+        configFactorySelector.setConfigFactories(createConfigFactories(new DefaultKeyBuilder()));
+        final DefaultConfigLoader configLoader = new DefaultConfigLoader(configFactorySelector);
+
+        final MatchesConstraintFactory matchesConstraintFactory = new MatchesConstraintFactory();
+        final AsTypeConverter typeConverter = new AsTypeConverter();
+        final CompiledSpecificationCache compiledSpecificationCache = new CompiledSpecificationCache();
+        final DefaultConfigSpecificationLoader configSpecificationLoader = new DefaultConfigSpecificationLoader(
+                typeConverter,
+                new GroovyDSLSpecificationReader(
+                        typeConverter,
+                        new ConstraintRegistry(createConstraintFactories(matchesConstraintFactory)),
+                        compiledSpecificationCache
+                )
+        );
+
+        final ConfigValidator validator = new ConfigValidator(messageSource, configLoader, configSpecificationLoader);
+
+        return new ApplicationComponents(
+                messageSource,
+                matchesConstraintFactory,
+                compiledSpecificationCache,
+                configLoader,
+                validator,
+                new ConfigWatcher(messageSource, configLoader, configSpecificationLoader, typeConverter),
+                new ValidationServer(
+                        messageSource, configLoader, validator, new ValidationPlanCache(configSpecificationLoader))
+        );
+    }
+
+    @NotNull
+    static Set<ConfigFactory> createConfigFactories(@NotNull final KeyBuilder keyBuilder) {
+        final ConfigObjectConverter configObjectConverter = new ConfigObjectConverter();
+        configObjectConverter.setKeyBuilder(keyBuilder);
+        final ConfigObjectConfigFactory configObjectConfigFactory = new ConfigObjectConfigFactory();
+        configObjectConfigFactory.setConverter(configObjectConverter);
+
+        final IniConverter iniConverter = new IniConverter();
+        iniConverter.setKeyBuilder(keyBuilder);
+        final IniConfigFactory iniConfigFactory = new IniConfigFactory();
+        iniConfigFactory.setConverter(iniConverter);
+
+        final JsonConverter jsonConverter = new JsonConverter();
+        jsonConverter.setKeyBuilder(keyBuilder);
+        final JsonConfigFactory jsonConfigFactory = new JsonConfigFactory();
+        jsonConfigFactory.setConverter(jsonConverter);
+
+        final PropertiesConfigFactory propertiesConfigFactory = new PropertiesConfigFactory();
+        propertiesConfigFactory.setConverter(new PropertiesConverter());
+
+        final YamlConverter yamlConverter = new YamlConverter();
+        yamlConverter.setKeyBuilder(keyBuilder);
+        final YamlConfigFactory yamlConfigFactory = new YamlConfigFactory();
+        yamlConfigFactory.setConverter(yamlConverter);
+
+        return new LinkedHashSet<>(Arrays.asList(
+                configObjectConfigFactory,
+                iniConfigFactory,
+                jsonConfigFactory,
+                propertiesConfigFactory,
+                yamlConfigFactory
+        ));
+    }
+
+    @NotNull
+    static List<ConstraintFactory> createConstraintFactories(
+            @NotNull final MatchesConstraintFactory matchesConstraintFactory) {
+        return Arrays.asList(
+                new BlankConstraintFactory(),
+                new CreditCardConstraintFactory(),
+                new EmailConstraintFactory(),
+                new InetAddressConstraintFactory(),
+                new InListConstraintFactory(),
+                matchesConstraintFactory,
+                new MaxConstraintFactory(),
+                new MaxSizeConstraintFactory(),
+                new MinConstraintFactory(),
+                new MinSizeConstraintFactory(),
+                new NullableConstraintFactory(),
+                new RangeConstraintFactory(),
+                new ScaleConstraintFactory(),
+                new SizeConstraintFactory(),
+                new UrlConstraintFactory(),
+                new ValidatorConstraintFactory()
+        );
+    }
+}
@@ -0,0 +1,927 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Memory-compact {@link Config} for large configs with many flat keys sharing their prefixes.
+ *
+ * Keys get split at the separator into path segments. Each distinct segment
+ * gets stored only once and each key is a node referencing its parent node (prefix)
+ * and its last segment, so that shared prefixes (e.g. {@code services.billing.db})
+ * are stored only once as well. Nodes and segments get looked up using open-addressing
+ * tables and the values get stored in an array by node. Lookups do not create any objects.
+ * As the nodes form a trie, {@link #keysWithPrefix(String) prefix} and
+ * {@link #childNames(String, String) children} queries as well as {@link #subtree(String) subtrees}
+ * take time proportional to the matching keys.
+ *
+ * The full {@link Map} view gets supported, but the key strings get created
+ * whenever iterating over the keys or entries. The keys have to be non-{@code null}.
+ * Keys which got removed keep their node until the config gets {@link #clear() cleared}.
+ * Like {@link HashMap}, it is not synchronized.
+ *
+ * @author Patrick Jungermann
+ */
+public class CompactConfig extends Config {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Parent of the nodes of the first segments (distinct from {@code -1} for no node).
+     */
+    private static final int ROOT = -2;
+
+    /**
+     * Value of nodes which are no key of the config (e.g. prefixes only).
+     */
+    private static final Object ABSENT = new Object();
+
+    private final String separator;
+
+    private String[] segments;
+    private int[] segmentHashes;
+    private int segmentCount;
+
+    /**
+     * Segment id + 1 by slot or {@code 0} for free slots.
+     */
+    private int[] segmentTable;
+
+    private int[] nodeParents;
+    private int[] nodeSegments;
+    private Object[] values;
+    private int nodeCount;
+
+    /**
+     * Children of a node as linked list of siblings; {@code -1} for none.
+     */
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private int firstRootChild;
+
+    /**
+     * Amount of keys of the config within the subtree of a node (including itself).
+     */
+    private int[] keyCounts;
+
+    /**
+     * Node id + 1 by slot or {@code 0} for free slots.
+     */
+    private int[] nodeTable;
+
+    private int size;
+    private int modifications;
+
+    /**
+     * Creates a fresh and empty config using the {@link DefaultKeyBuilder#SEPARATOR default separator}.
+     */
+    public CompactConfig() {
+        this(DefaultKeyBuilder.SEPARATOR);
+    }
+
+    /**
+     * Creates a fresh and empty config.
+     *
+     * @param separator    the separator between the key levels.
+     */
+    public CompactConfig(@NotNull final String separator) {
+        super();
+
+        if (separator.isEmpty()) {
+            throw new IllegalArgumentException("the separator must not be empty");
+        }
+
+        this.separator = separator;
+        init();
+    }
+
+    /**
+     * Creates a new config based on the key-value data provided.
+     *
+     * @param other    the key-value data for config entries.
+     */
+    public CompactConfig(@NotNull final Map<String, Object> other) {
+        this();
+        putAll(other);
+    }
+
+    /**
+     * Creates a new config based on another config.
+     *
+     * @param other    the other config.
+     */
+    public CompactConfig(@NotNull final Config other) {
+        this();
+        putAll(other);
+    }
+
+    private void init() {
+        segments = new String[INITIAL_CAPACITY];
+        segmentHashes = new int[INITIAL_CAPACITY];
+        segmentTable = new int[INITIAL_CAPACITY * 2];
+        segmentCount = 0;
+
+        nodeParents = new int[INITIAL_CAPACITY];
+        nodeSegments = new int[INITIAL_CAPACITY];
+        values = new Object[INITIAL_CAPACITY];
+        firstChildren = new int[INITIAL_CAPACITY];
+        nextSiblings = new int[INITIAL_CAPACITY];
+        keyCounts = new int[INITIAL_CAPACITY];
+        firstRootChild = -1;
+        nodeTable = new int[INITIAL_CAPACITY * 2];
+        nodeCount = 0;
+
+        size = 0;
+    }
+
+    @NotNull
+    public String getSeparator() {
+        return separator;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Object get(final Object key) {
+        final int node = findNode(key);
+
+        return node == -1 || values[node] == ABSENT ? null : values[node];
+    }
+
+    @Override
+    public Object getOrDefault(final Object key, final Object defaultValue) {
+        final int node = findNode(key);
+
+        return node == -1 || values[node] == ABSENT ? defaultValue : values[node];
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        final int node = findNode(key);
+
+        return node != -1 && values[node] != ABSENT;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        for (int node = 0; node < nodeCount; node++) {
+            if (values[node] != ABSENT && Objects.equals(values[node], value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public Object put(@NotNull final String key, final Object value) {
+        return setValue(addNode(key), value);
+    }
+
+    @Override
+    public void putAll(@NotNull final Map<? extends String, ?> other) {
+        for (final Map.Entry<? extends String, ?> entry : other.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void putAll(@NotNull final Config other) {
+        putAll((Map<String, Object>) other);
+        errors.addAll(other.errors);
+    }
+
+    @Override
+    public Object putIfAbsent(@NotNull final String key, final Object value) {
+        final int node = addNode(key);
+        final Object current = values[node];
+        if (current == ABSENT || current == null) {
+            setValue(node, value);
+            return null;
+        }
+
+        return current;
+    }
+
+    @Override
+    public Object remove(final Object key) {
+        final int node = findNode(key);
+
+        return node == -1 ? null : removeValue(node);
+    }
+
+    @Override
+    public boolean remove(final Object key, final Object value) {
+        final int node = findNode(key);
+        if (node == -1 || values[node] == ABSENT || !Objects.equals(values[node], value)) {
+            return false;
+        }
+
+        removeValue(node);
+        return true;
+    }
+
+    @Override
+    public Object replace(@NotNull final String key, final Object value) {
+        final int node = findNode(key);
+
+        return node == -1 || values[node] == ABSENT ? null : setValue(node, value);
+    }
+
+    @Override
+    public boolean replace(@NotNull final String key, final Object oldValue, final Object newValue) {
+        final int node = findNode(key);
+        if (node == -1 || values[node] == ABSENT || !Objects.equals(values[node], oldValue)) {
+            return false;
+        }
+
+        values[node] = newValue;
+        return true;
+    }
+
+    @Override
+    public Object computeIfAbsent(@NotNull final String key,
+                                  @NotNull final Function<? super String, ?> mappingFunction) {
+        final Object current = get(key);
+        if (current != null) {
+            return current;
+        }
+
+        final Object value = mappingFunction.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+
+        return value;
+    }
+
+    @Override
+    public Object computeIfPresent(@NotNull final String key,
+                                   @NotNull final BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        final Object current = get(key);
+        if (current == null) {
+            return null;
+        }
+
+        return applyRemapping(key, remappingFunction.apply(key, current));
+    }
+
+    @Override
+    public Object compute(@NotNull final String key,
+                          @NotNull final BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        return applyRemapping(key, remappingFunction.apply(key, get(key)));
+    }
+
+    @Override
+    public Object merge(@NotNull final String key,
+                        @NotNull final Object value,
+                        @NotNull final BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        final Object current = get(key);
+
+        return applyRemapping(key, current == null ? value : remappingFunction.apply(current, value));
+    }
+
+    @Nullable
+    private Object applyRemapping(@NotNull final String key, @Nullable final Object value) {
+        if (value == null) {
+            remove(key);
+
+        } else {
+            put(key, value);
+        }
+
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        init();
+        modifications++;
+    }
+
+    @Override
+    public void forEach(@NotNull final BiConsumer<? super String, ? super Object> action) {
+        final int expectedModifications = modifications;
+        for (int node = 0; node < nodeCount; node++) {
+            if (values[node] != ABSENT) {
+                action.accept(keyOf(node), values[node]);
+            }
+
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public void replaceAll(@NotNull final BiFunction<? super String, ? super Object, ?> function) {
+        final int expectedModifications = modifications;
+        for (int node = 0; node < nodeCount; node++) {
+            if (values[node] != ABSENT) {
+                values[node] = function.apply(keyOf(node), values[node]);
+            }
+
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @NotNull
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new NodeIterator<String>() {
+                    @Override
+                    public String next() {
+                        return keyOf(nextNode());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(final Object key) {
+                return containsKey(key);
+            }
+
+            @Override
+            public boolean remove(final Object key) {
+                final int node = findNode(key);
+                if (node == -1 || values[node] == ABSENT) {
+                    return false;
+                }
+
+                removeValue(node);
+                return true;
+            }
+
+            @Override
+            public void clear() {
+                CompactConfig.this.clear();
+            }
+        };
+    }
+
+    @NotNull
+    @Override
+    public Collection<Object> values() {
+        return new AbstractCollection<Object>() {
+            @Override
+            public Iterator<Object> iterator() {
+                return new NodeIterator<Object>() {
+                    @Override
+                    public Object next() {
+                        return values[nextNode()];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(final Object value) {
+                return containsValue(value);
+            }
+
+            @Override
+            public void clear() {
+                CompactConfig.this.clear();
+            }
+        };
+    }
+
+    @NotNull
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Object>>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new NodeIterator<Map.Entry<String, Object>>() {
+                    @Override
+                    public Map.Entry<String, Object> next() {
+                        return new Entry(nextNode());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                if (!(o instanceof Map.Entry)) {
+                    return false;
+                }
+
+                final Map.Entry entry = (Map.Entry) o;
+                final int node = findNode(entry.getKey());
+
+                return node != -1 && values[node] != ABSENT && Objects.equals(values[node], entry.getValue());
+            }
+
+            @Override
+            public boolean remove(final Object o) {
+                return o instanceof Map.Entry
+                        && CompactConfig.this.remove(((Map.Entry) o).getKey(), ((Map.Entry) o).getValue());
+            }
+
+            @Override
+            public void clear() {
+                CompactConfig.this.clear();
+            }
+        };
+    }
+
+    @NotNull
+    @Override
+    public Set<String> keysWithPrefix(@NotNull final String prefix) {
+        final int start = lastSegmentStart(prefix);
+        final String partialSegment = prefix.substring(start);
+        if (mayEndWithPartialSeparator(partialSegment)) {
+            return super.keysWithPrefix(prefix);
+        }
+
+        final Set<String> keys = new LinkedHashSet<>();
+        final int parent = parentNode(prefix, start);
+        if (parent == -1) {
+            return keys;
+        }
+
+        for (int child = firstChild(parent); child != -1; child = nextSiblings[child]) {
+            if (keyCounts[child] > 0 && segments[nodeSegments[child]].startsWith(partialSegment)) {
+                collectKeys(child, keys);
+            }
+        }
+
+        return keys;
+    }
+
+    @NotNull
+    @Override
+    public Config subtree(@NotNull final String prefix) {
+        final CompactConfig subtree = new CompactConfig(separator);
+        for (final String key : keysWithPrefix(prefix)) {
+            subtree.put(key.substring(prefix.length()), get(key));
+        }
+
+        return subtree;
+    }
+
+    @NotNull
+    @Override
+    public Set<String> childNames(@NotNull final String prefix, @NotNull final String separator) {
+        final int start = lastSegmentStart(prefix);
+        if (!this.separator.equals(separator) || start != prefix.length()) {
+            return super.childNames(prefix, separator);
+        }
+
+        final Set<String> names = new LinkedHashSet<>();
+        final int parent = parentNode(prefix, start);
+        if (parent == -1) {
+            return names;
+        }
+
+        for (int child = firstChild(parent); child != -1; child = nextSiblings[child]) {
+            if (keyCounts[child] > 0) {
+                names.add(segments[nodeSegments[child]]);
+            }
+        }
+
+        return names;
+    }
+
+    /**
+     * @return the start of the last segment of the prefix, which can be partial or empty.
+     */
+    private int lastSegmentStart(@NotNull final String prefix) {
+        int start = 0;
+        int index;
+        while ((index = prefix.indexOf(separator, start)) != -1) {
+            start = index + separator.length();
+        }
+
+        return start;
+    }
+
+    /**
+     * @return the node of all segments before the last one of the prefix
+     *         or {@code -1} if there is none.
+     */
+    private int parentNode(@NotNull final String prefix, final int lastSegmentStart) {
+        return lastSegmentStart == 0
+                ? ROOT
+                : findNode(prefix.substring(0, lastSegmentStart - separator.length()));
+    }
+
+    /**
+     * Whether the text could end with the beginning of a (multi-character) separator,
+     * i.e. the prefix would match keys with another segment than its last segment.
+     */
+    private boolean mayEndWithPartialSeparator(@NotNull final String text) {
+        for (int length = 1; length < separator.length(); length++) {
+            if (text.endsWith(separator.substring(0, length))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private int firstChild(final int node) {
+        return node == ROOT ? firstRootChild : firstChildren[node];
+    }
+
+    private void collectKeys(final int node, @NotNull final Set<String> keys) {
+        if (values[node] != ABSENT) {
+            keys.add(keyOf(node));
+        }
+
+        for (int child = firstChildren[node]; child != -1; child = nextSiblings[child]) {
+            if (keyCounts[child] > 0) {
+                collectKeys(child, keys);
+            }
+        }
+    }
+
+    @Override
+    public Object clone() {
+        return new CompactConfig(this);
+    }
+
+    /**
+     * @return the node of the key or {@code -1} if there is none.
+     */
+    private int findNode(@Nullable final Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+
+        final String path = (String) key;
+        int parent = ROOT;
+        int start = 0;
+        while (true) {
+            final int index = path.indexOf(separator, start);
+            final int end = index == -1 ? path.length() : index;
+
+            final int segment = findSegment(path, start, end, hash(path, start, end));
+            final int node = segment == -1 ? -1 : findNode(parent, segment);
+            if (node == -1 || index == -1) {
+                return node;
+            }
+
+            parent = node;
+            start = end + separator.length();
+        }
+    }
+
+    /**
+     * @return the node of the key, which gets added with all its prefixes if needed.
+     */
+    private int addNode(@NotNull final String key) {
+        int parent = ROOT;
+        int start = 0;
+        while (true) {
+            final int index = key.indexOf(separator, start);
+            final int end = index == -1 ? key.length() : index;
+
+            final int node = addNode(parent, addSegment(key, start, end));
+            if (index == -1) {
+                return node;
+            }
+
+            parent = node;
+            start = end + separator.length();
+        }
+    }
+
+    private int findNode(final int parent, final int segment) {
+        final int mask = nodeTable.length - 1;
+        for (int slot = hash(parent, segment) & mask; ; slot = (slot + 1) & mask) {
+            final int node = nodeTable[slot] - 1;
+            if (node == -1 || nodeParents[node] == parent && nodeSegments[node] == segment) {
+                return node;
+            }
+        }
+    }
+
+    private int addNode(final int parent, final int segment) {
+        final int existing = findNode(parent, segment);
+        if (existing != -1) {
+            return existing;
+        }
+
+        if (nodeCount == values.length) {
+            final int capacity = values.length + (values.length >> 1);
+            nodeParents = Arrays.copyOf(nodeParents, capacity);
+            nodeSegments = Arrays.copyOf(nodeSegments, capacity);
+            values = Arrays.copyOf(values, capacity);
+            firstChildren = Arrays.copyOf(firstChildren, capacity);
+            nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+            keyCounts = Arrays.copyOf(keyCounts, capacity);
+        }
+
+        final int node = nodeCount++;
+        nodeParents[node] = parent;
+        nodeSegments[node] = segment;
+        values[node] = ABSENT;
+        firstChildren[node] = -1;
+        keyCounts[node] = 0;
+        if (parent == ROOT) {
+            nextSiblings[node] = firstRootChild;
+            firstRootChild = node;
+
+        } else {
+            nextSiblings[node] = firstChildren[parent];
+            firstChildren[parent] = node;
+        }
+
+        if (nodeCount * 2 > nodeTable.length) {
+            nodeTable = new int[nodeTable.length * 2];
+            for (int i = 0; i < nodeCount; i++) {
+                insert(nodeTable, hash(nodeParents[i], nodeSegments[i]), i);
+            }
+
+        } else {
+            insert(nodeTable, hash(parent, segment), node);
+        }
+
+        return node;
+    }
+
+    private int findSegment(@NotNull final String key, final int start, final int end, final int hash) {
+        final int length = end - start;
+        final int mask = segmentTable.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            final int segment = segmentTable[slot] - 1;
+            if (segment == -1
+                    || segmentHashes[segment] == hash
+                    && segments[segment].length() == length
+                    && key.regionMatches(start, segments[segment], 0, length)) {
+                return segment;
+            }
+        }
+    }
+
+    private int addSegment(@NotNull final String key, final int start, final int end) {
+        final int hash = hash(key, start, end);
+        final int existing = findSegment(key, start, end, hash);
+        if (existing != -1) {
+            return existing;
+        }
+
+        if (segmentCount == segments.length) {
+            final int capacity = segments.length + (segments.length >> 1);
+            segments = Arrays.copyOf(segments, capacity);
+            segmentHashes = Arrays.copyOf(segmentHashes, capacity);
+        }
+
+        final int segment = segmentCount++;
+        segments[segment] = key.substring(start, end);
+        segmentHashes[segment] = hash;
+
+        if (segmentCount * 2 > segmentTable.length) {
+            segmentTable = new int[segmentTable.length * 2];
+            for (int i = 0; i < segmentCount; i++) {
+                insert(segmentTable, segmentHashes[i], i);
+            }
+
+        } else {
+            insert(segmentTable, hash, segment);
+        }
+
+        return segment;
+    }
+
+    private static void insert(@NotNull final int[] table, final int hash, final int id) {
+        final int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot] = id + 1;
+    }
+
+    private static int hash(@NotNull final String key, final int start, final int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + key.charAt(i);
+        }
+
+        return spread(hash);
+    }
+
+    private static int hash(final int parent, final int segment) {
+        return spread(parent * 0x9E3779B9 + segment);
+    }
+
+    private static int spread(final int hash) {
+        final int h = hash * 0x85EBCA6B;
+        return h ^ (h >>> 16);
+    }
+
+    @Nullable
+    private Object setValue(final int node, @Nullable final Object value) {
+        final Object previous = values[node];
+        values[node] = value;
+
+        if (previous == ABSENT) {
+            size++;
+            modifications++;
+            for (int current = node; current != ROOT; current = nodeParents[current]) {
+                keyCounts[current]++;
+            }
+            return null;
+        }
+
+        return previous;
+    }
+
+    @Nullable
+    private Object removeValue(final int node) {
+        final Object previous = values[node];
+        if (previous == ABSENT) {
+            return null;
+        }
+
+        values[node] = ABSENT;
+        size--;
+        modifications++;
+        for (int current = node; current != ROOT; current = nodeParents[current]) {
+            keyCounts[current]--;
+        }
+
+        return previous;
+    }
+
+    @NotNull
+    private String keyOf(final int node) {
+        int length = segments[nodeSegments[node]].length();
+        for (int parent = nodeParents[node]; parent != ROOT; parent = nodeParents[parent]) {
+            length += separator.length() + segments[nodeSegments[parent]].length();
+        }
+
+        final char[] key = new char[length];
+        int end = length;
+        for (int current = node; current != ROOT; current = nodeParents[current]) {
+            final String segment = segments[nodeSegments[current]];
+            end -= segment.length();
+            segment.getChars(0, segment.length(), key, end);
+
+            if (nodeParents[current] != ROOT) {
+                end -= separator.length();
+                separator.getChars(0, separator.length(), key, end);
+            }
+        }
+
+        return new String(key);
+    }
+
+    /**
+     * Iterates over all nodes which are keys of the config in the order of their creation.
+     */
+    private abstract class NodeIterator<T> implements Iterator<T> {
+
+        private int next = advance(0);
+        private int current = -1;
+        private int expectedModifications = modifications;
+
+        private int advance(int node) {
+            while (node < nodeCount && values[node] == ABSENT) {
+                node++;
+            }
+
+            return node;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < nodeCount;
+        }
+
+        int nextNode() {
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (next >= nodeCount) {
+                throw new NoSuchElementException();
+            }
+
+            current = next;
+            next = advance(next + 1);
+
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == -1) {
+                throw new IllegalStateException();
+            }
+
+            if (modifications != expectedModifications) {
+                throw new ConcurrentModificationException();
+            }
+
+            removeValue(current);
+            expectedModifications = modifications;
+            current = -1;
+        }
+    }
+
+    /**
+     * Entry writing through to the config.
+     */
+    private class Entry implements Map.Entry<String, Object> {
+
+        private final int node;
+        private final String key;
+
+        Entry(final int node) {
+            this.node = node;
+            this.key = keyOf(node);
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return values[node] == ABSENT ? null : values[node];
+        }
+
+        @Override
+        public Object setValue(final Object value) {
+            if (values[node] == ABSENT) {
+                throw new IllegalStateException("entry got removed");
+            }
+
+            final Object previous = values[node];
+            values[node] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+
+            final Map.Entry other = (Map.Entry) o;
+            return key.equals(other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
@@ -19,7 +19,9 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Generic key-value configuration object / container.
@@ -70,6 +72,66 @@ public class Config extends HashMap<String, Object> {
         errors.addAll(other.errors);
     }
 
+    /**
+     * Returns all keys starting with the prefix.
+     * All keys get scanned for it; a {@link CompactConfig} answers it
+     * in time proportional to the matching keys.
+     *
+     * @param prefix    the prefix, e.g. {@code db.} for all keys under {@code db}.
+     * @return all keys starting with the prefix.
+     */
+    @NotNull
+    public Set<String> keysWithPrefix(@NotNull final String prefix) {
+        final Set<String> keys = new HashSet<>();
+        for (final String key : keySet()) {
+            if (key.startsWith(prefix)) {
+                keys.add(key);
+            }
+        }
+
+        return keys;
+    }
+
+    /**
+     * Returns all entries whose key starts with the prefix, with the prefix removed
+     * from their keys; e.g. {@code host} and {@code pool.max} for {@code db.host}
+     * and {@code db.pool.max} and the prefix {@code db.}.
+     *
+     * @param prefix    the prefix of the subtree.
+     * @return a new config with all entries of the subtree.
+     */
+    @NotNull
+    public Config subtree(@NotNull final String prefix) {
+        final Config subtree = new Config();
+        for (final String key : keysWithPrefix(prefix)) {
+            subtree.put(key.substring(prefix.length()), get(key));
+        }
+
+        return subtree;
+    }
+
+    /**
+     * Returns the names of the next key level below the prefix;
+     * e.g. {@code host} and {@code pool} for {@code db.host} and {@code db.pool.max}
+     * and the prefix {@code db.}.
+     *
+     * @param prefix       the prefix, usually ending with the separator. Empty for the top level.
+     * @param separator    the separator between the key levels.
+     * @return the names of all children.
+     */
+    @NotNull
+    public Set<String> childNames(@NotNull final String prefix, @NotNull final String separator) {
+        final Set<String> names = new HashSet<>();
+        for (final String key : keySet()) {
+            if (key.startsWith(prefix)) {
+                final int index = key.indexOf(separator, prefix.length());
+                names.add(key.substring(prefix.length(), index == -1 ? key.length() : index));
+            }
+        }
+
+        return names;
+    }
+
     @NotNull
     @Override
     public String toString() {
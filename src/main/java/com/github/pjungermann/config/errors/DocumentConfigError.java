@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.errors;
+
+import com.github.pjungermann.config.ConfigError;
+import com.github.pjungermann.config.loader.ConfigDocument;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Wraps all {@link ConfigError errors} of one {@link ConfigDocument document}
+ * of a config source.
+ *
+ * @author Patrick Jungermann
+ */
+public class DocumentConfigError implements ConfigError {
+
+    public final ConfigDocument document;
+    public final Collection<ConfigError> errors;
+
+    public DocumentConfigError(@NotNull final ConfigDocument document,
+                               @NotNull final Collection<ConfigError> errors) {
+        this.document = document;
+        this.errors = errors;
+    }
+
+    @NotNull
+    @Override
+    public MessageSourceResolvable getMessage() {
+        throw new UnsupportedOperationException("use #toMessage(...) instead");
+    }
+
+    @NotNull
+    @Override
+    public String toMessage(@NotNull final MessageSource messageSource, @NotNull final Locale locale) {
+        final StringBuilder builder = new StringBuilder("validation errors for document ")
+                .append(document.index + 1)
+                .append(" of ")
+                .append(document.source.getPath())
+                .append(":");
+
+        for (final ConfigError error : errors) {
+            final String errorMessage = error.toMessage(messageSource, locale);
+            builder.append("\n  - ").append(errorMessage.replace("\n", "\n  "));
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.loader;
+
+import com.github.pjungermann.config.Config;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+
+/**
+ * One document of a config source, e.g. of a YAML stream with multiple documents.
+ *
+ * @author Patrick Jungermann
+ */
+public class ConfigDocument {
+
+    /**
+     * The source file of the document.
+     */
+    public final File source;
+
+    /**
+     * The (zero-based) position of the document within its source.
+     */
+    public final int index;
+
+    /**
+     * The document's config including the errors of loading it.
+     */
+    public final Config config;
+
+    public ConfigDocument(@NotNull final File source, final int index, @NotNull final Config config) {
+        this.source = source;
+        this.index = index;
+        this.config = config;
+    }
+
+    @Override
+    public String toString() {
+        return source + "#" + index;
+    }
+}
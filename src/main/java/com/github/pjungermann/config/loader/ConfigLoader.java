@@ -20,6 +20,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Loads the {@link Config} from the given sources.
@@ -43,6 +45,14 @@ public interface ConfigLoader {
 
     @NotNull
     default Config getDefaultContext() {
+        return createConfig();
+    }
+
+    /**
+     * @return a new and empty {@link Config} to load sources into.
+     */
+    @NotNull
+    default Config createConfig() {
         return new Config();
     }
 
@@ -114,7 +124,7 @@ public interface ConfigLoader {
                         @NotNull final Config context,
                         final boolean recursive,
                         @NotNull final String... sources) {
-        final Config config = new Config();
+        final Config config = createConfig();
 
         for (final String source : sources) {
             final Config sourceConfig = load(profile, context, recursive, source);
@@ -192,7 +202,7 @@ public interface ConfigLoader {
                         @NotNull final Config context,
                         final boolean recursive,
                         @NotNull final File... sources) {
-        final Config config = new Config();
+        final Config config = createConfig();
 
         for (final File source : sources) {
             final Config sourceConfig = load(profile, context, recursive, source);
@@ -208,4 +218,30 @@ public interface ConfigLoader {
     @NotNull
     Config load(@Nullable String profile, @NotNull Config context, boolean recursive, @NotNull File source);
 
+    /**
+     * Loads each document of the sources as its own {@link Config}
+     * (e.g. each document of a YAML stream), with the context of all documents before it.
+     * By default, each source is a single document.
+     *
+     * @param profile      Profile to be applied to a {@link Config}. Only supported by some types.
+     * @param recursive    Whether to recursively load sources files.
+     * @param sources      {@link Config} sources.
+     * @return all documents in the order in which they got loaded.
+     */
+    @NotNull
+    default List<ConfigDocument> loadDocuments(@Nullable final String profile,
+                                               final boolean recursive,
+                                               @NotNull final String... sources) {
+        final Config context = getDefaultContext();
+        final List<ConfigDocument> documents = new ArrayList<>(sources.length);
+
+        for (final String source : sources) {
+            final Config sourceConfig = load(profile, context, recursive, source);
+            documents.add(new ConfigDocument(new File(source), 0, sourceConfig));
+            context.putAll(sourceConfig);
+        }
+
+        return documents;
+    }
+
 }
@@ -15,6 +15,7 @@
  */
 package com.github.pjungermann.config.loader;
 
+import com.github.pjungermann.config.CompactConfig;
 import com.github.pjungermann.config.Config;
 import com.github.pjungermann.config.loader.errors.FailedToLoadConfigError;
 import com.github.pjungermann.config.loader.errors.NoSuchFileError;
@@ -30,10 +31,24 @@ import org.springframework.stereotype.Component;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.singletonList;
 
 /**
  * Loads the config from the given sources.
  *
+ * In {@link #setParallel(boolean) parallel mode}, all sources whose {@link ConfigFactory}
+ * does not {@link ConfigFactory#usesContext() use the context} get loaded in parallel.
+ * All others (e.g. Groovy configs) get loaded afterwards one after another with the
+ * context of all sources before them. The loaded configs get merged in the order of
+ * the sources, so that the result is the same as without the parallel mode.
+ *
+ * In {@link #setCompact(boolean) compact mode}, the loaded configs and the context
+ * get stored as {@link CompactConfig}, sharing the common prefixes of their keys.
+ *
  * @author Patrick Jungermann
  */
 @Component
@@ -44,27 +59,91 @@ public class DefaultConfigLoader implements ConfigLoader {
 
     private ConfigFactorySelector configFactorySelector;
 
+    private volatile boolean parallel = false;
+    private volatile boolean compact = false;
+
     @Inject
     public DefaultConfigLoader(@NotNull final ConfigFactorySelector configFactorySelector) {
         this.configFactorySelector = configFactorySelector;
     }
 
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * @param parallel    Whether to load sources which do not use the context in parallel.
+     */
+    public void setParallel(final boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    /**
+     * @param compact    Whether to load the sources into {@link CompactConfig memory-compact configs}.
+     */
+    public void setCompact(final boolean compact) {
+        this.compact = compact;
+    }
+
     @NotNull
     @Override
-    public Config load(@Nullable final String profile, @NotNull final Config context, final boolean recursive, @NotNull final File source) {
-        LOGGER.info("load config from {}", source);
+    public Config createConfig() {
+        return compact ? new CompactConfig() : new Config();
+    }
 
-        if (!source.exists()) {
-            final Config config = new Config();
-            config.errors.add(new NoSuchFileError(source));
-            return config;
+    @NotNull
+    @Override
+    public Config load(@Nullable final String profile,
+                       @NotNull final Config context,
+                       final boolean recursive,
+                       @NotNull final String... sources) {
+        final File[] files = new File[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            files[i] = new File(sources[i]);
         }
 
-        if (source.isFile()) {
-            return loadFromFile(source, profile, context);
+        return load(profile, context, recursive, files);
+    }
+
+    @NotNull
+    @Override
+    public Config load(@Nullable final String profile,
+                       @NotNull final Config context,
+                       final boolean recursive,
+                       @NotNull final File... sources) {
+        if (!parallel) {
+            return ConfigLoader.super.load(profile, context, recursive, sources);
+        }
+
+        final List<File> files = new ArrayList<>();
+        for (final File source : sources) {
+            resolve(source, recursive, files);
+        }
+
+        return loadInParallel(files, profile, context);
+    }
+
+    @NotNull
+    @Override
+    public Config load(@Nullable final String profile, @NotNull final Config context, final boolean recursive, @NotNull final File source) {
+        if (!source.exists() || source.isFile()) {
+            return loadSource(source, profile, context);
         }
 
-        final Config config = new Config();
+        if (parallel) {
+            final List<File> files = new ArrayList<>();
+            resolve(source, recursive, files);
+
+            return loadInParallel(files, profile, context);
+        }
+
+        LOGGER.info("load config from {}", source);
+
+        final Config config = createConfig();
         final File[] subSources = source.listFiles();
         if (subSources == null) {
             return config;
@@ -81,11 +160,123 @@ public class DefaultConfigLoader implements ConfigLoader {
         return config;
     }
 
+    /**
+     * Loads each document of all resolved source files as its own {@link Config},
+     * e.g. each document of a YAML stream (see {@link ConfigFactory#createDocuments(File, String, Config)}).
+     */
+    @NotNull
+    @Override
+    public List<ConfigDocument> loadDocuments(@Nullable final String profile,
+                                              final boolean recursive,
+                                              @NotNull final String... sources) {
+        final List<File> files = new ArrayList<>();
+        for (final String source : sources) {
+            resolve(new File(source), recursive, files);
+        }
+
+        final Config context = getDefaultContext();
+        final List<ConfigDocument> documents = new ArrayList<>();
+        for (final File file : files) {
+            final List<Config> configs = loadSourceDocuments(file, profile, context);
+            for (int i = 0; i < configs.size(); i++) {
+                documents.add(new ConfigDocument(file, i, configs.get(i)));
+                context.putAll(configs.get(i));
+            }
+        }
+
+        return documents;
+    }
+
+    /**
+     * Resolves all files to be loaded in the order in which they would get loaded.
+     * A not existing source gets kept in order to report it.
+     */
+    private static void resolve(@NotNull final File source, final boolean recursive, @NotNull final List<File> files) {
+        if (!source.exists() || source.isFile()) {
+            files.add(source);
+            return;
+        }
+
+        final File[] subSources = source.listFiles();
+        if (subSources == null) {
+            return;
+        }
+
+        for (final File subSource : subSources) {
+            if (subSource.isFile() || recursive) {
+                resolve(subSource, recursive, files);
+            }
+        }
+    }
+
+    @NotNull
+    private Config loadInParallel(@NotNull final List<File> files,
+                                  @Nullable final String profile,
+                                  @NotNull final Config context) {
+        final Config[] configs = new Config[files.size()];
+        IntStream.range(0, configs.length)
+                .parallel()
+                .filter(i -> !usesContext(files.get(i)))
+                .forEach(i -> configs[i] = loadSource(files.get(i), profile, context));
+
+        final Config config = createConfig();
+        for (int i = 0; i < configs.length; i++) {
+            // sources which use the context get loaded with all previous ones
+            final Config sourceConfig = configs[i] != null ? configs[i] : loadSource(files.get(i), profile, context);
+            config.putAll(sourceConfig);
+            context.putAll(sourceConfig);
+        }
+
+        return config;
+    }
+
+    private boolean usesContext(@NotNull final File source) {
+        final ConfigFactory factory = source.isFile() ? configFactorySelector.getFactory(source) : null;
+
+        return factory != null && factory.usesContext();
+    }
+
+    @NotNull
+    private Config loadSource(@NotNull final File source,
+                              @Nullable final String profile,
+                              @NotNull final Config context) {
+        LOGGER.info("load config from {}", source);
+
+        if (!source.exists()) {
+            final Config config = new Config();
+            config.errors.add(new NoSuchFileError(source));
+            return config;
+        }
+
+        return loadFromFile(source, profile, context);
+    }
+
+    @NotNull
+    private List<Config> loadSourceDocuments(@NotNull final File source,
+                                             @Nullable final String profile,
+                                             @NotNull final Config context) {
+        LOGGER.info("load config documents from {}", source);
+
+        final ConfigFactory factory = source.exists() ? configFactorySelector.getFactory(source) : null;
+        if (factory == null) {
+            return singletonList(loadSource(source, profile, context));
+        }
+
+        try {
+            return factory.createDocuments(source, profile, context);
+
+        } catch (Exception e) {
+            final Config config = new Config();
+            config.errors.add(new FailedToLoadConfigError(source, factory, e));
+            return singletonList(config);
+        }
+    }
+
     @NotNull
     private Config loadFromFile(@NotNull final File source,
                                 @Nullable final String profile,
                                 @NotNull final Config context) {
-        final Config config = new Config();
+        final Config config = createConfig();
         final ConfigFactory factory = configFactorySelector.getFactory(source);
 
         if (factory == null) {
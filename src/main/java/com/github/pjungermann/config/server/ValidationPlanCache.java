@@ -0,0 +1,197 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.server;
+
+import com.github.pjungermann.config.specification.ConfigSpecification;
+import com.github.pjungermann.config.specification.ConfigSpecificationLoader;
+import com.github.pjungermann.config.utils.FilesResolver;
+import com.github.pjungermann.config.validation.ValidationPlan;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the {@link ValidationPlan validation plans} of the most recently used
+ * specification sets in memory, so that long-running processes need to load
+ * and compile each {@link ConfigSpecification} only once.
+ *
+ * A specification set is identified by its sources and whether they get resolved
+ * recursively. Its plan gets reloaded as soon as the modification time of any
+ * of its files changes or files get added or removed. The least recently used
+ * sets get evicted once there are more than {@link #setMaxEntries(int) max. entries}.
+ *
+ * @author Patrick Jungermann
+ */
+@Component
+@Singleton
+public class ValidationPlanCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ValidationPlanCache.class);
+
+    static final int DEFAULT_MAX_ENTRIES = 16;
+
+    private final ConfigSpecificationLoader configSpecificationLoader;
+
+    private volatile int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    private final Map<SpecificationSet, CachedPlan> entries =
+            new LinkedHashMap<SpecificationSet, CachedPlan>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<SpecificationSet, CachedPlan> eldest) {
+            if (size() <= maxEntries) {
+                return false;
+            }
+
+            LOGGER.info("evict specification set {}", eldest.getKey());
+            return true;
+        }
+    };
+
+    @Inject
+    public ValidationPlanCache(@NotNull final ConfigSpecificationLoader configSpecificationLoader) {
+        this.configSpecificationLoader = configSpecificationLoader;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @param maxEntries    The max. amount of specification sets to keep in memory.
+     */
+    public void setMaxEntries(final int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("at least one entry has to be cached, not " + maxEntries);
+        }
+
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return the amount of cached specification sets.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the plan of the specification set, loading it if it is not cached or changed.
+     * Concurrent requests for the same set wait for one load, other sets are not blocked.
+     *
+     * @param specs        {@link ConfigSpecification} sources (specifications).
+     * @param recursive    Whether to recursively load sources files.
+     * @return the plan of the current state of the specification set.
+     */
+    @NotNull
+    public ValidationPlan get(@NotNull final String[] specs, final boolean recursive) {
+        final SpecificationSet set = new SpecificationSet(specs, recursive);
+        final CachedPlan cachedPlan;
+        synchronized (entries) {
+            cachedPlan = entries.computeIfAbsent(set, key -> new CachedPlan());
+        }
+
+        return cachedPlan.get(set);
+    }
+
+    private final class CachedPlan {
+
+        private ValidationPlan plan;
+        private Map<File, Long> modificationTimes;
+
+        synchronized ValidationPlan get(@NotNull final SpecificationSet set) {
+            // read before loading, so that changes during the loading lead to another reload
+            final Map<File, Long> current = set.getModificationTimes();
+            if (plan == null) {
+                LOGGER.info("load specification set {}", set);
+
+            } else if (!current.equals(modificationTimes)) {
+                LOGGER.info("reload changed specification set {}", set);
+
+            } else {
+                return plan;
+            }
+
+            plan = new ValidationPlan(configSpecificationLoader.load(set.recursive, set.specs));
+            modificationTimes = current;
+
+            return plan;
+        }
+    }
+
+    private static final class SpecificationSet {
+
+        final String[] specs;
+        final boolean recursive;
+
+        SpecificationSet(@NotNull final String[] specs, final boolean recursive) {
+            this.specs = specs.clone();
+            this.recursive = recursive;
+        }
+
+        /**
+         * @return the modification times of all files of the set, {@code 0} for missing sources.
+         */
+        @NotNull
+        Map<File, Long> getModificationTimes() {
+            final Map<File, Long> modificationTimes = new LinkedHashMap<>();
+            final FilesResolver filesResolver = new FilesResolver(recursive);
+            for (final String spec : specs) {
+                final File source = new File(spec);
+                if (!source.exists()) {
+                    modificationTimes.put(source, 0L);
+                    continue;
+                }
+
+                filesResolver.apply(source).forEach(file -> modificationTimes.put(file, file.lastModified()));
+            }
+
+            return modificationTimes;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            final SpecificationSet that = (SpecificationSet) o;
+            return recursive == that.recursive && Arrays.equals(specs, that.specs);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(specs) + (recursive ? 1 : 0);
+        }
+
+        @Override
+        public String toString() {
+            return String.join(";", specs) + (recursive ? " (recursive)" : "");
+        }
+    }
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.server;
+
+import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.loader.ConfigLoader;
+import com.github.pjungermann.config.specification.constraint.ErrorBudget;
+import com.github.pjungermann.config.validation.ConfigValidator;
+import com.github.pjungermann.config.validation.ValidationPlan;
+import com.github.pjungermann.config.validation.report.ReportFormat;
+import com.github.pjungermann.config.validation.report.ValidationReport;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * Long-running validation service on the loopback interface, which keeps
+ * the compiled specifications in memory (see {@link ValidationPlanCache}),
+ * so that each validation saves the startup and specification compile time.
+ *
+ * Validations get requested by {@code POST /validate} with the query parameters
+ * <ul>
+ *     <li>{@code specs}: specification sources ({@code ;}-separated, required)</li>
+ *     <li>{@code configs}: config sources ({@code ;}-separated) or, if missing,
+ *         the config content as request body</li>
+ *     <li>{@code type}: file extension of the config content, e.g. {@code json} or {@code yaml}</li>
+ *     <li>{@code profile}, {@code recursive}, {@code strict}, {@code max-errors}</li>
+ *     <li>{@code format}: {@link ReportFormat} of the response (default: {@code jsonl})</li>
+ * </ul>
+ * The response contains the validation report with status {@code 200} for valid
+ * and {@code 422} for invalid configs.
+ *
+ * Specifications and Groovy configs are scripts, so that validations can execute code.
+ * Therefore, each request has to contain the {@link #getToken() token} of the server run
+ * as {@value #TOKEN_HEADER} header, which can only be read by the user running the server
+ * (see {@link #start(int, File)}). Requests of web pages (with an {@code Origin} header)
+ * or for other hosts than the loopback interface (e.g. after DNS rebinding) get rejected.
+ * Config content sent as request body is limited to {@link #CONTENT_TYPES data formats}.
+ *
+ * @author Patrick Jungermann
+ */
+@Component
+@Singleton
+public class ValidationServer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ValidationServer.class);
+
+    static final String VALIDATE_PATH = "/validate";
+    static final String TOKEN_HEADER = "X-Config-Validator-Token";
+
+    /**
+     * Types of config content which can be sent as request body. Other types,
+     * like Groovy configs, could execute code.
+     */
+    static final Set<String> CONTENT_TYPES = unmodifiableSet(new HashSet<>(asList(
+            "ini", "json", "properties", "yaml", "yml")));
+
+    static final int STATUS_VALID = 200;
+    static final int STATUS_INVALID = 422;
+    static final int STATUS_BAD_REQUEST = 400;
+    static final int STATUS_UNAUTHORIZED = 401;
+    static final int STATUS_FORBIDDEN = 403;
+    static final int STATUS_METHOD_NOT_ALLOWED = 405;
+    static final int STATUS_INTERNAL_ERROR = 500;
+
+    private static final Pattern LOOPBACK_HOST_PATTERN = Pattern.compile(
+            "(?i)(localhost|127\\.0\\.0\\.1|\\[::1\\])(:\\d+)?");
+
+    private final MessageSource messageSource;
+    private final ConfigLoader configLoader;
+    private final ConfigValidator validator;
+    private final ValidationPlanCache planCache;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private String token;
+    @Nullable
+    private File tokenFile;
+
+    @Inject
+    public ValidationServer(@NotNull final MessageSource messageSource,
+                            @NotNull final ConfigLoader configLoader,
+                            @NotNull final ConfigValidator validator,
+                            @NotNull final ValidationPlanCache planCache) {
+        this.messageSource = messageSource;
+        this.configLoader = configLoader;
+        this.validator = validator;
+        this.planCache = planCache;
+    }
+
+    /**
+     * Starts the server on the loopback interface with a new token.
+     *
+     * @param port    The port to listen at or {@code 0} for any free port.
+     * @throws IOException if the server could not be started.
+     */
+    public void start(final int port) throws IOException {
+        start(port, null);
+    }
+
+    /**
+     * Starts the server on the loopback interface with a new token,
+     * which gets written to the token file readable by the current user only.
+     * The token file gets deleted when stopping the server.
+     *
+     * @param port         The port to listen at or {@code 0} for any free port.
+     * @param tokenFile    The file to write the token to or {@code null}.
+     * @throws IOException if the server could not be started or the token could not be written.
+     */
+    public synchronized void start(final int port, @Nullable final File tokenFile) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("the server is running already");
+        }
+
+        token = createToken();
+        if (tokenFile != null) {
+            writeToken(tokenFile.toPath(), token);
+        }
+        this.tokenFile = tokenFile;
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(VALIDATE_PATH, this::handle);
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        server.setExecutor(executor);
+        server.start();
+
+        LOGGER.info("validation server listens at http://{}:{}{}",
+                server.getAddress().getHostString(), getPort(), VALIDATE_PATH);
+        if (tokenFile != null) {
+            LOGGER.info("the token for the {} header got written to {}", TOKEN_HEADER, tokenFile);
+        }
+    }
+
+    /**
+     * @return the port the server listens at.
+     */
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("the server is not running");
+        }
+
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return the token which has to be sent with each request.
+     */
+    public synchronized String getToken() {
+        if (server == null) {
+            throw new IllegalStateException("the server is not running");
+        }
+
+        return token;
+    }
+
+    /**
+     * Stops the server after the running requests got completed.
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+
+        server.stop(0);
+        executor.shutdown();
+        server = null;
+        executor = null;
+        token = null;
+        if (tokenFile != null) {
+            try {
+                Files.deleteIfExists(tokenFile.toPath());
+
+            } catch (IOException e) {
+                LOGGER.warn("failed to delete the token file {}", tokenFile, e);
+            }
+            tokenFile = null;
+        }
+        LOGGER.info("validation server stopped");
+    }
+
+    @NotNull
+    private static String createToken() {
+        final byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+
+        final StringBuilder token = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            token.append(String.format("%02x", b));
+        }
+
+        return token.toString();
+    }
+
+    private static void writeToken(@NotNull final Path tokenFile, @NotNull final String token) throws IOException {
+        Files.deleteIfExists(tokenFile);
+        try {
+            Files.createFile(tokenFile, PosixFilePermissions.asFileAttribute(
+                    PosixFilePermissions.fromString("rw-------")));
+
+        } catch (UnsupportedOperationException e) {
+            // no POSIX file system, the file gets the default permissions
+            Files.createFile(tokenFile);
+        }
+
+        Files.write(tokenFile, token.getBytes(UTF_8));
+    }
+
+    /**
+     * @return whether the request is permitted, otherwise the rejection got sent already.
+     */
+    private boolean authorize(@NotNull final HttpExchange exchange, @NotNull final String token) throws IOException {
+        final Headers headers = exchange.getRequestHeaders();
+        if (headers.containsKey("Origin")) {
+            respond(exchange, STATUS_FORBIDDEN, "requests of web pages are not permitted\n");
+            return false;
+        }
+
+        final String host = headers.getFirst("Host");
+        if (host == null || !LOOPBACK_HOST_PATTERN.matcher(host.trim()).matches()) {
+            respond(exchange, STATUS_FORBIDDEN, "only requests for the loopback interface are permitted\n");
+            return false;
+        }
+
+        final String requestToken = headers.getFirst(TOKEN_HEADER);
+        if (requestToken == null || !MessageDigest.isEqual(token.getBytes(UTF_8), requestToken.getBytes(UTF_8))) {
+            respond(exchange, STATUS_UNAUTHORIZED, "missing or invalid " + TOKEN_HEADER + " header\n");
+            return false;
+        }
+
+        return true;
+    }
+
+    private void handle(@NotNull final HttpExchange exchange) throws IOException {
+        final String token;
+        synchronized (this) {
+            token = this.token;
+        }
+
+        try {
+            if (token == null || !authorize(exchange, token)) {
+                return;
+            }
+
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, STATUS_METHOD_NOT_ALLOWED, "only POST is supported\n");
+                return;
+            }
+
+            final Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+            final ReportFormat format = ReportFormat.of(parameters.getOrDefault("format", "jsonl"));
+            if (format == null) {
+                respond(exchange, STATUS_BAD_REQUEST, "unsupported report format: " + parameters.get("format") + "\n");
+                return;
+            }
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final boolean valid = validate(exchange, parameters, format, out);
+
+            exchange.getResponseHeaders().set("Content-Type", format.getContentType());
+            exchange.sendResponseHeaders(valid ? STATUS_VALID : STATUS_INVALID, out.size() == 0 ? -1 : out.size());
+            out.writeTo(exchange.getResponseBody());
+
+        } catch (IllegalArgumentException e) {
+            respond(exchange, STATUS_BAD_REQUEST, e.getMessage() + "\n");
+
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("validation request failed", e);
+            respond(exchange, STATUS_INTERNAL_ERROR, "validation failed: " + e + "\n");
+
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean validate(@NotNull final HttpExchange exchange,
+                             @NotNull final Map<String, String> parameters,
+                             @NotNull final ReportFormat format,
+                             @NotNull final OutputStream out) throws IOException {
+        final String[] specs = split(parameters.get("specs"));
+        if (specs == null) {
+            throw new IllegalArgumentException("missing parameter: specs");
+        }
+
+        final boolean recursive = Boolean.parseBoolean(parameters.get("recursive"));
+        final boolean strict = Boolean.parseBoolean(parameters.get("strict"));
+        final String profile = parameters.get("profile");
+        final ErrorBudget budget = ErrorBudget.of(parseMaxErrors(parameters.get("max-errors")));
+
+        final ValidationPlan plan = planCache.get(specs, recursive);
+
+        final String[] configs = split(parameters.get("configs"));
+        final Config config;
+        if (configs != null) {
+            config = configLoader.load(profile, recursive, configs);
+
+        } else {
+            final String type = parameters.get("type");
+            if (type == null) {
+                throw new IllegalArgumentException("either configs or the type of the config content is required");
+            }
+            if (!CONTENT_TYPES.contains(type.toLowerCase(Locale.ENGLISH))) {
+                throw new IllegalArgumentException("unsupported type of config content: " + type
+                        + " (supported: " + String.join(", ", new TreeSet<>(CONTENT_TYPES)) + ")");
+            }
+
+            // the config factories are file based
+            final File content = File.createTempFile("config", "." + type.toLowerCase(Locale.ENGLISH));
+            try {
+                Files.copy(exchange.getRequestBody(), content.toPath(), REPLACE_EXISTING);
+                config = configLoader.load(profile, false, content.getPath());
+
+            } finally {
+                Files.deleteIfExists(content.toPath());
+            }
+        }
+
+        try (final ValidationReport report = format.createReport(out, messageSource, Locale.getDefault())) {
+            return validator.validate(config, plan, strict, report, budget);
+        }
+    }
+
+    private static void respond(@NotNull final HttpExchange exchange,
+                                final int status,
+                                @NotNull final String message) throws IOException {
+        final byte[] body = message.getBytes(UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    @NotNull
+    static Map<String, String> parseQuery(@Nullable final String query) throws UnsupportedEncodingException {
+        final Map<String, String> parameters = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+
+        for (final String parameter : query.split("&")) {
+            final int separator = parameter.indexOf('=');
+            if (separator < 0) {
+                parameters.put(URLDecoder.decode(parameter, UTF_8.name()), "true");
+
+            } else {
+                parameters.put(
+                        URLDecoder.decode(parameter.substring(0, separator), UTF_8.name()),
+                        URLDecoder.decode(parameter.substring(separator + 1), UTF_8.name()));
+            }
+        }
+
+        return parameters;
+    }
+
+    @Nullable
+    private static String[] split(@Nullable final String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+
+        return value.split(";");
+    }
+
+    private static long parseMaxErrors(@Nullable final String value) {
+        if (value == null) {
+            return 0;
+        }
+
+        try {
+            return Long.parseLong(value.trim());
+
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid amount of max. errors: " + value);
+        }
+    }
+}
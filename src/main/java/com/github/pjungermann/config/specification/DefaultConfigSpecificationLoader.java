@@ -61,22 +61,24 @@ public class DefaultConfigSpecificationLoader implements ConfigSpecificationLoad
         final List<ConfigError> errors = new ArrayList<>();
         final List<ConfigError> syncErrors = synchronizedList(errors);
 
-        sourceStream
-                .parallel()
-                .filter(file -> {
-                    if (file.exists()) {
-                        return true;
-                    }
+        try (SpecificationReader.Session session = specificationReader.openSession()) {
+            sourceStream
+                    .parallel()
+                    .filter(file -> {
+                        if (file.exists()) {
+                            return true;
+                        }
 
-                    syncErrors.add(new NoSuchFileError(file));
-                    return false;
-                })
-                .flatMap(new FilesResolver(recursive))
-                .map(specificationReader)
-                .forEach(partial -> {
-                    syncConstraints.addAll(partial.constraints);
-                    syncErrors.addAll(partial.errors);
-                });
+                        syncErrors.add(new NoSuchFileError(file));
+                        return false;
+                    })
+                    .flatMap(new FilesResolver(recursive))
+                    .map(session)
+                    .forEach(partial -> {
+                        syncConstraints.addAll(partial.constraints);
+                        syncErrors.addAll(partial.errors);
+                    });
+        }
 
         return new ConfigSpecification(typeConverter, constraints, errors);
     }
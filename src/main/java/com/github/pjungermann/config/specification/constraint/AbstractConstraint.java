@@ -28,10 +28,7 @@ import org.springframework.context.support.DefaultMessageSourceResolvable;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Locale;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Base implementation for {@link Constraint constraints}.
@@ -46,6 +43,17 @@ public abstract class AbstractConstraint implements Constraint {
     protected final Object expectation;
     protected final SourceLine sourceLine;
 
+    /**
+     * The parsed {@link #key} if it references collection entries, {@code null} otherwise.
+     */
+    @Nullable
+    protected final CollectionKey collectionKey;
+
+    /**
+     * Memoized result of {@link #isValidExpectation()}.
+     */
+    private volatile Boolean expectationValid;
+
     /**
      * @param key            The key for which this {@link Constraint} gets defined for.
      * @param expectation    The expectation which needs to be fulfilled by the config key's value.
@@ -57,6 +65,7 @@ public abstract class AbstractConstraint implements Constraint {
         this.key = key;
         this.expectation = expectation;
         this.sourceLine = sourceLine;
+        this.collectionKey = CollectionKeyBuilder.build(key);
     }
 
     /**
@@ -97,6 +106,23 @@ public abstract class AbstractConstraint implements Constraint {
         return doValidate(value);
     }
 
+    /**
+     * The expectation does not change, so the result
+     * of {@link #isValidExpectation()} gets memoized.
+     *
+     * @return whether the expectation is a valid one.
+     */
+    @Override
+    public boolean hasValidExpectation() {
+        Boolean valid = expectationValid;
+        if (valid == null) {
+            valid = isValidExpectation();
+            expectationValid = valid;
+        }
+
+        return valid;
+    }
+
     @NotNull
     @Override
     public SourceLine definedAt() {
@@ -112,18 +138,47 @@ public abstract class AbstractConstraint implements Constraint {
     @Nullable
     @Override
     public ConfigError validate(@NotNull final Config config) {
-        return validate(config, key);
+        if (!hasValidExpectation()) {
+            return new InvalidConstraintConfigError(this, expectation);
+        }
+
+        if (collectionKey != null) {
+            return validateCollection(config, collectionKey);
+        }
+
+        return validateValue(config, config.get(key));
+    }
+
+    /**
+     * Entries of collections get validated one by one until the budget is exhausted.
+     *
+     * @param config    the config to be validated.
+     * @param budget    the budget for the errors of this validation.
+     * @return any validation errors fitting into the budget or {@code null}.
+     */
+    @Nullable
+    @Override
+    public ConfigError validate(@NotNull final Config config, @NotNull final ErrorBudget budget) {
+        if (collectionKey == null || !hasValidExpectation()) {
+            return Constraint.super.validate(config, budget);
+        }
+
+        return budget.isExhausted() ? null : validateCollection(config, collectionKey, budget);
     }
 
     @Nullable
     protected ConfigError validate(@NotNull final Config config, @NotNull final String key) {
-        if (!isValidExpectation()) {
+        if (this.key.equals(key)) {
+            return validate(config);
+        }
+
+        if (!hasValidExpectation()) {
             return new InvalidConstraintConfigError(this, expectation);
         }
 
-        CollectionKey collectionKey = CollectionKeyBuilder.build(key);
-        if (collectionKey != null) {
-            return validateCollection(config, collectionKey);
+        final CollectionKey otherCollectionKey = CollectionKeyBuilder.build(key);
+        if (otherCollectionKey != null) {
+            return validateCollection(config, otherCollectionKey);
         }
 
         return validateValue(config, config.get(key));
@@ -131,59 +186,79 @@ public abstract class AbstractConstraint implements Constraint {
 
     @Nullable
     protected ConfigError validateCollection(@NotNull final Config config, @NotNull final CollectionKey key) {
+        return validateCollection(config, key, ErrorBudget.UNLIMITED);
+    }
+
+    /**
+     * Validates the entries of the collection until the budget is exhausted.
+     *
+     * @param config    the config to be validated.
+     * @param key       the key referencing the collection entries.
+     * @param budget    the budget for the errors of this validation.
+     * @return any validation errors fitting into the budget or {@code null}.
+     */
+    @Nullable
+    protected ConfigError validateCollection(@NotNull final Config config,
+                                             @NotNull final CollectionKey key,
+                                             @NotNull final ErrorBudget budget) {
         final Object collectionObject = config.get(key.collectionKey);
         if (collectionObject == null && skipNullValues()) {
             return null;
         }
 
         if (!(collectionObject instanceof Collection)) {
-            return new NoCollectionError(key, collectionObject);
+            return budget.tryConsume() ? new NoCollectionError(key, collectionObject) : null;
         }
 
-        final Collection collection = (Collection) config.get(key.collectionKey);
+        final Collection collection = (Collection) collectionObject;
         if (collection.isEmpty()) {
             return null;
         }
 
-        final Object[] array = collection.toArray();
+        // avoid copying random access lists
+        final List list = collection instanceof List && collection instanceof RandomAccess
+                ? (List) collection
+                : Arrays.asList(collection.toArray());
+        final int size = list.size();
 
-        RangeInfo rangeInfo = key.entrySelection.subListBorders(array.length);
+        RangeInfo rangeInfo = key.entrySelection.subListBorders(size);
         int from = rangeInfo.from;
         int to = rangeInfo.to;
 
         // adjust the collection size
         // TODO: use strict mode to create errors here as well? could also be covered by specifying the size
-        if (array.length - 1 < from) {
+        if (size - 1 < from) {
             // no entry to check
             return null;
         }
-        if (array.length < to) {
-            to = array.length;
+        if (size < to) {
+            to = size;
         }
 
-        final ArrayList<ConfigError> errors = new ArrayList<>();
-        for (int i = from; i < to; i++) {
+        ArrayList<ConfigError> errors = null;
+        for (int i = from; i < to && !budget.isExhausted(); i++) {
             ConfigError error;
-            Object entry = array[i];
+            Object entry = list.get(i);
             if (key.propertyKey == null) {
                 error = validateValue(config, entry);
 
-            } else if (entry instanceof Config) {
-                error = validate(config, key.propertyKey);
-
             } else if (entry instanceof Map) {
+                // includes Config entries which contain their properties as flat keys
                 error = validateValue(config, ((Map) entry).get(key.propertyKey));
 
             } else {
                 error = validateObjectProperty(config, key, entry, key.propertyKey);
             }
 
-            if (error != null) {
+            if (error != null && budget.tryConsume()) {
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
                 errors.add(error);
             }
         }
 
-        if (errors.isEmpty()) {
+        if (errors == null) {
             return null;
         }
 
@@ -253,7 +328,8 @@ public abstract class AbstractConstraint implements Constraint {
     }
 
     @Nullable
-    protected ConfigError validateValue(@NotNull final Config config, @Nullable final Object value) {
+    @Override
+    public ConfigError validateValue(@NotNull final Config config, @Nullable final Object value) {
         if (skipNullValues() && value == null) {
             return null;
         }
@@ -26,14 +26,57 @@ import java.math.BigDecimal;
  * Provides helper for {@link #compare(Number, Number) comparison} of {@link Number Numbers}
  * and validation support.
  *
+ * Integral values ({@link Byte}, {@link Short}, {@link Integer}, {@link Long}) and finite
+ * {@link Double} / {@link Float} values get compared as primitives. Only other {@link Number}
+ * types get compared as {@link BigDecimal} with the expectation converted once.
+ *
  * @author Patrick Jungermann
  */
 public abstract class AbstractNumericalConstraint extends AbstractConstraint {
 
+    private static final int OTHER = 0;
+    private static final int INTEGRAL = 1;
+    private static final int DOUBLE = 2;
+    private static final int FLOAT = 3;
+
+    /**
+     * Integral values up to this magnitude are exactly representable as {@code double}.
+     */
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    /**
+     * Integral values up to this magnitude are exactly representable as {@code float}.
+     */
+    private static final long MAX_EXACT_FLOAT = 1L << 24;
+
+    private static final int NO_FAST_PATH = Integer.MIN_VALUE;
+
+    /**
+     * The expectation as {@link BigDecimal} or {@code null} if it is not a (parsable) {@link Number}.
+     */
+    @Nullable
+    protected final BigDecimal decimalExpectation;
+
     public AbstractNumericalConstraint(@NotNull final String key,
                                        @Nullable final Object expectation,
                                        @NotNull final SourceLine sourceLine) {
         super(key, expectation, sourceLine);
+
+        this.decimalExpectation = toBigDecimal(expectation);
+    }
+
+    @Nullable
+    private static BigDecimal toBigDecimal(@Nullable final Object expectation) {
+        if (!(expectation instanceof Number)) {
+            return null;
+        }
+
+        try {
+            return new BigDecimal(expectation.toString());
+
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     protected abstract ConfigError doValidate(final Number value, final Number expectation) throws NumberFormatException;
@@ -58,18 +101,8 @@ public abstract class AbstractNumericalConstraint extends AbstractConstraint {
 
     @Override
     protected boolean isValidExpectation() {
-        if (expectation == null || !(expectation instanceof Number)) {
-            return false;
-        }
-
-        try {
-            // needs to be able to get parsed
-            new BigDecimal(expectation.toString());
-            return true;
-
-        } catch (NumberFormatException e) {
-            return false;
-        }
+        // needs to be able to get parsed
+        return decimalExpectation != null;
     }
 
     /**
@@ -84,6 +117,11 @@ public abstract class AbstractNumericalConstraint extends AbstractConstraint {
      *          {@link Number#toString()} properly.
      */
     protected int compare(Number base, Number value) throws NumberFormatException {
+        final int result = compareAsPrimitives(base, value);
+        if (result != NO_FAST_PATH) {
+            return result;
+        }
+
         // most likely not the most beautiful solution
         // but quite simple and even supports Number
         // sub-classes which do not inherit from Comparable
@@ -94,6 +132,94 @@ public abstract class AbstractNumericalConstraint extends AbstractConstraint {
         return new BigDecimal(base.toString()).compareTo(new BigDecimal(value.toString()));
     }
 
+    /**
+     * Compares the {@code value} to the expectation
+     * like {@link #compare(Number, Number) compare(value, expectation)}.
+     *
+     * @param value    the value to be compared to the expectation.
+     * @return -1, 0, or 1 as {@code value} is numerically
+     *          less than, equal to, or greater than the expectation.
+     * @throws NumberFormatException
+     *          if the {@link Number} does not implement
+     *          {@link Number#toString()} properly.
+     */
+    protected int compareToExpectation(@NotNull final Number value) throws NumberFormatException {
+        assert decimalExpectation != null;
+
+        final int result = compareAsPrimitives(value, (Number) expectation);
+        if (result != NO_FAST_PATH) {
+            return result;
+        }
+
+        return new BigDecimal(value.toString()).compareTo(decimalExpectation);
+    }
+
+    /**
+     * Compares both numbers as primitives, if this leads to the same result
+     * as the comparison of their {@link BigDecimal} representations.
+     *
+     * @return the comparison result or {@link #NO_FAST_PATH}.
+     */
+    private static int compareAsPrimitives(@NotNull final Number base, @NotNull final Number value) {
+        final int baseKind = kindOf(base);
+        final int valueKind = kindOf(value);
+
+        if (baseKind == INTEGRAL && valueKind == INTEGRAL) {
+            return Long.compare(base.longValue(), value.longValue());
+        }
+
+        if (baseKind == OTHER || valueKind == OTHER) {
+            return NO_FAST_PATH;
+        }
+
+        if (baseKind == valueKind) {
+            return compareFinite(base.doubleValue(), value.doubleValue());
+        }
+
+        if (baseKind == INTEGRAL && isExact(base.longValue(), valueKind)) {
+            return compareFinite(base.longValue(), value.doubleValue());
+        }
+
+        if (valueKind == INTEGRAL && isExact(value.longValue(), baseKind)) {
+            return compareFinite(base.doubleValue(), value.longValue());
+        }
+
+        // float vs. double: their decimal representations can differ
+        return NO_FAST_PATH;
+    }
+
+    private static int kindOf(@NotNull final Number number) {
+        if (number instanceof Integer || number instanceof Long
+                || number instanceof Short || number instanceof Byte) {
+            return INTEGRAL;
+        }
+
+        if (number instanceof Double) {
+            return DOUBLE;
+        }
+
+        if (number instanceof Float) {
+            return FLOAT;
+        }
+
+        return OTHER;
+    }
+
+    private static boolean isExact(final long value, final int kind) {
+        final long max = kind == FLOAT ? MAX_EXACT_FLOAT : MAX_EXACT_DOUBLE;
+        return value >= -max && value <= max;
+    }
+
+    private static int compareFinite(final double base, final double value) {
+        if (Double.isNaN(base) || Double.isInfinite(base) || Double.isNaN(value) || Double.isInfinite(value)) {
+            // not parsable as BigDecimal, handled as invalid number type
+            return NO_FAST_PATH;
+        }
+
+        // -0.0 and 0.0 are equal like their BigDecimal representations
+        return base < value ? -1 : (base > value ? 1 : 0);
+    }
+
     @Override
     public boolean supports(final Class type) {
         return Number.class.isAssignableFrom(type);
@@ -40,6 +40,14 @@ public class ConfigConstraintError implements ConfigError {
         this.value = value;
     }
 
+    /**
+     * @return the {@link Constraint} which got checked.
+     */
+    @NotNull
+    public Constraint getConstraint() {
+        return constraint;
+    }
+
     @NotNull
     @Override
     public String toString() {
@@ -24,6 +24,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.context.MessageSourceResolvable;
 
+import java.util.Set;
+
+import static java.util.Collections.emptySet;
+
 /**
  * Constraints can be applied to a configuration value
  * to express the expectations to this value, used for
@@ -56,6 +60,17 @@ public interface Constraint extends Comparable<Constraint> {
     @NotNull
     String getKey();
 
+    /**
+     * Keys (besides its own {@link #getKey() key}) on whose values the validation depends on.
+     * Needed to decide which constraints have to be re-evaluated after a config changed.
+     *
+     * @return the keys or {@code null} if it can depend on any key of the config.
+     */
+    @Nullable
+    default Set<String> getDependencyKeys() {
+        return emptySet();
+    }
+
     /**
      * @param type    type of a config value.
      * @return whether the type is supported or not.
@@ -69,6 +84,49 @@ public interface Constraint extends Comparable<Constraint> {
     @Nullable
     ConfigError validate(@NotNull final Config config);
 
+    /**
+     * Validates the config within the {@link ErrorBudget}.
+     * All returned errors got consumed from the budget already.
+     *
+     * @param config    the config to be validated.
+     * @param budget    the budget for the errors of this validation.
+     * @return any validation errors fitting into the budget or {@code null}.
+     */
+    @Nullable
+    default ConfigError validate(@NotNull final Config config, @NotNull final ErrorBudget budget) {
+        if (budget.isExhausted()) {
+            return null;
+        }
+
+        final ConfigError error = validate(config);
+
+        return error == null || budget.tryConsume() ? error : null;
+    }
+
+    /**
+     * A constraint with an invalid expectation rejects any config.
+     *
+     * @return whether the expectation onto the config value is a valid one.
+     */
+    default boolean hasValidExpectation() {
+        return true;
+    }
+
+    /**
+     * Validates the value of the {@link #getKey() key} which got resolved by the caller already,
+     * e.g. to share the lookup between all constraints of the same key.
+     * Only applicable for keys which do not reference collection entries
+     * and for constraints with a {@link #hasValidExpectation() valid expectation}.
+     *
+     * @param config    the config to be validated.
+     * @param value     the value of the key at the config.
+     * @return any validation errors or {@code null}.
+     */
+    @Nullable
+    default ConfigError validateValue(@NotNull final Config config, @Nullable final Object value) {
+        return validate(config);
+    }
+
     /**
      * @param value    the rejected config value.
      * @return the error message for the rejected value.
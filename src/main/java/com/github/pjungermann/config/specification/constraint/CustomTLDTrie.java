@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.specification.constraint;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Trie of reversed custom TLDs (e.g. {@code "local"} gets stored as {@code "lacol."})
+ * to find and replace a custom TLD of a domain name, URL or email address
+ * without any regular expression, walking each candidate host end backwards only once.
+ *
+ * The host ends either at the end of the value or right before the first {@code ':'}
+ * or {@code '/'} after it.
+ *
+ * @author Patrick Jungermann
+ */
+class CustomTLDTrie {
+
+    static final String REPLACEMENT = ".valid.com";
+
+    private final Node root = new Node();
+    private final boolean empty;
+
+    /**
+     * @param tlds    The custom TLDs without leading dot (e.g. {@code "local"}, {@code "corp.lan"}).
+     */
+    CustomTLDTrie(@NotNull final Collection<String> tlds) {
+        for (final String tld : tlds) {
+            add("." + tld);
+        }
+        this.empty = tlds.isEmpty();
+    }
+
+    private void add(@NotNull final String suffix) {
+        Node node = root;
+        for (int i = suffix.length() - 1; i >= 0; i--) {
+            node = node.children.computeIfAbsent(suffix.charAt(i), c -> new Node());
+        }
+        node.terminal = true;
+    }
+
+    /**
+     * Replaces the custom TLD of the first host end (i.e. end of the value
+     * or position of a {@code ':'} or {@code '/'}) preceded by one
+     * with a standard TLD. The longest matching custom TLD is replaced.
+     *
+     * @param value    The value which may contain a custom TLD.
+     * @return the value with the custom TLD replaced or the value itself.
+     */
+    @NotNull
+    String replace(@NotNull final String value) {
+        if (empty) {
+            return value;
+        }
+
+        final int length = value.length();
+        for (int end = 0; end <= length; end++) {
+            final char c = end < length ? value.charAt(end) : ':';
+            if (isLineTerminator(c)) {
+                // not supported, equal to the former matching based on "(.*?)\.tld([:/].*)?"
+                return value;
+            }
+            if (c != ':' && c != '/') {
+                continue;
+            }
+
+            final int start = tldStart(value, end);
+            if (start >= 0) {
+                return value.substring(0, start) + REPLACEMENT + value.substring(end);
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * @param value    The value.
+     * @param end      The exclusive end of the host.
+     * @return the start position (at the dot) of the longest custom TLD ending at {@code end} or {@code -1}.
+     */
+    private int tldStart(@NotNull final String value, final int end) {
+        int start = -1;
+        Node node = root;
+        for (int i = end - 1; i >= 0; i--) {
+            node = node.children.get(value.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.terminal) {
+                start = i;
+            }
+        }
+
+        return start;
+    }
+
+    private static boolean isLineTerminator(final char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static class Node {
+        final Map<Character, Node> children = new HashMap<>(4);
+        boolean terminal;
+    }
+}
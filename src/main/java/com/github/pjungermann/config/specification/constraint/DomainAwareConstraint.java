@@ -25,8 +25,6 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.*;
@@ -85,6 +83,11 @@ public abstract class DomainAwareConstraint extends AbstractConstraint {
      */
     protected final Set<String> allowedCustomTLDs;
 
+    /**
+     * Reversed {@link #allowedCustomTLDs} used to find and replace them.
+     */
+    private final CustomTLDTrie customTLDTrie;
+
     protected final Map<String, Object> config;
 
     /**
@@ -120,6 +123,7 @@ public abstract class DomainAwareConstraint extends AbstractConstraint {
 
         this.allowLocal = allowLocal;
         this.allowedCustomTLDs = allowedCustomTLDs;
+        this.customTLDTrie = new CustomTLDTrie(allowedCustomTLDs == null ? emptySet() : allowedCustomTLDs);
     }
 
     @NotNull
@@ -195,20 +199,6 @@ public abstract class DomainAwareConstraint extends AbstractConstraint {
 
     @NotNull
     protected String replaceCustomTLD(@NotNull final String value) {
-        for (final String tld: allowedCustomTLDs) {
-            Pattern pattern = Pattern.compile("(.*?)" + Pattern.quote("." + tld) + "([:/].*)?");
-            Matcher matcher = pattern.matcher(value);
-
-            if (matcher.matches()) {
-                String replaced = matcher.group(1) + ".valid.com";
-                String suffix = matcher.group(2);
-                if (suffix != null) {
-                    replaced += suffix;
-                }
-                return replaced;
-            }
-        }
-
-        return value;
+        return customTLDTrie.replace(value);
     }
 }
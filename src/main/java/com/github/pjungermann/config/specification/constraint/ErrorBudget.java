@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.specification.constraint;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maximal amount of errors to be produced by a validation.
+ *
+ * Once all errors of the budget got {@link #tryConsume() consumed}, the budget
+ * is {@link #isExhausted() exhausted} and all pending evaluations, including
+ * the remaining entries of collections, can be skipped.
+ *
+ * The budget is thread-safe and can be shared by parallel evaluations.
+ * Which errors fit into the budget depends on the order in which they got produced.
+ *
+ * @author Patrick Jungermann
+ */
+public class ErrorBudget {
+
+    /**
+     * Budget without any limit. It never gets exhausted.
+     */
+    public static final ErrorBudget UNLIMITED = new ErrorBudget(Long.MAX_VALUE);
+
+    private final long maxErrors;
+    private final AtomicLong remaining;
+    private volatile boolean exhausted;
+
+    /**
+     * @param maxErrors    The maximal amount of errors, at least {@code 1}.
+     */
+    public ErrorBudget(final long maxErrors) {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("the error budget has to be at least 1, but was " + maxErrors);
+        }
+
+        this.maxErrors = maxErrors;
+        this.remaining = new AtomicLong(maxErrors);
+    }
+
+    /**
+     * @param maxErrors    The maximal amount of errors or {@code 0} (or less) for no limit.
+     * @return a new budget or {@link #UNLIMITED}.
+     */
+    public static ErrorBudget of(final long maxErrors) {
+        return maxErrors < 1 ? UNLIMITED : new ErrorBudget(maxErrors);
+    }
+
+    /**
+     * @return the maximal amount of errors.
+     */
+    public long getMaxErrors() {
+        return maxErrors;
+    }
+
+    /**
+     * Consumes the budget for one error.
+     *
+     * @return whether the error fits into the budget; errors not fitting into it have to be dropped.
+     */
+    public boolean tryConsume() {
+        if (this == UNLIMITED) {
+            return true;
+        }
+
+        if (exhausted) {
+            return false;
+        }
+
+        final long left = remaining.decrementAndGet();
+        if (left <= 0) {
+            exhausted = true;
+        }
+
+        return left >= 0;
+    }
+
+    /**
+     * @return whether no further error fits into the budget.
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    @Override
+    public String toString() {
+        return this == UNLIMITED ? "ErrorBudget(unlimited)" : "ErrorBudget(" + maxErrors + ")";
+    }
+}
@@ -44,6 +44,14 @@ public class InvalidConstraintConfigError implements ConfigError {
         this.expectation = expectation;
     }
 
+    /**
+     * @return the {@link Constraint} which got checked.
+     */
+    @NotNull
+    public Constraint getConstraint() {
+        return constraint;
+    }
+
     @Override
     public String toString() {
         return "Illegal config for constraint \"" + constraint.getName()
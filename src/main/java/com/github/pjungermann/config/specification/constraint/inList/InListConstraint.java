@@ -22,16 +22,41 @@ import com.github.pjungermann.config.specification.constraint.Constraint;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
 
 /**
  * Checks whether the config value is part of the provided {@link Collection}
  * of valid values.
  *
+ * Numbers are compared by their numerical value, so that e.g. {@code 1}, {@code 1L}
+ * and {@code 1.0} are considered equal independent of the parser which created them.
+ * The lookup structures get created once, so that checking a value does not depend
+ * on the amount of valid values.
+ *
  * @author Patrick Jungermann
  */
 public class InListConstraint extends AbstractConstraint {
 
+    /**
+     * Sorted integral valid values (incl. integral floating point values).
+     */
+    private final long[] integralValues;
+
+    /**
+     * Valid values of immutable types with a proper {@link Object#hashCode()}
+     * (non-integral numbers normalized as {@link BigDecimal}).
+     */
+    private final Set<Object> hashedValues;
+
+    /**
+     * Valid values of any other type which get compared using {@link Object#equals(Object)}.
+     */
+    private final List<Object> otherValues;
+
+    private final boolean containsNull;
+
     /**
      * @param key            The key for which this {@link Constraint} gets defined for.
      * @param expectation    The expectation which needs to be fulfilled by the config key's value.
@@ -41,6 +66,106 @@ public class InListConstraint extends AbstractConstraint {
                             @Nullable final Object expectation,
                             @NotNull final SourceLine sourceLine) {
         super(key, expectation, sourceLine);
+
+        final Collection<?> allowedValues = expectation instanceof Collection
+                ? (Collection<?>) expectation
+                : Collections.emptyList();
+
+        final Set<Long> integrals = new TreeSet<>();
+        final Set<Object> hashed = new HashSet<>();
+        final List<Object> others = new ArrayList<>();
+        boolean containsNull = false;
+        for (final Object allowedValue : allowedValues) {
+            if (allowedValue == null) {
+                containsNull = true;
+
+            } else if (isNormalizedNumber(allowedValue)) {
+                final Number number = (Number) allowedValue;
+                if (isIntegral(number)) {
+                    integrals.add(number.longValue());
+
+                } else {
+                    hashed.add(normalize(number));
+                }
+
+            } else if (isHashable(allowedValue)) {
+                hashed.add(allowedValue);
+
+            } else {
+                others.add(allowedValue);
+            }
+        }
+
+        this.integralValues = new long[integrals.size()];
+        int i = 0;
+        for (final long integral : integrals) {
+            integralValues[i++] = integral;
+        }
+        this.hashedValues = hashed;
+        this.otherValues = others;
+        this.containsNull = containsNull;
+    }
+
+    /**
+     * @return whether the value is a number which gets compared by its numerical value.
+     */
+    private static boolean isNormalizedNumber(@NotNull final Object value) {
+        return value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte
+                || value instanceof Double || value instanceof Float
+                || value instanceof BigDecimal || value instanceof BigInteger;
+    }
+
+    /**
+     * @return whether the value is immutable and hashable.
+     */
+    private static boolean isHashable(@NotNull final Object value) {
+        return value instanceof String
+                || value instanceof Boolean
+                || value instanceof Character
+                || value instanceof Enum;
+    }
+
+    /**
+     * @return whether the number is integral and within the range of {@code long}.
+     */
+    private static boolean isIntegral(@NotNull final Number number) {
+        if (number instanceof Double || number instanceof Float) {
+            final double value = number.doubleValue();
+            return value == Math.rint(value) && value >= Long.MIN_VALUE && value < Long.MAX_VALUE;
+        }
+
+        if (number instanceof BigDecimal) {
+            final BigDecimal value = (BigDecimal) number;
+            return value.signum() == 0 || value.stripTrailingZeros().scale() <= 0 && value.toBigInteger().bitLength() < 64;
+        }
+
+        if (number instanceof BigInteger) {
+            return ((BigInteger) number).bitLength() < 64;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the non-integral number in a comparable form.
+     */
+    @NotNull
+    private static Object normalize(@NotNull final Number number) {
+        if (number instanceof Double && (((Double) number).isNaN() || ((Double) number).isInfinite())
+                || number instanceof Float && (((Float) number).isNaN() || ((Float) number).isInfinite())) {
+            return number.doubleValue();
+        }
+
+        if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number).stripTrailingZeros();
+        }
+
+        if (number instanceof BigDecimal) {
+            return ((BigDecimal) number).stripTrailingZeros();
+        }
+
+        return new BigDecimal(number.toString()).stripTrailingZeros();
     }
 
     @Override
@@ -53,20 +178,38 @@ public class InListConstraint extends AbstractConstraint {
     @Nullable
     @Override
     protected ConfigError doValidate(Object value) {
-        assert expectation != null;
-        final Collection allowedValues = (Collection) expectation;
+        return contains(value) ? null : violatedBy(value);
+    }
 
-        for (final Object allowedValue : allowedValues) {
-            if (allowedValue == null && value == null) {
-                return null;
+    /**
+     * @param value    The value.
+     * @return whether the value is one of the valid values.
+     */
+    protected boolean contains(@Nullable final Object value) {
+        if (value == null) {
+            return containsNull;
+        }
+
+        if (isNormalizedNumber(value)) {
+            final Number number = (Number) value;
+            final boolean found = isIntegral(number)
+                    ? Arrays.binarySearch(integralValues, number.longValue()) >= 0
+                    : hashedValues.contains(normalize(number));
+            if (found) {
+                return true;
             }
 
-            if (allowedValue != null && allowedValue.equals(value)) {
-                return null;
+        } else if (isHashable(value) && hashedValues.contains(value)) {
+            return true;
+        }
+
+        for (final Object otherValue : otherValues) {
+            if (otherValue.equals(value)) {
+                return true;
             }
         }
 
-        return violatedBy(value);
+        return false;
     }
 
     @Override
@@ -0,0 +1,1012 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.specification.constraint.matches;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Regular expression engine with a matching time linear to the length of the input.
+ *
+ * <p>
+ * The patterns get compiled into a Thompson NFA which gets converted into a DFA
+ * lazily while matching (the DFA states get cached and shared between threads).
+ * Contrary to {@link Pattern}, no backtracking is used, so hostile input cannot
+ * cause an exponential matching time.
+ * </p>
+ *
+ * <p>
+ * Supported is the commonly used subset of the {@link Pattern} syntax:
+ * literals, escape sequences, character classes including the predefined and
+ * POSIX ones, {@code .}, groups, alternations, greedy and reluctant quantifiers
+ * as well as {@code ^} and {@code $} at the start and end of the pattern.
+ * Constructs which require backtracking or any other context (back references,
+ * look-around, atomic groups, possessive quantifiers, boundary matchers, flags)
+ * are rejected with a {@link PatternSyntaxException}.
+ * </p>
+ *
+ * <p>
+ * Multiple patterns can be compiled into one automaton, so that all of them
+ * get matched within one pass over the input.
+ * </p>
+ *
+ * @author Patrick Jungermann
+ */
+public final class LinearPattern {
+
+    /**
+     * Maximal amount of NFA instructions, e.g. to limit the expansion of counted repetitions.
+     */
+    static final int MAX_INSTRUCTIONS = 20000;
+
+    /**
+     * Maximal amount of DFA states cached per pattern. Further states get
+     * computed on demand without caching them.
+     */
+    static final int MAX_CACHED_STATES = 4096;
+
+    /**
+     * Maximal amount of NFA instructions held by all cached DFA states of a pattern
+     * (up to 4 MiB), as a state can contain up to {@link #MAX_INSTRUCTIONS}.
+     * Further states get computed on demand without caching them.
+     */
+    static final int MAX_CACHED_INSTRUCTIONS = 1 << 20;
+
+    private static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+    private static final int ASCII = 128;
+
+    private static final int OP_RANGES = 0;
+    private static final int OP_SPLIT = 1;
+    private static final int OP_JUMP = 2;
+    private static final int OP_MATCH = 3;
+
+    private final List<String> patterns;
+    private final Program program;
+    private final ConcurrentHashMap<StateKey, State> states = new ConcurrentHashMap<>();
+    private final AtomicInteger cachedInstructions = new AtomicInteger();
+    private final State start;
+
+    private LinearPattern(@NotNull final List<String> patterns, @NotNull final Program program) {
+        this.patterns = patterns;
+        this.program = program;
+
+        final Scratch scratch = new Scratch(program.size());
+        program.addClosure(program.start, scratch.set, scratch.visited, scratch.stack);
+        this.start = state(scratch.set);
+    }
+
+    /**
+     * @param regex    The regular expression.
+     * @return the compiled pattern.
+     * @throws PatternSyntaxException if the regular expression is invalid or not supported.
+     */
+    @NotNull
+    public static LinearPattern compile(@NotNull final String regex) throws PatternSyntaxException {
+        return compile(singletonList(regex));
+    }
+
+    /**
+     * @param pattern    The pattern. Flags are not supported.
+     * @return the compiled pattern.
+     * @throws PatternSyntaxException if the pattern is not supported.
+     */
+    @NotNull
+    public static LinearPattern compile(@NotNull final Pattern pattern) throws PatternSyntaxException {
+        if (pattern.flags() != 0) {
+            throw new PatternSyntaxException("flags are not supported", pattern.pattern(), -1);
+        }
+
+        return compile(pattern.pattern());
+    }
+
+    /**
+     * Compiles all regular expressions into one automaton.
+     *
+     * @param regexes    The regular expressions.
+     * @return the compiled pattern.
+     * @throws PatternSyntaxException if any regular expression is invalid or not supported.
+     */
+    @NotNull
+    public static LinearPattern compile(@NotNull final List<String> regexes) throws PatternSyntaxException {
+        if (regexes.isEmpty()) {
+            throw new IllegalArgumentException("at least one regular expression is required");
+        }
+
+        final List<Node> nodes = new ArrayList<>(regexes.size());
+        for (final String regex : regexes) {
+            // reports syntax errors the same way as for the backtracking engine
+            Pattern.compile(regex);
+            nodes.add(new Parser(regex).parse());
+        }
+
+        final Program program;
+        try {
+            program = new Compiler().compile(nodes);
+
+        } catch (PatternSyntaxException e) {
+            throw new PatternSyntaxException(e.getDescription(), String.join("|", regexes), -1);
+        }
+
+        return new LinearPattern(unmodifiableList(new ArrayList<>(regexes)), program);
+    }
+
+    /**
+     * @return the regular expressions of this pattern.
+     */
+    @NotNull
+    public List<String> patterns() {
+        return patterns;
+    }
+
+    /**
+     * @param input    The input to match.
+     * @return whether the whole input matches all patterns.
+     */
+    public boolean matches(@NotNull final CharSequence input) {
+        return run(input).matchesAll;
+    }
+
+    /**
+     * @param input    The input to match.
+     * @return the indices of all patterns which match the whole input.
+     */
+    @NotNull
+    public BitSet matching(@NotNull final CharSequence input) {
+        return (BitSet) run(input).matched.clone();
+    }
+
+    @NotNull
+    private State run(@NotNull final CharSequence input) {
+        State state = start;
+        // allocated on the first transition which is not cached and reused for the rest of the input
+        Scratch scratch = null;
+        final int length = input.length();
+        for (int i = 0; i < length && !state.isDead(); ) {
+            final char c = input.charAt(i++);
+            int codePoint = c;
+            if (Character.isHighSurrogate(c) && i < length && Character.isLowSurrogate(input.charAt(i))) {
+                codePoint = Character.toCodePoint(c, input.charAt(i++));
+            }
+
+            final State[] ascii = state.ascii;
+            final State cached = codePoint < ASCII && ascii != null ? ascii[codePoint] : null;
+            if (cached != null) {
+                state = cached;
+                continue;
+            }
+
+            if (scratch == null) {
+                scratch = new Scratch(program.size());
+            }
+            state = next(state, codePoint, scratch);
+        }
+
+        return state;
+    }
+
+    @NotNull
+    private State next(@NotNull final State state, final int codePoint, @NotNull final Scratch scratch) {
+        scratch.clear();
+        for (final int pc : state.pcs) {
+            if (program.ops[pc] == OP_RANGES && contains(program.ranges[pc], codePoint)) {
+                program.addClosure(pc + 1, scratch.set, scratch.visited, scratch.stack);
+            }
+        }
+
+        final State next = state(scratch.set);
+        if (codePoint < ASCII && state.cached && next.cached) {
+            // racy, but idempotent and states are immutable
+            State[] ascii = state.ascii;
+            if (ascii == null) {
+                ascii = new State[ASCII];
+                state.ascii = ascii;
+            }
+            ascii[codePoint] = next;
+        }
+
+        return next;
+    }
+
+    @NotNull
+    private State state(@NotNull final SparseSet set) {
+        final int[] pcs = set.toSortedArray();
+        final StateKey key = new StateKey(pcs);
+
+        final State known = states.get(key);
+        if (known != null) {
+            return known;
+        }
+
+        final BitSet matched = new BitSet(patterns.size());
+        for (final int pc : pcs) {
+            if (program.ops[pc] == OP_MATCH) {
+                matched.set(program.args1[pc]);
+            }
+        }
+
+        final boolean cache = states.size() < MAX_CACHED_STATES
+                && cachedInstructions.get() + pcs.length <= MAX_CACHED_INSTRUCTIONS;
+        final State state = new State(pcs, matched, matched.cardinality() == patterns.size(), cache);
+        if (!cache) {
+            return state;
+        }
+
+        final State raced = states.putIfAbsent(key, state);
+        if (raced != null) {
+            return raced;
+        }
+
+        cachedInstructions.addAndGet(pcs.length);
+        return state;
+    }
+
+    static boolean contains(@NotNull final int[] ranges, final int codePoint) {
+        int low = 0;
+        int high = ranges.length / 2 - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (codePoint < ranges[2 * middle]) {
+                high = middle - 1;
+
+            } else if (codePoint > ranges[2 * middle + 1]) {
+                low = middle + 1;
+
+            } else {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + patterns;
+    }
+
+    /**
+     * DFA state: the set of NFA instructions ({@link #OP_RANGES} and {@link #OP_MATCH}).
+     */
+    private static final class State {
+
+        final int[] pcs;
+        final BitSet matched;
+        final boolean matchesAll;
+        final boolean cached;
+
+        /**
+         * Cached transitions for ASCII input, allocated with the first one (cached states only).
+         */
+        volatile State[] ascii;
+
+        State(final int[] pcs, final BitSet matched, final boolean matchesAll, final boolean cached) {
+            this.pcs = pcs;
+            this.matched = matched;
+            this.matchesAll = matchesAll;
+            this.cached = cached;
+        }
+
+        boolean isDead() {
+            return pcs.length == 0;
+        }
+    }
+
+    private static final class StateKey {
+
+        final int[] pcs;
+        final int hash;
+
+        StateKey(final int[] pcs) {
+            this.pcs = pcs;
+            this.hash = Arrays.hashCode(pcs);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof StateKey && Arrays.equals(pcs, ((StateKey) other).pcs);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Working memory for computing DFA transitions, used by one thread only.
+     */
+    private static final class Scratch {
+
+        final SparseSet set;
+        final SparseSet visited;
+        final int[] stack;
+
+        Scratch(final int capacity) {
+            set = new SparseSet(capacity);
+            visited = new SparseSet(capacity);
+            stack = new int[capacity];
+        }
+
+        void clear() {
+            set.size = 0;
+            visited.size = 0;
+        }
+    }
+
+    /**
+     * Set of NFA instructions with constant time insertion and lookup.
+     */
+    private static final class SparseSet {
+
+        final int[] dense;
+        final int[] sparse;
+        int size;
+
+        SparseSet(final int capacity) {
+            dense = new int[capacity];
+            sparse = new int[capacity];
+        }
+
+        boolean add(final int value) {
+            final int index = sparse[value];
+            if (index < size && dense[index] == value) {
+                return false;
+            }
+
+            sparse[value] = size;
+            dense[size++] = value;
+            return true;
+        }
+
+        int[] toSortedArray() {
+            final int[] values = Arrays.copyOf(dense, size);
+            Arrays.sort(values);
+            return values;
+        }
+    }
+
+    /**
+     * Compiled NFA.
+     */
+    private static final class Program {
+
+        final int[] ops;
+        final int[] args1;
+        final int[] args2;
+        final int[][] ranges;
+        final int start;
+
+        Program(final int[] ops, final int[] args1, final int[] args2, final int[][] ranges, final int start) {
+            this.ops = ops;
+            this.args1 = args1;
+            this.args2 = args2;
+            this.ranges = ranges;
+            this.start = start;
+        }
+
+        int size() {
+            return ops.length;
+        }
+
+        /**
+         * Adds all instructions reachable from {@code pc} without consuming input.
+         *
+         * @param pc         The instruction to start at.
+         * @param set        The set to add the reachable instructions to.
+         * @param visited    All instructions visited so far (shared for one step).
+         * @param stack      Stack with a capacity of the program's size.
+         */
+        void addClosure(final int pc,
+                        @NotNull final SparseSet set,
+                        @NotNull final SparseSet visited,
+                        @NotNull final int[] stack) {
+            int top = 0;
+            if (visited.add(pc)) {
+                stack[top++] = pc;
+            }
+
+            while (top > 0) {
+                final int current = stack[--top];
+                switch (ops[current]) {
+                    case OP_SPLIT:
+                        if (visited.add(args2[current])) {
+                            stack[top++] = args2[current];
+                        }
+                        if (visited.add(args1[current])) {
+                            stack[top++] = args1[current];
+                        }
+                        break;
+
+                    case OP_JUMP:
+                        if (visited.add(args1[current])) {
+                            stack[top++] = args1[current];
+                        }
+                        break;
+
+                    default:
+                        set.add(current);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compiles the syntax tree into a {@link Program}.
+     */
+    private static final class Compiler {
+
+        int[] ops = new int[64];
+        int[] args1 = new int[64];
+        int[] args2 = new int[64];
+        int[][] ranges = new int[64][];
+        int size;
+
+        @NotNull
+        Program compile(@NotNull final List<Node> patterns) {
+            final int start = size;
+            for (int i = 0; i < patterns.size(); i++) {
+                final int split = i < patterns.size() - 1 ? emit(OP_SPLIT) : -1;
+                if (split >= 0) {
+                    args1[split] = size;
+                }
+
+                patterns.get(i).emit(this);
+                final int match = emit(OP_MATCH);
+                args1[match] = i;
+
+                if (split >= 0) {
+                    args2[split] = size;
+                }
+            }
+
+            return new Program(
+                    Arrays.copyOf(ops, size),
+                    Arrays.copyOf(args1, size),
+                    Arrays.copyOf(args2, size),
+                    Arrays.copyOf(ranges, size),
+                    start
+            );
+        }
+
+        int emit(final int op) {
+            if (size >= MAX_INSTRUCTIONS) {
+                throw new PatternSyntaxException("pattern is too large for the linear mode", "", -1);
+            }
+            if (size == ops.length) {
+                final int capacity = size * 2;
+                ops = Arrays.copyOf(ops, capacity);
+                args1 = Arrays.copyOf(args1, capacity);
+                args2 = Arrays.copyOf(args2, capacity);
+                ranges = Arrays.copyOf(ranges, capacity);
+            }
+
+            ops[size] = op;
+            return size++;
+        }
+
+        void emitRanges(@NotNull final int[] codePointRanges) {
+            // emit first, as it can replace the arrays
+            final int pc = emit(OP_RANGES);
+            ranges[pc] = codePointRanges;
+        }
+
+        void emitAlternation(@NotNull final List<Node> alternatives) {
+            final List<Integer> jumps = new ArrayList<>();
+            for (int i = 0; i < alternatives.size() - 1; i++) {
+                final int split = emit(OP_SPLIT);
+                args1[split] = size;
+                alternatives.get(i).emit(this);
+                jumps.add(emit(OP_JUMP));
+                args2[split] = size;
+            }
+            alternatives.get(alternatives.size() - 1).emit(this);
+
+            for (final int jump : jumps) {
+                args1[jump] = size;
+            }
+        }
+
+        void emitRepetition(@NotNull final Node node, final int min, final int max) {
+            for (int i = 0; i < min; i++) {
+                node.emit(this);
+            }
+
+            if (max < 0) {
+                // node*
+                final int split = emit(OP_SPLIT);
+                args1[split] = size;
+                node.emit(this);
+                final int jump = emit(OP_JUMP);
+                args1[jump] = split;
+                args2[split] = size;
+                return;
+            }
+
+            // node? node? ... (max - min times), each skipping to the end
+            final List<Integer> splits = new ArrayList<>();
+            for (int i = min; i < max; i++) {
+                final int split = emit(OP_SPLIT);
+                args1[split] = size;
+                splits.add(split);
+                node.emit(this);
+            }
+            for (final int split : splits) {
+                args2[split] = size;
+            }
+        }
+    }
+
+    /**
+     * Syntax tree node.
+     */
+    private interface Node {
+        void emit(@NotNull Compiler compiler);
+    }
+
+    /**
+     * Parses the supported subset of the {@link Pattern} syntax.
+     */
+    private static final class Parser {
+
+        private static final int[] DIGIT = {'0', '9'};
+        private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+        private static final int[] SPACE = {'\t', '\r', ' ', ' '};
+        private static final int[] HORIZONTAL_SPACE = {
+                '\t', '\t', ' ', ' ', 0xa0, 0xa0, 0x1680, 0x1680, 0x180e, 0x180e,
+                0x2000, 0x200a, 0x202f, 0x202f, 0x205f, 0x205f, 0x3000, 0x3000
+        };
+        private static final int[] VERTICAL_SPACE = {'\n', '\r', 0x85, 0x85, 0x2028, 0x2029};
+        private static final int[] LINE_TERMINATORS = {'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029};
+        private static final Map<String, int[]> POSIX_CLASSES = new HashMap<>();
+
+        static {
+            POSIX_CLASSES.put("Lower", new int[]{'a', 'z'});
+            POSIX_CLASSES.put("Upper", new int[]{'A', 'Z'});
+            POSIX_CLASSES.put("ASCII", new int[]{0, 0x7f});
+            POSIX_CLASSES.put("Alpha", new int[]{'A', 'Z', 'a', 'z'});
+            POSIX_CLASSES.put("Digit", DIGIT);
+            POSIX_CLASSES.put("Alnum", new int[]{'0', '9', 'A', 'Z', 'a', 'z'});
+            POSIX_CLASSES.put("Punct", new int[]{'!', '/', ':', '@', '[', '`', '{', '~'});
+            POSIX_CLASSES.put("Graph", new int[]{'!', '~'});
+            POSIX_CLASSES.put("Print", new int[]{' ', '~'});
+            POSIX_CLASSES.put("Blank", new int[]{'\t', '\t', ' ', ' '});
+            POSIX_CLASSES.put("Cntrl", new int[]{0, 0x1f, 0x7f, 0x7f});
+            POSIX_CLASSES.put("XDigit", new int[]{'0', '9', 'A', 'F', 'a', 'f'});
+            POSIX_CLASSES.put("Space", SPACE);
+        }
+
+        private final String regex;
+        private int position;
+
+        Parser(@NotNull final String regex) {
+            this.regex = regex;
+        }
+
+        @NotNull
+        Node parse() {
+            final Node node = parseAlternation();
+            if (position < regex.length()) {
+                throw unsupported("unbalanced parenthesis");
+            }
+
+            return node;
+        }
+
+        private PatternSyntaxException unsupported(@NotNull final String description) {
+            return new PatternSyntaxException(description + " not supported in linear mode", regex, position);
+        }
+
+        private boolean more() {
+            return position < regex.length();
+        }
+
+        private char peek() {
+            return regex.charAt(position);
+        }
+
+        private boolean lookingAt(@NotNull final String text) {
+            return regex.startsWith(text, position);
+        }
+
+        private int nextCodePoint() {
+            final int codePoint = regex.codePointAt(position);
+            position += Character.charCount(codePoint);
+            return codePoint;
+        }
+
+        @NotNull
+        private Node parseAlternation() {
+            final List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseConcatenation());
+            while (more() && peek() == '|') {
+                position++;
+                alternatives.add(parseConcatenation());
+            }
+
+            if (alternatives.size() == 1) {
+                return alternatives.get(0);
+            }
+
+            return compiler -> compiler.emitAlternation(alternatives);
+        }
+
+        @NotNull
+        private Node parseConcatenation() {
+            final List<Node> sequence = new ArrayList<>();
+            while (more() && peek() != '|' && peek() != ')') {
+                if (lookingAt("\\Q")) {
+                    position += 2;
+                    final List<Node> quoted = parseQuotation();
+                    if (!quoted.isEmpty()) {
+                        // like java.util.regex, any quantifier applies to the last quoted character only
+                        sequence.addAll(quoted.subList(0, quoted.size() - 1));
+                        sequence.add(parseRepetition(quoted.get(quoted.size() - 1)));
+                    }
+                    continue;
+                }
+
+                sequence.add(parseRepetition(parseAtom()));
+            }
+
+            return compiler -> {
+                for (final Node node : sequence) {
+                    node.emit(compiler);
+                }
+            };
+        }
+
+        @NotNull
+        private Node parseRepetition(@NotNull final Node atom) {
+            Node node = atom;
+
+            while (more()) {
+                final int min;
+                final int max;
+                final char c = peek();
+                if (c == '*') {
+                    position++;
+                    min = 0;
+                    max = -1;
+
+                } else if (c == '+') {
+                    position++;
+                    min = 1;
+                    max = -1;
+
+                } else if (c == '?') {
+                    position++;
+                    min = 0;
+                    max = 1;
+
+                } else if (c == '{') {
+                    final int close = regex.indexOf('}', position);
+                    final String[] bounds = regex.substring(position + 1, close).split(",", -1);
+                    position = close + 1;
+                    min = Integer.parseInt(bounds[0].trim());
+                    max = bounds.length == 1
+                            ? min
+                            : bounds[1].trim().isEmpty() ? -1 : Integer.parseInt(bounds[1].trim());
+
+                } else {
+                    break;
+                }
+
+                if (more() && peek() == '+') {
+                    throw unsupported("possessive quantifier");
+                }
+                if (more() && peek() == '?') {
+                    // reluctant quantifiers match the same inputs
+                    position++;
+                }
+
+                final Node repeated = node;
+                node = compiler -> compiler.emitRepetition(repeated, min, max);
+            }
+
+            return node;
+        }
+
+        @NotNull
+        private Node parseAtom() {
+            final int atStart = position;
+            final int codePoint = nextCodePoint();
+            switch (codePoint) {
+                case '(':
+                    return parseGroup();
+
+                case '[':
+                    return ranges(parseClass());
+
+                case '.':
+                    return ranges(complement(LINE_TERMINATORS));
+
+                case '^':
+                    if (atStart != 0) {
+                        throw unsupported("^ within the pattern");
+                    }
+                    return compiler -> {};
+
+                case '$':
+                    if (position != regex.length()) {
+                        throw unsupported("$ within the pattern");
+                    }
+                    return compiler -> {};
+
+                case '\\':
+                    return ranges(parseEscape(false));
+
+                default:
+                    return ranges(new int[]{codePoint, codePoint});
+            }
+        }
+
+        @NotNull
+        private Node parseGroup() {
+            if (lookingAt("?:")) {
+                position += 2;
+
+            } else if (lookingAt("?<") && position + 2 < regex.length()
+                    && Character.isLetter(regex.charAt(position + 2))) {
+                // named group
+                position = regex.indexOf('>', position) + 1;
+
+            } else if (lookingAt("?")) {
+                throw unsupported("look-around, atomic groups and flags are");
+            }
+
+            final Node node = parseAlternation();
+            if (!more() || peek() != ')') {
+                throw unsupported("unbalanced parenthesis");
+            }
+            position++;
+
+            return node;
+        }
+
+        @NotNull
+        private List<Node> parseQuotation() {
+            int end = regex.indexOf("\\E", position);
+            if (end < 0) {
+                end = regex.length();
+            }
+            final String quoted = regex.substring(position, end);
+            position = Math.min(end + 2, regex.length());
+
+            final List<Node> sequence = new ArrayList<>();
+            quoted.codePoints().forEach(codePoint -> sequence.add(ranges(new int[]{codePoint, codePoint})));
+
+            return sequence;
+        }
+
+        @NotNull
+        private int[] parseClass() {
+            boolean negate = false;
+            if (more() && peek() == '^') {
+                position++;
+                negate = true;
+            }
+
+            final List<int[]> parts = new ArrayList<>();
+            boolean first = true;
+            while (true) {
+                if (!more()) {
+                    throw unsupported("unclosed character class");
+                }
+
+                final char c = peek();
+                if (c == ']' && !first) {
+                    position++;
+                    break;
+                }
+                first = false;
+
+                if (c == '[' || lookingAt("&&")) {
+                    throw unsupported("nested character classes and intersections are");
+                }
+
+                final int[] low = parseClassMember();
+                if (low.length == 2 && low[0] == low[1]
+                        && lookingAt("-") && position + 1 < regex.length() && regex.charAt(position + 1) != ']') {
+                    position++;
+                    final int[] high = parseClassMember();
+                    if (high.length != 2 || high[0] != high[1]) {
+                        throw unsupported("character class as range bound");
+                    }
+                    parts.add(new int[]{low[0], high[0]});
+
+                } else {
+                    parts.add(low);
+                }
+            }
+
+            final int[] ranges = normalize(parts);
+            return negate ? complement(ranges) : ranges;
+        }
+
+        @NotNull
+        private int[] parseClassMember() {
+            final int codePoint = nextCodePoint();
+            if (codePoint == '\\') {
+                return parseEscape(true);
+            }
+
+            return new int[]{codePoint, codePoint};
+        }
+
+        @NotNull
+        private int[] parseEscape(final boolean inClass) {
+            if (!more()) {
+                throw unsupported("trailing backslash");
+            }
+
+            final int c = nextCodePoint();
+            switch (c) {
+                case 'd': return DIGIT;
+                case 'D': return complement(DIGIT);
+                case 'w': return WORD;
+                case 'W': return complement(WORD);
+                case 's': return SPACE;
+                case 'S': return complement(SPACE);
+                case 'h': return HORIZONTAL_SPACE;
+                case 'H': return complement(HORIZONTAL_SPACE);
+                case 'v': return VERTICAL_SPACE;
+                case 'V': return complement(VERTICAL_SPACE);
+                case 't': return single('\t');
+                case 'n': return single('\n');
+                case 'r': return single('\r');
+                case 'f': return single('\f');
+                case 'a': return single(0x07);
+                case 'e': return single(0x1b);
+                case 'c': return single(nextCodePoint() ^ 64);
+                case '0': return single(parseOctal());
+                case 'x': return single(parseHex());
+                case 'u': return single(parseHexDigits(4));
+                case 'p':
+                case 'P': {
+                    final int[] posix = parsePosixClass();
+                    return c == 'p' ? posix : complement(posix);
+                }
+                default:
+                    if (c >= '1' && c <= '9') {
+                        throw unsupported("back references are");
+                    }
+                    if (Character.isLetter(c)) {
+                        throw unsupported("\\" + new String(Character.toChars(c)) + (inClass ? " in a class is" : " is"));
+                    }
+                    return single(c);
+            }
+        }
+
+        private int parseOctal() {
+            int value = 0;
+            int digits = 0;
+            while (more() && digits < 3 && peek() >= '0' && peek() <= '7'
+                    && value * 8 + (peek() - '0') <= 0377) {
+                value = value * 8 + (regex.charAt(position++) - '0');
+                digits++;
+            }
+
+            return value;
+        }
+
+        private int parseHex() {
+            if (more() && peek() == '{') {
+                final int close = regex.indexOf('}', position);
+                final int value = Integer.parseInt(regex.substring(position + 1, close), 16);
+                position = close + 1;
+                return value;
+            }
+
+            return parseHexDigits(2);
+        }
+
+        private int parseHexDigits(final int digits) {
+            final int value = Integer.parseInt(regex.substring(position, position + digits), 16);
+            position += digits;
+            return value;
+        }
+
+        @NotNull
+        private int[] parsePosixClass() {
+            if (!more() || peek() != '{') {
+                throw unsupported("single letter property classes are");
+            }
+
+            final int close = regex.indexOf('}', position);
+            final String name = regex.substring(position + 1, close);
+            position = close + 1;
+
+            // "Is" prefixed names (e.g. IsDigit) are Unicode properties for java.util.regex
+            final int[] ranges = POSIX_CLASSES.get(name);
+            if (ranges == null) {
+                throw unsupported("property class " + name + " is");
+            }
+
+            return ranges;
+        }
+
+        @NotNull
+        private static int[] single(final int codePoint) {
+            return new int[]{codePoint, codePoint};
+        }
+
+        @NotNull
+        private static Node ranges(@NotNull final int[] codePointRanges) {
+            return compiler -> compiler.emitRanges(codePointRanges);
+        }
+    }
+
+    /**
+     * @param parts    Ranges as pairs of inclusive bounds.
+     * @return sorted and merged ranges.
+     */
+    @NotNull
+    static int[] normalize(@NotNull final List<int[]> parts) {
+        final List<int[]> pairs = new ArrayList<>();
+        for (final int[] part : parts) {
+            for (int i = 0; i < part.length; i += 2) {
+                pairs.add(new int[]{part[i], part[i + 1]});
+            }
+        }
+        pairs.sort(Comparator.comparingInt(pair -> pair[0]));
+
+        final int[] merged = new int[pairs.size() * 2];
+        int size = 0;
+        for (final int[] pair : pairs) {
+            if (size > 0 && pair[0] <= merged[size - 1] + 1) {
+                merged[size - 1] = Math.max(merged[size - 1], pair[1]);
+
+            } else {
+                merged[size++] = pair[0];
+                merged[size++] = pair[1];
+            }
+        }
+
+        return Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * @param ranges    Sorted and merged ranges.
+     * @return all code points not contained within the ranges.
+     */
+    @NotNull
+    static int[] complement(@NotNull final int[] ranges) {
+        final int[] complement = new int[ranges.length + 2];
+        int size = 0;
+        int next = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                complement[size++] = next;
+                complement[size++] = ranges[i] - 1;
+            }
+            next = ranges[i + 1] + 1;
+        }
+        if (next <= MAX_CODE_POINT) {
+            complement[size++] = next;
+            complement[size++] = MAX_CODE_POINT;
+        }
+
+        return Arrays.copyOf(complement, size);
+    }
+}
@@ -21,17 +21,68 @@ import com.github.pjungermann.config.specification.constraint.AbstractConstraint
 import com.github.pjungermann.config.specification.constraint.Constraint;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableSet;
 
 /**
  * Checks whether the config value matches to
  * the provided regular expression.
  *
+ * The options on how to use this constraint:
+ * <dl>
+ *   <dt>{@link Pattern} or {@link CharSequence}</dt>
+ *   <dd>the regular expression, matched using the default {@link RegexMode}</dd>
+ *
+ *   <dt>{@link Map} with..</dt>
+ *   <dd>
+ *       <dl>
+ *           <dt>{@code "pattern"}</dt>
+ *           <dd>the regular expression ({@link Pattern} or {@link CharSequence})</dd>
+ *
+ *           <dt>{@code "mode"}</dt>
+ *           <dd>
+ *               {@code "linear"} or {@code "backtracking"} (see {@link RegexMode}).
+ *               Patterns not supported by the linear mode are invalid, if it was selected explicitly.
+ *           </dd>
+ *       </dl>
+ *   </dd>
+ * </dl>
+ *
+ * The pattern gets compiled only once per constraint.
+ *
  * @author Patrick Jungermann
  */
 public class MatchesConstraint extends AbstractConstraint {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(MatchesConstraint.class);
+
+    public static final String PATTERN_KEY = "pattern";
+    public static final String MODE_KEY = "mode";
+    public static final Set<String> ALLOWED_CONFIG_KEYS = unmodifiableSet(
+            new HashSet<>(asList(PATTERN_KEY, MODE_KEY))
+    );
+
+    /**
+     * The compiled pattern or {@code null} if the expectation is invalid.
+     */
+    @Nullable
+    protected final Pattern pattern;
+
+    /**
+     * The compiled pattern used in {@link RegexMode#LINEAR linear mode}, {@code null} otherwise.
+     */
+    @Nullable
+    protected final LinearPattern linearPattern;
+
     /**
      * @param key            The key for which this {@link Constraint} gets defined for.
      * @param expectation    The expectation which needs to be fulfilled by the config key's value.
@@ -40,28 +91,119 @@ public class MatchesConstraint extends AbstractConstraint {
     public MatchesConstraint(@NotNull final String key,
                              @Nullable final Object expectation,
                              @NotNull final SourceLine sourceLine) {
+        this(key, expectation, sourceLine, RegexMode.BACKTRACKING);
+    }
+
+    /**
+     * @param key            The key for which this {@link Constraint} gets defined for.
+     * @param expectation    The expectation which needs to be fulfilled by the config key's value.
+     * @param sourceLine     The {@link SourceLine} at which this expectation got expressed at.
+     * @param defaultMode    The {@link RegexMode} used if the expectation does not define one.
+     *                       Patterns not supported by the linear mode fall back to backtracking.
+     */
+    @SuppressWarnings("unchecked")
+    public MatchesConstraint(@NotNull final String key,
+                             @Nullable final Object expectation,
+                             @NotNull final SourceLine sourceLine,
+                             @NotNull final RegexMode defaultMode) {
         super(key, expectation, sourceLine);
+
+        Object regex = expectation;
+        RegexMode mode = defaultMode;
+        boolean explicitMode = false;
+        if (expectation instanceof Map) {
+            final Map<String, Object> config = (Map<String, Object>) expectation;
+            regex = ALLOWED_CONFIG_KEYS.containsAll(config.keySet()) ? config.get(PATTERN_KEY) : null;
+            explicitMode = config.containsKey(MODE_KEY);
+            mode = explicitMode ? RegexMode.of(config.get(MODE_KEY)) : defaultMode;
+        }
+
+        this.pattern = mode == null ? null : compile(regex);
+        this.linearPattern = mode == RegexMode.LINEAR ? compileLinear(pattern, explicitMode) : null;
+    }
+
+    @Nullable
+    protected static Pattern compile(@Nullable final Object regex) {
+        if (regex instanceof Pattern) {
+            return (Pattern) regex;
+        }
+
+        if (regex instanceof CharSequence) {
+            try {
+                return Pattern.compile(regex.toString());
+
+            } catch (PatternSyntaxException e) {
+                return null;
+            }
+        }
+
+        return null;
+    }
+
+    @Nullable
+    protected LinearPattern compileLinear(@Nullable final Pattern pattern, final boolean explicitMode) {
+        if (pattern == null) {
+            return null;
+        }
+
+        try {
+            return LinearPattern.compile(pattern);
+
+        } catch (PatternSyntaxException e) {
+            if (!explicitMode) {
+                LOGGER.warn("{}: use backtracking for a pattern not supported by the linear mode: {}",
+                        sourceLine, e.getDescription());
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @return whether the value gets matched in {@link RegexMode#LINEAR linear mode}.
+     */
+    public boolean isLinear() {
+        return linearPattern != null;
+    }
+
+    /**
+     * @return the pattern used in {@link RegexMode#LINEAR linear mode} or {@code null}.
+     */
+    @Nullable
+    public LinearPattern getLinearPattern() {
+        return linearPattern;
     }
 
     @Override
     protected boolean isValidExpectation() {
-        return expectation != null
-                && (expectation instanceof Pattern || expectation instanceof CharSequence);
+        if (pattern == null) {
+            return false;
+        }
+
+        // the linear mode was requested explicitly, but is not supported for this pattern
+        return !(expectation instanceof Map)
+                || RegexMode.of(((Map) expectation).get(MODE_KEY)) != RegexMode.LINEAR
+                || linearPattern != null;
     }
 
     @Nullable
     @Override
     protected ConfigError doValidate(final Object value) {
-        assert expectation != null;
-        final Pattern pattern = expectation instanceof Pattern
-                ? (Pattern) expectation
-                : Pattern.compile(expectation.toString());
+        assert pattern != null;
+        final CharSequence text = (CharSequence) value;
+        final boolean matches = linearPattern != null
+                ? linearPattern.matches(text)
+                : pattern.matcher(text).matches();
 
-        if (!pattern.matcher(value.toString()).matches()) {
-            return violatedBy(value);
-        }
+        return matches ? null : violatedBy(value);
+    }
 
-        return null;
+    /**
+     * @param value    The value which did not match.
+     * @return the error for the value.
+     */
+    @NotNull
+    ConfigError rejected(@NotNull final Object value) {
+        return violatedBy(value);
     }
 
     @Override
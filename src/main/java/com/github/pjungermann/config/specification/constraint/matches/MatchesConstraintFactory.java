@@ -29,11 +29,28 @@ import org.springframework.stereotype.Component;
 @Component
 public class MatchesConstraintFactory implements ConstraintFactory<MatchesConstraint> {
 
+    private volatile RegexMode defaultMode = RegexMode.BACKTRACKING;
+
+    /**
+     * @return the {@link RegexMode} used for constraints which do not define one.
+     */
+    @NotNull
+    public RegexMode getDefaultMode() {
+        return defaultMode;
+    }
+
+    /**
+     * @param defaultMode    The {@link RegexMode} used for constraints which do not define one.
+     */
+    public void setDefaultMode(@NotNull final RegexMode defaultMode) {
+        this.defaultMode = defaultMode;
+    }
+
     @NotNull
     @Override
     public MatchesConstraint create(@NotNull final String key,
                                     @Nullable final Object expectation,
                                     @NotNull final SourceLine sourceLine) {
-        return new MatchesConstraint(key, expectation, sourceLine);
+        return new MatchesConstraint(key, expectation, sourceLine, defaultMode);
     }
 }
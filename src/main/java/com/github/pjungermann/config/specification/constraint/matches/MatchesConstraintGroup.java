@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.specification.constraint.matches;
+
+import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.ConfigError;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Validates multiple {@link MatchesConstraint matches constraints} in
+ * {@link RegexMode#LINEAR linear mode} of the same key within one pass
+ * over the value by using a combined {@link LinearPattern}.
+ *
+ * @author Patrick Jungermann
+ */
+public class MatchesConstraintGroup {
+
+    private final MatchesConstraint[] constraints;
+    private final LinearPattern combined;
+
+    /**
+     * @param constraints    Constraints in {@link RegexMode#LINEAR linear mode}.
+     */
+    public MatchesConstraintGroup(@NotNull final List<MatchesConstraint> constraints) {
+        this.constraints = constraints.toArray(new MatchesConstraint[constraints.size()]);
+
+        final List<String> regexes = new ArrayList<>(constraints.size());
+        for (final MatchesConstraint constraint : constraints) {
+            final LinearPattern linearPattern = constraint.getLinearPattern();
+            if (linearPattern == null) {
+                throw new IllegalArgumentException("constraint is not in linear mode: " + constraint);
+            }
+            regexes.addAll(linearPattern.patterns());
+        }
+
+        this.combined = LinearPattern.compile(regexes);
+    }
+
+    /**
+     * @return the amount of constraints.
+     */
+    public int size() {
+        return constraints.length;
+    }
+
+    /**
+     * Validates the already resolved value against all constraints.
+     *
+     * @param config     The config to be validated.
+     * @param value      The value of the constraints' key.
+     * @param results    Receives the result of each constraint at the constraint's position.
+     */
+    public void validateValue(@NotNull final Config config,
+                              @Nullable final Object value,
+                              @NotNull final ConfigError[] results) {
+        if (!(value instanceof CharSequence) || value.toString().trim().isEmpty()) {
+            // skipped or not supported, no matching needed
+            for (int i = 0; i < constraints.length; i++) {
+                results[i] = constraints[i].validateValue(config, value);
+            }
+            return;
+        }
+
+        final BitSet matching = combined.matching((CharSequence) value);
+        for (int i = 0; i < constraints.length; i++) {
+            results[i] = matching.get(i) ? null : constraints[i].rejected(value);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.specification.constraint.matches;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Regular expression engines available for the {@link MatchesConstraint}.
+ *
+ * @author Patrick Jungermann
+ */
+public enum RegexMode {
+
+    /**
+     * {@link java.util.regex.Pattern} supporting the full syntax,
+     * but with a possibly exponential matching time.
+     */
+    BACKTRACKING,
+
+    /**
+     * {@link LinearPattern} with a matching time linear to the input's length,
+     * but without support for constructs which require backtracking.
+     */
+    LINEAR;
+
+    /**
+     * @param value    A {@link RegexMode} or its (case-insensitive) name.
+     * @return the matching mode or {@code null} if there is none.
+     */
+    @Nullable
+    public static RegexMode of(@Nullable final Object value) {
+        if (value instanceof RegexMode) {
+            return (RegexMode) value;
+        }
+
+        if (value instanceof CharSequence) {
+            try {
+                return valueOf(value.toString().trim().toUpperCase(Locale.ENGLISH));
+
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        return null;
+    }
+}
@@ -43,7 +43,7 @@ public class MaxConstraint extends AbstractNumericalConstraint {
     @Override
     @SuppressWarnings("unchecked")
     protected ConfigError doValidate(final Number value, final Number expectation) throws NumberFormatException {
-        if (compare(value, expectation) > 0) {
+        if (compareToExpectation(value) > 0) {
             return violatedBy(value);
         }
 
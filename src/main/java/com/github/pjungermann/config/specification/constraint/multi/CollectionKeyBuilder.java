@@ -26,6 +26,11 @@ public class CollectionKeyBuilder {
             Pattern.compile("(.*)\\.\\[(?:(\\*)|(\\d+)(?:\\.\\.(\\d+))?)\\](?:\\.(.*))?");
 
     public static CollectionKey build(@NotNull final String key) {
+        if (!key.contains(".[")) {
+            // plain key, no need for the regex
+            return null;
+        }
+
         final Matcher matcher = PATTERN.matcher(key);
         if (!matcher.matches()) {
             return null;
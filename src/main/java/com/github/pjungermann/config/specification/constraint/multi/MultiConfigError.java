@@ -31,8 +31,8 @@ import java.util.Locale;
  */
 public class MultiConfigError implements ConfigError {
 
-    private final CollectionKey collectionKey;
-    private final Collection<ConfigError> errors;
+    public final CollectionKey collectionKey;
+    public final Collection<ConfigError> errors;
 
     public MultiConfigError(@NotNull final CollectionKey collectionKey,
                             @NotNull final Collection<ConfigError> errors) {
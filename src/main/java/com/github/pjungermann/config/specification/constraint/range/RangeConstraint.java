@@ -30,6 +30,20 @@ import org.jetbrains.annotations.Nullable;
  */
 public class RangeConstraint extends AbstractConstraint {
 
+    /**
+     * Whether the range is empty.
+     */
+    private final boolean empty;
+
+    /**
+     * Whether the range has integral bounds ({@link Integer}, {@link Long}, ...)
+     * which allow to check values by comparing with {@link #lowerBound} and {@link #upperBound}.
+     */
+    private final boolean integralBounds;
+
+    private final long lowerBound;
+    private final long upperBound;
+
     /**
      * @param key            The key for which this {@link Constraint} gets defined for.
      * @param expectation    The expectation which needs to be fulfilled by the config key's value.
@@ -39,6 +53,26 @@ public class RangeConstraint extends AbstractConstraint {
                            @Nullable final Object expectation,
                            @NotNull final SourceLine sourceLine) {
         super(key, expectation, sourceLine);
+
+        final Range range = expectation instanceof Range ? (Range) expectation : null;
+        this.empty = range != null && range.isEmpty();
+        this.integralBounds = range != null && !empty && isIntegral(range.getFrom()) && isIntegral(range.getTo());
+
+        if (integralBounds) {
+            final long from = ((Number) range.getFrom()).longValue();
+            final long to = ((Number) range.getTo()).longValue();
+            this.lowerBound = Math.min(from, to);
+            this.upperBound = Math.max(from, to);
+
+        } else {
+            this.lowerBound = 0L;
+            this.upperBound = 0L;
+        }
+    }
+
+    private static boolean isIntegral(@Nullable final Comparable bound) {
+        return bound instanceof Integer || bound instanceof Long
+                || bound instanceof Short || bound instanceof Byte;
     }
 
     @Override
@@ -53,7 +87,7 @@ public class RangeConstraint extends AbstractConstraint {
         final Range range = (Range) expectation;
         assert range != null;
 
-        if (range.isEmpty()) {
+        if (empty) {
             return violatedBy(value);
         }
 
@@ -61,6 +95,12 @@ public class RangeConstraint extends AbstractConstraint {
             return new RangeTypeMismatchError(this, range, value);
         }
 
+        if (integralBounds) {
+            // equal to Range#contains for integral values, but without stepping through the range
+            final long number = ((Number) value).longValue();
+            return number < lowerBound || number > upperBound ? violatedBy(value) : null;
+        }
+
         if (!range.contains(value)) {
             return violatedBy(value);
         }
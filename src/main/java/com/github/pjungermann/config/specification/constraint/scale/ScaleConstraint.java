@@ -23,6 +23,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 
 /**
  * Checks whether the scale of a {@link Number} is
@@ -72,10 +73,72 @@ public class ScaleConstraint extends AbstractConstraint {
             return false;
         }
 
+        if (object instanceof Integer || object instanceof Long
+                || object instanceof Short || object instanceof Byte || object instanceof BigInteger) {
+            // integral values have no decimal places
+            return true;
+        }
+
+        if (object instanceof Double || object instanceof Float) {
+            final double value = ((Number) object).doubleValue();
+            if (value == Math.rint(value)) {
+                // finite and without any decimal places
+                return true;
+            }
+
+            if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+                return scaleOf(object.toString()) <= scale;
+            }
+        }
+
         final BigDecimal decimal = asBigDecimal((Number) object);
         return decimal.scale() <= scale;
     }
 
+    /**
+     * Determines the scale of the decimal representation of a finite {@link Double} or {@link Float}
+     * (e.g. {@code "12.50"} or {@code "1.25E-5"}) with trailing zeros stripped,
+     * equal to {@code new BigDecimal(decimal).stripTrailingZeros().scale()},
+     * but without creating any {@link BigDecimal}.
+     *
+     * @param decimal    the decimal representation.
+     * @return the scale.
+     */
+    static int scaleOf(@NotNull final String decimal) {
+        final int exponentAt = decimal.indexOf('E');
+        final int end = exponentAt < 0 ? decimal.length() : exponentAt;
+        final int exponent = exponentAt < 0 ? 0 : Integer.parseInt(decimal.substring(exponentAt + 1));
+
+        int fractionDigits = 0;
+        int trailingZeros = 0;
+        boolean fraction = false;
+        boolean nonZero = false;
+        for (int i = 0; i < end; i++) {
+            final char c = decimal.charAt(i);
+            if (c == '.') {
+                fraction = true;
+
+            } else if (c >= '0' && c <= '9') {
+                if (fraction) {
+                    fractionDigits++;
+                }
+                if (c == '0') {
+                    trailingZeros++;
+
+                } else {
+                    trailingZeros = 0;
+                    nonZero = true;
+                }
+            }
+        }
+
+        if (!nonZero) {
+            return 0;
+        }
+
+        return fractionDigits - trailingZeros - exponent;
+    }
+
     protected BigDecimal asBigDecimal(final Number number) {
         if (number instanceof BigDecimal) {
             return (BigDecimal) number;
@@ -24,16 +24,33 @@ import groovy.lang.Closure;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.unmodifiableSet;
+
 /**
  * Checks whether the value is valid by executing a provided {@link Closure}.
  * The {@link Closure} has access to the config, the config key and config value,
  * and can execute any validation logic you want.
  * Therefore, it provides an easy way to extend the validation feature set easily.
  *
+ * As the {@link Closure} has access to the whole config, it has to be re-evaluated
+ * for changes of any key by default. Alternatively, the keys it depends on can be
+ * declared besides the {@link Closure} (and its own key), e.g.:
+ *
+ * <pre>"key"(validator: [dependsOn: ["other.key"], closure: { config, key, value -&gt; ... }])</pre>
+ *
  * @author Patrick Jungermann
  */
 public class ValidatorConstraint extends AbstractConstraint {
 
+    public static final String DEPENDS_ON = "dependsOn";
+    public static final String CLOSURE = "closure";
+
     /**
      * @param key            The key for which this {@link Constraint} gets defined for.
      * @param expectation    The expectation which needs to be fulfilled by the config key's value.
@@ -47,14 +64,51 @@ public class ValidatorConstraint extends AbstractConstraint {
 
     @Override
     protected boolean isValidExpectation() {
+        if (expectation instanceof Map) {
+            final Map settings = (Map) expectation;
+            final Object dependsOn = settings.get(DEPENDS_ON);
+
+            return settings.get(CLOSURE) instanceof Closure
+                    && (dependsOn instanceof CharSequence || isKeyCollection(dependsOn));
+        }
+
         return expectation != null && expectation instanceof Closure;
     }
 
+    private static boolean isKeyCollection(@Nullable final Object dependsOn) {
+        return dependsOn instanceof Collection
+                && ((Collection<?>) dependsOn).stream().allMatch(key -> key instanceof CharSequence);
+    }
+
+    /**
+     * @return the declared keys or {@code null} if it can depend on any key (not declared).
+     */
     @Nullable
     @Override
-    protected ConfigError doValidate(final Config config, final Object value) {
+    public Set<String> getDependencyKeys() {
+        if (!(expectation instanceof Map) || !hasValidExpectation()) {
+            return null;
+        }
+
+        final Object dependsOn = ((Map) expectation).get(DEPENDS_ON);
+        final Set<String> dependencyKeys = new TreeSet<>();
+        for (final Object dependency : dependsOn instanceof Collection ? (Collection<?>) dependsOn : singleton(dependsOn)) {
+            dependencyKeys.add(dependency.toString());
+        }
+
+        return unmodifiableSet(dependencyKeys);
+    }
+
+    @NotNull
+    protected Closure getClosure() {
         assert expectation != null;
-        final Object result = ((Closure) expectation).call(
+        return (Closure) (expectation instanceof Map ? ((Map) expectation).get(CLOSURE) : expectation);
+    }
+
+    @Nullable
+    @Override
+    protected ConfigError doValidate(final Config config, final Object value) {
+        final Object result = getClosure().call(
                 config, key, value
         );
 
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.specification.dsl.groovy;
+
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
+import groovy.lang.Script;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.control.customizers.CompilationCustomizer;
+import org.codehaus.groovy.tools.GroovyClass;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Singleton;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Compiles specification scripts and caches the compiled classes
+ * at a {@link #setDirectory(File) directory}, if configured.
+ *
+ * Each cache entry is a jar file named by the SHA-256 hash of the specification's
+ * file name and content, the {@link #CACHE_FORMAT cache format}, the compiler
+ * configuration, the validator version and the Groovy version. Any change of those
+ * leads to a new entry. Entries get written to a temporary file first
+ * and moved into place atomically, so that concurrent runs can share the directory.
+ * Unreadable entries get replaced.
+ *
+ * @author Patrick Jungermann
+ */
+@Component
+@Singleton
+public class CompiledSpecificationCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledSpecificationCache.class);
+
+    static final String ENTRY_SUFFIX = ".jar";
+    static final String CLASS_SUFFIX = ".class";
+
+    /**
+     * Version of the compiled classes. Has to be increased with each change of the compilation,
+     * e.g. of the {@link GroovyDSLSpecificationReader#createCompilerConfiguration() compiler
+     * configuration} or the behavior of its customizers, as the validator's fingerprint
+     * is not available for all builds.
+     */
+    static final int CACHE_FORMAT = 3;
+
+    private static final String VERSION = validatorVersion() + "/" + GroovySystem.getVersion();
+
+    @Nullable
+    private volatile File directory;
+
+    /**
+     * @return the cache directory or {@code null} if caching is disabled.
+     */
+    @Nullable
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @param directory    The cache directory or {@code null} to disable caching.
+     */
+    public void setDirectory(@Nullable final File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Loads the compiled script class of the specification file,
+     * either from the cache or by compiling it.
+     *
+     * @param file             The specification file.
+     * @param configuration    The compiler configuration.
+     * @return the script class.
+     * @throws IOException if the specification file could not get read.
+     * @throws org.codehaus.groovy.control.CompilationFailedException if the specification is not valid.
+     */
+    @NotNull
+    public Class<? extends Script> load(@NotNull final File file,
+                                        @NotNull final CompilerConfiguration configuration) throws IOException {
+        return load(file, configuration, null);
+    }
+
+    /**
+     * Loads the compiled script class of the specification file,
+     * either from the cache or by compiling it.
+     *
+     * @param file             The specification file.
+     * @param configuration    The compiler configuration.
+     * @param classLoader      The class loader to resolve classes with and parent of the loaded classes'
+     *                         class loader or {@code null} to use a new one.
+     * @return the script class.
+     * @throws IOException if the specification file could not get read.
+     * @throws org.codehaus.groovy.control.CompilationFailedException if the specification is not valid.
+     */
+    @NotNull
+    public Class<? extends Script> load(@NotNull final File file,
+                                        @NotNull final CompilerConfiguration configuration,
+                                        @Nullable final GroovyClassLoader classLoader) throws IOException {
+        final ClassLoader parent = classLoader == null ? CompiledSpecificationCache.class.getClassLoader() : classLoader;
+
+        final File directory = this.directory;
+        if (directory == null) {
+            return compile(file, configuration, classLoader).load(parent);
+        }
+
+        final byte[] content = Files.readAllBytes(file.toPath());
+        final File entry = new File(directory, key(file, content, configuration) + ENTRY_SUFFIX);
+
+        if (entry.isFile()) {
+            try {
+                final CompiledSpecification cached = read(entry);
+                LOGGER.debug("use cached compiled specification {} for {}", entry, file);
+
+                return cached.load(parent);
+
+            } catch (IOException | IllegalStateException | LinkageError | ClassCastException e) {
+                LOGGER.warn("replace unreadable cache entry {}: {}", entry, e.toString());
+            }
+        }
+
+        final CompiledSpecification compiled = compile(file, configuration, classLoader);
+        try {
+            write(entry, compiled);
+
+        } catch (IOException e) {
+            LOGGER.warn("failed to cache the compiled specification {} at {}: {}", file, entry, e.toString());
+        }
+
+        return compiled.load(parent);
+    }
+
+    @NotNull
+    static String key(@NotNull final File file,
+                      @NotNull final byte[] content,
+                      @NotNull final CompilerConfiguration configuration) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(VERSION.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(describe(configuration).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            // the file name is part of the compiled classes (source file name, script class name)
+            digest.update(file.getName().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(content);
+
+            final StringBuilder hex = new StringBuilder(64);
+            for (final byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * @param configuration    The compiler configuration.
+     * @return the cache format and all settings of the configuration which affect the compiled classes.
+     */
+    @NotNull
+    static String describe(@NotNull final CompilerConfiguration configuration) {
+        final StringBuilder description = new StringBuilder()
+                .append(CACHE_FORMAT)
+                .append('/').append(configuration.getScriptBaseClass())
+                .append('/').append(configuration.getTargetBytecode())
+                .append('/').append(configuration.getSourceEncoding());
+        for (final CompilationCustomizer customizer : configuration.getCompilationCustomizers()) {
+            description.append('/').append(customizer.getClass().getName());
+        }
+
+        return description.toString();
+    }
+
+    /**
+     * @return the version of the validator incl. a fingerprint of its jar file.
+     */
+    @NotNull
+    static String validatorVersion() {
+        final Package pkg = SpecificationDSLInterpreter.class.getPackage();
+        final String version = pkg == null ? null : pkg.getImplementationVersion();
+
+        String fingerprint = "";
+        final CodeSource codeSource = SpecificationDSLInterpreter.class.getProtectionDomain().getCodeSource();
+        if (codeSource != null && codeSource.getLocation() != null) {
+            try {
+                final File location = new File(codeSource.getLocation().toURI());
+                if (location.isFile()) {
+                    fingerprint = location.length() + "-" + location.lastModified();
+                }
+
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // no fingerprint available
+            }
+        }
+
+        return (version == null ? "dev" : version) + "/" + fingerprint;
+    }
+
+    @NotNull
+    static CompiledSpecification compile(@NotNull final File file,
+                                         @NotNull final CompilerConfiguration configuration,
+                                         @Nullable final GroovyClassLoader classLoader) {
+        final GroovyClassLoader loader = classLoader == null
+                ? new GroovyClassLoader(CompiledSpecificationCache.class.getClassLoader(), configuration)
+                : classLoader;
+        final CompilationUnit unit = new CompilationUnit(configuration, null, loader);
+        final SourceUnit source = unit.addSource(file);
+        unit.compile(Phases.CLASS_GENERATION);
+
+        final Map<String, byte[]> classes = new HashMap<>();
+        for (final Object compiled : unit.getClasses()) {
+            final GroovyClass groovyClass = (GroovyClass) compiled;
+            classes.put(groovyClass.getName(), groovyClass.getBytes());
+        }
+
+        return new CompiledSpecification(source.getAST().getMainClassName(), classes);
+    }
+
+    @NotNull
+    static CompiledSpecification read(@NotNull final File entry) throws IOException {
+        try (JarInputStream in = new JarInputStream(Files.newInputStream(entry.toPath()))) {
+            final Manifest manifest = in.getManifest();
+            final String mainClass = manifest == null
+                    ? null
+                    : manifest.getMainAttributes().getValue(Attributes.Name.MAIN_CLASS);
+            if (mainClass == null) {
+                throw new IOException("no main class");
+            }
+
+            final Map<String, byte[]> classes = new HashMap<>();
+            JarEntry jarEntry;
+            while ((jarEntry = in.getNextJarEntry()) != null) {
+                final String name = jarEntry.getName();
+                if (name.endsWith(CLASS_SUFFIX)) {
+                    classes.put(
+                            name.substring(0, name.length() - CLASS_SUFFIX.length()).replace('/', '.'),
+                            readFully(in)
+                    );
+                }
+            }
+
+            return new CompiledSpecification(mainClass, classes);
+        }
+    }
+
+    @NotNull
+    private static byte[] readFully(@NotNull final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    static void write(@NotNull final File entry, @NotNull final CompiledSpecification compiled) throws IOException {
+        final Path directory = entry.getParentFile().toPath();
+        Files.createDirectories(directory);
+
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, compiled.mainClass);
+
+        final Path temp = Files.createTempFile(directory, entry.getName(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp);
+                 JarOutputStream jar = new JarOutputStream(out, manifest)) {
+                for (final Map.Entry<String, byte[]> compiledClass : compiled.classes.entrySet()) {
+                    jar.putNextEntry(new JarEntry(compiledClass.getKey().replace('.', '/') + CLASS_SUFFIX));
+                    jar.write(compiledClass.getValue());
+                    jar.closeEntry();
+                }
+            }
+
+            try {
+                Files.move(temp, entry.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, entry.toPath(), REPLACE_EXISTING);
+            }
+
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Compiled classes of a specification script.
+     */
+    static class CompiledSpecification {
+
+        final String mainClass;
+        final Map<String, byte[]> classes;
+
+        CompiledSpecification(@NotNull final String mainClass, @NotNull final Map<String, byte[]> classes) {
+            this.mainClass = mainClass;
+            this.classes = classes;
+        }
+
+        /**
+         * Defines all classes with a new class loader.
+         *
+         * @param parent    The parent of the new class loader.
+         * @return the script class.
+         * @throws IllegalStateException if the script class is missing.
+         * @throws LinkageError if any class is invalid or refers to a missing one.
+         */
+        @NotNull
+        Class<? extends Script> load(@NotNull final ClassLoader parent) {
+            final ClassLoader loader = new SpecificationClassLoader(parent, classes);
+            try {
+                for (final String name : classes.keySet()) {
+                    Class.forName(name, false, loader);
+                }
+
+                return Class
+                        .forName(mainClass, true, loader)
+                        .asSubclass(Script.class);
+
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("compiled specification misses its script class " + mainClass, e);
+            }
+        }
+    }
+
+    /**
+     * Defines the compiled classes of one specification.
+     * Separated from other specifications as their script classes can share the same name.
+     */
+    static class SpecificationClassLoader extends ClassLoader {
+
+        private final Map<String, byte[]> classes;
+
+        SpecificationClassLoader(@NotNull final ClassLoader parent, @NotNull final Map<String, byte[]> classes) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(final String name) throws ClassNotFoundException {
+            final byte[] bytes = classes.get(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
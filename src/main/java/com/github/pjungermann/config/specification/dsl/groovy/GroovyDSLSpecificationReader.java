@@ -18,12 +18,19 @@ package com.github.pjungermann.config.specification.dsl.groovy;
 import com.github.pjungermann.config.ConfigError;
 import com.github.pjungermann.config.specification.FailedToLoadSpecificationError;
 import com.github.pjungermann.config.specification.constraint.Constraint;
+import com.github.pjungermann.config.specification.constraint.ConstraintRegistry;
 import com.github.pjungermann.config.specification.reader.SpecificationPartial;
 import com.github.pjungermann.config.specification.reader.SpecificationReader;
+import com.github.pjungermann.config.specification.types.TypeConverter;
 import groovy.lang.Binding;
-import groovy.lang.GroovyShell;
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.Script;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 
@@ -33,6 +40,9 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
 
 import static java.util.Collections.emptyList;
 
@@ -40,33 +50,107 @@ import static java.util.Collections.emptyList;
  * {@link SpecificationReader} using the {@link SpecificationDSLInterpreter}
  * to read specification files based on the Groovy baked DSL.
  *
+ * By default, {@link #openSession() sessions} share one {@link GroovyClassLoader}
+ * and {@link CompilerConfiguration} for all files and release the loaded classes
+ * when getting closed. Files read using {@link #apply(File)} directly
+ * or with the {@link #setSharedClassLoader(boolean) shared mode disabled}
+ * get compiled with their own ones.
+ *
  * @author Patrick Jungermann
  */
 @Component
 @Singleton
 public class GroovyDSLSpecificationReader implements SpecificationReader {
 
-    private ApplicationContext applicationContext;
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroovyDSLSpecificationReader.class);
+
+    private Supplier<TypeConverter> typeConverter;
+    private Supplier<ConstraintRegistry> constraintRegistry;
+    private CompiledSpecificationCache cache;
+    private volatile boolean sharedClassLoader = true;
 
-    @Inject
     public GroovyDSLSpecificationReader(@NotNull final ApplicationContext applicationContext) {
-        this.applicationContext = applicationContext;
+        this(applicationContext, new CompiledSpecificationCache());
+    }
+
+    /**
+     * The {@link TypeConverter} and {@link ConstraintRegistry} get resolved
+     * from the context when reading a specification.
+     */
+    public GroovyDSLSpecificationReader(@NotNull final ApplicationContext applicationContext,
+                                        @NotNull final CompiledSpecificationCache cache) {
+        this.typeConverter = () -> applicationContext.getBean(TypeConverter.class);
+        this.constraintRegistry = () -> applicationContext.getBean(ConstraintRegistry.class);
+        this.cache = cache;
+    }
+
+    @Inject
+    public GroovyDSLSpecificationReader(@NotNull final TypeConverter typeConverter,
+                                        @NotNull final ConstraintRegistry constraintRegistry,
+                                        @NotNull final CompiledSpecificationCache cache) {
+        this.typeConverter = () -> typeConverter;
+        this.constraintRegistry = () -> constraintRegistry;
+        this.cache = cache;
+    }
+
+    /**
+     * @return whether sessions share one class loader and compiler configuration.
+     */
+    public boolean isSharedClassLoader() {
+        return sharedClassLoader;
+    }
+
+    /**
+     * @param sharedClassLoader    Whether sessions share one class loader and compiler configuration.
+     */
+    public void setSharedClassLoader(final boolean sharedClassLoader) {
+        this.sharedClassLoader = sharedClassLoader;
     }
 
     @NotNull
     @Override
-    @SuppressWarnings("unchecked")
-    public SpecificationPartial apply(@NotNull final File file) {
-        final Binding binding = new Binding();
-        binding.setProperty("context", applicationContext);
-        binding.setProperty("specification.source", file);
+    public Session openSession() {
+        if (!sharedClassLoader) {
+            return SpecificationReader.super.openSession();
+        }
+
+        return new SharedClassLoaderSession();
+    }
 
+    @NotNull
+    static CompilerConfiguration createCompilerConfiguration() {
         final CompilerConfiguration compilerConfiguration = new CompilerConfiguration();
         compilerConfiguration.setScriptBaseClass(SpecificationDSLInterpreter.class.getName());
+        compilerConfiguration.addCompilationCustomizers(new SourceLineCustomizer());
+
+        return compilerConfiguration;
+    }
+
+    @NotNull
+    @Override
+    public SpecificationPartial apply(@NotNull final File file) {
+        return apply(file, createCompilerConfiguration(), null, null);
+    }
+
+    @NotNull
+    @SuppressWarnings("unchecked")
+    protected SpecificationPartial apply(@NotNull final File file,
+                                         @NotNull final CompilerConfiguration compilerConfiguration,
+                                         @Nullable final GroovyClassLoader classLoader,
+                                         @Nullable final Queue<Class<?>> loadedClasses) {
+        final Binding binding = new Binding();
+        binding.setProperty(SpecificationDSLInterpreter.TYPE_CONVERTER, typeConverter.get());
+        binding.setProperty(SpecificationDSLInterpreter.CONSTRAINT_REGISTRY, constraintRegistry.get());
+        binding.setProperty("specification.source", file);
 
-        final GroovyShell shell = new GroovyShell(binding, compilerConfiguration);
         try {
-            shell.evaluate(file);
+            final Class<? extends Script> scriptClass = cache.load(file, compilerConfiguration, classLoader);
+            if (loadedClasses != null) {
+                loadedClasses.add(scriptClass);
+            }
+
+            final Script script = InvokerHelper.createScript(scriptClass, binding);
+            script.run();
 
             return new SpecificationPartial(
                     (Collection<Constraint>) binding.getProperty("constraints"),
@@ -80,4 +164,43 @@ public class GroovyDSLSpecificationReader implements SpecificationReader {
             return new SpecificationPartial(emptyList(), errors);
         }
     }
+
+    /**
+     * Shares one {@link GroovyClassLoader} and {@link CompilerConfiguration}
+     * between all files read within the session. The {@link CompilerConfiguration}
+     * does not get modified after its creation and the {@link GroovyClassLoader}
+     * is only used to resolve classes and as parent of each specification's
+     * own class loader, so that files can get read in parallel.
+     */
+    class SharedClassLoaderSession implements Session {
+
+        final CompilerConfiguration compilerConfiguration = createCompilerConfiguration();
+        final GroovyClassLoader classLoader = new GroovyClassLoader(
+                GroovyDSLSpecificationReader.class.getClassLoader(),
+                compilerConfiguration
+        );
+        final Queue<Class<?>> loadedClasses = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public SpecificationPartial apply(final File file) {
+            return GroovyDSLSpecificationReader.this.apply(file, compilerConfiguration, classLoader, loadedClasses);
+        }
+
+        @Override
+        public void close() {
+            // remove the cached meta data, the classes itself are only held by the loaded constraints
+            Class<?> loadedClass;
+            while ((loadedClass = loadedClasses.poll()) != null) {
+                InvokerHelper.removeClass(loadedClass);
+            }
+
+            classLoader.clearCache();
+            try {
+                classLoader.close();
+
+            } catch (IOException e) {
+                LOGGER.warn("failed to close the specification class loader", e);
+            }
+        }
+    }
 }
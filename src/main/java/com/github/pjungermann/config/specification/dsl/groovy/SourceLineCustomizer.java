@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.specification.dsl.groovy;
+
+import org.codehaus.groovy.ast.ClassCodeExpressionTransformer;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.expr.*;
+import org.codehaus.groovy.classgen.GeneratorContext;
+import org.codehaus.groovy.control.CompilePhase;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.control.customizers.CompilationCustomizer;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Captures the source line of each definition (e.g. {@code "key"(nullable: false)})
+ * at compile time by passing its named arguments through
+ * {@link SpecificationDSLInterpreter#withSourceLine(int, java.util.Map)}:
+ *
+ * <pre>"key"(this.withSourceLine(18, [nullable: false]))</pre>
+ *
+ * The call itself stays unchanged, so that it gets dispatched the same way
+ * (incl. calls within closures), while the interpreter does not need to
+ * walk the stack trace to find the line.
+ *
+ * Calls of methods declared by the script or the {@link SpecificationDSLInterpreter}
+ * (e.g. helper methods) are no definitions and stay unchanged, so that their line
+ * does not get used for a later definition without named arguments.
+ *
+ * @author Patrick Jungermann
+ */
+public class SourceLineCustomizer extends CompilationCustomizer {
+
+    static final String WITH_SOURCE_LINE = "withSourceLine";
+
+    /**
+     * Names of the methods of the interpreter, which do not get dispatched as definitions.
+     */
+    static final Set<String> INTERPRETER_METHODS = Collections.unmodifiableSet(
+            Arrays.stream(SpecificationDSLInterpreter.class.getMethods())
+                    .map(Method::getName)
+                    .collect(Collectors.toSet())
+    );
+
+    public SourceLineCustomizer() {
+        super(CompilePhase.CONVERSION);
+    }
+
+    @Override
+    public void call(final SourceUnit source, final GeneratorContext context, final ClassNode classNode) {
+        new Transformer(source, classNode).visitClass(classNode);
+    }
+
+    private static class Transformer extends ClassCodeExpressionTransformer {
+
+        private final SourceUnit source;
+        private final ClassNode classNode;
+
+        Transformer(@NotNull final SourceUnit source, @NotNull final ClassNode classNode) {
+            this.source = source;
+            this.classNode = classNode;
+        }
+
+        @Override
+        protected SourceUnit getSourceUnit() {
+            return source;
+        }
+
+        @Override
+        public Expression transform(final Expression expression) {
+            if (expression == null) {
+                return null;
+            }
+
+            if (expression instanceof ClosureExpression) {
+                ((ClosureExpression) expression).getCode().visit(this);
+                return expression;
+            }
+
+            final Expression transformed = expression.transformExpression(this);
+            if (transformed instanceof MethodCallExpression) {
+                capturingSourceLine((MethodCallExpression) transformed);
+            }
+
+            return transformed;
+        }
+
+        /**
+         * Passes the named arguments of implicit-this calls with them as only argument
+         * (i.e. definitions) through {@link SpecificationDSLInterpreter#withSourceLine(int, java.util.Map)}.
+         */
+        private void capturingSourceLine(@NotNull final MethodCallExpression call) {
+            if (!call.isImplicitThis()
+                    || call.getLineNumber() < 0
+                    || isDeclaredMethod(call.getMethodAsString())
+                    || !(call.getArguments() instanceof TupleExpression)) {
+                return;
+            }
+
+            final List<Expression> arguments = ((TupleExpression) call.getArguments()).getExpressions();
+            if (arguments.size() != 1 || !(arguments.get(0) instanceof MapExpression)) {
+                return;
+            }
+
+            final MapExpression definition = (MapExpression) arguments.get(0);
+            final MapExpression map = new MapExpression(definition.getMapEntryExpressions());
+            map.setSourcePosition(definition);
+
+            final MethodCallExpression withSourceLine = new MethodCallExpression(
+                    VariableExpression.THIS_EXPRESSION,
+                    WITH_SOURCE_LINE,
+                    new ArgumentListExpression(new ConstantExpression(call.getLineNumber(), true), map)
+            );
+            withSourceLine.setImplicitThis(false);
+            withSourceLine.setSourcePosition(call);
+
+            final ArgumentListExpression newArguments = new ArgumentListExpression(withSourceLine);
+            newArguments.setSourcePosition(call.getArguments());
+            call.setArguments(newArguments);
+        }
+
+        /**
+         * @param name    The name of the called method or {@code null} if it is dynamic (e.g. a GString).
+         * @return whether the script or the interpreter has a method of that name.
+         */
+        private boolean isDeclaredMethod(final String name) {
+            return name != null && (INTERPRETER_METHODS.contains(name) || !classNode.getMethods(name).isEmpty());
+        }
+    }
+}
@@ -47,12 +47,24 @@ public abstract class SpecificationDSLInterpreter extends Script {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SpecificationDSLInterpreter.class);
 
+    /**
+     * Binding variables of the {@link TypeConverter} and {@link ConstraintRegistry} to use.
+     * Without them, both get resolved from the {@link ApplicationContext} bound as {@code context}.
+     */
+    static final String TYPE_CONVERTER = "typeConverter";
+    static final String CONSTRAINT_REGISTRY = "constraintRegistry";
+
     private File source;
     private TypeConverter typeConverter;
     private ConstraintRegistry constraintRegistry;
     private List<Constraint> constraints = new ArrayList<>();
     private Collection<ConfigError> errors = new ArrayList<>();
 
+    /**
+     * Line of the next definition as captured at compile time or {@code -1} if unknown.
+     */
+    private int definitionLine = -1;
+
     public abstract Object specificationBody();
 
     public Object run() {
@@ -73,12 +85,32 @@ public abstract class SpecificationDSLInterpreter extends Script {
     }
 
     public void resolveBeans() {
-        final ApplicationContext context = (ApplicationContext) getBinding().getProperty("context");
+        final Binding binding = getBinding();
+        if (binding.hasVariable(TYPE_CONVERTER) && binding.hasVariable(CONSTRAINT_REGISTRY)) {
+            typeConverter = (TypeConverter) binding.getVariable(TYPE_CONVERTER);
+            constraintRegistry = (ConstraintRegistry) binding.getVariable(CONSTRAINT_REGISTRY);
+            return;
+        }
+
+        final ApplicationContext context = (ApplicationContext) binding.getProperty("context");
 
         typeConverter = context.getBean(TypeConverter.class);
         constraintRegistry = context.getBean(ConstraintRegistry.class);
     }
 
+    /**
+     * Remembers the source line of the next definition.
+     * Calls to it get added at compile time by the {@link SourceLineCustomizer}.
+     *
+     * @param line          The source line of the definition.
+     * @param definition    The named arguments of the definition.
+     * @return the unchanged named arguments.
+     */
+    public Map withSourceLine(final int line, final Map definition) {
+        definitionLine = line;
+        return definition;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public Object invokeMethod(final String key, final Object args) {
@@ -86,7 +118,7 @@ public abstract class SpecificationDSLInterpreter extends Script {
                 && ((Object[]) args).length == 1
                 && ((Object[]) args)[0] instanceof Map) {
             final Map<String, Object> settings = (Map<String, Object>) ((Object[]) args)[0];
-            final SourceLine sourceLine = new SourceLine(source, getCurrentLine());
+            final SourceLine sourceLine = new SourceLine(source, consumeDefinitionLine());
 
             final List<Constraint> constraints = settings
                     .entrySet()
@@ -103,6 +135,16 @@ public abstract class SpecificationDSLInterpreter extends Script {
         return super.invokeMethod(key, args);
     }
 
+    /**
+     * @return the line captured at compile time or the current line from the stack trace.
+     */
+    protected int consumeDefinitionLine() {
+        final int line = definitionLine;
+        definitionLine = -1;
+
+        return line < 0 ? getCurrentLine() : line;
+    }
+
     protected int getCurrentLine() {
         for (final StackTraceElement element : new Exception().getStackTrace()) {
             if (element.getFileName().equals(source.getName())) {
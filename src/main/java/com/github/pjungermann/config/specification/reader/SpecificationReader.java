@@ -15,6 +15,8 @@
  */
 package com.github.pjungermann.config.specification.reader;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.io.File;
 import java.util.function.Function;
 
@@ -25,4 +27,37 @@ import java.util.function.Function;
  * @author Patrick Jungermann
  */
 public interface SpecificationReader extends Function<File, SpecificationPartial> {
+
+    /**
+     * Opens a session to read multiple files, possibly in parallel.
+     * Implementations may share resources between all files read within
+     * the session which get released when the session gets closed.
+     *
+     * @return the new session.
+     */
+    @NotNull
+    default Session openSession() {
+        final SpecificationReader reader = this;
+        return new Session() {
+            @Override
+            public SpecificationPartial apply(final File file) {
+                return reader.apply(file);
+            }
+
+            @Override
+            public void close() {
+                // nothing to release
+            }
+        };
+    }
+
+    /**
+     * Reads multiple files, possibly in parallel, sharing resources
+     * which get released on {@link #close()}.
+     */
+    interface Session extends SpecificationReader, AutoCloseable {
+
+        @Override
+        void close();
+    }
 }
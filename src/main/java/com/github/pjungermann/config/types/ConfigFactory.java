@@ -21,6 +21,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
 
 /**
  * Factory to create a {@link Config} from a source {@link File file}.
@@ -37,6 +40,17 @@ public interface ConfigFactory {
      */
     boolean supports(@NotNull File source);
 
+    /**
+     * Returns whether the created {@link Config} can reference values of the context
+     * (e.g. of previously loaded sources). Sources of factories without such support
+     * can be loaded in parallel.
+     *
+     * @return whether the context gets used or not.
+     */
+    default boolean usesContext() {
+        return true;
+    }
+
     /**
      * Returns a {@link Config} for the source.
      *
@@ -50,4 +64,22 @@ public interface ConfigFactory {
     @NotNull
     Config create(@NotNull File source, @Nullable String profile, @NotNull Config context) throws IOException, ConfigConversionException;
 
+    /**
+     * Returns one {@link Config} per document of the source,
+     * e.g. for YAML streams with multiple documents.
+     * Most formats support only one document per source.
+     *
+     * @param source     the source {@link File}.
+     * @param profile    the profile to be applied to at the loading. This might not supported by all formats.
+     * @param context    the context to be applied to; i.e. for references to other values if that is supported.
+     * @return the {@link Config configs} of all documents of the source in their order.
+     * @throws IOException if there was any issue loading the source's data.
+     * @throws ConfigConversionException if a conversion from one config type to another failed.
+     */
+    @NotNull
+    default List<Config> createDocuments(@NotNull final File source,
+                                         @Nullable final String profile,
+                                         @NotNull final Config context) throws IOException, ConfigConversionException {
+        return singletonList(create(source, profile, context));
+    }
 }
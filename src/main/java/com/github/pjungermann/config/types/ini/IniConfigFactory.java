@@ -48,6 +48,11 @@ public class IniConfigFactory extends FileTypeConfigFactory<Ini> {
         this.converter = converter;
     }
 
+    @Override
+    public boolean usesContext() {
+        return false;
+    }
+
     @NotNull
     @Override
     protected ConfigConverter<Ini> getConverter() {
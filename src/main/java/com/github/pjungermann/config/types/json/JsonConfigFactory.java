@@ -15,6 +15,7 @@
  */
 package com.github.pjungermann.config.types.json;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.pjungermann.config.Config;
 import com.github.pjungermann.config.types.ConfigConverter;
@@ -34,6 +35,9 @@ import static com.github.pjungermann.config.types.json.JsonConverter.MAPPER;
  * {@link com.github.pjungermann.config.types.ConfigFactory}
  * for JSON files ({@code .json}).
  *
+ * The config gets created from the JSON file's token stream
+ * without reading it into a tree of {@link com.fasterxml.jackson.databind.JsonNode JsonNodes}.
+ *
  * @author Patrick Jungermann
  */
 @Component
@@ -51,12 +55,27 @@ public class JsonConfigFactory extends FileTypeConfigFactory<ObjectNode> {
         this.converter = converter;
     }
 
+    @Override
+    public boolean usesContext() {
+        return false;
+    }
+
     @NotNull
     @Override
     protected ConfigConverter<ObjectNode> getConverter() {
         return converter;
     }
 
+    @NotNull
+    @Override
+    public Config create(@NotNull final File source,
+                         @Nullable final String profile,
+                         @NotNull final Config context) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(source)) {
+            return converter.read(parser);
+        }
+    }
+
     @NotNull
     @Override
     protected ObjectNode doCreate(@NotNull final File source,
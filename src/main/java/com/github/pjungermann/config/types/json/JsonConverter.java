@@ -15,11 +15,15 @@
  */
 package com.github.pjungermann.config.types.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.pjungermann.config.Config;
 import com.github.pjungermann.config.KeyBuilder;
@@ -34,6 +38,9 @@ import org.springframework.stereotype.Component;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.*;
 
 import static java.util.Collections.synchronizedMap;
@@ -153,52 +160,309 @@ public class JsonConverter implements ConfigConverter<ObjectNode> {
         return list;
     }
 
+    /**
+     * Reads a JSON object from the parser and flattens it directly into a {@link Config}
+     * without creating a tree of it first. The result is the same as for {@link #from(ObjectNode)},
+     * except that for duplicate keys the entries of all their objects get kept.
+     *
+     * @param parser    The parser positioned before the JSON object.
+     * @return the {@link Config} containing all the JSON object's entries.
+     * @throws IOException if the JSON could not be read or is not an object.
+     */
     @NotNull
-    @Override
+    public Config read(@NotNull final JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "JSON config has to be an object");
+        }
+
+        final Config config = new Config();
+        readObject(parser, config, "");
+
+        return config;
+    }
+
+    protected void readObject(@NotNull final JsonParser parser,
+                              @NotNull final Map<String, Object> config,
+                              @NotNull final String keyPrefix) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String key = keyPrefix + parser.getCurrentName();
+
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                readObject(parser, config, keyBuilder.toPrefix(key));
+
+            } else {
+                config.put(key, readValue(parser));
+            }
+        }
+    }
+
+    @Nullable
     @SuppressWarnings("unchecked")
+    protected Object readValue(@NotNull final JsonParser parser) throws IOException {
+        final JsonToken token = parser.getCurrentToken();
+        if (token == null) {
+            throw new JsonParseException(parser, "unexpected end of the JSON config");
+        }
+
+        switch (token) {
+            case VALUE_NULL:
+                return null;
+
+            case VALUE_TRUE:
+                return true;
+
+            case VALUE_FALSE:
+                return false;
+
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+
+            case VALUE_STRING:
+                return parser.getText();
+
+            case VALUE_EMBEDDED_OBJECT:
+                return parser.getEmbeddedObject();
+
+            case START_OBJECT:
+                final Config entry = new Config();
+                readObject(parser, entry, "");
+                return entry;
+
+            case START_ARRAY:
+                final ArrayList list = new ArrayList();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(readValue(parser));
+                }
+                return list;
+
+            default:
+                throw new JsonParseException(parser, "unexpected token " + token);
+        }
+    }
+
+    /**
+     * Builds the hierarchical JSON object for the config directly,
+     * i.e. without serializing the config and parsing it again.
+     * Values get normalized the same way as they would by such a round trip
+     * (e.g. {@code long} values fitting into an {@code int} become {@link IntNode}s).
+     *
+     * @param config    The config to convert.
+     * @return the hierarchical JSON object.
+     * @throws ConfigConversionException if a key is used for a value and as parent of other keys
+     *                                   or a value could not be serialized.
+     */
+    @NotNull
+    @Override
     public ObjectNode to(@NotNull final Config config) throws ConfigConversionException {
-        final HashMap<String, Object> map = new HashMap<>(config.size());
+        final ObjectNode root = MAPPER.createObjectNode();
 
-        new HashSet<>(config.keySet())
-                .stream()
-                .forEach(key -> addHierarchicalEntry(map, (String) key, config.get(key)));
+        for (final Map.Entry<String, Object> entry : config.entrySet()) {
+            addHierarchicalEntry(root, entry.getKey(), toNode(entry.getValue()));
+        }
 
-        try {
-            final String jsonString = MAPPER.writeValueAsString(map);
-            return (ObjectNode) MAPPER.readTree(jsonString);
+        return root;
+    }
 
-        } catch (JsonProcessingException e) {
-            throw new ConfigConversionException(
-                    "failed to serialize the config as json " +
-                            "and deserialize it into a JsonNode",
-                    e);
+    protected void addHierarchicalEntry(@NotNull final ObjectNode root,
+                                        @NotNull final String key,
+                                        @NotNull final JsonNode value) throws ConfigConversionException {
+        final String[] segments = splitKey(key);
+        ObjectNode parent = root;
+
+        for (int i = 0; i < segments.length - 1; i++) {
+            final JsonNode child = parent.get(segments[i]);
+
+            if (child == null) {
+                parent = parent.putObject(segments[i]);
+
+            } else if (child instanceof ObjectNode) {
+                parent = (ObjectNode) child;
+
+            } else {
+                throw conflictingKeyException(key);
+            }
+        }
+
+        final String name = segments[segments.length - 1];
+        if (parent.has(name)) {
+            throw conflictingKeyException(key);
+        }
+
+        parent.set(name, value);
+    }
+
+    @NotNull
+    @SuppressWarnings("unchecked")
+    protected JsonNode toNode(@Nullable final Object value) throws ConfigConversionException {
+        final JsonNodeFactory nodeFactory = MAPPER.getNodeFactory();
+
+        if (value == null) {
+            return nodeFactory.nullNode();
+        }
+
+        if (value instanceof Boolean) {
+            return nodeFactory.booleanNode((Boolean) value);
+        }
+
+        if (value instanceof String) {
+            return nodeFactory.textNode((String) value);
+        }
+
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return nodeFactory.numberNode(((Number) value).intValue());
+        }
+
+        if (value instanceof Long || value instanceof BigInteger) {
+            final BigInteger number = value instanceof Long
+                    ? BigInteger.valueOf((Long) value)
+                    : (BigInteger) value;
+
+            if (number.bitLength() < Integer.SIZE) {
+                return nodeFactory.numberNode(number.intValue());
+            }
+
+            if (number.bitLength() < Long.SIZE) {
+                return nodeFactory.numberNode(number.longValue());
+            }
+
+            return nodeFactory.numberNode(number);
+        }
+
+        if (value instanceof Float && Float.isFinite((Float) value)) {
+            // as written to JSON and read from it again
+            return nodeFactory.numberNode(Double.parseDouble(value.toString()));
+        }
+
+        if (value instanceof Double && Double.isFinite((Double) value)) {
+            return nodeFactory.numberNode((Double) value);
+        }
+
+        if (value instanceof BigDecimal) {
+            return nodeFactory.numberNode(((BigDecimal) value).doubleValue());
+        }
+
+        if (value instanceof Collection) {
+            final ArrayNode array = nodeFactory.arrayNode();
+            for (final Object entry : (Collection) value) {
+                array.add(toNode(entry));
+            }
+
+            return array;
+        }
+
+        if (value instanceof Map) {
+            final ObjectNode object = nodeFactory.objectNode();
+            for (final Map.Entry entry : ((Map<?, ?>) value).entrySet()) {
+                object.set(String.valueOf(entry.getKey()), toNode(entry.getValue()));
+            }
+
+            return object;
+        }
+
+        // everything else the way Jackson serializes it
+        try {
+            return MAPPER.readTree(MAPPER.writeValueAsBytes(value));
 
         } catch (IOException e) {
-            // unlikely to happen, but part of the interface
             throw new ConfigConversionException(
-                    "failed to read from the content", e);
+                    "failed to serialize the value " + value + " as json", e);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    protected void addHierarchicalEntry(@NotNull final Map<String, Object> map,
-                                        @NotNull final String key,
-                                        final Object value) {
-        final int index = key.indexOf(keyBuilder.getSeparator());
-        if (index == -1) {
-            map.put(key, value);
-            return;
+    /**
+     * Writes the config as hierarchical JSON object to the output stream
+     * without creating a tree of it in memory first. The result is equal to
+     * the JSON object created by {@link #to(Config)} with the entries being sorted by key.
+     * The stream will not be closed.
+     *
+     * @param config    The config to write.
+     * @param out       The output stream to write to.
+     * @throws IOException               if the JSON could not be written.
+     * @throws ConfigConversionException if a key is used for a value and as parent of other keys.
+     */
+    public void write(@NotNull final Config config, @NotNull final OutputStream out)
+            throws IOException, ConfigConversionException {
+        final List<Map.Entry<String[], Object>> entries = new ArrayList<>(config.size());
+        for (final Map.Entry<String, Object> entry : config.entrySet()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(splitKey(entry.getKey()), entry.getValue()));
+        }
+        entries.sort((a, b) -> compareSegments(a.getKey(), b.getKey()));
+
+        final JsonGenerator generator = MAPPER.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartObject();
+
+        String[] previous = new String[0];
+        int depth = 0;
+        for (final Map.Entry<String[], Object> entry : entries) {
+            final String[] segments = entry.getKey();
+            final int common = commonPrefixLength(previous, segments);
+            if (common == previous.length && previous.length > 0) {
+                throw conflictingKeyException(String.join(keyBuilder.getSeparator(), segments));
+            }
+
+            for (; depth > common; depth--) {
+                generator.writeEndObject();
+            }
+
+            for (; depth < segments.length - 1; depth++) {
+                generator.writeObjectFieldStart(segments[depth]);
+            }
+
+            generator.writeFieldName(segments[depth]);
+            generator.writeObject(entry.getValue());
+            previous = segments;
+        }
+
+        for (; depth >= 0; depth--) {
+            generator.writeEndObject();
+        }
+        generator.flush();
+    }
+
+    @NotNull
+    protected String[] splitKey(@NotNull final String key) {
+        final String separator = keyBuilder.getSeparator();
+        final List<String> segments = new ArrayList<>();
+
+        int start = 0;
+        int index;
+        while ((index = key.indexOf(separator, start)) != -1) {
+            segments.add(key.substring(start, index));
+            start = index + separator.length();
         }
+        segments.add(key.substring(start));
 
-        final String rootKey = key.substring(0, index);
-        if (!map.containsKey(rootKey)) {
-            map.putIfAbsent(rootKey, new HashMap<>());
+        return segments.toArray(new String[segments.size()]);
+    }
+
+    protected static int compareSegments(@NotNull final String[] a, @NotNull final String[] b) {
+        final int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            final int comparison = a[i].compareTo(b[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
         }
 
-        addHierarchicalEntry(
-                (Map<String, Object>) map.get(rootKey), 
-                key.substring(index + 1), 
-                value);
+        return Integer.compare(a.length, b.length);
+    }
+
+    protected static int commonPrefixLength(@NotNull final String[] a, @NotNull final String[] b) {
+        final int length = Math.min(a.length, b.length);
+        int i = 0;
+        while (i < length && a[i].equals(b[i])) {
+            i++;
+        }
+
+        return i;
+    }
+
+    @NotNull
+    protected static ConfigConversionException conflictingKeyException(@NotNull final String key) {
+        return new ConfigConversionException(
+                "key " + key + " conflicts with another key used as its parent or child", null);
     }
 
 }
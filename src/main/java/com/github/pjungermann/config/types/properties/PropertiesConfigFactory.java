@@ -52,6 +52,11 @@ public class PropertiesConfigFactory extends FileTypeConfigFactory<Properties> {
         this.converter = converter;
     }
 
+    @Override
+    public boolean usesContext() {
+        return false;
+    }
+
     @NotNull
     @Override
     protected ConfigConverter<Properties> getConverter() {
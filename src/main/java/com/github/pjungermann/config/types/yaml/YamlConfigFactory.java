@@ -16,11 +16,14 @@
 package com.github.pjungermann.config.types.yaml;
 
 import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.types.ConfigConversionException;
 import com.github.pjungermann.config.types.ConfigConverter;
 import com.github.pjungermann.config.types.FileTypeConfigFactory;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Component;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -29,6 +32,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.LinkedHashMap;
+import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -36,6 +40,10 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * {@link com.github.pjungermann.config.types.ConfigFactory}
  * for Yaml files ({@code .yaml}, {@code .yml}).
  *
+ * The config gets created from the parser's events without creating an object graph of it.
+ * Each document of a YAML stream gets its own config ({@link #createDocuments(File, String, Config)}),
+ * while {@link #create(File, String, Config)} merges them in their order.
+ *
  * @author Patrick Jungermann
  */
 @Component
@@ -53,12 +61,43 @@ public class YamlConfigFactory extends FileTypeConfigFactory<LinkedHashMap<Strin
         this.converter = converter;
     }
 
+    @Override
+    public boolean usesContext() {
+        return false;
+    }
+
     @NotNull
     @Override
     protected ConfigConverter<LinkedHashMap<String, Object>> getConverter() {
         return converter;
     }
 
+    @NotNull
+    @Override
+    public Config create(@NotNull final File source,
+                         @Nullable final String profile,
+                         @NotNull final Config context) throws IOException, ConfigConversionException {
+        final Config config = new Config();
+        for (final Config document : createDocuments(source, profile, context)) {
+            config.putAll(document);
+        }
+
+        return config;
+    }
+
+    @NotNull
+    @Override
+    public List<Config> createDocuments(@NotNull final File source,
+                                        @Nullable final String profile,
+                                        @NotNull final Config context) throws IOException, ConfigConversionException {
+        try (
+                FileInputStream stream = new FileInputStream(source);
+                InputStreamReader reader = new InputStreamReader(stream, UTF_8)
+        ) {
+            return converter.readAll(reader);
+        }
+    }
+
     @NotNull
     @Override
     @SuppressWarnings("unchecked")
@@ -69,7 +108,7 @@ public class YamlConfigFactory extends FileTypeConfigFactory<LinkedHashMap<Strin
                 FileInputStream stream = new FileInputStream(source);
                 InputStreamReader reader = new InputStreamReader(stream, UTF_8)
         ) {
-            return (LinkedHashMap<String, Object>) new Yaml().load(reader);
+            return (LinkedHashMap<String, Object>) new Yaml(new SafeConstructor()).load(reader);
         }
     }
 
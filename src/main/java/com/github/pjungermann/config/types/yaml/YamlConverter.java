@@ -17,15 +17,25 @@ package com.github.pjungermann.config.types.yaml;
 
 import com.github.pjungermann.config.Config;
 import com.github.pjungermann.config.KeyBuilder;
+import com.github.pjungermann.config.types.ConfigConversionException;
 import com.github.pjungermann.config.types.ConfigConverter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.events.*;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.Collection;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.io.Reader;
+import java.util.*;
 
 import static java.util.Collections.synchronizedMap;
 
@@ -86,10 +96,250 @@ public class YamlConverter implements ConfigConverter<LinkedHashMap<String, Obje
         config.put(key, value);
     }
 
+    /**
+     * Reads all documents of the YAML stream based on the parser's events
+     * and flattens each of them directly into its own {@link Config}
+     * without creating an object graph of it first. The result per document is the same
+     * as for {@link #from(LinkedHashMap)}, except that for duplicate keys the entries
+     * of all their mappings get kept. Only anchored mappings and sequences get created
+     * as objects in order to resolve their aliases.
+     *
+     * @param reader    The reader of the YAML stream.
+     * @return one {@link Config} per document in the order of the stream.
+     * @throws ConfigConversionException if a document is no mapping or uses an undefined alias.
+     */
+    @NotNull
+    public List<Config> readAll(@NotNull final Reader reader) throws ConfigConversionException {
+        final EventReader eventReader = new EventReader(new ParserImpl(new StreamReader(reader)));
+        final List<Config> documents = new ArrayList<>();
+
+        Config document;
+        while ((document = eventReader.readDocument()) != null) {
+            documents.add(document);
+        }
+
+        return documents;
+    }
+
     @NotNull
     @Override
     public LinkedHashMap<String, Object> to(@NotNull final Config config) {
         return new LinkedHashMap<>(config);
     }
 
+    /**
+     * Flattens the documents of a YAML stream while reading the parser's events.
+     */
+    private class EventReader {
+
+        private final Parser parser;
+        private final Resolver resolver = new Resolver();
+        private final ScalarConstructor constructor = new ScalarConstructor();
+        private final Map<String, Object> anchors = new HashMap<>();
+
+        EventReader(@NotNull final Parser parser) {
+            this.parser = parser;
+            parser.getEvent(); // stream start
+        }
+
+        /**
+         * @return the next document or {@code null} at the end of the stream.
+         */
+        @Nullable
+        Config readDocument() throws ConfigConversionException {
+            if (parser.checkEvent(Event.ID.StreamEnd)) {
+                parser.getEvent();
+                return null;
+            }
+
+            parser.getEvent(); // document start
+            anchors.clear();
+
+            final Config config = new Config();
+            if (parser.checkEvent(Event.ID.MappingStart)) {
+                parser.getEvent();
+                readMapping(config, "");
+
+            } else {
+                final Object value = readObject();
+                if (value != null) {
+                    throw new ConfigConversionException(
+                            "YAML document has to be a mapping, but was " + value.getClass().getName(), null);
+                }
+            }
+
+            parser.getEvent(); // document end
+            return config;
+        }
+
+        private void readNode(@NotNull final Map<String, Object> config,
+                              @NotNull final String key) throws ConfigConversionException {
+            final Event event = parser.peekEvent();
+            final boolean anchored = event instanceof NodeEvent && ((NodeEvent) event).getAnchor() != null;
+
+            if (!anchored && event.is(Event.ID.MappingStart)) {
+                parser.getEvent();
+                readMapping(config, keyBuilder.toPrefix(key));
+
+            } else if (!anchored && event.is(Event.ID.SequenceStart)) {
+                parser.getEvent();
+                int i = 0;
+                while (!parser.checkEvent(Event.ID.SequenceEnd)) {
+                    readNode(config, keyBuilder.toPrefix(key) + i);
+                    i++;
+                }
+                parser.getEvent();
+
+            } else {
+                populate(config, key, readObject());
+            }
+        }
+
+        private void readMapping(@NotNull final Map<String, Object> config,
+                                 @NotNull final String keyPrefix) throws ConfigConversionException {
+            final Set<String> keys = new HashSet<>();
+            final List<Map<Object, Object>> merges = new ArrayList<>();
+
+            while (!parser.checkEvent(Event.ID.MappingEnd)) {
+                if (isMergeKey()) {
+                    parser.getEvent();
+                    merges.addAll(readMerges());
+                    continue;
+                }
+
+                final String entryKey = String.valueOf(readObject());
+                keys.add(entryKey);
+                readNode(config, keyPrefix + entryKey);
+            }
+            parser.getEvent();
+
+            // explicit keys and earlier merged mappings take precedence
+            for (final Map<Object, Object> merge : merges) {
+                for (final Map.Entry<Object, Object> entry : merge.entrySet()) {
+                    final String entryKey = String.valueOf(entry.getKey());
+                    if (keys.add(entryKey)) {
+                        populate(config, keyPrefix + entryKey, entry.getValue());
+                    }
+                }
+            }
+        }
+
+        @Nullable
+        @SuppressWarnings("unchecked")
+        private Object readObject() throws ConfigConversionException {
+            final Event event = parser.getEvent();
+
+            if (event instanceof AliasEvent) {
+                final String anchor = ((AliasEvent) event).getAnchor();
+                if (!anchors.containsKey(anchor)) {
+                    throw new ConfigConversionException("undefined YAML alias " + anchor + " at " + event.getStartMark(), null);
+                }
+                return anchors.get(anchor);
+            }
+
+            if (event instanceof ScalarEvent) {
+                final ScalarEvent scalar = (ScalarEvent) event;
+                final Object value = constructor.construct(new ScalarNode(
+                        resolveTag(scalar), scalar.getValue(),
+                        scalar.getStartMark(), scalar.getEndMark(), scalar.getStyle()));
+                anchor(scalar, value);
+                return value;
+            }
+
+            if (event instanceof MappingStartEvent) {
+                final Map<Object, Object> map = new LinkedHashMap<>();
+                anchor((NodeEvent) event, map);
+
+                final List<Map<Object, Object>> merges = new ArrayList<>();
+                while (!parser.checkEvent(Event.ID.MappingEnd)) {
+                    if (isMergeKey()) {
+                        parser.getEvent();
+                        merges.addAll(readMerges());
+
+                    } else {
+                        map.put(readObject(), readObject());
+                    }
+                }
+                parser.getEvent();
+
+                merges.forEach(merge -> merge.forEach(map::putIfAbsent));
+                return map;
+            }
+
+            if (event instanceof SequenceStartEvent) {
+                final List<Object> list = new ArrayList<>();
+                anchor((NodeEvent) event, list);
+
+                while (!parser.checkEvent(Event.ID.SequenceEnd)) {
+                    list.add(readObject());
+                }
+                parser.getEvent();
+
+                return list;
+            }
+
+            throw new ConfigConversionException("unexpected YAML event " + event, null);
+        }
+
+        @NotNull
+        @SuppressWarnings("unchecked")
+        private List<Map<Object, Object>> readMerges() throws ConfigConversionException {
+            final Object value = readObject();
+            if (value instanceof Map) {
+                return Collections.singletonList((Map<Object, Object>) value);
+            }
+
+            final List<Map<Object, Object>> merges = new ArrayList<>();
+            if (value instanceof List) {
+                for (final Object entry : (List) value) {
+                    if (!(entry instanceof Map)) {
+                        break;
+                    }
+                    merges.add((Map<Object, Object>) entry);
+                }
+
+                if (merges.size() == ((List) value).size()) {
+                    return merges;
+                }
+            }
+
+            throw new ConfigConversionException("YAML merge key requires a mapping or a sequence of mappings", null);
+        }
+
+        private boolean isMergeKey() {
+            final Event event = parser.peekEvent();
+
+            return event instanceof ScalarEvent && Tag.MERGE.equals(resolveTag((ScalarEvent) event));
+        }
+
+        @NotNull
+        private Tag resolveTag(@NotNull final ScalarEvent event) {
+            final String tag = event.getTag();
+            if (tag == null || "!".equals(tag)) {
+                return resolver.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar());
+            }
+
+            return new Tag(tag);
+        }
+
+        private void anchor(@NotNull final NodeEvent event, @Nullable final Object value) {
+            if (event.getAnchor() != null) {
+                anchors.put(event.getAnchor(), value);
+            }
+        }
+    }
+
+    /**
+     * Creates scalar values the same way as for the object graph.
+     * Only the standard YAML tags are supported, tags of Java classes
+     * do not lead to the instantiation of arbitrary classes.
+     */
+    private static class ScalarConstructor extends SafeConstructor {
+
+        @Nullable
+        Object construct(@NotNull final ScalarNode node) {
+            return getConstructor(node).construct(node);
+        }
+    }
+
 }
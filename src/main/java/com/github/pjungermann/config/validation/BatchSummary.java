@@ -0,0 +1,147 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Aggregated results of validating multiple {@link ConfigSet config sets}
+ * against the same specification.
+ *
+ * @author Patrick Jungermann
+ */
+public class BatchSummary {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * The result per set in the order of the sets.
+     */
+    public final List<ConfigSetResult> results;
+
+    /**
+     * Time needed to validate all sets (excluding the specification) in milliseconds.
+     */
+    public final long millis;
+
+    public BatchSummary(@NotNull final List<ConfigSetResult> results, final long millis) {
+        this.results = unmodifiableList(results);
+        this.millis = millis;
+    }
+
+    /**
+     * @return whether all sets are valid.
+     */
+    public boolean isValid() {
+        return getInvalidSets() == 0;
+    }
+
+    /**
+     * @return the amount of invalid sets.
+     */
+    public int getInvalidSets() {
+        int invalid = 0;
+        for (final ConfigSetResult result : results) {
+            if (!result.valid) {
+                invalid++;
+            }
+        }
+
+        return invalid;
+    }
+
+    /**
+     * @return the amount of errors of all sets.
+     */
+    public long getErrors() {
+        long errors = 0;
+        for (final ConfigSetResult result : results) {
+            errors += result.errors;
+        }
+
+        return errors;
+    }
+
+    /**
+     * @return a human readable summary listing all invalid sets.
+     */
+    @NotNull
+    public String toText() {
+        final int invalid = getInvalidSets();
+        final StringBuilder builder = new StringBuilder("Validated ")
+                .append(results.size()).append(" config sets in ").append(millis).append(" ms: ")
+                .append(results.size() - invalid).append(" valid, ")
+                .append(invalid).append(" invalid, ")
+                .append(getErrors()).append(" errors");
+
+        for (final ConfigSetResult result : results) {
+            if (!result.valid) {
+                builder.append("\n- ").append(result.set.name)
+                        .append(": ").append(result.errors).append(" errors");
+            }
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Writes the summary including the result per set as JSON object.
+     * The stream does not get closed.
+     *
+     * @param out    The stream to write to.
+     * @throws IOException if writing failed.
+     */
+    public void writeJson(@NotNull final OutputStream out) throws IOException {
+        final JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        final int invalid = getInvalidSets();
+        generator.writeStartObject();
+        generator.writeNumberField("sets", results.size());
+        generator.writeNumberField("valid", results.size() - invalid);
+        generator.writeNumberField("invalid", invalid);
+        generator.writeNumberField("errors", getErrors());
+        generator.writeNumberField("millis", millis);
+
+        generator.writeArrayFieldStart("results");
+        for (final ConfigSetResult result : results) {
+            generator.writeStartObject();
+            generator.writeStringField("name", result.set.name);
+            generator.writeArrayFieldStart("sources");
+            for (final String source : result.set.sources) {
+                generator.writeString(source);
+            }
+            generator.writeEndArray();
+            generator.writeBooleanField("valid", result.valid);
+            generator.writeNumberField("errors", result.errors);
+            generator.writeNumberField("millis", result.millis);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+        generator.close();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import com.github.pjungermann.config.Config;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Differences between two versions of a {@link Config}.
+ *
+ * @author Patrick Jungermann
+ */
+public class ConfigDiff {
+
+    /**
+     * @param previous    The previous version of the config.
+     * @param current     The current version of the config.
+     * @return all keys which got added, removed or whose values changed.
+     */
+    @NotNull
+    public static Set<String> changedKeys(@NotNull final Map<String, Object> previous,
+                                          @NotNull final Map<String, Object> current) {
+        final Set<String> changedKeys = new HashSet<>();
+        if (previous == current) {
+            return changedKeys;
+        }
+
+        current.forEach((key, value) -> {
+            if (!Objects.equals(previous.get(key), value) || value == null && !previous.containsKey(key)) {
+                changedKeys.add(key);
+            }
+        });
+        for (final String key : previous.keySet()) {
+            if (!current.containsKey(key)) {
+                changedKeys.add(key);
+            }
+        }
+
+        return changedKeys;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import com.github.pjungermann.config.Config;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Sources of one {@link Config} which gets validated independently
+ * of other config sets, e.g. the config of one service out of many.
+ *
+ * @author Patrick Jungermann
+ */
+public class ConfigSet {
+
+    /**
+     * Name of the set used at reports.
+     */
+    public final String name;
+
+    /**
+     * The {@link Config} sources of the set.
+     */
+    public final String[] sources;
+
+    public ConfigSet(@NotNull final String name, @NotNull final String... sources) {
+        this.name = name;
+        this.sources = sources;
+    }
+
+    /**
+     * @param source    The only source of the set, e.g. a directory.
+     * @return a set named after its only source.
+     */
+    @NotNull
+    public static ConfigSet of(@NotNull final String source) {
+        return new ConfigSet(source, source);
+    }
+
+    @Override
+    public String toString() {
+        return name + Arrays.toString(sources);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import com.github.pjungermann.config.validation.report.ValidationReport;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Creates the {@link ValidationReport} of each {@link ConfigSet} of a batch validation.
+ *
+ * @author Patrick Jungermann
+ */
+@FunctionalInterface
+public interface ConfigSetReportFactory {
+
+    /**
+     * @param set      The config set to be validated.
+     * @param index    The position of the set within the batch.
+     * @return the report for the set, which gets closed after the set got validated.
+     * @throws IOException if the report could not be created.
+     */
+    @NotNull
+    ValidationReport createReport(@NotNull ConfigSet set, int index) throws IOException;
+}
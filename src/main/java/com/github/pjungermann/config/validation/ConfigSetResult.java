@@ -0,0 +1,55 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Result of validating one {@link ConfigSet} of a batch.
+ *
+ * @author Patrick Jungermann
+ */
+public class ConfigSetResult {
+
+    public final ConfigSet set;
+
+    /**
+     * Whether no error got reported for the set.
+     */
+    public final boolean valid;
+
+    /**
+     * Amount of reported errors, counting each error of a collection entry on its own.
+     */
+    public final long errors;
+
+    /**
+     * Time needed to load and validate the set in milliseconds.
+     */
+    public final long millis;
+
+    public ConfigSetResult(@NotNull final ConfigSet set, final boolean valid, final long errors, final long millis) {
+        this.set = set;
+        this.valid = valid;
+        this.errors = errors;
+        this.millis = millis;
+    }
+
+    @Override
+    public String toString() {
+        return set.name + (valid ? " (valid)" : " (" + errors + " errors)");
+    }
+}
@@ -37,6 +37,13 @@ public class ConfigValidationException extends Exception {
         super(toMessage(messageSource, errors));
     }
 
+    /**
+     * @param message    The message, e.g. referring to the report containing the errors.
+     */
+    public ConfigValidationException(@NotNull final String message) {
+        super(message);
+    }
+
     public static String toMessage(@NotNull final MessageSource messageSource,
                                    @NotNull final Collection<ConfigError> errors) {
         final StringBuilder builder = new StringBuilder("Validation errors:");
@@ -16,12 +16,18 @@
 package com.github.pjungermann.config.validation;
 
 import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.ConfigError;
+import com.github.pjungermann.config.errors.DocumentConfigError;
 import com.github.pjungermann.config.errors.KeysWithoutSpecificationError;
+import com.github.pjungermann.config.loader.ConfigDocument;
 import com.github.pjungermann.config.loader.ConfigLoader;
 import com.github.pjungermann.config.specification.ConfigSpecification;
 import com.github.pjungermann.config.specification.ConfigSpecificationLoader;
-import com.github.pjungermann.config.specification.constraint.Constraint;
+import com.github.pjungermann.config.specification.constraint.ErrorBudget;
+import com.github.pjungermann.config.validation.report.ReportedError;
+import com.github.pjungermann.config.validation.report.ValidationReport;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
@@ -29,11 +35,19 @@ import org.springframework.stereotype.Component;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 
 /**
  * Validates the {@link Config} based on a {@link ConfigSpecification}.
@@ -81,27 +95,34 @@ public class ConfigValidator {
 
         LOGGER.info("load specification");
         final ConfigSpecification configSpecification = configSpecificationLoader.load(recursive, specs);
-        config.errors.addAll(configSpecification.errors);
+
+        validate(config, new ValidationPlan(configSpecification), strictMode);
+    }
+
+    /**
+     * Validates the {@link Config} based on a compiled {@link ValidationPlan}.
+     * The same plan can be used to validate any amount of configs.
+     *
+     * @param config        The {@link Config} to be validated. Type conversions will be applied to it.
+     * @param plan          The {@link ValidationPlan} compiled from a {@link ConfigSpecification}.
+     * @param strictMode    Whether to use strict mode or not. (No config entry without specification allowed).
+     * @throws ConfigValidationException
+     *          if there was any specification validation or other type of error.
+     */
+    public void validate(@NotNull final Config config,
+                         @NotNull final ValidationPlan plan,
+                         final boolean strictMode) throws ConfigValidationException {
+        config.errors.addAll(plan.getErrors());
 
         LOGGER.info("apply type conversion");
-        configSpecification
-                .typeConverter
-                .convert(config);
+        plan.getTypeConverter().convert(config);
 
         LOGGER.info("validate config against specification");
-        config.errors.addAll(
-                configSpecification
-                        .constraints
-                        .stream()
-                        .parallel()
-                        .map(constraint -> constraint.validate(config))
-                        .filter(error -> error != null)
-                        .collect(toList())
-        );
+        config.errors.addAll(plan.validate(config));
         LOGGER.info("validation completed");
 
         if (strictMode) {
-            applyStrictMode(config, configSpecification);
+            applyStrictMode(config, plan);
         }
 
         if (!config.errors.isEmpty()) {
@@ -109,26 +130,403 @@ public class ConfigValidator {
         }
     }
 
-    protected void applyStrictMode(@NotNull final Config config,
-                                   @NotNull final ConfigSpecification configSpecification) {
+    /**
+     * Validates the {@link Config} based on a {@link ConfigSpecification}
+     * until the {@link ErrorBudget} is exhausted.
+     *
+     * @param sources       {@link Config} sources.
+     * @param specs         {@link ConfigSpecification} sources (specifications).
+     * @param recursive     Whether to recursively load sources files.
+     * @param profile       Profile to be applied to a {@link Config}. Only supported by some types.
+     * @param strictMode    Whether to use strict mode or not. (No config entry without specification allowed).
+     * @param budget        The budget for the errors, e.g. of {@code 1} to fail fast.
+     * @throws ConfigValidationException
+     *          if there was any specification validation or other type of error
+     *          while loading the sources, listing the errors fitting into the budget.
+     */
+    public void validate(@NotNull final String[] sources,
+                         @NotNull final String[] specs,
+                         final boolean recursive,
+                         final String profile,
+                         final boolean strictMode,
+                         @NotNull final ErrorBudget budget) throws ConfigValidationException {
+        final List<ConfigError> errors = new ArrayList<>();
+        if (!validate(sources, specs, recursive, profile, strictMode, errors::add, budget)) {
+            throw new ConfigValidationException(messageSource, errors);
+        }
+    }
+
+    /**
+     * Validates the {@link Config} based on a {@link ConfigSpecification}
+     * and reports all errors fitting into the {@link ErrorBudget}
+     * to the {@link ValidationReport} as soon as they are produced.
+     *
+     * @param sources       {@link Config} sources.
+     * @param specs         {@link ConfigSpecification} sources (specifications).
+     * @param recursive     Whether to recursively load sources files.
+     * @param profile       Profile to be applied to a {@link Config}. Only supported by some types.
+     * @param strictMode    Whether to use strict mode or not. (No config entry without specification allowed).
+     * @param report        The report receiving the errors.
+     * @param budget        The budget for the errors, e.g. {@link ErrorBudget#UNLIMITED}.
+     * @return whether the config is valid, i.e. no error got reported.
+     */
+    public boolean validate(@NotNull final String[] sources,
+                            @NotNull final String[] specs,
+                            final boolean recursive,
+                            final String profile,
+                            final boolean strictMode,
+                            @NotNull final ValidationReport report,
+                            @NotNull final ErrorBudget budget) {
+        LOGGER.info("load config from sources");
+        final Config config = configLoader.load(profile, recursive, sources);
+
+        LOGGER.info("load specification");
+        final ConfigSpecification configSpecification = configSpecificationLoader.load(recursive, specs);
+
+        return validate(config, new ValidationPlan(configSpecification), strictMode, report, budget);
+    }
+
+    /**
+     * Validates the {@link Config} based on a compiled {@link ValidationPlan}
+     * and reports all errors to the {@link ValidationReport} as soon as they are produced.
+     * Other than {@link #validate(Config, ValidationPlan, boolean)}, the errors
+     * of the validation do not get added to the {@link Config#errors config's errors}.
+     *
+     * @param config        The {@link Config} to be validated. Type conversions will be applied to it.
+     * @param plan          The {@link ValidationPlan} compiled from a {@link ConfigSpecification}.
+     * @param strictMode    Whether to use strict mode or not. (No config entry without specification allowed).
+     * @param report        The report receiving the errors.
+     * @return whether the config is valid, i.e. no error got reported.
+     */
+    public boolean validate(@NotNull final Config config,
+                            @NotNull final ValidationPlan plan,
+                            final boolean strictMode,
+                            @NotNull final ValidationReport report) {
+        return validate(config, plan, strictMode, report, ErrorBudget.UNLIMITED);
+    }
+
+    /**
+     * Validates the {@link Config} like {@link #validate(Config, ValidationPlan, boolean, ValidationReport)},
+     * but only until the {@link ErrorBudget} is exhausted. All pending evaluations get skipped then.
+     *
+     * @param config        The {@link Config} to be validated. Type conversions will be applied to it.
+     * @param plan          The {@link ValidationPlan} compiled from a {@link ConfigSpecification}.
+     * @param strictMode    Whether to use strict mode or not. (No config entry without specification allowed).
+     * @param report        The report receiving the errors.
+     * @param budget        The budget for the errors.
+     * @return whether the config is valid, i.e. no error got reported.
+     */
+    public boolean validate(@NotNull final Config config,
+                            @NotNull final ValidationPlan plan,
+                            final boolean strictMode,
+                            @NotNull final ValidationReport report,
+                            @NotNull final ErrorBudget budget) {
+        LOGGER.info("validate config against specification");
+        final boolean valid = validate(config, plan, plan.getErrors(), strictMode, report, budget);
+        LOGGER.info("validation completed");
+        logExhaustedBudget(budget);
+
+        return valid;
+    }
+
+    /**
+     * Validates each document of the sources on its own (e.g. each document of a YAML stream)
+     * based on a {@link ConfigSpecification}.
+     *
+     * @param sources       {@link Config} sources.
+     * @param specs         {@link ConfigSpecification} sources (specifications).
+     * @param recursive     Whether to recursively load sources files.
+     * @param profile       Profile to be applied to a {@link Config}. Only supported by some types.
+     * @param strictMode    Whether to use strict mode or not. (No config entry without specification allowed).
+     * @throws ConfigValidationException
+     *          if there was any specification validation or other type of error
+     *          while loading the sources.
+     */
+    public void validateDocuments(@NotNull final String[] sources,
+                                  @NotNull final String[] specs,
+                                  final boolean recursive,
+                                  final String profile,
+                                  final boolean strictMode) throws ConfigValidationException {
+        validateDocuments(sources, specs, recursive, profile, strictMode, ErrorBudget.UNLIMITED);
+    }
+
+    /**
+     * Validates each document of the sources on its own (e.g. each document of a YAML stream)
+     * based on a {@link ConfigSpecification} until the {@link ErrorBudget} is exhausted.
+     *
+     * @param sources       {@link Config} sources.
+     * @param specs         {@link ConfigSpecification} sources (specifications).
+     * @param recursive     Whether to recursively load sources files.
+     * @param profile       Profile to be applied to a {@link Config}. Only supported by some types.
+     * @param strictMode    Whether to use strict mode or not. (No config entry without specification allowed).
+     * @param budget        The budget for the errors of all documents.
+     * @throws ConfigValidationException
+     *          if there was any specification validation or other type of error
+     *          while loading the sources, listing the errors fitting into the budget.
+     */
+    public void validateDocuments(@NotNull final String[] sources,
+                                  @NotNull final String[] specs,
+                                  final boolean recursive,
+                                  final String profile,
+                                  final boolean strictMode,
+                                  @NotNull final ErrorBudget budget) throws ConfigValidationException {
+        final List<ConfigError> errors = new ArrayList<>();
+        if (!validateDocuments(sources, specs, recursive, profile, strictMode, errors::add, budget)) {
+            throw new ConfigValidationException(messageSource, errors);
+        }
+    }
+
+    /**
+     * Validates all documents in parallel based on a compiled {@link ValidationPlan}.
+     * The errors get reported per document in the order of the documents.
+     *
+     * @param documents     The documents to be validated. Type conversions will be applied to them.
+     * @param plan          The {@link ValidationPlan} compiled from a {@link ConfigSpecification}.
+     * @param strictMode    Whether to use strict mode or not. (No config entry without specification allowed).
+     * @throws ConfigValidationException
+     *          if there was any specification validation or other type of error.
+     */
+    public void validateDocuments(@NotNull final List<ConfigDocument> documents,
+                                  @NotNull final ValidationPlan plan,
+                                  final boolean strictMode) throws ConfigValidationException {
+        final List<ConfigError> errors = new ArrayList<>();
+        if (!validateDocuments(documents, plan, strictMode, errors::add, ErrorBudget.UNLIMITED)) {
+            throw new ConfigValidationException(messageSource, errors);
+        }
+    }
+
+    /**
+     * Validates each document of the sources on its own (e.g. each document of a YAML stream)
+     * based on a {@link ConfigSpecification} and reports the errors per document
+     * to the {@link ValidationReport}.
+     *
+     * @param sources       {@link Config} sources.
+     * @param specs         {@link ConfigSpecification} sources (specifications).
+     * @param recursive     Whether to recursively load sources files.
+     * @param profile       Profile to be applied to a {@link Config}. Only supported by some types.
+     * @param strictMode    Whether to use strict mode or not. (No config entry without specification allowed).
+     * @param report        The report receiving the errors.
+     * @param budget        The budget for the errors of all documents, e.g. {@link ErrorBudget#UNLIMITED}.
+     * @return whether all documents are valid, i.e. no error got reported.
+     */
+    public boolean validateDocuments(@NotNull final String[] sources,
+                                     @NotNull final String[] specs,
+                                     final boolean recursive,
+                                     final String profile,
+                                     final boolean strictMode,
+                                     @NotNull final ValidationReport report,
+                                     @NotNull final ErrorBudget budget) {
+        LOGGER.info("load config documents from sources");
+        final List<ConfigDocument> documents = configLoader.loadDocuments(profile, recursive, sources);
+
+        LOGGER.info("load specification");
+        final ConfigSpecification configSpecification = configSpecificationLoader.load(recursive, specs);
+
+        return validateDocuments(documents, new ValidationPlan(configSpecification), strictMode, report, budget);
+    }
+
+    /**
+     * Validates all documents in parallel based on a compiled {@link ValidationPlan}
+     * until the {@link ErrorBudget} is exhausted.
+     * The errors get reported per document in the order of the documents.
+     *
+     * @param documents     The documents to be validated. Type conversions will be applied to them.
+     * @param plan          The {@link ValidationPlan} compiled from a {@link ConfigSpecification}.
+     * @param strictMode    Whether to use strict mode or not. (No config entry without specification allowed).
+     * @param report        The report receiving the errors.
+     * @param budget        The budget for the errors of all documents.
+     * @return whether all documents are valid, i.e. no error got reported.
+     */
+    public boolean validateDocuments(@NotNull final List<ConfigDocument> documents,
+                                     @NotNull final ValidationPlan plan,
+                                     final boolean strictMode,
+                                     @NotNull final ValidationReport report,
+                                     @NotNull final ErrorBudget budget) {
+        boolean valid = true;
+        for (final ConfigError error : plan.getErrors()) {
+            if (budget.tryConsume()) {
+                valid = false;
+                report.report(error);
+            }
+        }
+
+        LOGGER.info("validate {} config documents against specification", documents.size());
+        @SuppressWarnings("unchecked")
+        final List<ConfigError>[] errorsPerDocument = new List[documents.size()];
+        IntStream.range(0, documents.size()).parallel().forEach(index -> {
+            final List<ConfigError> errors = new ArrayList<>();
+            validate(documents.get(index).config, plan, emptyList(), strictMode, errors::add, budget);
+            errorsPerDocument[index] = errors;
+        });
+        LOGGER.info("validation completed");
+        logExhaustedBudget(budget);
+
+        for (int i = 0; i < errorsPerDocument.length; i++) {
+            if (!errorsPerDocument[i].isEmpty()) {
+                valid = false;
+                report.report(new DocumentConfigError(documents.get(i), errorsPerDocument[i]));
+            }
+        }
+
+        return valid;
+    }
+
+    /**
+     * Validates multiple independent {@link ConfigSet config sets} in parallel
+     * against the same {@link ConfigSpecification}, which gets loaded only once.
+     * Each set gets loaded with its own context, so that no set can reference
+     * values of another one, and gets its own {@link ValidationReport}.
+     *
+     * @param sets               The config sets to be validated.
+     * @param specs              {@link ConfigSpecification} sources (specifications).
+     * @param recursive          Whether to recursively load sources files.
+     * @param profile            Profile to be applied to a {@link Config}. Only supported by some types.
+     * @param strictMode         Whether to use strict mode or not. (No config entry without specification allowed).
+     * @param reports            Creates the report per set.
+     * @param maxErrorsPerSet    Maximal amount of errors per set or {@code 0} for no limit.
+     * @return the result per set.
+     */
+    @NotNull
+    public BatchSummary validateSets(@NotNull final List<ConfigSet> sets,
+                                     @NotNull final String[] specs,
+                                     final boolean recursive,
+                                     final String profile,
+                                     final boolean strictMode,
+                                     @NotNull final ConfigSetReportFactory reports,
+                                     final long maxErrorsPerSet) {
+        LOGGER.info("load specification");
+        final ConfigSpecification configSpecification = configSpecificationLoader.load(recursive, specs);
+
+        return validateSets(
+                sets, new ValidationPlan(configSpecification), recursive, profile, strictMode, reports, maxErrorsPerSet);
+    }
+
+    /**
+     * Validates multiple independent {@link ConfigSet config sets} in parallel
+     * based on a compiled {@link ValidationPlan}.
+     *
+     * @param sets               The config sets to be validated.
+     * @param plan               The {@link ValidationPlan} compiled from a {@link ConfigSpecification}.
+     * @param recursive          Whether to recursively load sources files.
+     * @param profile            Profile to be applied to a {@link Config}. Only supported by some types.
+     * @param strictMode         Whether to use strict mode or not. (No config entry without specification allowed).
+     * @param reports            Creates the report per set.
+     * @param maxErrorsPerSet    Maximal amount of errors per set or {@code 0} for no limit.
+     * @return the result per set.
+     * @see #validateSets(List, String[], boolean, String, boolean, ConfigSetReportFactory, long)
+     */
+    @NotNull
+    public BatchSummary validateSets(@NotNull final List<ConfigSet> sets,
+                                     @NotNull final ValidationPlan plan,
+                                     final boolean recursive,
+                                     final String profile,
+                                     final boolean strictMode,
+                                     @NotNull final ConfigSetReportFactory reports,
+                                     final long maxErrorsPerSet) {
+        LOGGER.info("validate {} config sets against specification", sets.size());
+        final long start = System.nanoTime();
+        final ConfigSetResult[] results = new ConfigSetResult[sets.size()];
+        IntStream.range(0, results.length).parallel().forEach(index -> results[index] = validateSet(
+                sets.get(index), index, plan, recursive, profile, strictMode, reports, maxErrorsPerSet));
+        LOGGER.info("validation completed");
+
+        return new BatchSummary(asList(results), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @NotNull
+    private ConfigSetResult validateSet(@NotNull final ConfigSet set,
+                                        final int index,
+                                        @NotNull final ValidationPlan plan,
+                                        final boolean recursive,
+                                        final String profile,
+                                        final boolean strictMode,
+                                        @NotNull final ConfigSetReportFactory reports,
+                                        final long maxErrors) {
+        final long start = System.nanoTime();
+        // each set gets loaded with a new context
+        final Config config = configLoader.load(profile, recursive, set.sources);
+
+        final AtomicLong errors = new AtomicLong();
+        final boolean valid;
+        try (final ValidationReport report = reports.createReport(set, index)) {
+            final ValidationReport counting = error -> {
+                ReportedError.forEach(error, reportedError -> errors.incrementAndGet());
+                report.report(error);
+            };
+            valid = validate(config, plan, plan.getErrors(), strictMode, counting, ErrorBudget.of(maxErrors));
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to write the report of the config set " + set.name, e);
+        }
+
+        return new ConfigSetResult(set, valid, errors.get(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Reports the errors of loading the config, the specification errors,
+     * the errors of the type conversion, of the constraints and of the strict mode
+     * in this order as long as they fit into the budget.
+     */
+    private boolean validate(@NotNull final Config config,
+                             @NotNull final ValidationPlan plan,
+                             @NotNull final Collection<ConfigError> specificationErrors,
+                             final boolean strictMode,
+                             @NotNull final ValidationReport report,
+                             @NotNull final ErrorBudget budget) {
+        final AtomicBoolean valid = new AtomicBoolean(true);
+        // errors of the constraints got consumed from the budget already
+        final ValidationReport tracking = error -> {
+            valid.set(false);
+            report.report(error);
+        };
+        final ValidationReport budgeted = error -> {
+            if (budget.tryConsume()) {
+                tracking.report(error);
+            }
+        };
+
+        final int loadErrors = config.errors.size();
+        config.errors.forEach(budgeted::report);
+        specificationErrors.forEach(budgeted::report);
+        if (budget.isExhausted()) {
+            return valid.get();
+        }
+
+        plan.getTypeConverter().convert(config);
+        config.errors.subList(loadErrors, config.errors.size()).forEach(budgeted::report);
+
+        plan.validate(config, tracking, budget);
+
+        if (strictMode && !budget.isExhausted()) {
+            final ConfigError error = findKeysWithoutSpecification(config, plan);
+            if (error != null) {
+                budgeted.report(error);
+            }
+        }
+
+        return valid.get();
+    }
+
+    private static void logExhaustedBudget(@NotNull final ErrorBudget budget) {
+        if (budget.isExhausted()) {
+            LOGGER.info("reached the limit of {} errors, the remaining validations got skipped", budget.getMaxErrors());
+        }
+    }
+
+    protected void applyStrictMode(@NotNull final Config config, @NotNull final ValidationPlan plan) {
+        final ConfigError error = findKeysWithoutSpecification(config, plan);
+        if (error != null) {
+            config.errors.add(error);
+        }
+    }
+
+    @Nullable
+    protected ConfigError findKeysWithoutSpecification(@NotNull final Config config,
+                                                       @NotNull final ValidationPlan plan) {
         LOGGER.info("strict mode: check for keys without specification");
         final Set<String> keys = new HashSet<>(config.keySet());
-        keys.removeAll(
-                configSpecification
-                        .constraints
-                        .stream()
-                        .parallel()
-                        .map(Constraint::getKey)
-                        .collect(toSet())
-        );
-        keys.removeAll(
-                configSpecification
-                        .typeConverter
-                        .getKeys()
-        );
-
-        if (!keys.isEmpty()) {
-            config.errors.add(new KeysWithoutSpecificationError(keys));
-        }
+        keys.removeAll(plan.getKeys());
+
+        return keys.isEmpty() ? null : new KeysWithoutSpecificationError(keys);
     }
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import com.github.pjungermann.config.ConfigError;
+import com.github.pjungermann.config.validation.report.ReportFormat;
+import com.github.pjungermann.config.validation.report.ValidationReport;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.MessageSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the reports of the invalid {@link ConfigSet config sets} of a batch validation
+ * to one stream in the order of the sets, each preceded by a {@code # <set name>} line.
+ *
+ * The report of the first set which is not completely written yet gets streamed.
+ * Only the reports of sets completing out of order get buffered until it is their turn,
+ * as well as the start of each report until the set's first error (e.g. the SARIF header),
+ * which gets dropped for valid sets.
+ *
+ * The stream does not get closed.
+ *
+ * @author Patrick Jungermann
+ */
+public class OrderedConfigSetReports implements ConfigSetReportFactory {
+
+    private final OutputStream out;
+    private final ReportFormat format;
+    private final MessageSource messageSource;
+    private final Locale locale;
+
+    private final Object lock = new Object();
+    private final Map<Integer, SetOutput> outputs = new HashMap<>();
+    private int head;
+
+    /**
+     * @param out              The stream to write the reports to.
+     * @param format           The format of the reports.
+     * @param messageSource    The message source for the error messages.
+     * @param locale           The locale of the error messages.
+     */
+    public OrderedConfigSetReports(@NotNull final OutputStream out,
+                                   @NotNull final ReportFormat format,
+                                   @NotNull final MessageSource messageSource,
+                                   @NotNull final Locale locale) {
+        this.out = out;
+        this.format = format;
+        this.messageSource = messageSource;
+        this.locale = locale;
+    }
+
+    @NotNull
+    @Override
+    public ValidationReport createReport(@NotNull final ConfigSet set, final int index) throws IOException {
+        final SetOutput output = new SetOutput(set, index);
+        synchronized (lock) {
+            outputs.put(index, output);
+        }
+
+        final ValidationReport report = format.createReport(output, messageSource, locale);
+        return new ValidationReport() {
+            @Override
+            public void report(@NotNull final ConfigError error) {
+                try {
+                    output.markInvalid();
+
+                } catch (IOException e) {
+                    throw new UncheckedIOException("failed to write the report of the config set " + set.name, e);
+                }
+                report.report(error);
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    report.close();
+
+                } finally {
+                    output.complete();
+                }
+            }
+        };
+    }
+
+    /**
+     * Writes the reports of all completed sets up to the first pending one
+     * and starts to stream the report of that one, if it is invalid.
+     */
+    private void advance() throws IOException {
+        SetOutput current = outputs.get(head);
+        while (current != null && current.completed) {
+            if (current.invalid) {
+                current.startStreaming();
+            }
+            outputs.remove(head++);
+            current = outputs.get(head);
+        }
+
+        if (current != null && current.invalid) {
+            current.startStreaming();
+        }
+        out.flush();
+    }
+
+    /**
+     * Report output of one set, streamed or buffered.
+     */
+    private final class SetOutput extends OutputStream {
+
+        final ConfigSet set;
+        final int index;
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        boolean invalid;
+        boolean completed;
+
+        SetOutput(@NotNull final ConfigSet set, final int index) {
+            this.set = set;
+            this.index = index;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            synchronized (lock) {
+                if (buffer == null) {
+                    out.write(b);
+
+                } else {
+                    buffer.write(b);
+                }
+            }
+        }
+
+        @Override
+        public void write(@NotNull final byte[] bytes, final int offset, final int length) throws IOException {
+            synchronized (lock) {
+                if (buffer == null) {
+                    out.write(bytes, offset, length);
+
+                } else {
+                    buffer.write(bytes, offset, length);
+                }
+            }
+        }
+
+        void markInvalid() throws IOException {
+            synchronized (lock) {
+                if (!invalid) {
+                    invalid = true;
+                    if (index == head) {
+                        startStreaming();
+                    }
+                }
+            }
+        }
+
+        void complete() throws IOException {
+            synchronized (lock) {
+                completed = true;
+                if (index == head) {
+                    advance();
+                }
+            }
+        }
+
+        /**
+         * Writes the set's header and everything buffered so far. Further output gets written directly.
+         */
+        void startStreaming() throws IOException {
+            if (buffer == null) {
+                return;
+            }
+
+            out.write(("# " + set.name + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+            buffer.writeTo(out);
+            buffer = null;
+        }
+
+        @Override
+        public void close() {
+            // the shared stream stays open
+        }
+    }
+}
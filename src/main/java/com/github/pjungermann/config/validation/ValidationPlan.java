@@ -0,0 +1,508 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.ConfigError;
+import com.github.pjungermann.config.specification.ConfigSpecification;
+import com.github.pjungermann.config.specification.constraint.Constraint;
+import com.github.pjungermann.config.specification.constraint.ErrorBudget;
+import com.github.pjungermann.config.specification.constraint.matches.MatchesConstraint;
+import com.github.pjungermann.config.specification.constraint.matches.MatchesConstraintGroup;
+import com.github.pjungermann.config.specification.constraint.multi.CollectionKey;
+import com.github.pjungermann.config.specification.constraint.multi.CollectionKeyBuilder;
+import com.github.pjungermann.config.specification.types.TypeConverter;
+import com.github.pjungermann.config.validation.report.ValidationReport;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+import static java.util.Collections.*;
+
+/**
+ * Compiled form of a {@link ConfigSpecification}, which can be used
+ * to validate any amount of {@link Config configs}.
+ *
+ * All constraints get grouped per key, so that the value of a key gets resolved
+ * only once for all its constraints. Keys referencing collection entries get
+ * parsed once and the constraints get indexed per collection key as well.
+ * Whether the constraints' expectations are valid gets evaluated upfront.
+ * Multiple {@link MatchesConstraint matches constraints} in linear mode
+ * of the same key get evaluated within one pass.
+ *
+ * Constraints can also be re-evaluated for changed keys only,
+ * reusing the results of a previous validation for all other constraints
+ * (see {@link ValidationResult#revalidate(Config)}).
+ *
+ * The plan itself is immutable and thread-safe. Errors get reported in the order
+ * in which the constraints were contained at the {@link ConfigSpecification}.
+ *
+ * @author Patrick Jungermann
+ */
+public class ValidationPlan {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ValidationPlan.class);
+
+    /**
+     * Minimal amount of keys for which the validation gets parallelized.
+     */
+    static final int PARALLEL_THRESHOLD = 64;
+
+    private final TypeConverter typeConverter;
+    private final List<ConfigError> errors;
+    private final List<Constraint> constraints;
+    private final Map<String, List<Constraint>> constraintsByKey;
+    private final Map<String, List<Constraint>> constraintsByCollectionKey;
+    private final Set<String> keys;
+    private final KeyPlan[] keyPlans;
+
+    /**
+     * Key plans by the (collection) key whose value they validate and the keys they depend on.
+     */
+    private final Map<String, List<KeyPlan>> keyPlansByDependencyKey;
+
+    /**
+     * Key plans which can depend on any key of the config.
+     */
+    private final List<KeyPlan> globalKeyPlans;
+
+    public ValidationPlan(@NotNull final ConfigSpecification specification) {
+        typeConverter = specification.typeConverter;
+        errors = unmodifiableList(new ArrayList<>(specification.errors));
+        constraints = unmodifiableList(new ArrayList<>(specification.constraints));
+
+        final Map<String, List<Integer>> indicesByKey = new LinkedHashMap<>();
+        for (int i = 0; i < constraints.size(); i++) {
+            indicesByKey
+                    .computeIfAbsent(constraints.get(i).getKey(), key -> new ArrayList<>())
+                    .add(i);
+        }
+
+        final Map<String, List<Constraint>> byKey = new LinkedHashMap<>();
+        final Map<String, List<Constraint>> byCollectionKey = new LinkedHashMap<>();
+        final List<KeyPlan> plans = new ArrayList<>(indicesByKey.size());
+        final Map<String, List<KeyPlan>> byDependencyKey = new HashMap<>();
+        final List<KeyPlan> global = new ArrayList<>();
+        indicesByKey.forEach((key, indices) -> {
+            final KeyPlan plan = new KeyPlan(key, indices, constraints);
+            plans.add(plan);
+            if (plan.dependencyKeys == null) {
+                global.add(plan);
+
+            } else {
+                for (final String dependencyKey : plan.dependencyKeys) {
+                    byDependencyKey.computeIfAbsent(dependencyKey, k -> new ArrayList<>()).add(plan);
+                }
+            }
+
+            final List<Constraint> keyConstraints = unmodifiableList(Arrays.asList(plan.constraints));
+            byKey.put(key, keyConstraints);
+            if (plan.collectionKey != null) {
+                byCollectionKey
+                        .computeIfAbsent(plan.collectionKey.collectionKey, collectionKey -> new ArrayList<>())
+                        .addAll(keyConstraints);
+            }
+        });
+        byCollectionKey.replaceAll((collectionKey, list) -> unmodifiableList(list));
+
+        final Set<String> specifiedKeys = new HashSet<>(byKey.keySet());
+        specifiedKeys.addAll(typeConverter.getKeys());
+
+        this.constraintsByKey = unmodifiableMap(byKey);
+        this.constraintsByCollectionKey = unmodifiableMap(byCollectionKey);
+        this.keys = unmodifiableSet(specifiedKeys);
+        this.keyPlans = plans.toArray(new KeyPlan[plans.size()]);
+        this.keyPlansByDependencyKey = byDependencyKey;
+        this.globalKeyPlans = global;
+    }
+
+    /**
+     * @return the {@link TypeConverter} which has to be applied before the validation.
+     */
+    @NotNull
+    public TypeConverter getTypeConverter() {
+        return typeConverter;
+    }
+
+    /**
+     * @return all errors of the {@link ConfigSpecification} itself.
+     */
+    @NotNull
+    public List<ConfigError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return all constraints in the order of the {@link ConfigSpecification}.
+     */
+    @NotNull
+    public List<Constraint> getConstraints() {
+        return constraints;
+    }
+
+    /**
+     * @param key    The (specification) key.
+     * @return all constraints defined for exactly this key.
+     */
+    @NotNull
+    public List<Constraint> getConstraints(@NotNull final String key) {
+        return constraintsByKey.getOrDefault(key, emptyList());
+    }
+
+    /**
+     * @param collectionKey    The key of a collection.
+     * @return all constraints defined for entries of the collection (e.g. {@code collectionKey.[*].property}).
+     */
+    @NotNull
+    public List<Constraint> getCollectionConstraints(@NotNull final String collectionKey) {
+        return constraintsByCollectionKey.getOrDefault(collectionKey, emptyList());
+    }
+
+    /**
+     * @return all keys with a specification, i.e. with constraints or type conversions.
+     */
+    @NotNull
+    public Set<String> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Validates the {@link Config} against all constraints.
+     * The {@link #getTypeConverter() type conversion} has to be applied upfront.
+     *
+     * @param config    The config to be validated.
+     * @return all validation errors in the order of the constraints.
+     */
+    @NotNull
+    public List<ConfigError> validate(@NotNull final Config config) {
+        final ConfigError[] results = new ConfigError[constraints.size()];
+        validate(config, results);
+
+        return collectErrors(results);
+    }
+
+    /**
+     * Validates the {@link Config} against all constraints and reports each error
+     * as soon as all constraints preceding its constraint are evaluated.
+     * This way, the errors get reported in the order of the constraints
+     * without keeping the already reported errors.
+     * The {@link #getTypeConverter() type conversion} has to be applied upfront.
+     *
+     * @param config    The config to be validated.
+     * @param report    The report receiving the errors.
+     */
+    public void validate(@NotNull final Config config, @NotNull final ValidationReport report) {
+        validate(config, report, ErrorBudget.UNLIMITED);
+    }
+
+    /**
+     * Validates the {@link Config} against all constraints like {@link #validate(Config, ValidationReport)},
+     * but only until the {@link ErrorBudget} is exhausted. All pending evaluations get skipped then,
+     * including the remaining entries of collections.
+     * For parallel validations, the reported errors are not necessarily the first ones
+     * in the order of the constraints.
+     *
+     * @param config    The config to be validated.
+     * @param report    The report receiving the errors.
+     * @param budget    The budget for the errors.
+     */
+    public void validate(@NotNull final Config config,
+                         @NotNull final ValidationReport report,
+                         @NotNull final ErrorBudget budget) {
+        final ConfigError[] results = new ConfigError[constraints.size()];
+        final OrderedReporter reporter = new OrderedReporter(results, report);
+
+        if (keyPlans.length < PARALLEL_THRESHOLD) {
+            for (final KeyPlan plan : keyPlans) {
+                plan.validate(config, results, budget);
+                reporter.completed(plan.indices);
+            }
+
+        } else {
+            Arrays.stream(keyPlans)
+                    .parallel()
+                    .forEach(plan -> {
+                        plan.validate(config, results, budget);
+                        reporter.completed(plan.indices);
+                    });
+        }
+    }
+
+    /**
+     * Validates the {@link Config} against all constraints.
+     * The {@link #getTypeConverter() type conversion} has to be applied upfront.
+     *
+     * @param config     The config to be validated.
+     * @param results    The result (error or {@code null}) per constraint by its index.
+     *                   Has to have the size of the {@link #getConstraints() constraints}.
+     */
+    void validate(@NotNull final Config config, @NotNull final ConfigError[] results) {
+        validate(config, keyPlans, results);
+    }
+
+    /**
+     * Re-validates the {@link Config} against all constraints which could be
+     * affected by changes of the values of the given keys, i.e. the constraints
+     * of these keys, of collection keys referencing them and constraints
+     * depending on them (see {@link Constraint#getDependencyKeys()}).
+     * The results of all other constraints remain unchanged.
+     *
+     * @param config         The config to be validated (after type conversion).
+     * @param changedKeys    The keys whose values were changed, added or removed.
+     * @param results        The result (error or {@code null}) per constraint by its index
+     *                       of a previous validation using this plan.
+     */
+    void validate(@NotNull final Config config,
+                  @NotNull final Collection<String> changedKeys,
+                  @NotNull final ConfigError[] results) {
+        final Set<KeyPlan> affected = new LinkedHashSet<>();
+        affected.addAll(globalKeyPlans);
+        for (final String key : changedKeys) {
+            affected.addAll(keyPlansByDependencyKey.getOrDefault(key, emptyList()));
+        }
+
+        validate(config, affected.toArray(new KeyPlan[affected.size()]), results);
+    }
+
+    /**
+     * @param results    The result per constraint by its index.
+     * @return all errors in the order of the constraints.
+     */
+    @NotNull
+    static List<ConfigError> collectErrors(@NotNull final ConfigError[] results) {
+        final List<ConfigError> errors = new ArrayList<>();
+        for (final ConfigError error : results) {
+            if (error != null) {
+                errors.add(error);
+            }
+        }
+
+        return errors;
+    }
+
+    private static void validate(@NotNull final Config config,
+                                 @NotNull final KeyPlan[] plans,
+                                 @NotNull final ConfigError[] results) {
+        if (plans.length < PARALLEL_THRESHOLD) {
+            for (final KeyPlan plan : plans) {
+                plan.validate(config, results);
+            }
+
+        } else {
+            Arrays.stream(plans)
+                    .parallel()
+                    .forEach(plan -> plan.validate(config, results));
+        }
+    }
+
+    /**
+     * Reports the results of completed constraints in the order of the constraints.
+     */
+    static class OrderedReporter {
+
+        private final ConfigError[] results;
+        private final boolean[] completed;
+        private final ValidationReport report;
+
+        /**
+         * Index of the first constraint which was not reported yet.
+         */
+        private int next;
+
+        OrderedReporter(@NotNull final ConfigError[] results, @NotNull final ValidationReport report) {
+            this.results = results;
+            this.completed = new boolean[results.length];
+            this.report = report;
+        }
+
+        /**
+         * @param indices    The indices of the constraints whose results are available now.
+         */
+        synchronized void completed(@NotNull final int[] indices) {
+            for (final int index : indices) {
+                completed[index] = true;
+            }
+
+            while (next < completed.length && completed[next]) {
+                final ConfigError error = results[next];
+                // release the reported error
+                results[next] = null;
+                next++;
+
+                if (error != null) {
+                    report.report(error);
+                }
+            }
+        }
+    }
+
+    /**
+     * All constraints of one key.
+     */
+    static class KeyPlan {
+
+        final String key;
+        final CollectionKey collectionKey;
+        final Constraint[] constraints;
+        final int[] indices;
+        final boolean[] validExpectations;
+
+        /**
+         * Combined linear matches constraints or {@code null}.
+         */
+        final MatchesConstraintGroup matchesGroup;
+
+        /**
+         * Positions of the constraints of the {@link #matchesGroup}.
+         */
+        final int[] matchesPositions;
+
+        /**
+         * Whether the constraint at the position is part of the {@link #matchesGroup}.
+         */
+        final boolean[] grouped;
+
+        /**
+         * Keys on whose values the constraints depend on
+         * or {@code null} if they can depend on any key.
+         */
+        final Set<String> dependencyKeys;
+
+        KeyPlan(@NotNull final String key,
+                @NotNull final List<Integer> indices,
+                @NotNull final List<Constraint> allConstraints) {
+            this.key = key;
+            this.collectionKey = CollectionKeyBuilder.build(key);
+            this.constraints = new Constraint[indices.size()];
+            this.indices = new int[indices.size()];
+            this.validExpectations = new boolean[indices.size()];
+
+            Set<String> dependencyKeys = new HashSet<>();
+            dependencyKeys.add(collectionKey != null ? collectionKey.collectionKey : key);
+            for (int i = 0; i < constraints.length; i++) {
+                final int index = indices.get(i);
+                this.indices[i] = index;
+                constraints[i] = allConstraints.get(index);
+                validExpectations[i] = constraints[i].hasValidExpectation();
+
+                final Set<String> constraintDependencyKeys = constraints[i].getDependencyKeys();
+                if (constraintDependencyKeys == null) {
+                    dependencyKeys = null;
+
+                } else if (dependencyKeys != null) {
+                    dependencyKeys.addAll(constraintDependencyKeys);
+                }
+            }
+            this.dependencyKeys = dependencyKeys;
+
+            final List<MatchesConstraint> linearMatches = new ArrayList<>();
+            final List<Integer> positions = new ArrayList<>();
+            for (int i = 0; collectionKey == null && i < constraints.length; i++) {
+                if (validExpectations[i]
+                        && constraints[i] instanceof MatchesConstraint
+                        && ((MatchesConstraint) constraints[i]).isLinear()) {
+                    linearMatches.add((MatchesConstraint) constraints[i]);
+                    positions.add(i);
+                }
+            }
+
+            grouped = new boolean[constraints.length];
+            matchesGroup = linearMatches.size() > 1 ? group(key, linearMatches) : null;
+            if (matchesGroup != null) {
+                matchesPositions = positions.stream().mapToInt(Integer::intValue).toArray();
+                for (final int position : matchesPositions) {
+                    grouped[position] = true;
+                }
+
+            } else {
+                matchesPositions = new int[0];
+            }
+        }
+
+        /**
+         * @param key              The key of the constraints.
+         * @param linearMatches    The linear matches constraints of the key.
+         * @return the combined constraints or {@code null} if they cannot get combined,
+         *         e.g. as the combined pattern is too large, so that each gets matched on its own.
+         */
+        @Nullable
+        static MatchesConstraintGroup group(@NotNull final String key,
+                                            @NotNull final List<MatchesConstraint> linearMatches) {
+            try {
+                return new MatchesConstraintGroup(linearMatches);
+
+            } catch (IllegalArgumentException e) {
+                LOGGER.debug("match the constraints of {} one by one: {}", key, e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * @param config     The config to be validated.
+         * @param results    The results of all constraints of the plan by their index.
+         */
+        void validate(@NotNull final Config config, @NotNull final ConfigError[] results) {
+            validate(config, results, ErrorBudget.UNLIMITED);
+        }
+
+        /**
+         * @param config     The config to be validated.
+         * @param results    The results of all constraints of the plan by their index.
+         * @param budget     The budget for the errors. Constraints get skipped once it is exhausted.
+         */
+        void validate(@NotNull final Config config,
+                      @NotNull final ConfigError[] results,
+                      @NotNull final ErrorBudget budget) {
+            if (budget.isExhausted()) {
+                return;
+            }
+
+            if (collectionKey != null) {
+                for (int i = 0; i < constraints.length; i++) {
+                    results[indices[i]] = constraints[i].validate(config, budget);
+                }
+                return;
+            }
+
+            final Object value = config.get(key);
+            if (matchesGroup != null) {
+                final ConfigError[] groupResults = new ConfigError[matchesGroup.size()];
+                matchesGroup.validateValue(config, value, groupResults);
+                for (int i = 0; i < matchesPositions.length; i++) {
+                    results[indices[matchesPositions[i]]] = withinBudget(groupResults[i], budget);
+                }
+            }
+
+            for (int i = 0; i < constraints.length && !budget.isExhausted(); i++) {
+                if (grouped[i]) {
+                    continue;
+                }
+
+                results[indices[i]] = withinBudget(validExpectations[i]
+                        ? constraints[i].validateValue(config, value)
+                        // reports the invalid expectation
+                        : constraints[i].validate(config), budget);
+            }
+        }
+
+        private static ConfigError withinBudget(final ConfigError error, @NotNull final ErrorBudget budget) {
+            return error == null || budget.tryConsume() ? error : null;
+        }
+    }
+}
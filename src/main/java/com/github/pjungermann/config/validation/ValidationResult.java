@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.ConfigError;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Result of the validation of a {@link Config} using a {@link ValidationPlan}.
+ * It keeps the result per constraint, so that a changed version of the config
+ * can be re-validated by re-evaluating only the constraints affected by the changes.
+ *
+ * The validated config must not be modified afterwards. Instead, a changed copy
+ * of it has to be {@link #revalidate(Config) re-validated}.
+ *
+ * @author Patrick Jungermann
+ */
+public class ValidationResult {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ValidationResult.class);
+
+    private final ValidationPlan plan;
+    private final Config config;
+    private final ConfigError[] results;
+
+    private ValidationResult(@NotNull final ValidationPlan plan,
+                             @NotNull final Config config,
+                             @NotNull final ConfigError[] results) {
+        this.plan = plan;
+        this.config = config;
+        this.results = results;
+    }
+
+    /**
+     * Validates the {@link Config} against all constraints of the plan.
+     * The {@link ValidationPlan#getTypeConverter() type conversion} has to be applied upfront.
+     *
+     * @param plan      The {@link ValidationPlan} to validate against.
+     * @param config    The config to be validated.
+     * @return the result of the validation.
+     */
+    @NotNull
+    public static ValidationResult validate(@NotNull final ValidationPlan plan, @NotNull final Config config) {
+        final ConfigError[] results = new ConfigError[plan.getConstraints().size()];
+        plan.validate(config, results);
+
+        return new ValidationResult(plan, config, results);
+    }
+
+    /**
+     * Validates a changed version of the validated {@link Config} by re-evaluating only
+     * the constraints of changed keys, of collection keys covering them and of constraints
+     * depending on them. The {@link ValidationPlan#getTypeConverter() type conversion}
+     * has to be applied upfront.
+     *
+     * @param changedConfig    The changed version of the config.
+     * @return the result of the validation of the changed config.
+     */
+    @NotNull
+    public ValidationResult revalidate(@NotNull final Config changedConfig) {
+        final Set<String> changedKeys = ConfigDiff.changedKeys(config, changedConfig);
+        LOGGER.info("re-validate {} changed keys", changedKeys.size());
+
+        final ConfigError[] changedResults = results.clone();
+        plan.validate(changedConfig, changedKeys, changedResults);
+
+        return new ValidationResult(plan, changedConfig, changedResults);
+    }
+
+    @NotNull
+    public ValidationPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * @return the validated config.
+     */
+    @NotNull
+    public Config getConfig() {
+        return config;
+    }
+
+    /**
+     * @return all validation errors in the order of the constraints.
+     */
+    @NotNull
+    public List<ConfigError> getErrors() {
+        return ValidationPlan.collectErrors(results);
+    }
+}
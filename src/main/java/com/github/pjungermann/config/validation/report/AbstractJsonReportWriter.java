@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation.report;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.github.pjungermann.config.ConfigError;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.MessageSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+
+/**
+ * Base implementation for reports written as JSON,
+ * writing one record per {@link ReportedError}.
+ *
+ * The underlying stream does not get closed.
+ *
+ * @author Patrick Jungermann
+ */
+public abstract class AbstractJsonReportWriter implements ValidationReport {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    protected final JsonGenerator generator;
+    protected final MessageSource messageSource;
+    protected final Locale locale;
+    private boolean started;
+
+    public AbstractJsonReportWriter(@NotNull final OutputStream out,
+                                    @NotNull final MessageSource messageSource,
+                                    @NotNull final Locale locale) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.messageSource = messageSource;
+        this.locale = locale;
+    }
+
+    /**
+     * Writes everything preceding the first error.
+     *
+     * @throws IOException if writing failed.
+     */
+    protected void writeStart() throws IOException {
+        // no header by default
+    }
+
+    /**
+     * Writes one error.
+     *
+     * @param error    The error to be written.
+     * @throws IOException if writing failed.
+     */
+    protected abstract void writeError(@NotNull final ReportedError error) throws IOException;
+
+    /**
+     * Writes everything following the last error.
+     *
+     * @throws IOException if writing failed.
+     */
+    protected void writeEnd() throws IOException {
+        // no footer by default
+    }
+
+    @Override
+    public synchronized void report(@NotNull final ConfigError error) {
+        try {
+            start();
+            ReportedError.forEach(error, reportedError -> {
+                try {
+                    writeError(reportedError);
+
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        start();
+        writeEnd();
+        generator.close();
+    }
+
+    /**
+     * @param error    The error.
+     * @return the rendered message of the error.
+     */
+    @NotNull
+    protected String getMessage(@NotNull final ReportedError error) {
+        return error.error.toMessage(messageSource, locale);
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            started = true;
+            writeStart();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation.report;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.MessageSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Writes one JSON object per line and {@link ReportedError error}
+ * (<a href="http://jsonlines.org/">JSON Lines</a>), e.g.
+ *
+ * <pre>
+ * {"type":"ConfigConstraintError","message":"...","key":"a.b","constraint":"min","specification":{"file":"spec.groovy","line":3}}
+ * </pre>
+ *
+ * Fields without a known value get omitted.
+ *
+ * @author Patrick Jungermann
+ */
+public class JsonLinesReportWriter extends AbstractJsonReportWriter {
+
+    public JsonLinesReportWriter(@NotNull final OutputStream out,
+                                 @NotNull final MessageSource messageSource,
+                                 @NotNull final Locale locale) throws IOException {
+        super(out, messageSource, locale);
+        // each record ends with its own line break instead
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    protected void writeError(@NotNull final ReportedError error) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", error.getType());
+        generator.writeStringField("message", getMessage(error));
+
+        if (error.key != null) {
+            generator.writeStringField("key", error.key);
+        }
+        if (error.constraint != null) {
+            generator.writeStringField("constraint", error.constraint);
+        }
+        if (error.collectionKey != null) {
+            generator.writeStringField("collection", error.collectionKey);
+        }
+        if (error.file != null) {
+            generator.writeStringField("file", error.file.getPath());
+        }
+        if (error.document != null) {
+            generator.writeNumberField("document", error.document.index);
+        }
+        if (error.specificationLine != null) {
+            generator.writeObjectFieldStart("specification");
+            generator.writeStringField("file", error.specificationLine.file.getPath());
+            generator.writeNumberField("line", error.specificationLine.line);
+            generator.writeEndObject();
+        }
+
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
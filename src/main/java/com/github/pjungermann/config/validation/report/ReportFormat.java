@@ -0,0 +1,172 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation.report;
+
+import com.github.pjungermann.config.ConfigError;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.context.MessageSource;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Formats in which a {@link ValidationReport} can be written.
+ *
+ * @author Patrick Jungermann
+ */
+public enum ReportFormat {
+
+    /**
+     * Human readable list of error messages ({@link TextReportWriter}).
+     */
+    TEXT("txt", "text/plain; charset=UTF-8") {
+        @NotNull
+        @Override
+        public ValidationReport createReport(@NotNull final OutputStream out,
+                                             @NotNull final MessageSource messageSource,
+                                             @NotNull final Locale locale) {
+            return new TextReportWriter(out, messageSource, locale);
+        }
+    },
+
+    /**
+     * One JSON object per line and error ({@link JsonLinesReportWriter}).
+     */
+    JSONL("jsonl", "application/x-ndjson") {
+        @NotNull
+        @Override
+        public ValidationReport createReport(@NotNull final OutputStream out,
+                                             @NotNull final MessageSource messageSource,
+                                             @NotNull final Locale locale) throws IOException {
+            return new JsonLinesReportWriter(out, messageSource, locale);
+        }
+    },
+
+    /**
+     * SARIF log ({@link SarifReportWriter}).
+     */
+    SARIF("sarif", "application/sarif+json") {
+        @NotNull
+        @Override
+        public ValidationReport createReport(@NotNull final OutputStream out,
+                                             @NotNull final MessageSource messageSource,
+                                             @NotNull final Locale locale) throws IOException {
+            return new SarifReportWriter(out, messageSource, locale);
+        }
+    };
+
+    private final String fileExtension;
+    private final String contentType;
+
+    ReportFormat(@NotNull final String fileExtension, @NotNull final String contentType) {
+        this.fileExtension = fileExtension;
+        this.contentType = contentType;
+    }
+
+    /**
+     * @return the extension of files containing reports in this format.
+     */
+    @NotNull
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * @return the media type of reports in this format, e.g. for HTTP responses.
+     */
+    @NotNull
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @param file             The file to write the report to. It gets closed together with the report.
+     * @param messageSource    {@link MessageSource} to render the error messages.
+     * @param locale           {@link Locale} to render the error messages.
+     * @return a new report in this format.
+     * @throws IOException if the file could not be opened.
+     */
+    @NotNull
+    public ValidationReport createReport(@NotNull final File file,
+                                         @NotNull final MessageSource messageSource,
+                                         @NotNull final Locale locale) throws IOException {
+        final OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+        final ValidationReport report;
+        try {
+            report = createReport(out, messageSource, locale);
+
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            throw e;
+        }
+
+        return new ValidationReport() {
+            @Override
+            public void report(@NotNull final ConfigError error) {
+                report.report(error);
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    report.close();
+
+                } finally {
+                    out.close();
+                }
+            }
+        };
+    }
+
+    /**
+     * @param out              The stream to write the report to. It will not get closed by the report.
+     * @param messageSource    {@link MessageSource} to render the error messages.
+     * @param locale           {@link Locale} to render the error messages.
+     * @return a new report in this format.
+     * @throws IOException if the report could not be created.
+     */
+    @NotNull
+    public abstract ValidationReport createReport(@NotNull final OutputStream out,
+                                                  @NotNull final MessageSource messageSource,
+                                                  @NotNull final Locale locale) throws IOException;
+
+    /**
+     * @param value    A {@link ReportFormat} or its (case-insensitive) name.
+     * @return the matching format or {@code null} if there is none.
+     */
+    @Nullable
+    public static ReportFormat of(@Nullable final Object value) {
+        if (value instanceof ReportFormat) {
+            return (ReportFormat) value;
+        }
+
+        if (value instanceof CharSequence) {
+            try {
+                return valueOf(value.toString().trim().toUpperCase(Locale.ENGLISH));
+
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        return null;
+    }
+}
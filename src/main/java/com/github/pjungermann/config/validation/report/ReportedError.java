@@ -0,0 +1,179 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation.report;
+
+import com.github.pjungermann.config.ConfigError;
+import com.github.pjungermann.config.errors.ConfigFileError;
+import com.github.pjungermann.config.errors.DocumentConfigError;
+import com.github.pjungermann.config.loader.ConfigDocument;
+import com.github.pjungermann.config.reference.SourceLine;
+import com.github.pjungermann.config.specification.constraint.ConfigConstraintError;
+import com.github.pjungermann.config.specification.constraint.Constraint;
+import com.github.pjungermann.config.specification.constraint.InvalidConstraintConfigError;
+import com.github.pjungermann.config.specification.constraint.NoSuchConstraintError;
+import com.github.pjungermann.config.specification.constraint.multi.MultiConfigError;
+import com.github.pjungermann.config.specification.types.TypeConversionConfigError;
+import com.github.pjungermann.config.specification.types.TypeConversionFailedError;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.function.Consumer;
+
+/**
+ * A single {@link ConfigError error} to be written to a report
+ * together with the details known about it.
+ *
+ * Errors wrapping other errors ({@link MultiConfigError}, {@link DocumentConfigError})
+ * get reported as one {@link ReportedError} per wrapped error instead.
+ *
+ * @author Patrick Jungermann
+ */
+public class ReportedError {
+
+    /**
+     * The reported error.
+     */
+    public final ConfigError error;
+
+    /**
+     * The document containing the error or {@code null} if it was not validated per document.
+     */
+    @Nullable
+    public final ConfigDocument document;
+
+    /**
+     * The key of the collection containing the invalid entry or {@code null}.
+     */
+    @Nullable
+    public final String collectionKey;
+
+    /**
+     * The config key the error relates to or {@code null} if unknown.
+     */
+    @Nullable
+    public final String key;
+
+    /**
+     * The name of the violated {@link Constraint} or {@code null}.
+     */
+    @Nullable
+    public final String constraint;
+
+    /**
+     * The line of the specification related to the error or {@code null}.
+     */
+    @Nullable
+    public final SourceLine specificationLine;
+
+    /**
+     * The config file related to the error or {@code null}.
+     */
+    @Nullable
+    public final File file;
+
+    public ReportedError(@NotNull final ConfigError error,
+                         @Nullable final ConfigDocument document,
+                         @Nullable final String collectionKey) {
+        this.error = error;
+        this.document = document;
+        this.collectionKey = collectionKey;
+
+        Constraint violated = null;
+        if (error instanceof ConfigConstraintError) {
+            violated = ((ConfigConstraintError) error).getConstraint();
+
+        } else if (error instanceof InvalidConstraintConfigError) {
+            violated = ((InvalidConstraintConfigError) error).getConstraint();
+        }
+
+        if (violated != null) {
+            key = violated.getKey();
+            constraint = violated.getName();
+            specificationLine = violated.definedAt();
+
+        } else if (error instanceof NoSuchConstraintError) {
+            key = ((NoSuchConstraintError) error).key;
+            constraint = ((NoSuchConstraintError) error).name;
+            specificationLine = ((NoSuchConstraintError) error).sourceLine;
+
+        } else if (error instanceof TypeConversionConfigError) {
+            key = ((TypeConversionConfigError) error).key;
+            constraint = null;
+            specificationLine = ((TypeConversionConfigError) error).sourceLine;
+
+        } else if (error instanceof TypeConversionFailedError) {
+            key = ((TypeConversionFailedError) error).key;
+            constraint = null;
+            specificationLine = null;
+
+        } else {
+            key = null;
+            constraint = null;
+            specificationLine = null;
+        }
+
+        if (error instanceof ConfigFileError) {
+            file = ((ConfigFileError) error).file;
+
+        } else if (document != null) {
+            file = document.source;
+
+        } else {
+            file = null;
+        }
+    }
+
+    /**
+     * @return the simple name of the error's type.
+     */
+    @NotNull
+    public String getType() {
+        return error.getClass().getSimpleName();
+    }
+
+    /**
+     * Passes all errors wrapped by the error, or the error itself
+     * if it does not wrap any, to the consumer one by one.
+     *
+     * @param error       The error to be reported.
+     * @param consumer    The consumer of the single errors.
+     */
+    public static void forEach(@NotNull final ConfigError error, @NotNull final Consumer<ReportedError> consumer) {
+        forEach(error, null, null, consumer);
+    }
+
+    private static void forEach(@NotNull final ConfigError error,
+                                @Nullable final ConfigDocument document,
+                                @Nullable final String collectionKey,
+                                @NotNull final Consumer<ReportedError> consumer) {
+        if (error instanceof DocumentConfigError) {
+            final DocumentConfigError documentError = (DocumentConfigError) error;
+            for (final ConfigError wrapped : documentError.errors) {
+                forEach(wrapped, documentError.document, collectionKey, consumer);
+            }
+
+        } else if (error instanceof MultiConfigError) {
+            final MultiConfigError multiError = (MultiConfigError) error;
+            for (final ConfigError wrapped : multiError.errors) {
+                forEach(wrapped, document, multiError.collectionKey.collectionKey, consumer);
+            }
+
+        } else {
+            consumer.accept(new ReportedError(error, document, collectionKey));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation.report;
+
+import com.github.pjungermann.config.reference.SourceLine;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.context.MessageSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Writes the errors as <a href="https://sarifweb.azurewebsites.net/">SARIF</a> 2.1.0 log
+ * with one run and one result per {@link ReportedError error}, which can be consumed
+ * by code scanning tools.
+ *
+ * The results get written as they are reported, only the enclosing structure
+ * gets completed when the report gets {@link #close() closed}.
+ *
+ * @author Patrick Jungermann
+ */
+public class SarifReportWriter extends AbstractJsonReportWriter {
+
+    public static final String SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+    public static final String VERSION = "2.1.0";
+    public static final String TOOL_NAME = "config-validator";
+
+    public SarifReportWriter(@NotNull final OutputStream out,
+                             @NotNull final MessageSource messageSource,
+                             @NotNull final Locale locale) throws IOException {
+        super(out, messageSource, locale);
+    }
+
+    @Override
+    protected void writeStart() throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("$schema", SCHEMA);
+        generator.writeStringField("version", VERSION);
+        generator.writeArrayFieldStart("runs");
+        generator.writeStartObject();
+
+        generator.writeObjectFieldStart("tool");
+        generator.writeObjectFieldStart("driver");
+        generator.writeStringField("name", TOOL_NAME);
+        generator.writeEndObject();
+        generator.writeEndObject();
+
+        generator.writeArrayFieldStart("results");
+    }
+
+    @Override
+    protected void writeError(@NotNull final ReportedError error) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("ruleId", error.constraint != null ? error.constraint : error.getType());
+        generator.writeStringField("level", "error");
+
+        generator.writeObjectFieldStart("message");
+        generator.writeStringField("text", getMessage(error));
+        generator.writeEndObject();
+
+        if (error.file != null) {
+            generator.writeArrayFieldStart("locations");
+            writeLocation(error.file, null);
+            generator.writeEndArray();
+        }
+
+        if (error.specificationLine != null) {
+            generator.writeArrayFieldStart("relatedLocations");
+            writeLocation(error.specificationLine.file, error.specificationLine);
+            generator.writeEndArray();
+        }
+
+        generator.writeObjectFieldStart("properties");
+        generator.writeStringField("type", error.getType());
+        if (error.key != null) {
+            generator.writeStringField("key", error.key);
+        }
+        if (error.collectionKey != null) {
+            generator.writeStringField("collection", error.collectionKey);
+        }
+        if (error.document != null) {
+            generator.writeNumberField("document", error.document.index);
+        }
+        generator.writeEndObject();
+
+        generator.writeEndObject();
+    }
+
+    @Override
+    protected void writeEnd() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private void writeLocation(@NotNull final File file, @Nullable final SourceLine line) throws IOException {
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("physicalLocation");
+
+        generator.writeObjectFieldStart("artifactLocation");
+        generator.writeStringField("uri", file.toURI().toString());
+        generator.writeEndObject();
+
+        if (line != null && line.line > 0) {
+            generator.writeObjectFieldStart("region");
+            generator.writeNumberField("startLine", line.line);
+            generator.writeEndObject();
+        }
+
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation.report;
+
+import com.github.pjungermann.config.ConfigError;
+import com.github.pjungermann.config.errors.DocumentConfigError;
+import com.github.pjungermann.config.specification.constraint.multi.MultiConfigError;
+import com.github.pjungermann.config.validation.ConfigValidationException;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.MessageSource;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Writes the errors in the same human readable format
+ * as the message of the {@link ConfigValidationException},
+ * but line by line instead of rendering all errors at once.
+ *
+ * The underlying stream does not get closed.
+ *
+ * @author Patrick Jungermann
+ */
+public class TextReportWriter implements ValidationReport {
+
+    private final Writer writer;
+    private final MessageSource messageSource;
+    private final Locale locale;
+    private boolean started;
+
+    public TextReportWriter(@NotNull final OutputStream out,
+                            @NotNull final MessageSource messageSource,
+                            @NotNull final Locale locale) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.messageSource = messageSource;
+        this.locale = locale;
+    }
+
+    @Override
+    public synchronized void report(@NotNull final ConfigError error) {
+        try {
+            if (!started) {
+                writer.write("Validation errors:\n");
+                started = true;
+            }
+
+            write(error, "");
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.flush();
+    }
+
+    private void write(@NotNull final ConfigError error, @NotNull final String indent) throws IOException {
+        writer.write(indent);
+        writer.write("- ");
+
+        if (error instanceof DocumentConfigError) {
+            final DocumentConfigError documentError = (DocumentConfigError) error;
+            writer.write("validation errors for document ");
+            writer.write(String.valueOf(documentError.document.index + 1));
+            writer.write(" of ");
+            writer.write(documentError.document.source.getPath());
+            writer.write(":\n");
+            for (final ConfigError wrapped : documentError.errors) {
+                write(wrapped, indent + "  ");
+            }
+
+        } else if (error instanceof MultiConfigError) {
+            final MultiConfigError multiError = (MultiConfigError) error;
+            writer.write("validation errors for collection with key \"");
+            writer.write(multiError.collectionKey.collectionKey);
+            writer.write("\":\n");
+            for (final ConfigError wrapped : multiError.errors) {
+                write(wrapped, indent + "  ");
+            }
+
+        } else {
+            final String message = error.toMessage(messageSource, locale);
+            writer.write(indent.isEmpty() ? message : message.replace("\n", "\n" + indent));
+            writer.write('\n');
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation.report;
+
+import com.github.pjungermann.config.ConfigError;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sink for {@link ConfigError errors} which get reported one by one
+ * as soon as they are produced by the validation.
+ *
+ * Implementations have to be able to write reports of any size
+ * without keeping the reported errors.
+ *
+ * @author Patrick Jungermann
+ */
+@FunctionalInterface
+public interface ValidationReport extends Closeable {
+
+    /**
+     * Reports one error.
+     *
+     * @param error    The reported error.
+     * @throws java.io.UncheckedIOException if writing the error failed.
+     */
+    void report(@NotNull ConfigError error);
+
+    /**
+     * Completes the report after all errors got reported.
+     *
+     * @throws IOException if completing the report failed.
+     */
+    @Override
+    default void close() throws IOException {
+        // nothing to complete by default
+    }
+}
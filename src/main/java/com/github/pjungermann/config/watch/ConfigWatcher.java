@@ -0,0 +1,196 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.watch;
+
+import com.github.pjungermann.config.loader.ConfigLoader;
+import com.github.pjungermann.config.specification.ConfigSpecificationLoader;
+import com.github.pjungermann.config.specification.types.TypeConverter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Keeps validating the config whenever a config or specification file changes.
+ * Only the changed files get re-read and only the affected constraints get
+ * re-evaluated (see {@link WatchedValidation}). After each change, the new and
+ * resolved errors get reported.
+ *
+ * @author Patrick Jungermann
+ */
+@Component
+@Singleton
+public class ConfigWatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigWatcher.class);
+
+    /**
+     * Time to wait for further file events, e.g. as editors often write files in multiple steps.
+     */
+    static final long QUIET_PERIOD_MILLIS = 100;
+
+    private final MessageSource messageSource;
+    private final ConfigLoader configLoader;
+    private final ConfigSpecificationLoader configSpecificationLoader;
+    private final TypeConverter typeConverter;
+
+    private PrintStream out = System.out;
+
+    @Inject
+    public ConfigWatcher(@NotNull final MessageSource messageSource,
+                         @NotNull final ConfigLoader configLoader,
+                         @NotNull final ConfigSpecificationLoader configSpecificationLoader,
+                         @NotNull final TypeConverter typeConverter) {
+        this.messageSource = messageSource;
+        this.configLoader = configLoader;
+        this.configSpecificationLoader = configSpecificationLoader;
+        this.typeConverter = typeConverter;
+    }
+
+    public void setOut(@NotNull final PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Validates the config and re-validates it on each change
+     * until the thread gets interrupted.
+     *
+     * @param sources       Config sources.
+     * @param specs         Specification sources.
+     * @param recursive     Whether to recursively load sources files.
+     * @param profile       Profile to be applied to a config. Only supported by some types.
+     * @param strictMode    Whether to use strict mode or not. (No config entry without specification allowed).
+     * @throws IOException if the files could not be watched.
+     * @throws InterruptedException if interrupted while waiting for changes.
+     */
+    public void watch(@NotNull final String[] sources,
+                      @NotNull final String[] specs,
+                      final boolean recursive,
+                      @Nullable final String profile,
+                      final boolean strictMode) throws IOException, InterruptedException {
+        final WatchedValidation validation = new WatchedValidation(
+                messageSource,
+                configLoader,
+                configSpecificationLoader,
+                typeConverter,
+                sources,
+                specs,
+                recursive,
+                profile,
+                strictMode
+        );
+        report("initial validation", validation.validate());
+
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            final Map<WatchKey, Path> directories = new HashMap<>();
+            register(watchService, validation.getWatchedDirectories(), directories);
+
+            while (!directories.isEmpty()) {
+                final Set<File> changedFiles = new LinkedHashSet<>();
+                boolean overflow = false;
+
+                WatchKey key = watchService.take();
+                while (key != null) {
+                    overflow |= collect(key, directories, changedFiles);
+                    key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                }
+
+                final ValidationDelta delta = overflow
+                        ? validation.validate()
+                        : validation.update(changedFiles);
+                register(watchService, validation.getWatchedDirectories(), directories);
+
+                if (delta != null) {
+                    report(describe(changedFiles), delta);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return whether events were lost.
+     */
+    private static boolean collect(@NotNull final WatchKey key,
+                                   @NotNull final Map<WatchKey, Path> directories,
+                                   @NotNull final Set<File> changedFiles) {
+        final Path directory = directories.get(key);
+        boolean overflow = false;
+
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                overflow = true;
+
+            } else if (directory != null) {
+                changedFiles.add(directory.resolve((Path) event.context()).toFile());
+            }
+        }
+
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+
+        return overflow;
+    }
+
+    private static void register(@NotNull final WatchService watchService,
+                                 @NotNull final Set<Path> watchedDirectories,
+                                 @NotNull final Map<WatchKey, Path> directories) throws IOException {
+        final Collection<Path> registered = directories.values();
+        for (final Path directory : watchedDirectories) {
+            if (registered.contains(directory) || !Files.isDirectory(directory)) {
+                continue;
+            }
+
+            LOGGER.info("watch {}", directory);
+            directories.put(directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), directory);
+        }
+    }
+
+    @NotNull
+    private static String describe(@NotNull final Set<File> changedFiles) {
+        if (changedFiles.size() == 1) {
+            return changedFiles.iterator().next().getPath();
+        }
+
+        return changedFiles.size() + " files";
+    }
+
+    private void report(@NotNull final String trigger, @NotNull final ValidationDelta delta) {
+        out.printf("%s: %d new, %d resolved, %d error(s) in total%n",
+                trigger, delta.newErrors.size(), delta.resolvedErrors.size(), delta.errors.size());
+
+        for (final String error : delta.newErrors) {
+            out.println("+ " + error);
+        }
+        for (final String error : delta.resolvedErrors) {
+            out.println("- " + error);
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.watch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Difference between the errors of two validation runs.
+ *
+ * @author Patrick Jungermann
+ */
+public class ValidationDelta {
+
+    /**
+     * Error messages which were not reported by the previous run.
+     */
+    public final List<String> newErrors;
+
+    /**
+     * Error messages of the previous run which are not reported anymore.
+     */
+    public final List<String> resolvedErrors;
+
+    /**
+     * All error messages of the current run.
+     */
+    public final List<String> errors;
+
+    public ValidationDelta(@NotNull final Collection<String> previousErrors,
+                           @NotNull final Collection<String> errors) {
+        final Set<String> previous = new LinkedHashSet<>(previousErrors);
+        final Set<String> current = new LinkedHashSet<>(errors);
+
+        final List<String> newErrors = new ArrayList<>(current);
+        newErrors.removeAll(previous);
+        final List<String> resolvedErrors = new ArrayList<>(previous);
+        resolvedErrors.removeAll(current);
+
+        this.newErrors = unmodifiableList(newErrors);
+        this.resolvedErrors = unmodifiableList(resolvedErrors);
+        this.errors = unmodifiableList(new ArrayList<>(errors));
+    }
+
+    /**
+     * @return whether the errors did not change at all.
+     */
+    public boolean isEmpty() {
+        return newErrors.isEmpty() && resolvedErrors.isEmpty();
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.watch;
+
+import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.ConfigError;
+import com.github.pjungermann.config.errors.KeysWithoutSpecificationError;
+import com.github.pjungermann.config.loader.ConfigLoader;
+import com.github.pjungermann.config.specification.ConfigSpecification;
+import com.github.pjungermann.config.specification.ConfigSpecificationLoader;
+import com.github.pjungermann.config.specification.constraint.Constraint;
+import com.github.pjungermann.config.specification.types.TypeConverter;
+import com.github.pjungermann.config.validation.ValidationPlan;
+import com.github.pjungermann.config.validation.ValidationResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.context.MessageSource;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Validation which keeps its state (configs and specifications per file,
+ * the {@link ValidationPlan} and the result per constraint) in memory,
+ * so that subsequent validations only need to re-read changed files
+ * and to re-evaluate the constraints affected by changed keys.
+ *
+ * Files get resolved from the sources the same way as the {@link ConfigLoader}
+ * does and the configs get merged in the same order. Only the changed files get re-read,
+ * even if following (e.g. Groovy) configs reference values of them. Type conversions
+ * registered by a specification file stay registered even after the file got changed.
+ *
+ * Not thread-safe.
+ *
+ * @author Patrick Jungermann
+ */
+public class WatchedValidation {
+
+    private final MessageSource messageSource;
+    private final ConfigLoader configLoader;
+    private final ConfigSpecificationLoader configSpecificationLoader;
+    private final TypeConverter typeConverter;
+    private final File[] sources;
+    private final File[] specs;
+    private final boolean recursive;
+    private final String profile;
+    private final boolean strictMode;
+
+    private final Map<File, Config> configsByFile = new LinkedHashMap<>();
+    private final Map<File, ConfigSpecification> specificationsByFile = new LinkedHashMap<>();
+    private ValidationPlan plan;
+    private ValidationResult result;
+    private List<String> errors = Collections.emptyList();
+
+    public WatchedValidation(@NotNull final MessageSource messageSource,
+                             @NotNull final ConfigLoader configLoader,
+                             @NotNull final ConfigSpecificationLoader configSpecificationLoader,
+                             @NotNull final TypeConverter typeConverter,
+                             @NotNull final String[] sources,
+                             @NotNull final String[] specs,
+                             final boolean recursive,
+                             @Nullable final String profile,
+                             final boolean strictMode) {
+        this.messageSource = messageSource;
+        this.configLoader = configLoader;
+        this.configSpecificationLoader = configSpecificationLoader;
+        this.typeConverter = typeConverter;
+        this.sources = Stream.of(sources).map(File::new).toArray(File[]::new);
+        this.specs = Stream.of(specs).map(File::new).toArray(File[]::new);
+        this.recursive = recursive;
+        this.profile = profile;
+        this.strictMode = strictMode;
+    }
+
+    /**
+     * Reads all files and validates the config.
+     *
+     * @return the delta to the errors of the previous run.
+     */
+    @NotNull
+    public ValidationDelta validate() {
+        configsByFile.clear();
+        specificationsByFile.clear();
+        plan = null;
+        result = null;
+
+        final ValidationDelta delta = refresh(null);
+        assert delta != null;
+        return delta;
+    }
+
+    /**
+     * Re-reads the changed files as well as new ones and re-validates
+     * all constraints which could be affected by that.
+     *
+     * @param changedFiles    The changed files, incl. created and deleted ones.
+     * @return the delta to the errors of the previous run
+     *          or {@code null} if none of the files is relevant for the validation.
+     */
+    @Nullable
+    public ValidationDelta update(@NotNull final Collection<File> changedFiles) {
+        return refresh(changedFiles.stream().map(WatchedValidation::normalize).collect(Collectors.toSet()));
+    }
+
+    @Nullable
+    private ValidationDelta refresh(@Nullable final Set<Path> changed) {
+        final boolean specsChanged = updateSpecifications(changed);
+        final Config config = new Config();
+        final boolean configsChanged = updateConfigs(changed, config);
+
+        if (!specsChanged && !configsChanged && plan != null) {
+            return null;
+        }
+
+        if (specsChanged || plan == null) {
+            plan = new ValidationPlan(mergeSpecifications());
+        }
+
+        config.errors.addAll(plan.getErrors());
+        plan.getTypeConverter().convert(config);
+
+        result = specsChanged || result == null
+                ? ValidationResult.validate(plan, config)
+                : result.revalidate(config);
+
+        config.errors.addAll(result.getErrors());
+        if (strictMode) {
+            final Set<String> keys = new TreeSet<>(config.keySet());
+            keys.removeAll(plan.getKeys());
+
+            if (!keys.isEmpty()) {
+                config.errors.add(new KeysWithoutSpecificationError(keys));
+            }
+        }
+
+        final List<String> previousErrors = errors;
+        errors = config.errors.stream()
+                .map(error -> error.toMessage(messageSource, Locale.getDefault()))
+                .collect(Collectors.toList());
+
+        return new ValidationDelta(previousErrors, errors);
+    }
+
+    /**
+     * @return all directories which contain the sources and specifications.
+     */
+    @NotNull
+    public Set<Path> getWatchedDirectories() {
+        final Set<Path> directories = new LinkedHashSet<>();
+        Stream.concat(Stream.of(sources), Stream.of(specs)).forEach(source -> {
+            if (!source.isDirectory()) {
+                directories.add(normalize(source).getParent());
+                return;
+            }
+
+            directories.add(normalize(source));
+            if (recursive) {
+                final List<File> subDirectories = new ArrayList<>();
+                resolve(source, subDirectories, File::isDirectory);
+                subDirectories.forEach(directory -> directories.add(normalize(directory)));
+            }
+        });
+
+        return directories;
+    }
+
+    private boolean updateSpecifications(@Nullable final Set<Path> changed) {
+        final List<File> files = resolve(specs);
+        final Map<File, ConfigSpecification> loaded = new ConcurrentHashMap<>();
+        files.parallelStream()
+                .filter(file -> isChanged(file, changed) || !specificationsByFile.containsKey(file))
+                .forEach(file -> loaded.put(file, configSpecificationLoader.load(false, file)));
+
+        final boolean removed = specificationsByFile.keySet().retainAll(files);
+        if (loaded.isEmpty() && !removed) {
+            return false;
+        }
+
+        final Map<File, ConfigSpecification> previous = new HashMap<>(specificationsByFile);
+        specificationsByFile.clear();
+        for (final File file : files) {
+            specificationsByFile.put(file, loaded.getOrDefault(file, previous.get(file)));
+        }
+
+        return true;
+    }
+
+    private boolean updateConfigs(@Nullable final Set<Path> changed, @NotNull final Config config) {
+        final List<File> files = resolve(sources);
+        final Map<File, Config> previous = new HashMap<>(configsByFile);
+        configsByFile.clear();
+
+        boolean modified = previous.size() != files.size();
+        for (final File file : files) {
+            Config fileConfig = previous.get(file);
+            if (fileConfig == null || isChanged(file, changed)) {
+                // references in following files might need access to it (context)
+                fileConfig = configLoader.load(profile, config, false, file);
+                modified = true;
+            }
+
+            configsByFile.put(file, fileConfig);
+            config.putAll(fileConfig);
+        }
+
+        return modified;
+    }
+
+    @NotNull
+    private ConfigSpecification mergeSpecifications() {
+        final List<Constraint> constraints = new ArrayList<>();
+        final List<ConfigError> errors = new ArrayList<>();
+        for (final ConfigSpecification specification : specificationsByFile.values()) {
+            constraints.addAll(specification.constraints);
+            errors.addAll(specification.errors);
+        }
+
+        return new ConfigSpecification(typeConverter, constraints, errors);
+    }
+
+    private static boolean isChanged(@NotNull final File file, @Nullable final Set<Path> changed) {
+        return changed == null || changed.contains(normalize(file));
+    }
+
+    /**
+     * Resolves the files in the same order as the {@link ConfigLoader}.
+     * Sources which do not exist get kept to report them as missing.
+     */
+    @NotNull
+    private List<File> resolve(@NotNull final File[] sources) {
+        final List<File> files = new ArrayList<>();
+        for (final File source : sources) {
+            if (source.isDirectory()) {
+                resolve(source, files, File::isFile);
+
+            } else {
+                files.add(source);
+            }
+        }
+
+        return files;
+    }
+
+    private void resolve(@NotNull final File directory,
+                         @NotNull final List<File> files,
+                         @NotNull final FileFilter filter) {
+        final File[] subSources = directory.listFiles();
+        if (subSources == null) {
+            return;
+        }
+
+        for (final File subSource : subSources) {
+            if (filter.accept(subSource)) {
+                files.add(subSource);
+            }
+            if (recursive && subSource.isDirectory()) {
+                resolve(subSource, files, filter);
+            }
+        }
+    }
+
+    @NotNull
+    private static Path normalize(@NotNull final File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+}
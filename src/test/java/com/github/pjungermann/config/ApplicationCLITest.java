@@ -15,11 +15,15 @@
  */
 package com.github.pjungermann.config;
 
+import com.github.pjungermann.config.specification.constraint.matches.RegexMode;
+import com.github.pjungermann.config.validation.report.ReportFormat;
 import org.apache.commons.cli.MissingArgumentException;
 import org.apache.commons.cli.MissingOptionException;
 import org.apache.commons.cli.ParseException;
 import org.junit.Test;
 
+import java.io.File;
+
 import static org.junit.Assert.*;
 
 /**
@@ -39,7 +43,15 @@ public class ApplicationCLITest {
                         "--configs", "foo/bar;baz",
                         "--specs", "spec1;specs/spec2",
                         "--recursive",
-                        "--strict"
+                        "--strict",
+                        "--regex-mode", "linear",
+                        "--spec-cache", "build/spec-cache",
+                        "--parallel-load",
+                        "--documents",
+                        "--compact-keys",
+                        "--format", "sarif",
+                        "--output", "build/report.sarif",
+                        "--max-errors", "5"
                 }
         );
 
@@ -54,6 +66,15 @@ public class ApplicationCLITest {
         }, cli.specs);
         assertTrue(cli.recursive);
         assertTrue(cli.strict);
+        assertEquals(RegexMode.LINEAR, cli.regexMode);
+        assertEquals(new File("build/spec-cache"), cli.specCache);
+        assertFalse(cli.watch);
+        assertTrue(cli.parallelLoad);
+        assertTrue(cli.documents);
+        assertTrue(cli.compactKeys);
+        assertEquals(ReportFormat.SARIF, cli.format);
+        assertEquals(new File("build/report.sarif"), cli.output);
+        assertEquals(5, cli.maxErrors);
     }
 
     @Test
@@ -64,7 +85,8 @@ public class ApplicationCLITest {
                         "--configs", "foo/bar;baz",
                         "--specs", "spec1;specs/spec2",
                         "-r",
-                        "-s"
+                        "-s",
+                        "-w"
                 }
         );
 
@@ -79,6 +101,7 @@ public class ApplicationCLITest {
         }, cli.specs);
         assertTrue(cli.recursive);
         assertTrue(cli.strict);
+        assertTrue(cli.watch);
     }
 
     @Test
@@ -101,6 +124,223 @@ public class ApplicationCLITest {
         }, cli.specs);
         assertFalse(cli.recursive);
         assertFalse(cli.strict);
+        assertEquals(RegexMode.BACKTRACKING, cli.regexMode);
+        assertNull(cli.specCache);
+        assertFalse(cli.watch);
+        assertFalse(cli.parallelLoad);
+        assertFalse(cli.documents);
+        assertFalse(cli.compactKeys);
+        assertNull(cli.format);
+        assertNull(cli.output);
+        assertEquals(0, cli.maxErrors);
+        assertFalse(cli.batch);
+        assertNull(cli.serve);
+        assertFalse(cli.springContext);
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_unsupportedRegexMode_parseException() throws ParseException {
+        new ApplicationCLI(
+                new String[]{
+                        "--configs", "foo/bar;baz",
+                        "--specs", "spec1;specs/spec2",
+                        "--regex-mode", "unknown"
+                }
+        );
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_unsupportedFormat_parseException() throws ParseException {
+        new ApplicationCLI(
+                new String[]{
+                        "--configs", "foo/bar",
+                        "--specs", "spec1",
+                        "--format", "xml"
+                }
+        );
+    }
+
+    @Test
+    public void constructor_failFast_oneMaxError() throws ParseException {
+        ApplicationCLI cli = new ApplicationCLI(
+                new String[]{
+                        "--configs", "foo/bar",
+                        "--specs", "spec1",
+                        "--fail-fast"
+                }
+        );
+
+        assertEquals(1, cli.maxErrors);
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_failFastAndMaxErrors_parseException() throws ParseException {
+        new ApplicationCLI(
+                new String[]{
+                        "--configs", "foo/bar",
+                        "--specs", "spec1",
+                        "--fail-fast",
+                        "--max-errors", "5"
+                }
+        );
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_invalidMaxErrors_parseException() throws ParseException {
+        new ApplicationCLI(
+                new String[]{
+                        "--configs", "foo/bar",
+                        "--specs", "spec1",
+                        "--max-errors", "0"
+                }
+        );
+    }
+
+    @Test
+    public void constructor_batch_batchMode() throws ParseException {
+        ApplicationCLI cli = new ApplicationCLI(
+                new String[]{
+                        "--configs", "services/a;services/b",
+                        "--specs", "spec1",
+                        "--batch"
+                }
+        );
+
+        assertTrue(cli.batch);
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_batchAndWatch_parseException() throws ParseException {
+        new ApplicationCLI(
+                new String[]{
+                        "--configs", "services/a;services/b",
+                        "--specs", "spec1",
+                        "--batch",
+                        "--watch"
+                }
+        );
+    }
+
+    @Test
+    public void constructor_watch_watchMode() throws ParseException {
+        ApplicationCLI cli = new ApplicationCLI(
+                new String[]{
+                        "--configs", "foo/bar",
+                        "--specs", "spec1",
+                        "--watch",
+                        "--parallel-load",
+                        "--compact-keys"
+                }
+        );
+
+        assertTrue(cli.watch);
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_watchAndDocuments_parseException() throws ParseException {
+        new ApplicationCLI(
+                new String[]{
+                        "--configs", "foo/bar",
+                        "--specs", "spec1",
+                        "--watch",
+                        "--documents"
+                }
+        );
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_watchAndFormat_parseException() throws ParseException {
+        new ApplicationCLI(
+                new String[]{
+                        "--configs", "foo/bar",
+                        "--specs", "spec1",
+                        "--watch",
+                        "--format", "jsonl"
+                }
+        );
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_watchAndOutput_parseException() throws ParseException {
+        new ApplicationCLI(
+                new String[]{
+                        "--configs", "foo/bar",
+                        "--specs", "spec1",
+                        "--watch",
+                        "--output", "build/report.txt"
+                }
+        );
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_watchAndFailFast_parseException() throws ParseException {
+        new ApplicationCLI(
+                new String[]{
+                        "--configs", "foo/bar",
+                        "--specs", "spec1",
+                        "--watch",
+                        "--fail-fast"
+                }
+        );
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_watchAndMaxErrors_parseException() throws ParseException {
+        new ApplicationCLI(
+                new String[]{
+                        "--configs", "foo/bar",
+                        "--specs", "spec1",
+                        "--watch",
+                        "--max-errors", "3"
+                }
+        );
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_serveAndMaxErrors_parseException() throws ParseException {
+        new ApplicationCLI(new String[]{"--serve", "0", "--max-errors", "3"});
+    }
+
+    @Test
+    public void constructor_serveWithoutConfigsAndSpecs_serverMode() throws ParseException {
+        ApplicationCLI cli = new ApplicationCLI(new String[]{"--serve", "8089"});
+
+        assertEquals(Integer.valueOf(8089), cli.serve);
+        assertNull(cli.configs);
+        assertNull(cli.specs);
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_serveInvalidPort_parseException() throws ParseException {
+        new ApplicationCLI(new String[]{"--serve", "70000"});
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_serveAndWatch_parseException() throws ParseException {
+        new ApplicationCLI(new String[]{"--serve", "0", "--watch"});
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_serveAndOutput_parseException() throws ParseException {
+        new ApplicationCLI(new String[]{"--serve", "0", "--output", "build/report.jsonl"});
+    }
+
+    @Test(expected = ParseException.class)
+    public void constructor_serveAndFormat_parseException() throws ParseException {
+        new ApplicationCLI(new String[]{"--serve", "0", "--format", "text"});
+    }
+
+    @Test
+    public void constructor_springContext_springContext() throws ParseException {
+        ApplicationCLI cli = new ApplicationCLI(
+                new String[]{
+                        "--configs", "foo/bar",
+                        "--specs", "spec1",
+                        "--spring-context"
+                }
+        );
+
+        assertTrue(cli.springContext);
     }
 
     @Test(expected = MissingOptionException.class)
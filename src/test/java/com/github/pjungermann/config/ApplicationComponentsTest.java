@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config;
+
+import com.github.pjungermann.config.specification.constraint.ConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.matches.MatchesConstraintFactory;
+import com.github.pjungermann.config.types.ConfigFactory;
+import com.github.pjungermann.config.validation.ConfigValidationException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Collection;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ApplicationComponents}.
+ *
+ * @author Patrick Jungermann
+ */
+public class ApplicationComponentsTest {
+
+    private static AnnotationConfigApplicationContext context;
+
+    @BeforeClass
+    public static void setUpApplicationContext() {
+        context = new AnnotationConfigApplicationContext(Application.class);
+    }
+
+    @AfterClass
+    public static void closeApplicationContext() {
+        context.close();
+    }
+
+    static Set<Class<?>> classes(Collection<?> components) {
+        return components.stream().map(Object::getClass).collect(toSet());
+    }
+
+    @Test
+    public void createConstraintFactories_always_sameAsComponentScan() {
+        assertEquals(
+                classes(context.getBeansOfType(ConstraintFactory.class).values()),
+                classes(ApplicationComponents.createConstraintFactories(new MatchesConstraintFactory())));
+    }
+
+    @Test
+    public void createConfigFactories_always_sameAsComponentScan() {
+        assertEquals(
+                classes(context.getBeansOfType(ConfigFactory.class).values()),
+                classes(ApplicationComponents.createConfigFactories(new DefaultKeyBuilder())));
+    }
+
+    @Test
+    public void of_context_componentsOfContext() {
+        ApplicationComponents components = ApplicationComponents.of(context);
+
+        assertSame(context.getBean(MatchesConstraintFactory.class), components.matchesConstraintFactory);
+    }
+
+    @Test
+    public void create_validate_sameErrorsAsSpring() {
+        String[] configs = {"src/test/resources/configs"};
+        String[] specs = {"src/test/resources/specs"};
+
+        String expected = null;
+        try {
+            ApplicationComponents.of(context).validator.validate(configs, specs, true, null, true);
+
+        } catch (ConfigValidationException e) {
+            expected = e.getMessage();
+        }
+
+        try {
+            ApplicationComponents.create().validator.validate(configs, specs, true, null, true);
+            fail("was expected to fail with an exception");
+
+        } catch (ConfigValidationException e) {
+            assertNotNull(expected);
+            assertEquals(expected, e.getMessage());
+        }
+    }
+}
@@ -20,8 +20,13 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -73,6 +78,28 @@ public class ApplicationTest {
         }
     }
 
+    @Test
+    public void main_springContext_validateWithKnownErrors() {
+        try {
+            Application.main(
+                    new String[]{
+                            "--configs", "src/test/resources/configs",
+                            "--specs", "src/test/resources/specs",
+                            "-r",
+                            "--spring-context"
+                    }
+            );
+            fail("was expected to fail with an exception");
+
+        } catch (ConfigValidationException e) {
+            assertEquals(
+                    "Validation errors:\n" +
+                            "- The type conversion for \"will.fail\" as defined at src/test/resources/specs/config_spec.groovy(config_spec.groovy:23) could not be done due to bad settings: invalid\n" +
+                            "- There is no such constraint \"doesNotExist\" (used for key \"will.fail\" at src/test/resources/specs/config_spec.groovy(config_spec.groovy:23))",
+                    e.getMessage());
+        }
+    }
+
     @Test
     public void main_allConfigsNonRecursiveAndSpecsAndStrict_validateWithKnownErrors() {
         try {
@@ -259,4 +286,66 @@ public class ApplicationTest {
                     e.getMessage());
         }
     }
+
+    @Test
+    public void main_jsonlFormatWithOutput_reportWrittenToOutput() throws IOException {
+        File report = File.createTempFile("report", ".jsonl");
+        report.deleteOnExit();
+
+        try {
+            Application.main(
+                    new String[]{
+                            "--configs", "src/test/resources/configs",
+                            "--specs", "src/test/resources/specs",
+                            "-r",
+                            "-s",
+                            "--format", "jsonl",
+                            "--output", report.getPath()
+                    }
+            );
+            fail("was expected to fail with an exception");
+
+        } catch (ConfigValidationException e) {
+            assertEquals("Validation failed, see the validation report for the errors.", e.getMessage());
+        }
+
+        List<String> lines = Files.readAllLines(report.toPath(), UTF_8);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"type\":\"TypeConversionConfigError\""));
+        assertTrue(lines.get(1).startsWith("{\"type\":\"NoSuchConstraintError\""));
+        assertTrue(lines.get(2).startsWith("{\"type\":\"KeysWithoutSpecificationError\""));
+    }
+
+    @Test
+    public void main_batchWithOutput_reportPerSetAndSummary() throws IOException {
+        File output = Files.createTempDirectory("reports").toFile();
+        output.deleteOnExit();
+
+        try {
+            Application.main(
+                    new String[]{
+                            "--configs", "src/test/resources/configs/config.json;src/test/resources/configs/config.ini",
+                            "--specs", "src/test/resources/specs",
+                            "-s",
+                            "--batch",
+                            "--format", "jsonl",
+                            "--output", output.getPath()
+                    }
+            );
+            fail("was expected to fail with an exception");
+
+        } catch (ConfigValidationException e) {
+            assertEquals("2 of 2 config sets are invalid, see the validation reports for the errors.", e.getMessage());
+        }
+
+        File json = new File(output, "0001-src_test_resources_configs_config.json.jsonl");
+        File ini = new File(output, "0002-src_test_resources_configs_config.ini.jsonl");
+        assertEquals(4, Files.readAllLines(json.toPath(), UTF_8).size());
+        assertEquals(4, Files.readAllLines(ini.toPath(), UTF_8).size());
+        assertTrue(new File(output, "summary.json").isFile());
+
+        for (File file : output.listFiles()) {
+            file.deleteOnExit();
+        }
+    }
 }
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config;
+
+import org.junit.Test;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CompactConfig}.
+ *
+ * @author Patrick Jungermann
+ */
+public class CompactConfigTest {
+
+    @Test
+    public void putAndGet_keysWithSharedPrefixes_sameAsConfig() {
+        Config expected = new Config();
+        CompactConfig config = new CompactConfig();
+        for (String key : Arrays.asList(
+                "a", "a.b", "a.b.c", "a.c", "b.a", "", ".", "a.", ".a", "a..b", "services.billing.db.pool.max")) {
+            expected.put(key, key.length());
+            assertNull(config.put(key, key.length()));
+        }
+
+        assertEquals(expected.size(), config.size());
+        assertEquals(expected, config);
+        assertEquals(config, expected);
+        assertEquals(expected.hashCode(), config.hashCode());
+        assertEquals(expected.keySet(), config.keySet());
+        assertEquals(new ArrayList<>(expected.keySet()).size(), new ArrayList<>(config.values()).size());
+
+        assertNull(config.get("a.b.c.d"));
+        assertNull(config.get("b"));
+        assertFalse(config.containsKey("b"));
+        assertFalse(config.containsKey(1));
+        assertNull(config.get(null));
+    }
+
+    @Test
+    public void put_existingKey_replaceValue() {
+        CompactConfig config = new CompactConfig();
+        config.put("a.b", 1);
+
+        assertEquals(1, config.put("a.b", 2));
+        assertEquals(2, config.get("a.b"));
+        assertEquals(1, config.size());
+    }
+
+    @Test
+    public void put_nullValue_isContained() {
+        CompactConfig config = new CompactConfig();
+        config.put("a.b", null);
+
+        assertTrue(config.containsKey("a.b"));
+        assertTrue(config.containsValue(null));
+        assertNull(config.get("a.b"));
+        assertEquals(1, config.size());
+        assertEquals(Collections.singletonMap("a.b", null), config);
+    }
+
+    @Test
+    public void remove_keyAndPrefixes_onlyKeyRemoved() {
+        CompactConfig config = new CompactConfig();
+        config.put("a", 1);
+        config.put("a.b", 2);
+
+        assertEquals(1, config.remove("a"));
+        assertNull(config.remove("a"));
+        assertFalse(config.containsKey("a"));
+        assertEquals(2, config.get("a.b"));
+        assertEquals(1, config.size());
+        assertEquals(Collections.singleton("a.b"), config.keySet());
+
+        config.put("a", 3);
+        assertEquals(3, config.get("a"));
+        assertEquals(2, config.size());
+    }
+
+    @Test
+    public void mapDefaultMethods_sameBehaviorAsConfig() {
+        Config expected = new Config();
+        CompactConfig config = new CompactConfig();
+        for (Map<String, Object> map : Arrays.asList(expected, config)) {
+            map.put("a.null", null);
+            map.put("a.one", 1);
+            map.put("a.two", 2);
+
+            map.putIfAbsent("a.null", "absent");
+            map.putIfAbsent("a.one", "absent");
+            map.computeIfAbsent("a.three", key -> 3);
+            map.computeIfPresent("a.two", (key, value) -> (Integer) value * 10);
+            map.computeIfPresent("a.one", (key, value) -> null);
+            map.compute("a.four", (key, value) -> value == null ? 4 : value);
+            map.merge("a.three", 30, (a, b) -> (Integer) a + (Integer) b);
+            map.replace("a.four", 40);
+            map.replace("a.three", 0, 1);
+            map.remove("a.null", "other");
+            map.replaceAll((key, value) -> value instanceof Integer ? (Integer) value + 1 : value);
+        }
+
+        assertEquals(expected, config);
+        assertEquals(expected.toString().length(), config.toString().length());
+    }
+
+    @Test
+    public void iterators_removeAndSetValue_writeThrough() {
+        CompactConfig config = new CompactConfig();
+        for (int i = 0; i < 100; i++) {
+            config.put("key.level." + i, i);
+        }
+
+        Iterator<Map.Entry<String, Object>> iterator = config.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Object> entry = iterator.next();
+            int value = (Integer) entry.getValue();
+            if (value % 2 == 0) {
+                iterator.remove();
+
+            } else {
+                entry.setValue(-value);
+            }
+        }
+
+        assertEquals(50, config.size());
+        assertEquals(-1, config.get("key.level.1"));
+        assertFalse(config.containsKey("key.level.2"));
+
+        config.keySet().removeIf(key -> key.endsWith("1"));
+        config.values().removeIf(value -> (Integer) value < -90);
+
+        assertEquals(36, config.size());
+        assertFalse(config.containsKey("key.level.91"));
+        assertFalse(config.containsKey("key.level.93"));
+        assertTrue(config.containsKey("key.level.3"));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void iterator_addedKeyWhileIterating_concurrentModificationException() {
+        CompactConfig config = new CompactConfig();
+        config.put("a", 1);
+        config.put("b", 2);
+
+        for (String key : config.keySet()) {
+            config.put(key + ".new", 0);
+        }
+    }
+
+    @Test
+    public void clear_always_empty() {
+        CompactConfig config = new CompactConfig();
+        config.put("a.b", 1);
+        config.clear();
+
+        assertTrue(config.isEmpty());
+        assertNull(config.get("a.b"));
+
+        config.put("a.b", 2);
+        assertEquals(2, config.get("a.b"));
+    }
+
+    @Test
+    public void manyKeys_growTables_allEntriesAccessible() {
+        Config expected = new Config();
+        CompactConfig config = new CompactConfig("::");
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            String key = "s" + random.nextInt(10) + "::" + random.nextInt(100) + "::k" + i;
+            expected.put(key, i);
+            config.put(key, i);
+        }
+
+        assertEquals(expected, config);
+        for (Map.Entry<String, Object> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), config.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void constructor_otherConfig_copyEntriesAndErrors() {
+        Config other = new Config();
+        other.put("other.key", 123);
+        ConfigError error = () -> new DefaultMessageSourceResolvable("my.fake.code");
+        other.errors.add(error);
+
+        Config config = new CompactConfig(other);
+
+        assertEquals(123, config.get("other.key"));
+        assertEquals(1, config.errors.size());
+        assertSame(error, config.errors.get(0));
+        assertEquals(other, new Config(config));
+        assertEquals(other, ((Config) config.clone()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_emptySeparator_exception() {
+        new CompactConfig("");
+    }
+
+    @Test
+    public void prefixQueries_randomKeysAndRemovals_sameAsConfig() {
+        for (String separator : Arrays.asList(".", "::")) {
+            Config expected = new Config();
+            CompactConfig config = new CompactConfig(separator);
+            Random random = new Random(7);
+            List<String> prefixes = new ArrayList<>(Collections.singletonList(""));
+            for (int i = 0; i < 2000; i++) {
+                String key = "s" + random.nextInt(5) + separator + "k" + random.nextInt(20)
+                        + (random.nextBoolean() ? separator + random.nextInt(3) : "");
+                if (random.nextInt(4) == 0) {
+                    expected.remove(key);
+                    config.remove(key);
+
+                } else {
+                    expected.put(key, i);
+                    config.put(key, i);
+                }
+
+                prefixes.add(key.substring(0, random.nextInt(key.length() + 1)));
+            }
+
+            for (String prefix : prefixes) {
+                assertEquals(prefix, expected.keysWithPrefix(prefix), config.keysWithPrefix(prefix));
+                assertEquals(prefix, expected.subtree(prefix), config.subtree(prefix));
+                assertEquals(prefix, expected.childNames(prefix, separator), config.childNames(prefix, separator));
+            }
+        }
+    }
+
+    @Test
+    public void childNames_removedKeys_notContained() {
+        CompactConfig config = new CompactConfig();
+        config.put("db.host", "localhost");
+        config.put("db.pool.max", 10);
+        config.remove("db.pool.max");
+
+        assertEquals(Collections.singleton("host"), config.childNames("db.", "."));
+        assertEquals(Collections.singleton("db"), config.childNames("", "."));
+        assertEquals(Collections.singleton("db.host"), config.keysWithPrefix("db"));
+        assertTrue(config.subtree("db.pool.").isEmpty());
+        assertTrue(config.subtree("db.") instanceof CompactConfig);
+    }
+}
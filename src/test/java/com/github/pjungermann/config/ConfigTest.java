@@ -19,7 +19,9 @@ import org.junit.Test;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 
 import static org.junit.Assert.*;
@@ -82,4 +84,47 @@ public class ConfigTest {
         assertSame(error, config.errors.get(0));
     }
 
+    @Test
+    public void keysWithPrefix_always_allKeysStartingWithPrefix() {
+        Config config = new Config();
+        config.put("db.host", "localhost");
+        config.put("db.pool.max", 10);
+        config.put("dba", true);
+        config.put("other", 1);
+
+        assertEquals(new HashSet<>(Arrays.asList("db.host", "db.pool.max")), config.keysWithPrefix("db."));
+        assertEquals(new HashSet<>(Arrays.asList("db.host", "db.pool.max", "dba")), config.keysWithPrefix("db"));
+        assertEquals(config.keySet(), config.keysWithPrefix(""));
+        assertTrue(config.keysWithPrefix("none").isEmpty());
+    }
+
+    @Test
+    public void subtree_always_entriesWithoutPrefix() {
+        Config config = new Config();
+        config.put("db.host", "localhost");
+        config.put("db.pool.max", 10);
+        config.put("other", 1);
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("host", "localhost");
+        expected.put("pool.max", 10);
+
+        assertEquals(expected, config.subtree("db."));
+        assertTrue(config.subtree("none.").isEmpty());
+    }
+
+    @Test
+    public void childNames_always_namesOfNextLevel() {
+        Config config = new Config();
+        config.put("db.host", "localhost");
+        config.put("db.pool.max", 10);
+        config.put("db.pool.min", 1);
+        config.put("other", 1);
+
+        assertEquals(new HashSet<>(Arrays.asList("host", "pool")), config.childNames("db.", "."));
+        assertEquals(new HashSet<>(Arrays.asList("max", "min")), config.childNames("db.pool.", "."));
+        assertEquals(new HashSet<>(Arrays.asList("db", "other")), config.childNames("", "."));
+        assertTrue(config.childNames("none.", ".").isEmpty());
+    }
+
 }
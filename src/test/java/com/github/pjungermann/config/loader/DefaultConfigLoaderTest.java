@@ -15,6 +15,7 @@
  */
 package com.github.pjungermann.config.loader;
 
+import com.github.pjungermann.config.CompactConfig;
 import com.github.pjungermann.config.Config;
 import com.github.pjungermann.config.ConfigError;
 import com.github.pjungermann.config.loader.errors.NoSuchFileError;
@@ -28,6 +29,9 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.Assert.*;
 
@@ -137,6 +141,70 @@ public class DefaultConfigLoaderTest {
         assertSame(request, context.get(file1.toString()));
     }
 
+    @Test
+    public void load_parallel_sameResultAndContextAsSequential() throws IOException {
+        File folder = temporaryFolder.newFolder();
+        for (int i = 0; i < 20; i++) {
+            assert new File(folder, "file" + i + (i % 5 == 0 ? ".groovy" : ".json")).createNewFile();
+        }
+        File subFolder = new File(folder, "sub");
+        assert subFolder.mkdir();
+        assert new File(subFolder, "file.groovy").createNewFile();
+        assert new File(subFolder, "file.json").createNewFile();
+        File missing = new File(folder, "missing");
+
+        Map<String, Object> sequentialContexts = new ConcurrentHashMap<>();
+        Config sequentialContext = new Config();
+        Config sequential = overridingLoader(sequentialContexts)
+                .load(null, sequentialContext, true, folder, missing);
+
+        Map<String, Object> parallelContexts = new ConcurrentHashMap<>();
+        DefaultConfigLoader parallelLoader = overridingLoader(parallelContexts);
+        parallelLoader.setParallel(true);
+        assertTrue(parallelLoader.isParallel());
+        Config parallelContext = new Config();
+        Config parallel = parallelLoader.load(null, parallelContext, true, folder.getPath(), missing.getPath());
+
+        assertEquals(sequential, parallel);
+        assertEquals(23, parallel.size());
+        assertEquals(sequentialContext, parallelContext);
+        assertEquals(1, parallel.errors.size());
+        assertTrue(parallel.errors.get(0) instanceof NoSuchFileError);
+        // Groovy configs got loaded with the context of all previous sources
+        assertEquals(5, sequentialContexts.size());
+        assertEquals(sequentialContexts, parallelContexts);
+    }
+
+    @Test
+    public void load_compact_compactConfigWithSameResultAndContext() throws IOException {
+        File folder = temporaryFolder.newFolder();
+        for (int i = 0; i < 10; i++) {
+            assert new File(folder, "file" + i + (i % 5 == 0 ? ".groovy" : ".json")).createNewFile();
+        }
+
+        Config expectedContext = new Config();
+        Config expected = overridingLoader(new ConcurrentHashMap<>())
+                .load(null, expectedContext, true, folder);
+
+        DefaultConfigLoader compactLoader = overridingLoader(new ConcurrentHashMap<>());
+        compactLoader.setCompact(true);
+        assertTrue(compactLoader.isCompact());
+        Config compactContext = compactLoader.getDefaultContext();
+        Config compact = compactLoader.load(null, compactContext, true, folder.getPath());
+
+        assertTrue(compact instanceof CompactConfig);
+        assertTrue(compactContext instanceof CompactConfig);
+        assertEquals(expected, compact);
+        assertEquals(expectedContext, compactContext);
+    }
+
+    static DefaultConfigLoader overridingLoader(Map<String, Object> contexts) {
+        ConfigFactory withContext = new OverridingConfigFactory(true, contexts);
+        ConfigFactory withoutContext = new OverridingConfigFactory(false, contexts);
+
+        return new DefaultConfigLoader(source -> source.getName().endsWith(".groovy") ? withContext : withoutContext);
+    }
+
     static void assertRequest(File source, String profile, Config context, CreateRequest request) {
         assertEquals(source, request.source);
         assertEquals(profile, request.profile);
@@ -162,6 +230,45 @@ public class DefaultConfigLoaderTest {
         }
     }
 
+    /**
+     * Creates configs with the same key for all sources and
+     * records the context keys for sources using the context.
+     */
+    static class OverridingConfigFactory implements ConfigFactory {
+
+        final boolean usesContext;
+        final Map<String, Object> contexts;
+
+        OverridingConfigFactory(boolean usesContext, Map<String, Object> contexts) {
+            this.usesContext = usesContext;
+            this.contexts = contexts;
+        }
+
+        @Override
+        public boolean supports(@NotNull File source) {
+            return true;
+        }
+
+        @Override
+        public boolean usesContext() {
+            return usesContext;
+        }
+
+        @NotNull
+        @Override
+        public Config create(@NotNull File source, @Nullable String profile, @NotNull Config context) {
+            if (usesContext) {
+                contexts.put(source.getPath(), new TreeSet<>(context.keySet()));
+            }
+
+            Config config = new Config();
+            config.put("key", source.getPath());
+            config.put(source.getPath(), true);
+
+            return config;
+        }
+    }
+
     static class CreateRequest {
         File source;
         String profile;
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.server;
+
+import com.github.pjungermann.config.specification.ConfigSpecification;
+import com.github.pjungermann.config.specification.types.AsTypeConverter;
+import com.github.pjungermann.config.validation.ValidationPlan;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ValidationPlanCache}.
+ *
+ * @author Patrick Jungermann
+ */
+public class ValidationPlanCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private AtomicInteger loads;
+    private ValidationPlanCache cache;
+
+    @Before
+    public void setUp() {
+        loads = new AtomicInteger();
+        cache = new ValidationPlanCache((recursive, sources) -> {
+            loads.incrementAndGet();
+            return new ConfigSpecification(new AsTypeConverter(), emptyList(), emptyList());
+        });
+    }
+
+    @Test
+    public void get_sameUnchangedSet_cachedPlan() throws IOException {
+        String spec = temporaryFolder.newFile("spec.groovy").getPath();
+
+        ValidationPlan plan = cache.get(new String[]{spec}, false);
+
+        assertSame(plan, cache.get(new String[]{spec}, false));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void get_otherRecursiveOption_otherSet() throws IOException {
+        String spec = temporaryFolder.newFile("spec.groovy").getPath();
+
+        ValidationPlan plan = cache.get(new String[]{spec}, false);
+
+        assertNotSame(plan, cache.get(new String[]{spec}, true));
+        assertEquals(2, loads.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void get_modifiedSpec_reloaded() throws IOException {
+        File spec = temporaryFolder.newFile("spec.groovy");
+        ValidationPlan plan = cache.get(new String[]{spec.getPath()}, false);
+
+        assertTrue(spec.setLastModified(spec.lastModified() - 60_000));
+
+        assertNotSame(plan, cache.get(new String[]{spec.getPath()}, false));
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void get_addedSpecAtDirectory_reloaded() throws IOException {
+        File directory = temporaryFolder.newFolder("specs");
+        assertTrue(new File(directory, "a.groovy").createNewFile());
+        ValidationPlan plan = cache.get(new String[]{directory.getPath()}, true);
+
+        assertTrue(new File(directory, "b.groovy").createNewFile());
+
+        assertNotSame(plan, cache.get(new String[]{directory.getPath()}, true));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void get_createdMissingSpec_reloaded() throws IOException {
+        File spec = new File(temporaryFolder.getRoot(), "spec.groovy");
+        ValidationPlan plan = cache.get(new String[]{spec.getPath()}, false);
+
+        assertTrue(spec.createNewFile());
+
+        assertNotSame(plan, cache.get(new String[]{spec.getPath()}, false));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void get_moreSetsThanMaxEntries_leastRecentlyUsedEvicted() throws IOException {
+        String a = temporaryFolder.newFile("a.groovy").getPath();
+        String b = temporaryFolder.newFile("b.groovy").getPath();
+        String c = temporaryFolder.newFile("c.groovy").getPath();
+        cache.setMaxEntries(2);
+
+        ValidationPlan planA = cache.get(new String[]{a}, false);
+        ValidationPlan planB = cache.get(new String[]{b}, false);
+        assertSame(planA, cache.get(new String[]{a}, false));
+        cache.get(new String[]{c}, false);
+
+        assertEquals(2, cache.size());
+        assertSame(planA, cache.get(new String[]{a}, false));
+        assertNotSame(planB, cache.get(new String[]{b}, false));
+        assertEquals(4, loads.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setMaxEntries_zero_illegalArgument() {
+        cache.setMaxEntries(0);
+    }
+}
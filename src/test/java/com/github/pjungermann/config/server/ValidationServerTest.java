@@ -0,0 +1,273 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.server;
+
+import com.github.pjungermann.config.Application;
+import com.github.pjungermann.config.loader.ConfigLoader;
+import com.github.pjungermann.config.validation.ConfigValidator;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ValidationServer}.
+ *
+ * @author Patrick Jungermann
+ */
+public class ValidationServerTest {
+
+    private static final String SPECS = "specs=src/test/resources/specs&recursive=true";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static AnnotationConfigApplicationContext context;
+    private static ValidationServer server;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        context = new AnnotationConfigApplicationContext(Application.class);
+        server = context.getBean(ValidationServer.class);
+        server.start(0);
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop();
+        context.close();
+    }
+
+    static class Response {
+        final int status;
+        final String contentType;
+        final String body;
+
+        Response(final int status, final String contentType, final String body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+
+    static Response request(String method, String query, String body) throws IOException {
+        return request(method, query, body, server.getToken(), null);
+    }
+
+    static Response request(String method, String query, String body, String token, String origin)
+            throws IOException {
+        URL url = new URL("http://127.0.0.1:" + server.getPort() + ValidationServer.VALIDATE_PATH + "?" + query);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method);
+        if (token != null) {
+            connection.setRequestProperty(ValidationServer.TOKEN_HEADER, token);
+        }
+        if (origin != null) {
+            connection.setRequestProperty("Origin", origin);
+        }
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(UTF_8));
+            }
+        }
+
+        int status = connection.getResponseCode();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            if (in != null) {
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    content.write(buffer, 0, read);
+                }
+            }
+        }
+
+        return new Response(status, connection.getContentType(), new String(content.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void validate_validContent_statusValidWithoutErrors() throws IOException {
+        File spec = temporaryFolder.newFile("spec.groovy");
+        Files.write(spec.toPath(), "\"first\"(matches: /level/)".getBytes(UTF_8));
+
+        Response response = request("POST", "specs=" + spec.getPath() + "&type=json&strict",
+                "{\"first\": \"level\"}");
+
+        assertEquals(ValidationServer.STATUS_VALID, response.status);
+        assertEquals("", response.body);
+    }
+
+    @Test
+    public void validate_invalidContent_statusInvalidWithReport() throws IOException {
+        Response response = request("POST", SPECS + "&type=json&strict", "{\"unknown\": 1}");
+
+        assertEquals(ValidationServer.STATUS_INVALID, response.status);
+        assertEquals("application/x-ndjson", response.contentType);
+        String[] lines = response.body.split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[3].startsWith("{\"type\":\"KeysWithoutSpecificationError\""));
+    }
+
+    @Test
+    public void validate_configPathsAndTextFormat_textReport() throws IOException {
+        Response response = request("POST",
+                SPECS + "&configs=src/test/resources/configs/config.ini&format=text&max-errors=1", null);
+
+        assertEquals(ValidationServer.STATUS_INVALID, response.status);
+        assertEquals("text/plain; charset=UTF-8", response.contentType);
+        assertEquals("Validation errors:\n"
+                        + "- The type conversion for \"will.fail\" as defined at "
+                        + "src/test/resources/specs/config_spec.groovy(config_spec.groovy:23) "
+                        + "could not be done due to bad settings: invalid\n",
+                response.body);
+    }
+
+    @Test
+    public void validate_get_methodNotAllowed() throws IOException {
+        assertEquals(ValidationServer.STATUS_METHOD_NOT_ALLOWED, request("GET", SPECS, null).status);
+    }
+
+    @Test
+    public void validate_noSpecs_badRequest() throws IOException {
+        Response response = request("POST", "type=json", "{}");
+
+        assertEquals(ValidationServer.STATUS_BAD_REQUEST, response.status);
+        assertEquals("missing parameter: specs\n", response.body);
+    }
+
+    @Test
+    public void validate_neitherConfigsNorType_badRequest() throws IOException {
+        assertEquals(ValidationServer.STATUS_BAD_REQUEST, request("POST", SPECS, "{}").status);
+    }
+
+    @Test
+    public void validate_unknownFormat_badRequest() throws IOException {
+        assertEquals(ValidationServer.STATUS_BAD_REQUEST, request("POST", SPECS + "&format=xml", null).status);
+    }
+
+    @Test
+    public void validate_groovyContent_badRequestWithoutExecution() throws IOException {
+        File marker = new File(temporaryFolder.getRoot(), "executed");
+
+        Response response = request("POST", SPECS + "&type=groovy",
+                "new File('" + marker.getPath().replace("\\", "/") + "').text = 'executed'");
+
+        assertEquals(ValidationServer.STATUS_BAD_REQUEST, response.status);
+        assertTrue(response.body.startsWith("unsupported type of config content: groovy"));
+        assertFalse(marker.exists());
+    }
+
+    @Test
+    public void validate_noToken_unauthorized() throws IOException {
+        assertEquals(ValidationServer.STATUS_UNAUTHORIZED,
+                request("POST", SPECS + "&type=json", "{}", null, null).status);
+    }
+
+    @Test
+    public void validate_invalidToken_unauthorized() throws IOException {
+        assertEquals(ValidationServer.STATUS_UNAUTHORIZED,
+                request("POST", SPECS + "&type=json", "{}", "invalid", null).status);
+    }
+
+    /**
+     * Sends the request on its own, as {@link HttpURLConnection} does not permit to set the headers.
+     *
+     * @return the status of the response.
+     */
+    static int rawRequest(String host, String header) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("POST " + ValidationServer.VALIDATE_PATH + "?" + SPECS + "&type=json HTTP/1.1\r\n"
+                    + "Host: " + host + "\r\n"
+                    + ValidationServer.TOKEN_HEADER + ": " + server.getToken() + "\r\n"
+                    + header + "\r\n"
+                    + "Content-Length: 2\r\n"
+                    + "Connection: close\r\n\r\n{}").getBytes(UTF_8));
+            out.flush();
+
+            String statusLine = new BufferedReader(new InputStreamReader(socket.getInputStream(), UTF_8)).readLine();
+            return Integer.parseInt(statusLine.split(" ")[1]);
+        }
+    }
+
+    @Test
+    public void validate_loopbackHost_permitted() throws IOException {
+        assertEquals(ValidationServer.STATUS_INVALID,
+                rawRequest("localhost:" + server.getPort(), "Accept: */*"));
+    }
+
+    @Test
+    public void validate_requestOfWebPage_forbidden() throws IOException {
+        assertEquals(ValidationServer.STATUS_FORBIDDEN,
+                rawRequest("127.0.0.1:" + server.getPort(), "Origin: http://example.com"));
+    }
+
+    @Test
+    public void validate_otherHost_forbidden() throws IOException {
+        assertEquals(ValidationServer.STATUS_FORBIDDEN,
+                rawRequest("rebound.example.com:" + server.getPort(), "Accept: */*"));
+    }
+
+    @Test
+    public void start_tokenFile_tokenWrittenAndDeletedAtStop() throws IOException {
+        File tokenFile = new File(temporaryFolder.getRoot(), "token");
+        ValidationServer other = new ValidationServer(
+                context.getBean(MessageSource.class),
+                context.getBean(ConfigLoader.class),
+                context.getBean(ConfigValidator.class),
+                context.getBean(ValidationPlanCache.class));
+
+        other.start(0, tokenFile);
+        try {
+            assertEquals(other.getToken(), new String(Files.readAllBytes(tokenFile.toPath()), UTF_8));
+            assertNotEquals(server.getToken(), other.getToken());
+
+        } finally {
+            other.stop();
+        }
+        assertFalse(tokenFile.exists());
+    }
+
+    @Test
+    public void parseQuery_encodedAndFlagParameters_decoded() throws IOException {
+        Map<String, String> parameters = ValidationServer.parseQuery("specs=a%3Bb%20c&strict");
+
+        assertEquals("a;b c", parameters.get("specs"));
+        assertEquals("true", parameters.get("strict"));
+    }
+}
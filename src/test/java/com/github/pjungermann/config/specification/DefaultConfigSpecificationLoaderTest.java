@@ -74,6 +74,14 @@ public class DefaultConfigSpecificationLoaderTest {
         assertTrue(specification.errors.isEmpty());
     }
 
+    @Test
+    public void load_always_readAllFilesWithinOneSession() throws IOException {
+        loader.load(false, Stream.of(temporaryFolder.newFile(), temporaryFolder.newFile()));
+
+        assertEquals(1, reader.openSessions);
+        assertEquals(1, reader.closedSessions);
+    }
+
     @Test
     public void load_recursiveAndEmptyStream_emptySpecification() {
         ConfigSpecification specification = loader.load(true, Stream.empty());
@@ -240,6 +248,9 @@ public class DefaultConfigSpecificationLoaderTest {
 
     static class FakeSpecificationReader implements SpecificationReader {
 
+        int openSessions;
+        int closedSessions;
+
         @Override
         public SpecificationPartial apply(File file) {
             return new SpecificationPartial(
@@ -247,6 +258,25 @@ public class DefaultConfigSpecificationLoaderTest {
                     singletonList(new FakeConfigError(file))
             );
         }
+
+        @NotNull
+        @Override
+        public Session openSession() {
+            openSessions++;
+            final Session session = SpecificationReader.super.openSession();
+            return new Session() {
+                @Override
+                public SpecificationPartial apply(File file) {
+                    return session.apply(file);
+                }
+
+                @Override
+                public void close() {
+                    closedSessions++;
+                    session.close();
+                }
+            };
+        }
     }
 
     static class FakeConstraint implements Constraint {
@@ -18,14 +18,18 @@ package com.github.pjungermann.config.specification.constraint;
 import com.github.pjungermann.config.Config;
 import com.github.pjungermann.config.ConfigError;
 import com.github.pjungermann.config.reference.SourceLine;
+import com.github.pjungermann.config.specification.constraint.multi.MultiConfigError;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.context.MessageSourceResolvable;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.StaticMessageSource;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.Locale;
 
 import static org.junit.Assert.*;
 
@@ -64,6 +68,72 @@ public class AbstractConstraintTest {
         assertEquals("Illegal config for constraint \"fake\" for config key \"fake-key\": 1234", error.toString());
     }
 
+    @Test
+    public void hasValidExpectation_changedAfterwards_evaluatedOnlyOnce() {
+        assertTrue(constraint.hasValidExpectation());
+
+        ((FakeConstraint) constraint).validExpectation = false;
+
+        assertTrue(constraint.hasValidExpectation());
+    }
+
+    @Test
+    public void validateValue_resolvedValue_validateWithoutLookup() {
+        ConfigError error = constraint.validateValue(new Config(), "value");
+
+        assertNotNull(error);
+        assertEquals("value", error.getMessage().getCodes()[0]);
+    }
+
+    @Test
+    public void validate_collectionOfConfigs_validatePropertyOfEachEntry() {
+        constraint = new FakeConstraint("list.[*].property", 1234, new SourceLine(new File("fake"), -1));
+        Config entry1 = new Config();
+        entry1.put("property", "value1");
+        Config entry2 = new Config();
+        entry2.put("property", "value2");
+        Config config = new Config();
+        config.put("list", Arrays.asList(entry1, entry2));
+        config.put("property", "root value");
+
+        ConfigError error = constraint.validate(config);
+
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.setUseCodeAsDefaultMessage(true);
+
+        assertTrue(error instanceof MultiConfigError);
+        assertEquals(
+                "validation errors for collection with key \"list\":\n" +
+                        "  - value1\n" +
+                        "  - value2",
+                error.toMessage(messageSource, Locale.getDefault())
+        );
+    }
+
+    @Test
+    public void validate_collectionWithErrorBudget_stopAtExhaustedBudget() {
+        constraint = new FakeConstraint("list.[*]", 1234, new SourceLine(new File("fake"), -1));
+        Config config = new Config();
+        config.put("list", Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        ErrorBudget budget = new ErrorBudget(3);
+
+        ConfigError error = constraint.validate(config, budget);
+
+        assertTrue(error instanceof MultiConfigError);
+        assertEquals(3, ((MultiConfigError) error).errors.size());
+        assertEquals(3, ((FakeConstraint) constraint).validations);
+        assertTrue(budget.isExhausted());
+    }
+
+    @Test
+    public void validate_exhaustedErrorBudget_skipValidation() {
+        ErrorBudget budget = new ErrorBudget(1);
+        budget.tryConsume();
+
+        assertNull(constraint.validate(new Config(), budget));
+        assertEquals(0, ((FakeConstraint) constraint).validations);
+    }
+
     @Test
     public void skipNullValues_always_defaultReturnsTrue() {
         assertTrue(constraint.skipNullValues());
@@ -202,6 +272,7 @@ public class AbstractConstraintTest {
     static class FakeConstraint extends AbstractConstraint {
 
         boolean validExpectation = true;
+        int validations;
 
         public FakeConstraint(@NotNull String key, @NotNull Object expectation, @NotNull SourceLine sourceLine) {
             super(key, expectation, sourceLine);
@@ -215,6 +286,7 @@ public class AbstractConstraintTest {
         @Nullable
         @Override
         protected ConfigError doValidate(Object value) {
+            validations++;
             return () -> new DefaultMessageSourceResolvable(value == null ? "<null>" : value.toString());
         }
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.specification.constraint;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ErrorBudget}.
+ *
+ * @author Patrick Jungermann
+ */
+public class ErrorBudgetTest {
+
+    @Test
+    public void tryConsume_withinBudget_consumedUntilExhausted() {
+        ErrorBudget budget = new ErrorBudget(2);
+
+        assertFalse(budget.isExhausted());
+        assertTrue(budget.tryConsume());
+        assertFalse(budget.isExhausted());
+        assertTrue(budget.tryConsume());
+        assertTrue(budget.isExhausted());
+        assertFalse(budget.tryConsume());
+        assertTrue(budget.isExhausted());
+    }
+
+    @Test
+    public void tryConsume_concurrently_exactlyMaxErrorsConsumed() {
+        ErrorBudget budget = new ErrorBudget(100);
+        AtomicInteger consumed = new AtomicInteger();
+
+        IntStream.range(0, 10_000).parallel().forEach(i -> {
+            if (budget.tryConsume()) {
+                consumed.incrementAndGet();
+            }
+        });
+
+        assertEquals(100, consumed.get());
+        assertTrue(budget.isExhausted());
+    }
+
+    @Test
+    public void tryConsume_unlimited_neverExhausted() {
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(ErrorBudget.UNLIMITED.tryConsume());
+        }
+
+        assertFalse(ErrorBudget.UNLIMITED.isExhausted());
+    }
+
+    @Test
+    public void of_noPositiveAmount_unlimited() {
+        assertSame(ErrorBudget.UNLIMITED, ErrorBudget.of(0));
+        assertSame(ErrorBudget.UNLIMITED, ErrorBudget.of(-1));
+        assertEquals(5, ErrorBudget.of(5).getMaxErrors());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_noPositiveAmount_illegalArgumentException() {
+        new ErrorBudget(0);
+    }
+}
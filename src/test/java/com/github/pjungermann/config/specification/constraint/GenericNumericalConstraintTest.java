@@ -26,6 +26,7 @@ import java.util.Collection;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -118,6 +119,44 @@ public abstract class GenericNumericalConstraintTest<T extends AbstractNumerical
         assertTrue(error instanceof InvalidConfigValueNumberTypeError);
     }
 
+    @Test
+    public void compare_primitiveNumbers_sameResultAsBigDecimals() {
+        final Number[] numbers = {
+                0, -0.0D, 0.0F, 1, 1L, (short) 1, (byte) 1, 1.0D, 1.0F, 0.1D, 0.1F, -1, -1.5D, 8080, 8080L, 8080.5D,
+                Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 1,
+                9007199254740993L, 9.007199254740992E15D, 16777217L, 1.6777216E7F, 1.0E-10D, 3.4E38F, Double.MAX_VALUE,
+                -Double.MIN_VALUE, new BigDecimal("8080.50"), new AtomicLong(8080L)
+        };
+        final T constraint = createConstraintInstance(0);
+
+        for (final Number base : numbers) {
+            for (final Number value : numbers) {
+                assertEquals(
+                        base + " vs. " + value,
+                        new BigDecimal(base.toString()).compareTo(new BigDecimal(value.toString())),
+                        constraint.compare(base, value)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void compareToExpectation_primitiveNumbers_sameResultAsCompare() {
+        final Number[] numbers = {0, -1, 1L, 1.5D, 2.5F, 8080, 9007199254740993L, new BigDecimal("1.50")};
+
+        for (final Number expectation : numbers) {
+            final T constraint = createConstraintInstance(expectation);
+
+            for (final Number value : numbers) {
+                assertEquals(
+                        value + " vs. " + expectation,
+                        constraint.compare(value, expectation),
+                        constraint.compareToExpectation(value)
+                );
+            }
+        }
+    }
+
     static class UnsupportedNumberType extends Number {
 
         /**
@@ -16,9 +16,18 @@
 package com.github.pjungermann.config.specification.constraint.inList;
 
 import com.github.pjungermann.config.specification.constraint.Constraint;
+import com.github.pjungermann.config.reference.SourceLine;
 import com.github.pjungermann.config.specification.constraint.GenericConstraintTest;
+import org.junit.Test;
 
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests for {@link InListConstraint}.
@@ -108,11 +117,36 @@ public class InListConstraintTest extends GenericConstraintTest<InListConstraint
                 .invalid("invalid", 123, new AnyType("bar"))
                 .buildAndAdd();
 
+        with(Arrays.asList(1, 2L, 3.0D, 4.5F, new BigDecimal("5.50"), BigInteger.TEN, (short) 11, (byte) 12))
+                .valid(1, 1L, 1.0D, 1.0F, new BigDecimal("1.00"), BigInteger.ONE)
+                .valid(2, 2L, 2.0D, 3, 3L, 3.0F, 4.5D, 4.5F, new BigDecimal("4.50"), 5.5D, 5.5F, 10, 10.0D, 11, 12L)
+                .invalid(0, 4, 4.4D, 5, 1.5D, Long.MAX_VALUE, Double.NaN, "1", new AtomicInteger(1))
+                .buildAndAdd();
+
+        with(Arrays.asList(Long.MIN_VALUE, Double.POSITIVE_INFINITY, new BigInteger("123456789012345678901234567890")))
+                .valid(Long.MIN_VALUE, -9.223372036854775808E18D, Double.POSITIVE_INFINITY, Float.POSITIVE_INFINITY)
+                .valid(new BigInteger("123456789012345678901234567890"), new BigDecimal("123456789012345678901234567890.0"))
+                .invalid(Long.MAX_VALUE, Double.NEGATIVE_INFINITY, new BigInteger("123456789012345678901234567891"))
+                .buildAndAdd();
+
+        with(Arrays.asList('c', true, Thread.State.NEW))
+                .valid('c', true, Thread.State.NEW)
+                .invalid("c", false, Thread.State.RUNNABLE, "NEW")
+                .buildAndAdd();
+
         with(Collections.singleton("set"))
                 .invalid(123, "invalid", new Object())
                 .buildAndAdd();
     }
 
+    @Test
+    public void contains_nullEntry_nullIsContained() {
+        final SourceLine sourceLine = new SourceLine(new File("fake"), 1);
+
+        assertTrue(new InListConstraint("key", Arrays.asList("a", null), sourceLine).contains(null));
+        assertFalse(new InListConstraint("key", Arrays.asList("a", "b"), sourceLine).contains(null));
+    }
+
     static class AnyType {
         public String field;
 
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.specification.constraint.matches;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link LinearPattern}.
+ *
+ * @author Patrick Jungermann
+ */
+public class LinearPatternTest {
+
+    static final String[] REGEXES = {
+            "abc",
+            "[abc]+",
+            "[^abc]*",
+            "a|b|cd",
+            "(ab)*c?",
+            "(?:foo|bar)+baz",
+            "(?<name>x{2,3})y{2}z{1,}",
+            "a.c",
+            "\\d{3}-\\d{4}",
+            "[\\w.-]+@[\\w-]+\\.(com|org)",
+            "\\s*\\S+\\s*",
+            "[]a]+",
+            "\\Qa.b\\E+",
+            "^start.*end$",
+            "\\p{Alpha}+\\p{Digit}*",
+            "\\P{Upper}+",
+            "a*?b+?c??",
+            "\\x41\\u0042\\t?",
+            "[^\\d\\s]{2}",
+            "(a|ab)(c|bcd)(d*)",
+            "",
+            "v\\d+\\.\\d+(\\.\\d+)?(-[a-z]+)?"
+    };
+
+    static final String[] INPUTS = {
+            "", "abc", "a", "b", "cd", "ababc", "ababab", "foobarbaz", "baz", "xxyyz", "xxxyyzzz",
+            "xyyz", "abc", "a\nc", "123-4567", "12-34567", "john.doe@example.com", "a@b.net",
+            "  token  ", "   ", "]a]", "x", "a&x", "a.ba.b", "a.bb", "start middle end", "startend",
+            "Hello123", "hello", "abbc", "AB", "AB\t", "xy", "12", "abcd", "abcdd", "v1.2", "v1.2.3-rc",
+            "v1", "\u00e4\u00f6", "a\u0000c"
+    };
+
+    static final String[] POSIX_REGEXES = {
+            "\\p{Lower}+", "\\p{Upper}+", "\\p{ASCII}+", "\\p{Alpha}+", "\\p{Digit}+", "\\p{Alnum}+",
+            "\\p{Punct}+", "\\p{Graph}+", "\\p{Print}+", "\\p{Blank}+", "\\p{Cntrl}+", "\\p{XDigit}+",
+            "\\p{Space}+", "\\P{Digit}+", "[\\p{Alpha}\\d]+", "\\w+", "\\s+", "\\h+", "\\v+", ".+"
+    };
+
+    static final String[] NON_ASCII_INPUTS = {
+            // Arabic-Indic digits, accented letter, no-break space, em space, emoji, ideographic space
+            "\u0663\u0664", "\u00e9", "\u00a0", "\u2003", "\ud83d\ude00", "\u3000",
+            "a\u00e9b", "12\u0663", "x \u00a0y", "\u00e9\u00e9\u00e9\u00e9", "\ud83d\ude00\ud83d\ude00"
+    };
+
+    @Test
+    public void matches_supportedPatterns_sameResultAsBacktracking() {
+        for (final String regex : REGEXES) {
+            final Pattern pattern = Pattern.compile(regex);
+            final LinearPattern linear = LinearPattern.compile(regex);
+
+            for (final String input : INPUTS) {
+                assertEquals(
+                        "/" + regex + "/ for \"" + input + "\"",
+                        pattern.matcher(input).matches(),
+                        linear.matches(input)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void matches_posixClassesWithNonAsciiInput_sameResultAsBacktracking() {
+        for (final String regex : POSIX_REGEXES) {
+            final Pattern pattern = Pattern.compile(regex);
+            final LinearPattern linear = LinearPattern.compile(regex);
+
+            for (final String input : NON_ASCII_INPUTS) {
+                assertEquals(
+                        "/" + regex + "/ for \"" + input + "\"",
+                        pattern.matcher(input).matches(),
+                        linear.matches(input)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void compile_unicodeProperties_throwPatternSyntaxException() {
+        for (final String regex : asList("\\p{IsDigit}", "\\p{IsAlnum}", "\\p{IsPrint}", "\\p{IsGraph}",
+                "\\p{IsBlank}", "\\P{IsAlphabetic}", "[\\p{IsLower}]")) {
+            try {
+                LinearPattern.compile(regex);
+                fail("expected an exception for /" + regex + "/");
+
+            } catch (PatternSyntaxException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("not supported in linear mode"));
+            }
+        }
+    }
+
+    @Test
+    public void matches_longNonAsciiInput_sameResultAsBacktracking() {
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            input.append(i % 2 == 0 ? '\u00e9' : 'a');
+        }
+
+        for (final String regex : asList("[^x]+", "(\\u00e9a)*", "[a\\u00e9]*b", ".*\\u00e9")) {
+            assertEquals(regex, Pattern.matches(regex, input), LinearPattern.compile(regex).matches(input));
+        }
+    }
+
+    @Test
+    public void matches_moreStatesThanCached_sameResultAsBacktracking() {
+        // the n-th last character being an "a" requires 2^n DFA states
+        final String regex = "[ab]*a[ab]{13}";
+        final LinearPattern linear = LinearPattern.compile(regex);
+        final Pattern pattern = Pattern.compile(regex);
+        final Random random = new Random(42L);
+
+        for (int i = 0; i < 200; i++) {
+            final StringBuilder input = new StringBuilder();
+            for (int j = 0; j < 200; j++) {
+                input.append(random.nextBoolean() ? 'a' : 'b');
+            }
+
+            assertEquals(input.toString(), pattern.matcher(input).matches(), linear.matches(input));
+        }
+    }
+
+    @Test
+    public void matches_largePrograms_sameResultAsBacktracking() {
+        final StringBuilder letters = new StringBuilder();
+        for (int i = 0; i < 70; i++) {
+            letters.append((char) ('a' + i % 26));
+        }
+
+        for (final String regex : asList("a{64}", "\\d{64}", "[a-z]{70}", "(ab|cd){40}", "x{10,200}", "[a-z]{3,80}\\d*")) {
+            final Pattern pattern = Pattern.compile(regex);
+            final LinearPattern linear = LinearPattern.compile(regex);
+
+            for (final String input : asList(letters.toString(), letters.substring(0, 64), "a", "")) {
+                assertEquals("/" + regex + "/", pattern.matcher(input).matches(), linear.matches(input));
+            }
+        }
+    }
+
+    @Test
+    public void matching_largeCombinedPatterns_reportEachMatchingPattern() {
+        final LinearPattern combined = LinearPattern.compile(asList("[a-z]{20}", "[a-m]{20}", "[a-z]{10,30}"));
+
+        assertEquals(bits(0, 2), combined.matching("abcdefghijklmnopqrst"));
+        assertEquals(bits(0, 1, 2), combined.matching("abcdefghijklmabcdefg"));
+        assertEquals(bits(2), combined.matching("abcdefghijklmnopqrstuvwxyz"));
+    }
+
+    @Test(timeout = 5000L)
+    public void matches_catastrophicBacktrackingPattern_linearTime() {
+        final LinearPattern linear = LinearPattern.compile("(a+)+b");
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            input.append('a');
+        }
+
+        assertFalse(linear.matches(input));
+        assertTrue(linear.matches(input.append('b')));
+    }
+
+    @Test
+    public void compile_unsupportedConstructs_throwPatternSyntaxException() {
+        for (final String regex : asList("a++", "a*+", "(?=a)a", "(?!a)b", "(?<=a)b", "(?>a)", "(?i)a", "(a)\\1", "\\bword\\b", "[a[b]]")) {
+            try {
+                LinearPattern.compile(regex);
+                fail("expected an exception for /" + regex + "/");
+
+            } catch (PatternSyntaxException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("not supported in linear mode"));
+            }
+        }
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void compile_patternWithFlags_throwPatternSyntaxException() {
+        LinearPattern.compile(Pattern.compile("a", Pattern.CASE_INSENSITIVE));
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void compile_invalidRegex_throwPatternSyntaxException() {
+        LinearPattern.compile("(unclosed");
+    }
+
+    @Test
+    public void matching_combinedPatterns_reportEachMatchingPattern() {
+        final LinearPattern combined = LinearPattern.compile(asList("[a-z]+", "\\d+", "a.*", ".*z"));
+
+        assertEquals(asList("[a-z]+", "\\d+", "a.*", ".*z"), combined.patterns());
+        assertEquals(bits(0, 2, 3), combined.matching("abcz"));
+        assertEquals(bits(1), combined.matching("123"));
+        assertEquals(bits(2), combined.matching("a1"));
+        assertEquals(bits(), combined.matching("B"));
+        assertFalse(combined.matches("abc"));
+    }
+
+    private static BitSet bits(final int... indices) {
+        final BitSet bits = new BitSet();
+        for (final int index : indices) {
+            bits.set(index);
+        }
+        return bits;
+    }
+}
@@ -15,7 +15,13 @@
  */
 package com.github.pjungermann.config.specification.constraint.matches;
 
+import com.github.pjungermann.config.reference.SourceLine;
 import com.github.pjungermann.config.specification.constraint.AbstractConstraintFactoryTest;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
 
 /**
  * Tests for {@link MatchesConstraintFactory}.
@@ -28,4 +34,18 @@ public class MatchesConstraintFactoryTest extends AbstractConstraintFactoryTest<
     protected MatchesConstraintFactory createFactory() {
         return new MatchesConstraintFactory();
     }
+
+    @Test
+    public void create_linearDefaultMode_createLinearConstraints() {
+        final MatchesConstraintFactory factory = createFactory();
+        final SourceLine sourceLine = new SourceLine(new File("fake"), 1);
+
+        assertEquals(RegexMode.BACKTRACKING, factory.getDefaultMode());
+        assertFalse(((MatchesConstraint) factory.create("key", "[a-z]+", sourceLine)).isLinear());
+
+        factory.setDefaultMode(RegexMode.LINEAR);
+
+        assertEquals(RegexMode.LINEAR, factory.getDefaultMode());
+        assertTrue(((MatchesConstraint) factory.create("key", "[a-z]+", sourceLine)).isLinear());
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.specification.constraint.matches;
+
+import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.ConfigError;
+import com.github.pjungermann.config.reference.SourceLine;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link MatchesConstraintGroup}.
+ *
+ * @author Patrick Jungermann
+ */
+public class MatchesConstraintGroupTest {
+
+    static final SourceLine SOURCE_LINE = new SourceLine(new File("fake"), 1);
+
+    static MatchesConstraint linear(final String regex) {
+        return new MatchesConstraint("key", regex, SOURCE_LINE, RegexMode.LINEAR);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_backtrackingConstraint_throwIllegalArgumentException() {
+        new MatchesConstraintGroup(asList(linear("a"), new MatchesConstraint("key", "a", SOURCE_LINE)));
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void constructor_combinedPatternTooLarge_throwPatternSyntaxException() {
+        new MatchesConstraintGroup(asList(linear("[a-z]{12000}"), linear("[a-y]{12000}")));
+    }
+
+    @Test
+    public void validateValue_largePatterns_sameResultsAsSingleConstraints() {
+        final List<MatchesConstraint> constraints = asList(linear("[a-z]{20}"), linear("[a-m]{20}"), linear("\\w{5,40}"));
+        final MatchesConstraintGroup group = new MatchesConstraintGroup(constraints);
+        final Config config = new Config();
+        final ConfigError[] results = new ConfigError[group.size()];
+
+        for (final Object value : asList("abcdefghijklmnopqrst", "abcdefghijklmabcdefg", "abc", "abcdefghijklmnopqrstuvwxyz")) {
+            config.put("key", value);
+            group.validateValue(config, value, results);
+
+            for (int i = 0; i < constraints.size(); i++) {
+                assertEquals(String.valueOf(constraints.get(i).validate(config)), String.valueOf(results[i]));
+            }
+        }
+    }
+
+    @Test
+    public void validateValue_stringValue_sameResultsAsSingleConstraints() {
+        final MatchesConstraint lowerCase = linear("[a-z]+");
+        final MatchesConstraint startsWithV = linear("v.*");
+        final MatchesConstraint digits = linear("\\d+");
+        final MatchesConstraintGroup group = new MatchesConstraintGroup(asList(lowerCase, startsWithV, digits));
+        final Config config = new Config();
+        final ConfigError[] results = new ConfigError[group.size()];
+
+        assertEquals(3, group.size());
+
+        for (final Object value : asList("value", "version1", "42", "X", null, "  ", 42)) {
+            config.put("key", value);
+            group.validateValue(config, value, results);
+
+            assertEquals(String.valueOf(lowerCase.validate(config)), String.valueOf(results[0]));
+            assertEquals(String.valueOf(startsWithV.validate(config)), String.valueOf(results[1]));
+            assertEquals(String.valueOf(digits.validate(config)), String.valueOf(results[2]));
+        }
+    }
+}
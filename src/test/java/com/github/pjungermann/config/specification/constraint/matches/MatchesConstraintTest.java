@@ -15,12 +15,21 @@
  */
 package com.github.pjungermann.config.specification.constraint.matches;
 
+import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.reference.SourceLine;
 import com.github.pjungermann.config.specification.constraint.Constraint;
 import com.github.pjungermann.config.specification.constraint.GenericConstraintTest;
+import org.junit.Test;
 
+import java.io.File;
 import java.nio.CharBuffer;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Pattern;
 
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.*;
+
 /**
  * Tests for {@link MatchesConstraint}.
  *
@@ -89,7 +98,12 @@ public class MatchesConstraintTest extends GenericConstraintTest<MatchesConstrai
                 42,
                 21L,
                 12.34D,
-                new Object()
+                new Object(),
+                "[unclosed",
+                config("abc", "unknown"),
+                config(42, "linear"),
+                config("(?=a)a", "linear"),
+                singletonMap("regex", "abc")
         };
     }
 
@@ -113,5 +127,44 @@ public class MatchesConstraintTest extends GenericConstraintTest<MatchesConstrai
                 .valid("\t123.d", " 456.f", "     762.g")
                 .invalid("123.d", "invalid")
                 .buildAndAdd();
+
+        with(config("[abc]+", "linear"))
+                .valid("a", "b", "c", "ab", "ac", "bc", "ca", "cb", "ba", "abc", "bca", "cab")
+                .invalid("foo", "bar")
+                .buildAndAdd();
+
+        with(config(Pattern.compile("(a+)+b"), "LINEAR"))
+                .valid("ab", "aaaab")
+                .invalid("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa")
+                .buildAndAdd();
+
+        with(config("(?=a)\\w+", "backtracking"))
+                .valid("abc")
+                .invalid("bca")
+                .buildAndAdd();
+    }
+
+    @Test
+    public void constructor_linearDefaultMode_useLinearPatternIfSupported() {
+        assertTrue(new MatchesConstraint("key", "[abc]+", new SourceLine(new File("fake"), 1), RegexMode.LINEAR).isLinear());
+        assertFalse(new MatchesConstraint("key", "[abc]+", new SourceLine(new File("fake"), 1)).isLinear());
+        assertFalse(new MatchesConstraint("key", config("[abc]+", "backtracking"), new SourceLine(new File("fake"), 1), RegexMode.LINEAR).isLinear());
+    }
+
+    @Test
+    public void constructor_linearDefaultModeWithUnsupportedPattern_fallBackToBacktracking() {
+        final MatchesConstraint constraint = new MatchesConstraint("key", "(?=a)\\w+", new SourceLine(new File("fake"), 1), RegexMode.LINEAR);
+        final Config config = new Config();
+        config.put("key", "bca");
+
+        assertFalse(constraint.isLinear());
+        assertNotNull(constraint.validate(config));
+    }
+
+    private static Map<String, Object> config(final Object pattern, final Object mode) {
+        final Map<String, Object> config = new HashMap<>();
+        config.put(MatchesConstraint.PATTERN_KEY, pattern);
+        config.put(MatchesConstraint.MODE_KEY, mode);
+        return config;
     }
 }
@@ -22,6 +22,7 @@ import org.junit.runners.Parameterized;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 /**
  * Tests for {@link CollectionKeyBuilder}.
@@ -95,4 +96,9 @@ public class CollectionKeyBuilderTest {
         assertEquals(entrySelection, struct.entrySelection);
         assertEquals(propertyKey, struct.propertyKey);
     }
+
+    @Test
+    public void build_plainKey_returnNull() {
+        assertNull(CollectionKeyBuilder.build(collectionKey));
+    }
 }
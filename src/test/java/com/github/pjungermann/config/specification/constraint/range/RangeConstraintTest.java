@@ -109,6 +109,24 @@ public class RangeConstraintTest extends GenericConstraintTest<RangeConstraint>
                 .invalid("invalid")
                 .buildAndAdd();
 
+        with(new IntRange(10, 1))
+                .valid(1, 5, 10)
+                .invalid(0, 11, Integer.MIN_VALUE, Integer.MAX_VALUE)
+                .invalid(5L)
+                .buildAndAdd();
+
+        with(new ObjectRange(1L, 1_000_000_000_000L))
+                .valid(1L, 8080L, 1_000_000_000_000L)
+                .invalid(0L, -1L, 1_000_000_000_001L, Long.MIN_VALUE, Long.MAX_VALUE)
+                .invalid(8080)
+                .buildAndAdd();
+
+        // ranges with fractional bounds step by 1
+        with(new ObjectRange(0.5D, 2.5D))
+                .valid(0.5D, 1.5D, 2.5D)
+                .invalid(1.0D, 2.0D, 3.5D)
+                .buildAndAdd();
+
         with(new ObjectRange("a", "z"))
                 .valid("a", "b", "c", "m", "n", "x", "y", "z")
                 .invalid("aa", "abc", "za")
@@ -18,7 +18,13 @@ package com.github.pjungermann.config.specification.constraint.scale;
 import com.github.pjungermann.config.specification.constraint.Constraint;
 import com.github.pjungermann.config.specification.constraint.GenericConstraintTest;
 
+import org.junit.Test;
+
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  * Tests for {@link ScaleConstraint}.
@@ -109,5 +115,33 @@ public class ScaleConstraintTest extends GenericConstraintTest<ScaleConstraint>
                 .valid(10, 1000, 10000)
                 .invalid(5.6789D)
                 .buildAndAdd();
+
+        with(2)
+                .valid(new BigInteger("123456789012345678901234567890"), 2.5E-1D, 1.5E10D, 0.0D, -0.0D)
+                .valid(1234567.5F, 0.01F, Long.MAX_VALUE, (short) 12, (byte) 3)
+                .invalid(1.25E-5D, 0.001F, 123.456D, new BigDecimal("1.500"))
+                .buildAndAdd();
+    }
+
+    @Test
+    public void scaleOf_doubleAndFloatRepresentations_sameAsBigDecimal() {
+        final Random random = new Random(42L);
+        for (int i = 0; i < 100_000; i++) {
+            final double value = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                continue;
+            }
+
+            for (final String decimal : new String[]{Double.toString(value), Float.toString((float) value)}) {
+                if (decimal.contains("Infinity")) {
+                    continue;
+                }
+                assertEquals(decimal, new BigDecimal(decimal).stripTrailingZeros().scale(), ScaleConstraint.scaleOf(decimal));
+            }
+        }
+
+        for (final String decimal : new String[]{"0.0", "-0.0", "100.0", "12.50", "1.0E10", "1.2345E-7", "-8.0E-3"}) {
+            assertEquals(decimal, new BigDecimal(decimal).stripTrailingZeros().scale(), ScaleConstraint.scaleOf(decimal));
+        }
     }
 }
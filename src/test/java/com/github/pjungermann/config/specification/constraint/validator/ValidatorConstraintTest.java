@@ -20,8 +20,16 @@ import com.github.pjungermann.config.specification.constraint.Constraint;
 import com.github.pjungermann.config.specification.constraint.GenericConstraintTest;
 import groovy.lang.Closure;
 import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * Tests for {@link ValidatorConstraint}.
@@ -87,7 +95,11 @@ public class ValidatorConstraintTest extends GenericConstraintTest<ValidatorCons
                 1234,
                 Collections.emptySet(),
                 Collections.emptyList(),
-                Collections.emptyMap()
+                Collections.emptyMap(),
+                Collections.singletonMap(ValidatorConstraint.DEPENDS_ON, "another"),
+                settings(1234, closure()),
+                settings(Collections.singletonList(1234), closure()),
+                settings("another", "no closure")
         };
     }
 
@@ -99,12 +111,16 @@ public class ValidatorConstraintTest extends GenericConstraintTest<ValidatorCons
         return config;
     }
 
-    /**
-     * Sets up the test data
-     */
-    @Override
-    protected void testDataSetUp() {
-        Closure closure = new Closure(this) {
+    static Map<String, Object> settings(Object dependsOn, Object closure) {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put(ValidatorConstraint.DEPENDS_ON, dependsOn);
+        settings.put(ValidatorConstraint.CLOSURE, closure);
+
+        return settings;
+    }
+
+    Closure closure() {
+        return new Closure(this) {
             @Override
             public Object call(Object... args) {
                 if (args.length == 3 && args[0] instanceof Config && args[1] instanceof String) {
@@ -119,10 +135,47 @@ public class ValidatorConstraintTest extends GenericConstraintTest<ValidatorCons
                 return config.get("another").equals(value);
             }
         };
+    }
+
+    /**
+     * Sets up the test data
+     */
+    @Override
+    protected void testDataSetUp() {
+        with(closure())
+                .valid("foo")
+                .invalid("bar")
+                .buildAndAdd();
+
+        with(settings(Collections.singletonList("another"), closure()))
+                .valid("foo")
+                .invalid("bar")
+                .buildAndAdd();
 
-        with(closure)
+        with(settings("another", closure()))
                 .valid("foo")
                 .invalid("bar")
                 .buildAndAdd();
     }
+
+    @Test
+    public void getDependencyKeys_closureOnly_anyKey() {
+        assertNull(createConstraintInstance(closure()).getDependencyKeys());
+    }
+
+    @Test
+    public void getDependencyKeys_declared_declaredKeys() {
+        assertEquals(
+                new HashSet<>(Arrays.asList("a", "b")),
+                createConstraintInstance(settings(Arrays.asList("b", "a"), closure())).getDependencyKeys()
+        );
+        assertEquals(
+                Collections.singleton("a"),
+                createConstraintInstance(settings("a", closure())).getDependencyKeys()
+        );
+        assertEquals(
+                Collections.emptySet(),
+                createConstraintInstance(settings(Collections.emptyList(), closure())).getDependencyKeys()
+        );
+    }
 }
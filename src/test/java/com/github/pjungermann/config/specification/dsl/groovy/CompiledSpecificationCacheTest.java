@@ -0,0 +1,150 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.specification.dsl.groovy;
+
+import groovy.lang.Script;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CompiledSpecificationCache}.
+ *
+ * @author Patrick Jungermann
+ */
+public class CompiledSpecificationCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    CompilerConfiguration configuration;
+    CompiledSpecificationCache cache;
+    File directory;
+    File spec;
+
+    @Before
+    public void setUp() throws IOException {
+        configuration = new CompilerConfiguration();
+        configuration.setScriptBaseClass(SpecificationDSLInterpreter.class.getName());
+
+        directory = new File(temporaryFolder.getRoot(), "cache");
+        cache = new CompiledSpecificationCache();
+        spec = writeSpec("spec.groovy", "\"key\"(nullable: false)\n[1, 2].each { \"key.$it\"(nullable: true) }\n");
+    }
+
+    File writeSpec(final String name, final String content) throws IOException {
+        final File file = new File(temporaryFolder.getRoot(), name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    File[] entries() {
+        final File[] entries = directory.listFiles();
+        return entries == null ? new File[0] : entries;
+    }
+
+    @Test
+    public void load_withoutDirectory_compileWithoutCaching() throws IOException {
+        final Class<? extends Script> scriptClass = cache.load(spec, configuration);
+
+        assertNull(cache.getDirectory());
+        assertTrue(SpecificationDSLInterpreter.class.isAssignableFrom(scriptClass));
+        assertFalse(directory.exists());
+    }
+
+    @Test
+    public void load_withDirectory_writeEntryAndReuseIt() throws IOException {
+        cache.setDirectory(directory);
+
+        final Class<? extends Script> compiled = cache.load(spec, configuration);
+
+        assertEquals(1, entries().length);
+        final File entry = entries()[0];
+        assertTrue(entry.getName().endsWith(CompiledSpecificationCache.ENTRY_SUFFIX));
+        assertTrue(entry.setLastModified(1000L));
+
+        final Class<? extends Script> cached = cache.load(spec, configuration);
+
+        assertEquals(compiled.getName(), cached.getName());
+        assertTrue(SpecificationDSLInterpreter.class.isAssignableFrom(cached));
+        assertEquals(1, entries().length);
+        assertEquals(1000L, entry.lastModified());
+    }
+
+    @Test
+    public void load_changedContent_newEntry() throws IOException {
+        cache.setDirectory(directory);
+        cache.load(spec, configuration);
+
+        writeSpec(spec.getName(), "\"other\"(nullable: false)\n");
+        cache.load(spec, configuration);
+
+        assertEquals(2, entries().length);
+    }
+
+    @Test
+    public void load_unreadableEntry_replaceEntry() throws IOException {
+        cache.setDirectory(directory);
+        cache.load(spec, configuration);
+        final File entry = entries()[0];
+        Files.write(entry.toPath(), "corrupted".getBytes(StandardCharsets.UTF_8));
+
+        final Class<? extends Script> scriptClass = cache.load(spec, configuration);
+
+        assertTrue(SpecificationDSLInterpreter.class.isAssignableFrom(scriptClass));
+        assertEquals(1, entries().length);
+        assertEquals(scriptClass.getName(), CompiledSpecificationCache.read(entry).mainClass);
+    }
+
+    @Test
+    public void key_sameContentDifferentFileName_differentKeys() {
+        final byte[] content = "\"key\"(nullable: false)".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(
+                CompiledSpecificationCache.key(new File("a/spec.groovy"), content, configuration),
+                CompiledSpecificationCache.key(new File("b/spec.groovy"), content, configuration)
+        );
+        assertNotEquals(
+                CompiledSpecificationCache.key(new File("spec.groovy"), content, configuration),
+                CompiledSpecificationCache.key(new File("other.groovy"), content, configuration)
+        );
+    }
+
+    @Test
+    public void key_differentCompilerConfiguration_differentKeys() {
+        final byte[] content = "\"key\"(nullable: false)".getBytes(StandardCharsets.UTF_8);
+        final CompilerConfiguration customized = GroovyDSLSpecificationReader.createCompilerConfiguration();
+
+        assertEquals(
+                CompiledSpecificationCache.key(spec, content, customized),
+                CompiledSpecificationCache.key(spec, content, GroovyDSLSpecificationReader.createCompilerConfiguration())
+        );
+        // same script base class, but without the customizers
+        assertNotEquals(
+                CompiledSpecificationCache.key(spec, content, customized),
+                CompiledSpecificationCache.key(spec, content, configuration)
+        );
+    }
+}
@@ -31,12 +31,15 @@ import com.github.pjungermann.config.specification.constraint.range.RangeConstra
 import com.github.pjungermann.config.specification.constraint.size.SizeConstraint;
 import com.github.pjungermann.config.specification.constraint.size.SizeConstraintFactory;
 import com.github.pjungermann.config.specification.reader.SpecificationPartial;
+import com.github.pjungermann.config.specification.reader.SpecificationReader;
 import com.github.pjungermann.config.specification.types.AsTypeConverter;
 import com.github.pjungermann.config.specification.types.TypeConversionConfigError;
 import groovy.lang.IntRange;
 import groovy.lang.ObjectRange;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
@@ -45,6 +48,7 @@ import org.springframework.context.support.StaticApplicationContext;
 import java.io.File;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
 
@@ -60,6 +64,9 @@ public class GroovyDSLSpecificationReaderTest {
 
     private static final File TEST_SPEC = new File("src/test/resources/specs/config_spec.groovy");
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     StaticApplicationContext applicationContext;
     GroovyDSLSpecificationReader reader;
 
@@ -139,4 +146,60 @@ public class GroovyDSLSpecificationReaderTest {
                                 && ((NoSuchConstraintError) error).name.equals("doesNotExist")
         ));
     }
+
+    @Test
+    public void apply_withCache_sameDefinitionsFromCompiledAndCachedSpecification() throws Exception {
+        CompiledSpecificationCache cache = new CompiledSpecificationCache();
+        cache.setDirectory(temporaryFolder.newFolder("cache"));
+        GroovyDSLSpecificationReader cachingReader = new GroovyDSLSpecificationReader(applicationContext, cache);
+
+        List<String> expected = reader.apply(TEST_SPEC).constraints.stream()
+                .map(Constraint::toString)
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < 2; i++) {
+            SpecificationPartial partial = cachingReader.apply(TEST_SPEC);
+
+            assertEquals(expected, partial.constraints.stream()
+                    .map(Constraint::toString)
+                    .collect(Collectors.toList()));
+            assertEquals(2, partial.errors.size());
+        }
+        assertEquals(1, cache.getDirectory().listFiles().length);
+    }
+
+    @Test
+    public void openSession_sharedClassLoader_readFilesInParallelWithSharedParentClassLoader() {
+        GroovyDSLSpecificationReader.SharedClassLoaderSession session =
+                (GroovyDSLSpecificationReader.SharedClassLoaderSession) reader.openSession();
+
+        List<SpecificationPartial> partials = IntStream.range(0, 8)
+                .parallel()
+                .mapToObj(i -> session.apply(TEST_SPEC))
+                .collect(Collectors.toList());
+
+        for (SpecificationPartial partial : partials) {
+            assertEquals(6, partial.constraints.size());
+            assertEquals(2, partial.errors.size());
+        }
+        assertEquals(8, session.loadedClasses.size());
+        for (Class<?> loadedClass : session.loadedClasses) {
+            assertSame(session.classLoader, loadedClass.getClassLoader().getParent());
+        }
+
+        session.close();
+
+        assertTrue(session.loadedClasses.isEmpty());
+    }
+
+    @Test
+    public void openSession_sharedClassLoaderDisabled_readEachFileOnItsOwn() {
+        assertTrue(reader.isSharedClassLoader());
+        reader.setSharedClassLoader(false);
+
+        try (SpecificationReader.Session session = reader.openSession()) {
+            assertFalse(session instanceof GroovyDSLSpecificationReader.SharedClassLoaderSession);
+            assertEquals(6, session.apply(TEST_SPEC).constraints.size());
+        }
+    }
 }
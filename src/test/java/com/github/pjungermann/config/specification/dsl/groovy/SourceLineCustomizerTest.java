@@ -0,0 +1,151 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.specification.dsl.groovy;
+
+import com.github.pjungermann.config.specification.constraint.Constraint;
+import com.github.pjungermann.config.specification.constraint.ConstraintRegistry;
+import com.github.pjungermann.config.specification.constraint.nullable.NullableConstraintFactory;
+import com.github.pjungermann.config.specification.types.AsTypeConverter;
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link SourceLineCustomizer}.
+ *
+ * @author Patrick Jungermann
+ */
+public class SourceLineCustomizerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    StaticApplicationContext applicationContext;
+
+    @Before
+    public void setUp() {
+        applicationContext = new StaticApplicationContext();
+        applicationContext.registerSingleton(NullableConstraintFactory.class.getName(), NullableConstraintFactory.class);
+        applicationContext.registerSingleton("typeConverter", AsTypeConverter.class);
+        applicationContext.registerBeanDefinition("constraintRegistry", BeanDefinitionBuilder
+                .rootBeanDefinition(ConstraintRegistry.class)
+                .setAutowireMode(AutowireCapableBeanFactory.AUTOWIRE_CONSTRUCTOR)
+                .getBeanDefinition());
+        applicationContext.refresh();
+
+        StackWalkCountingInterpreter.stackWalks = 0;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void call_definitions_sourceLinesCapturedAtCompileTime() throws Exception {
+        File spec = temporaryFolder.newFile("spec.groovy");
+        Files.write(spec.toPath(), (
+                "\"a\"(nullable: true)\n" +
+                "\"b\" nullable: true\n" +
+                "[1, 2].each {\n" +
+                "    \"c.$it\"(nullable: true)\n" +
+                "}\n" +
+                "\"d\"(\n" +
+                "    nullable: true\n" +
+                ")\n" +
+                "def definition = [nullable: true]\n" +
+                "\"e\"(definition)\n"
+        ).getBytes(StandardCharsets.UTF_8));
+
+        CompilerConfiguration compilerConfiguration = GroovyDSLSpecificationReader.createCompilerConfiguration();
+        compilerConfiguration.setScriptBaseClass(StackWalkCountingInterpreter.class.getName());
+        Binding binding = new Binding();
+        binding.setProperty("context", applicationContext);
+        binding.setProperty("specification.source", spec);
+
+        new GroovyShell(getClass().getClassLoader(), binding, compilerConfiguration).parse(spec).run();
+
+        Map<String, Integer> lines = new TreeMap<>();
+        for (Constraint constraint : (Collection<Constraint>) binding.getProperty("constraints")) {
+            lines.put(constraint.getKey(), constraint.definedAt().line);
+        }
+
+        Map<String, Integer> expected = new TreeMap<>();
+        expected.put("a", 1);
+        expected.put("b", 2);
+        expected.put("c.1", 4);
+        expected.put("c.2", 4);
+        expected.put("d", 6);
+        expected.put("e", 10);
+        assertEquals(expected, lines);
+        // only the definition with a map variable needs the stack trace
+        assertEquals(1, StackWalkCountingInterpreter.stackWalks);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void call_definitionWithoutMapLiteralAfterHelperCall_currentSourceLine() throws Exception {
+        File spec = temporaryFolder.newFile("spec.groovy");
+        Files.write(spec.toPath(), (
+                "def helper(Map settings) { settings }\n" +
+                "def definition = helper(nullable: true)\n" +
+                "\n" +
+                "\"a\"(definition)\n" +
+                "\"b\"(nullable: true)\n"
+        ).getBytes(StandardCharsets.UTF_8));
+
+        CompilerConfiguration compilerConfiguration = GroovyDSLSpecificationReader.createCompilerConfiguration();
+        compilerConfiguration.setScriptBaseClass(StackWalkCountingInterpreter.class.getName());
+        Binding binding = new Binding();
+        binding.setProperty("context", applicationContext);
+        binding.setProperty("specification.source", spec);
+
+        new GroovyShell(getClass().getClassLoader(), binding, compilerConfiguration).parse(spec).run();
+
+        Map<String, Integer> lines = new TreeMap<>();
+        for (Constraint constraint : (Collection<Constraint>) binding.getProperty("constraints")) {
+            lines.put(constraint.getKey(), constraint.definedAt().line);
+        }
+
+        Map<String, Integer> expected = new TreeMap<>();
+        expected.put("a", 4);
+        expected.put("b", 5);
+        assertEquals(expected, lines);
+    }
+
+    public static abstract class StackWalkCountingInterpreter extends SpecificationDSLInterpreter {
+
+        static int stackWalks;
+
+        @Override
+        protected int getCurrentLine() {
+            stackWalks++;
+            return super.getCurrentLine();
+        }
+    }
+}
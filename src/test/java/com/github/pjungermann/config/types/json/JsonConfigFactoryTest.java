@@ -73,4 +73,12 @@ public class JsonConfigFactoryTest extends BaseConfigFactoryTest<JsonConfigFacto
         assertEquals(config, configFromSingleQuotes);
     }
 
+    @Test
+    public void create_always_sameConfigAsFromTree() throws IOException, ConfigConversionException {
+        Config config = factory.create(sourceFile, null, new Config());
+        Config configFromTree = factory.getConverter().from(factory.doCreate(sourceFile, null, new Config()));
+
+        assertEquals(configFromTree, config);
+    }
+
 }
@@ -15,6 +15,9 @@
  */
 package com.github.pjungermann.config.types.json;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.*;
 import com.github.pjungermann.config.Config;
 import com.github.pjungermann.config.DefaultKeyBuilder;
@@ -22,8 +25,14 @@ import com.github.pjungermann.config.types.ConfigConversionException;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 
@@ -78,6 +87,48 @@ public class JsonConverterTest {
         assertEquals(3, list.get(2));
     }
 
+    Config read(String json) throws IOException {
+        try (JsonParser parser = JsonConverter.MAPPER.getFactory().createParser(json)) {
+            return converter.read(parser);
+        }
+    }
+
+    @Test
+    public void read_json_sameConfigAsFromTree() throws IOException {
+        String json = "{" +
+                "'string': 'value \\u00e4 \\\"quoted\\\"'," +
+                "'int': 1, 'long': 12345678901, 'bigInteger': 123456789012345678901234567890," +
+                "'double': 1.5, 'exponent': -2e-3, 'null': null, 'true': true, 'false': false," +
+                "'empty': {}, 'emptyList': []," +
+                "'level_1': {'level_2': {'an': 'entry', 'list': [1, [2, 3], {'in': {'list': true}}, null]}}," +
+                "'list': [{'a': 1}, {'b': {'c': 'd'}}]" +
+                "}";
+
+        Config expected = converter.from((ObjectNode) JsonConverter.MAPPER.readTree(json));
+        Config config = read(json);
+
+        assertEquals(expected, config);
+        assertEquals(13, config.size());
+        assertEquals(expected.keySet(), config.keySet());
+        for (String key : expected.keySet()) {
+            assertEquals(key, String.valueOf(expected.get(key)), String.valueOf(config.get(key)));
+            if (expected.get(key) != null) {
+                assertEquals(key, expected.get(key).getClass(), config.get(key).getClass());
+            }
+        }
+        assertEquals(true, ((Config) ((List) config.get("level_1.level_2.list")).get(2)).get("in.list"));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void read_noJsonObject_exception() throws IOException {
+        read("[1, 2]");
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void read_incompleteJson_exception() throws IOException {
+        read("{\"list\": [1, 2");
+    }
+
     @Test
     @SuppressWarnings({"unchecked", "RedundantCast"})
     public void to_flatConfig_hierarchicalJsonObject() throws ConfigConversionException {
@@ -106,4 +157,90 @@ public class JsonConverterTest {
         assertEquals(3, ((IntNode) list.get(2)).intValue());
     }
 
+    @Test
+    public void to_variousValues_sameAsSerializationRoundTrip() throws Exception {
+        Config entry = new Config();
+        entry.put("nested.key", 1);
+
+        Config config = new Config();
+        config.put("null", null);
+        config.put("int", 1);
+        config.put("long.small", 2L);
+        config.put("long.large", Long.MAX_VALUE);
+        config.put("big.integer", new BigInteger("123456789012345678901234567890"));
+        config.put("big.decimal", new BigDecimal("1.50"));
+        config.put("float", 1.1f);
+        config.put("double", 2.2d);
+        config.put("nan", Double.NaN);
+        config.put("bytes", new byte[]{1, 2, 3});
+        config.put("character", 'c');
+        config.put("list", Arrays.asList(1, "two", null, entry, Arrays.asList(3L, 4.5f)));
+        config.put("a.b.c", "abc");
+        config.put("a.b.d", false);
+
+        assertEquals(roundTrip(config), converter.to(config));
+    }
+
+    @Test(expected = ConfigConversionException.class)
+    public void to_keyUsedAsValueAndParent_exception() throws ConfigConversionException {
+        Config config = new Config();
+        config.put("a.b", 1);
+        config.put("a.b.c", 2);
+
+        converter.to(config);
+    }
+
+    @Test
+    public void write_config_sameJsonAsTo() throws Exception {
+        Config config = new Config();
+        config.put("string", "value");
+        config.put("number", 123L);
+        config.put("a.b.c", "abc");
+        config.put("a.b.d", 1.1f);
+        config.put("a.e", true);
+        config.put("a_b", "not nested");
+        config.put("z.y", null);
+        config.put("list", Arrays.asList(1, "two", new Config()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.write(config, out);
+
+        assertEquals(converter.to(config), JsonConverter.MAPPER.readTree(out.toByteArray()));
+    }
+
+    @Test
+    public void write_emptyConfig_emptyObject() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.write(new Config(), out);
+
+        assertEquals("{}", out.toString("UTF-8"));
+    }
+
+    @Test(expected = ConfigConversionException.class)
+    public void write_keyUsedAsValueAndParent_exception() throws Exception {
+        Config config = new Config();
+        config.put("a.b", 1);
+        config.put("a.b.c", 2);
+
+        converter.write(config, new ByteArrayOutputStream());
+    }
+
+    /**
+     * The former implementation of {@link JsonConverter#to(Config)}.
+     */
+    @SuppressWarnings("unchecked")
+    private static JsonNode roundTrip(Config config) throws IOException {
+        Map<String, Object> map = new HashMap<>();
+        for (Map.Entry<String, Object> entry : config.entrySet()) {
+            Map<String, Object> parent = map;
+            String[] segments = entry.getKey().split("\\.");
+            for (int i = 0; i < segments.length - 1; i++) {
+                parent = (Map<String, Object>) parent.computeIfAbsent(segments[i], key -> new HashMap<>());
+            }
+            parent.put(segments[segments.length - 1], entry.getValue());
+        }
+
+        return JsonConverter.MAPPER.readTree(JsonConverter.MAPPER.writeValueAsString(map));
+    }
+
 }
@@ -18,13 +18,22 @@ package com.github.pjungermann.config.types.yaml;
 import com.github.pjungermann.config.Config;
 import com.github.pjungermann.config.DefaultKeyBuilder;
 import com.github.pjungermann.config.types.BaseConfigFactoryTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Tests for {@link YamlConfigFactory}.
@@ -33,6 +42,9 @@ import java.util.Date;
  */
 public class YamlConfigFactoryTest extends BaseConfigFactoryTest<YamlConfigFactory> {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Override
     public String[] getSupportedTypes() {
         return new String[]{"yaml", "yml"};
@@ -102,4 +114,26 @@ public class YamlConfigFactoryTest extends BaseConfigFactoryTest<YamlConfigFacto
         assertEquals(2392D, config.get("product.1.price"));
     }
 
+    @Test
+    public void createDocuments_multipleDocuments_oneConfigPerDocumentAndCreateMergesThem() throws Exception {
+        File source = temporaryFolder.newFile("documents.yaml");
+        try (
+                FileOutputStream stream = new FileOutputStream(source);
+                OutputStreamWriter writer = new OutputStreamWriter(stream, UTF_8)
+        ) {
+            writer.write("a: 1\nb: 2\n---\nb: 3\nc: 4\n");
+        }
+
+        List<Config> documents = factory.createDocuments(source, null, new Config());
+        Config config = factory.create(source, null, new Config());
+
+        assertEquals(2, documents.size());
+        assertEquals(2, documents.get(0).size());
+        assertEquals(2, documents.get(1).size());
+        assertEquals(3, config.size());
+        assertEquals(1, config.get("a"));
+        assertEquals(3, config.get("b"));
+        assertEquals(4, config.get("c"));
+    }
+
 }
@@ -18,14 +18,17 @@ package com.github.pjungermann.config.types.yaml;
 import com.github.pjungermann.config.CollectedAssertions;
 import com.github.pjungermann.config.Config;
 import com.github.pjungermann.config.DefaultKeyBuilder;
+import com.github.pjungermann.config.types.ConfigConversionException;
 import org.junit.Before;
 import org.junit.Test;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
@@ -33,6 +36,7 @@ import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.LinkedHashMap;
+import java.util.List;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -137,4 +141,99 @@ public class YamlConverterTest extends CollectedAssertions {
         });
     }
 
+    @Test
+    public void readAll_singleDocument_sameConfigAsFrom() throws Exception {
+        try (
+                FileInputStream stream = new FileInputStream(configSource);
+                InputStreamReader reader = new InputStreamReader(stream, UTF_8)
+        ) {
+            List<Config> documents = converter.readAll(reader);
+
+            assertEquals(1, documents.size());
+            validateConfig(documents.get(0));
+        }
+    }
+
+    @Test
+    public void readAll_multipleDocuments_oneConfigPerDocument() throws Exception {
+        List<Config> documents = converter.readAll(new StringReader(
+                "a: 1\n" +
+                        "---\n" +
+                        "b:\n" +
+                        "  c: [true, 2.5, ~]\n" +
+                        "  d: {e: text}\n" +
+                        "---\n" +
+                        "---\n" +
+                        "f: 'g'\n"));
+
+        assertEquals(4, documents.size());
+
+        assertEquals(1, documents.get(0).size());
+        assertEquals(1, documents.get(0).get("a"));
+
+        assertEquals(4, documents.get(1).size());
+        assertEquals(true, documents.get(1).get("b.c.0"));
+        assertEquals(2.5D, documents.get(1).get("b.c.1"));
+        assertTrue(documents.get(1).containsKey("b.c.2"));
+        assertEquals(null, documents.get(1).get("b.c.2"));
+        assertEquals("text", documents.get(1).get("b.d.e"));
+
+        assertTrue(documents.get(2).isEmpty());
+
+        assertEquals(1, documents.get(3).size());
+        assertEquals("g", documents.get(3).get("f"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void readAll_anchorsAliasesAndMergeKeys_sameConfigAsFrom() throws Exception {
+        String yaml = "defaults: &defaults\n" +
+                "  host: localhost\n" +
+                "  port: 80\n" +
+                "  tags: &tags [a, b]\n" +
+                "name: &name service\n" +
+                "explicit_first:\n" +
+                "  port: 8080\n" +
+                "  <<: *defaults\n" +
+                "explicit_last:\n" +
+                "  <<: [{port: 1, extra: x}, *defaults]\n" +
+                "  host: remote\n" +
+                "alias: *name\n" +
+                "list_alias: *tags\n" +
+                "nested:\n" +
+                "  - <<: *defaults\n" +
+                "    tags: [c]\n";
+
+        List<Config> documents = converter.readAll(new StringReader(yaml));
+        Config expected = converter.from((LinkedHashMap<String, Object>) new Yaml().load(yaml));
+
+        assertEquals(1, documents.size());
+        assertEquals(expected, documents.get(0));
+        assertEquals(8080, documents.get(0).get("explicit_first.port"));
+        assertEquals(1, documents.get(0).get("explicit_last.port"));
+        assertEquals("remote", documents.get(0).get("explicit_last.host"));
+        assertEquals("c", documents.get(0).get("nested.0.tags.0"));
+        assertFalse(documents.get(0).containsKey("nested.0.tags.1"));
+    }
+
+    @Test
+    public void readAll_emptyStream_noDocuments() throws Exception {
+        assertTrue(converter.readAll(new StringReader("")).isEmpty());
+    }
+
+    @Test(expected = ConfigConversionException.class)
+    public void readAll_noMapping_exception() throws Exception {
+        converter.readAll(new StringReader("- a\n- b\n"));
+    }
+
+    @Test(expected = ConfigConversionException.class)
+    public void readAll_undefinedAlias_exception() throws Exception {
+        converter.readAll(new StringReader("a: &a 1\n---\nb: *a\n"));
+    }
+
+    @Test(expected = YAMLException.class)
+    public void readAll_javaClassTag_noInstance() throws Exception {
+        converter.readAll(new StringReader("a: !!java.lang.StringBuilder \"value\"\n"));
+    }
+
 }
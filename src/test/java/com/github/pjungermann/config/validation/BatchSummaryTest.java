@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BatchSummary}.
+ *
+ * @author Patrick Jungermann
+ */
+public class BatchSummaryTest {
+
+    static BatchSummary summary() {
+        return new BatchSummary(asList(
+                new ConfigSetResult(new ConfigSet("a", "a.json"), true, 0, 3),
+                new ConfigSetResult(new ConfigSet("b", "b1.json", "b2.json"), false, 2, 4),
+                new ConfigSetResult(new ConfigSet("c", "c.json"), false, 5, 5)
+        ), 10);
+    }
+
+    @Test
+    public void aggregates_always_sumOfAllSets() {
+        BatchSummary summary = summary();
+
+        assertFalse(summary.isValid());
+        assertEquals(2, summary.getInvalidSets());
+        assertEquals(7, summary.getErrors());
+        assertTrue(new BatchSummary(asList(summary.results.get(0)), 1).isValid());
+    }
+
+    @Test
+    public void toText_always_listInvalidSets() {
+        assertEquals(
+                "Validated 3 config sets in 10 ms: 1 valid, 2 invalid, 7 errors\n" +
+                        "- b: 2 errors\n" +
+                        "- c: 5 errors",
+                summary().toText());
+    }
+
+    @Test
+    public void writeJson_always_totalsAndResultPerSet() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        summary().writeJson(out);
+
+        JsonNode json = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals(3, json.get("sets").asInt());
+        assertEquals(1, json.get("valid").asInt());
+        assertEquals(2, json.get("invalid").asInt());
+        assertEquals(7, json.get("errors").asInt());
+        assertEquals(10, json.get("millis").asInt());
+        assertEquals(3, json.get("results").size());
+
+        JsonNode b = json.get("results").get(1);
+        assertEquals("b", b.get("name").asText());
+        assertEquals("b2.json", b.get("sources").get(1).asText());
+        assertFalse(b.get("valid").asBoolean());
+        assertEquals(2, b.get("errors").asInt());
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import com.github.pjungermann.config.Config;
+import org.junit.Test;
+
+import java.util.HashSet;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ConfigDiff}.
+ *
+ * @author Patrick Jungermann
+ */
+public class ConfigDiffTest {
+
+    @Test
+    public void changedKeys_always_addedRemovedAndChangedKeys() {
+        Config previous = new Config();
+        previous.put("same", 1);
+        previous.put("sameNull", null);
+        previous.put("changed", 1);
+        previous.put("changedToNull", 1);
+        previous.put("removed", 1);
+        previous.put("removedNull", null);
+        Config current = new Config();
+        current.put("same", 1);
+        current.put("sameNull", null);
+        current.put("changed", 2);
+        current.put("changedToNull", null);
+        current.put("added", 1);
+        current.put("addedNull", null);
+
+        assertEquals(
+                new HashSet<>(asList("changed", "changedToNull", "removed", "removedNull", "added", "addedNull")),
+                ConfigDiff.changedKeys(previous, current)
+        );
+    }
+
+    @Test
+    public void changedKeys_equalCollections_noChanges() {
+        Config previous = new Config();
+        previous.put("list", asList(1, 2));
+        Config current = new Config();
+        current.put("list", asList(1, 2));
+
+        assertTrue(ConfigDiff.changedKeys(previous, current).isEmpty());
+    }
+}
@@ -15,10 +15,13 @@
  */
 package com.github.pjungermann.config.validation;
 
+import com.github.pjungermann.config.ConfigError;
 import com.github.pjungermann.config.DefaultKeyBuilder;
+import com.github.pjungermann.config.errors.DocumentConfigError;
 import com.github.pjungermann.config.loader.DefaultConfigLoader;
 import com.github.pjungermann.config.specification.DefaultConfigSpecificationLoader;
 import com.github.pjungermann.config.specification.constraint.ConstraintRegistry;
+import com.github.pjungermann.config.specification.constraint.ErrorBudget;
 import com.github.pjungermann.config.specification.constraint.matches.MatchesConstraintFactory;
 import com.github.pjungermann.config.specification.constraint.maxSize.MaxSizeConstraintFactory;
 import com.github.pjungermann.config.specification.constraint.nullable.NullableConstraintFactory;
@@ -37,6 +40,7 @@ import com.github.pjungermann.config.types.properties.PropertiesConfigFactory;
 import com.github.pjungermann.config.types.properties.PropertiesConverter;
 import com.github.pjungermann.config.types.yaml.YamlConfigFactory;
 import com.github.pjungermann.config.types.yaml.YamlConverter;
+import com.github.pjungermann.config.validation.report.TextReportWriter;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Rule;
@@ -46,11 +50,16 @@ import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.context.support.StaticApplicationContext;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.*;
@@ -337,4 +346,164 @@ public class ConfigValidatorTest {
             assertFalse(e.getMessage().contains("bill-to.address.city"));
         }
     }
+
+    @Test
+    public void validateDocuments_multiDocumentYaml_errorsPerDocument() throws IOException {
+        File config = temporaryFolder.newFile("documents.yaml");
+        File spec = temporaryFolder.newFile("documents_spec.groovy");
+        try (
+                FileOutputStream configStream = new FileOutputStream(config);
+                OutputStreamWriter configWriter = new OutputStreamWriter(configStream, UTF_8.name());
+                FileOutputStream specStream = new FileOutputStream(spec);
+                OutputStreamWriter specWriter = new OutputStreamWriter(specStream, UTF_8.name())
+        ) {
+            configWriter.write("name: first\n---\nother: 1\n---\nname: third\n");
+            specWriter.write("\"name\"(nullable: false)");
+        }
+
+        try {
+            validator.validateDocuments(
+                    new String[]{config.toString()},
+                    new String[]{spec.toString()},
+                    true,
+                    null,
+                    false
+            );
+            fail("was expected to fail with an exception");
+
+        } catch (ConfigValidationException e) {
+            assertTrue(e.getMessage().startsWith(
+                    "Validation errors:\n- validation errors for document 2 of " + config.getPath() + ":\n  - "));
+            assertTrue(e.getMessage().contains("name"));
+            assertFalse(e.getMessage().contains("document 1"));
+            assertFalse(e.getMessage().contains("document 3"));
+        }
+    }
+
+    @Test
+    public void validate_textReport_sameErrorsAsException() throws IOException {
+        String[] configs = {CONFIG_ROOT.toString()};
+        String[] specs = {SPECIFICATION_ROOT.toString()};
+        String expected = null;
+        try {
+            validator.validate(configs, specs, true, null, true);
+            fail("was expected to fail with an exception");
+
+        } catch (ConfigValidationException e) {
+            expected = e.getMessage();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        boolean valid;
+        try (TextReportWriter report = new TextReportWriter(out, applicationContext, Locale.getDefault())) {
+            valid = validator.validate(configs, specs, true, null, true, report, ErrorBudget.UNLIMITED);
+        }
+
+        assertFalse(valid);
+        assertEquals(expected + "\n", out.toString(UTF_8.name()));
+    }
+
+    @Test
+    public void validateDocuments_report_errorsPerDocument() throws IOException {
+        File config = temporaryFolder.newFile("documents.yaml");
+        File spec = temporaryFolder.newFile("documents_spec.groovy");
+        try (
+                FileOutputStream configStream = new FileOutputStream(config);
+                OutputStreamWriter configWriter = new OutputStreamWriter(configStream, UTF_8.name());
+                FileOutputStream specStream = new FileOutputStream(spec);
+                OutputStreamWriter specWriter = new OutputStreamWriter(specStream, UTF_8.name())
+        ) {
+            configWriter.write("name: first\n---\nother: 1\n---\nname: third\n");
+            specWriter.write("\"name\"(nullable: false)");
+        }
+
+        List<ConfigError> errors = new ArrayList<>();
+        boolean valid = validator.validateDocuments(
+                new String[]{config.toString()},
+                new String[]{spec.toString()},
+                true,
+                null,
+                false,
+                errors::add,
+                ErrorBudget.UNLIMITED
+        );
+
+        assertFalse(valid);
+        assertEquals(1, errors.size());
+        assertEquals(1, ((DocumentConfigError) errors.get(0)).document.index);
+    }
+
+    @Test
+    public void validate_failFast_onlyFirstError() {
+        try {
+            validator.validate(
+                    new String[]{CONFIG_ROOT.toString()},
+                    new String[]{SPECIFICATION_ROOT.toString()},
+                    true,
+                    null,
+                    true,
+                    new ErrorBudget(1)
+            );
+            fail("was expected to fail with an exception");
+
+        } catch (ConfigValidationException e) {
+            assertEquals(
+                    "Validation errors:\n" +
+                            "- errors.type_conversion_settings: will.fail - src/test/resources/specs/config_spec.groovy(config_spec.groovy:23) - invalid",
+                    e.getMessage());
+        }
+    }
+
+    @Test
+    public void validateSets_independentSets_ownContextAndReportPerSet() throws IOException {
+        File name = temporaryFolder.newFile("name.groovy");
+        File copy = temporaryFolder.newFile("copy.groovy");
+        File spec = temporaryFolder.newFile("copy_spec.groovy");
+        try (
+                FileOutputStream nameStream = new FileOutputStream(name);
+                OutputStreamWriter nameWriter = new OutputStreamWriter(nameStream, UTF_8.name());
+                FileOutputStream copyStream = new FileOutputStream(copy);
+                OutputStreamWriter copyWriter = new OutputStreamWriter(copyStream, UTF_8.name());
+                FileOutputStream specStream = new FileOutputStream(spec);
+                OutputStreamWriter specWriter = new OutputStreamWriter(specStream, UTF_8.name())
+        ) {
+            nameWriter.write("name = \"expected\"\n");
+            copyWriter.write("copy = \"${this.\"name\"}\".toString()\n");
+            specWriter.write("\"copy\"(matches: /expected/)");
+        }
+
+        List<ConfigSet> sets = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            sets.add(i % 2 == 0
+                    ? new ConfigSet("with name " + i, name.getPath(), copy.getPath())
+                    : new ConfigSet("without name " + i, copy.getPath()));
+        }
+
+        Map<Integer, List<ConfigError>> reports = new ConcurrentHashMap<>();
+        BatchSummary summary = validator.validateSets(
+                sets,
+                new String[]{spec.toString()},
+                true,
+                null,
+                false,
+                (set, index) -> {
+                    List<ConfigError> errors = new ArrayList<>();
+                    reports.put(index, errors);
+                    return errors::add;
+                },
+                0
+        );
+
+        assertEquals(20, summary.results.size());
+        assertEquals(10, summary.getInvalidSets());
+        assertEquals(10, summary.getErrors());
+        assertFalse(summary.isValid());
+        for (int i = 0; i < sets.size(); i++) {
+            ConfigSetResult result = summary.results.get(i);
+            assertSame(sets.get(i), result.set);
+            assertEquals(i % 2 == 0, result.valid);
+            assertEquals(i % 2 == 0 ? 0 : 1, result.errors);
+            assertEquals(result.errors, reports.get(i).size());
+        }
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import com.github.pjungermann.config.loader.errors.NoSuchFileError;
+import com.github.pjungermann.config.validation.report.ReportFormat;
+import com.github.pjungermann.config.validation.report.ValidationReport;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link OrderedConfigSetReports}.
+ *
+ * @author Patrick Jungermann
+ */
+public class OrderedConfigSetReportsTest {
+
+    static final String NL = System.lineSeparator();
+
+    ByteArrayOutputStream out;
+    StaticMessageSource messageSource;
+
+    @Before
+    public void setUp() {
+        out = new ByteArrayOutputStream();
+        messageSource = new StaticMessageSource();
+        messageSource.addMessage("errors.config_file.default", Locale.getDefault(), "{0}: {1}");
+    }
+
+    OrderedConfigSetReports reports(final ReportFormat format) {
+        return new OrderedConfigSetReports(out, format, messageSource, Locale.getDefault());
+    }
+
+    static ConfigSet set(final String name) {
+        return new ConfigSet(name, name + ".json");
+    }
+
+    static void report(final ValidationReport report, final String file) {
+        report.report(new NoSuchFileError(new File(file)));
+    }
+
+    String written() {
+        return new String(out.toByteArray(), UTF_8);
+    }
+
+    @Test
+    public void createReport_firstSet_streamedBeforeCompletion() throws IOException {
+        final OrderedConfigSetReports reports = reports(ReportFormat.JSONL);
+        final ValidationReport a = reports.createReport(set("a"), 0);
+        final ValidationReport b = reports.createReport(set("b"), 1);
+
+        for (int i = 0; i < 1000; i++) {
+            report(a, "a" + i + ".json");
+            report(b, "b" + i + ".json");
+        }
+
+        // more than the report writer's buffer
+        assertTrue(written().startsWith("# a" + NL));
+        assertFalse(written().contains("# b"));
+
+        b.close();
+        a.close();
+
+        assertEquals(2002, written().split("\n").length);
+        assertTrue(written().indexOf("a999.json") < written().indexOf("# b" + NL));
+    }
+
+    @Test
+    public void createReport_setsCompletedOutOfOrder_writtenInSetOrder() throws IOException {
+        final OrderedConfigSetReports reports = reports(ReportFormat.TEXT);
+        final ValidationReport a = reports.createReport(set("a"), 0);
+        final ValidationReport b = reports.createReport(set("b"), 1);
+        final ValidationReport c = reports.createReport(set("c"), 2);
+
+        report(c, "c.json");
+        c.close();
+        report(b, "b.json");
+        assertEquals("", written());
+
+        report(a, "a.json");
+        a.close();
+        b.close();
+
+        final String text = written();
+        assertEquals(0, text.indexOf("# a" + NL));
+        assertTrue(text.indexOf("a.json") < text.indexOf("# b" + NL));
+        assertTrue(text.indexOf("# b" + NL) < text.indexOf("b.json"));
+        assertTrue(text.indexOf("b.json") < text.indexOf("# c" + NL));
+        assertTrue(text.indexOf("# c" + NL) < text.indexOf("c.json"));
+    }
+
+    @Test
+    public void createReport_validSets_notWritten() throws IOException {
+        final OrderedConfigSetReports reports = reports(ReportFormat.SARIF);
+        final ValidationReport a = reports.createReport(set("a"), 0);
+        final ValidationReport b = reports.createReport(set("b"), 1);
+        final ValidationReport c = reports.createReport(set("c"), 2);
+
+        a.close();
+        report(b, "b.json");
+        c.close();
+        b.close();
+
+        final String sarif = written();
+        assertEquals(0, sarif.indexOf("# b" + NL));
+        assertEquals(1, sarif.split("# ").length - 1);
+        assertEquals(1, sarif.split("\"\\$schema\"").length - 1);
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.ConfigError;
+import com.github.pjungermann.config.reference.SourceLine;
+import com.github.pjungermann.config.specification.ConfigSpecification;
+import com.github.pjungermann.config.specification.constraint.Constraint;
+import com.github.pjungermann.config.specification.constraint.ErrorBudget;
+import com.github.pjungermann.config.specification.constraint.InvalidConstraintConfigError;
+import com.github.pjungermann.config.specification.constraint.matches.MatchesConstraint;
+import com.github.pjungermann.config.specification.constraint.matches.RegexMode;
+import com.github.pjungermann.config.specification.constraint.maxSize.MaxSizeConstraint;
+import com.github.pjungermann.config.specification.constraint.multi.MultiConfigError;
+import com.github.pjungermann.config.specification.constraint.nullable.NullableConstraint;
+import com.github.pjungermann.config.specification.constraint.range.RangeConstraint;
+import com.github.pjungermann.config.specification.constraint.validator.ValidatorConstraint;
+import com.github.pjungermann.config.specification.types.AsTypeConverter;
+import groovy.lang.Closure;
+import groovy.lang.IntRange;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.*;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ValidationPlan}.
+ *
+ * @author Patrick Jungermann
+ */
+public class ValidationPlanTest {
+
+    static final SourceLine SOURCE_LINE = new SourceLine(new File("fake"), 1);
+
+    AsTypeConverter typeConverter;
+    List<Constraint> constraints;
+    List<ConfigError> specificationErrors;
+
+    @Before
+    public void setUp() {
+        typeConverter = new AsTypeConverter();
+        typeConverter.register("converted", Integer.class);
+
+        constraints = new ArrayList<>();
+        constraints.add(new NullableConstraint("key", false, SOURCE_LINE));
+        constraints.add(new MaxSizeConstraint("other", 3, SOURCE_LINE));
+        constraints.add(new MaxSizeConstraint("key", 3, SOURCE_LINE));
+        constraints.add(new RangeConstraint("list.[*].port", new IntRange(1, 10), SOURCE_LINE));
+        constraints.add(new MaxSizeConstraint("list", 2, SOURCE_LINE));
+
+        specificationErrors = new ArrayList<>();
+    }
+
+    ValidationPlan plan() {
+        return new ValidationPlan(new ConfigSpecification(typeConverter, constraints, specificationErrors));
+    }
+
+    static Map<String, Object> item(final int port) {
+        final Map<String, Object> item = new HashMap<>();
+        item.put("port", port);
+
+        return item;
+    }
+
+    @Test
+    public void getConstraints_always_allConstraintsInSpecificationOrder() {
+        assertEquals(constraints, plan().getConstraints());
+    }
+
+    @Test
+    public void getConstraints_forKey_onlyConstraintsOfThisKey() {
+        ValidationPlan plan = plan();
+
+        assertEquals(asList(constraints.get(0), constraints.get(2)), plan.getConstraints("key"));
+        assertEquals(singletonList(constraints.get(3)), plan.getConstraints("list.[*].port"));
+        assertEquals(emptyList(), plan.getConstraints("unknown"));
+    }
+
+    @Test
+    public void getCollectionConstraints_forCollectionKey_constraintsOfItsEntries() {
+        ValidationPlan plan = plan();
+
+        assertEquals(singletonList(constraints.get(3)), plan.getCollectionConstraints("list"));
+        assertEquals(emptyList(), plan.getCollectionConstraints("key"));
+    }
+
+    @Test
+    public void getKeys_always_constraintAndTypeConversionKeys() {
+        assertEquals(
+                new HashSet<>(asList("key", "other", "list.[*].port", "list", "converted")),
+                plan().getKeys()
+        );
+    }
+
+    @Test
+    public void getErrors_always_errorsOfTheSpecification() {
+        ConfigError error = new InvalidConstraintConfigError(constraints.get(0), null);
+        specificationErrors.add(error);
+
+        assertEquals(singletonList(error), plan().getErrors());
+    }
+
+    @Test
+    public void validate_multipleLinearMatchesConstraints_errorsInSpecificationOrder() {
+        constraints.clear();
+        constraints.add(new MatchesConstraint("key", "[a-z]+", SOURCE_LINE, RegexMode.LINEAR));
+        constraints.add(new MaxSizeConstraint("key", 3, SOURCE_LINE));
+        constraints.add(new MatchesConstraint("key", "v.*", SOURCE_LINE, RegexMode.LINEAR));
+        constraints.add(new MatchesConstraint("key", "\\d+", SOURCE_LINE, RegexMode.LINEAR));
+        ValidationPlan plan = plan();
+
+        Config config = new Config();
+        config.put("key", "value");
+        List<ConfigError> errors = plan.validate(config);
+
+        assertEquals(2, errors.size());
+        assertEquals(String.valueOf(constraints.get(1).validate(config)), errors.get(0).toString());
+        assertEquals(String.valueOf(constraints.get(3).validate(config)), errors.get(1).toString());
+
+        config.put("key", "42");
+        errors = plan.validate(config);
+
+        assertEquals(2, errors.size());
+        assertEquals(String.valueOf(constraints.get(0).validate(config)), errors.get(0).toString());
+        assertEquals(String.valueOf(constraints.get(2).validate(config)), errors.get(1).toString());
+    }
+
+    @Test
+    public void validate_linearMatchesConstraintsTooLargeToCombine_matchEachOnItsOwn() {
+        constraints.clear();
+        // each pattern fits into the linear mode on its own, but not combined
+        constraints.add(new MatchesConstraint("key", "[a-z]{12000}", SOURCE_LINE, RegexMode.LINEAR));
+        constraints.add(new MatchesConstraint("key", "[a-y]{12000}", SOURCE_LINE, RegexMode.LINEAR));
+        final ValidationPlan plan = plan();
+
+        final Config config = new Config();
+        config.put("key", "value");
+        final List<ConfigError> errors = plan.validate(config);
+
+        assertEquals(2, errors.size());
+        assertEquals(String.valueOf(constraints.get(0).validate(config)), errors.get(0).toString());
+        assertEquals(String.valueOf(constraints.get(1).validate(config)), errors.get(1).toString());
+    }
+
+    @Test
+    public void validate_validConfig_noErrors() {
+        Config config = new Config();
+        config.put("key", "abc");
+        config.put("other", "ab");
+        config.put("list", asList(item(1), item(10)));
+
+        assertEquals(emptyList(), plan().validate(config));
+    }
+
+    @Test
+    public void validate_invalidConfig_errorsInSpecificationOrder() {
+        Config config = new Config();
+        config.put("other", "abcd");
+        config.put("list", asList(item(0), item(1), item(11)));
+
+        List<ConfigError> errors = plan().validate(config);
+
+        assertEquals(4, errors.size());
+        assertEquals("nullable failed for key key", errors.get(0).toString());
+        assertEquals("maxSize failed for key other", errors.get(1).toString());
+        assertTrue(errors.get(2) instanceof MultiConfigError);
+        assertEquals("maxSize failed for key list", errors.get(3).toString());
+    }
+
+    @Test
+    public void validate_invalidExpectation_reportInvalidConstraintConfigError() {
+        constraints.clear();
+        constraints.add(new MaxSizeConstraint("key", "invalid", SOURCE_LINE));
+
+        Config config = new Config();
+        config.put("key", "abc");
+
+        List<ConfigError> errors = plan().validate(config);
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof InvalidConstraintConfigError);
+    }
+
+    @Test
+    public void validate_multipleConstraintsPerKey_resolveValueOnlyOnce() {
+        final List<Object> lookups = new ArrayList<>();
+        Config config = new Config() {
+            @Override
+            public Object get(final Object key) {
+                lookups.add(key);
+                return super.get(key);
+            }
+        };
+        config.put("key", "abc");
+        constraints.subList(1, constraints.size()).clear();
+        constraints.add(new MaxSizeConstraint("key", 3, SOURCE_LINE));
+
+        plan().validate(config);
+
+        assertEquals(singletonList("key"), lookups);
+    }
+
+    @Test
+    public void validate_multipleConfigs_reusable() {
+        ValidationPlan plan = plan();
+
+        Config valid = new Config();
+        valid.put("key", "abc");
+        Config invalid = new Config();
+
+        assertEquals(0, plan.validate(valid).size());
+        assertEquals(1, plan.validate(invalid).size());
+        assertEquals(0, plan.validate(valid).size());
+    }
+
+    @Test
+    public void validate_changedKeys_reevaluateOnlyAffectedConstraints() {
+        constraints.add(new ValidatorConstraint("global", new Closure<Boolean>(this) {
+            @Override
+            public Boolean call(Object... args) {
+                return ((Config) args[0]).containsKey("other");
+            }
+        }, SOURCE_LINE));
+        ValidationPlan plan = plan();
+        Config config = new Config();
+        config.put("key", "abc");
+        config.put("other", "abc");
+        config.put("global", "value");
+        config.put("list", asList(item(1), item(2)));
+        ConfigError[] results = new ConfigError[constraints.size()];
+        plan.validate(config, results);
+        assertEquals(emptyList(), ValidationPlan.collectErrors(results));
+
+        final List<Object> lookups = new ArrayList<>();
+        Config changed = new Config() {
+            @Override
+            public Object get(final Object key) {
+                lookups.add(key);
+                return super.get(key);
+            }
+        };
+        changed.put("key", "abc");
+        changed.put("global", "value");
+        changed.put("list", asList(item(1), item(20)));
+        plan.validate(changed, asList("other", "list"), results);
+
+        assertEquals(asList("global", "other", "list", "list"), lookups);
+        List<ConfigError> errors = ValidationPlan.collectErrors(results);
+        assertEquals(2, errors.size());
+        assertTrue(errors.get(0) instanceof MultiConfigError);
+        assertEquals("validator failed for key global", errors.get(1).toString());
+    }
+
+    @Test
+    public void validate_changedDependencyKey_reevaluateDependentConstraints() {
+        constraints.clear();
+        Map<String, Object> settings = new HashMap<>();
+        settings.put(ValidatorConstraint.DEPENDS_ON, "max");
+        settings.put(ValidatorConstraint.CLOSURE, new Closure<Boolean>(this) {
+            @Override
+            public Boolean call(Object... args) {
+                return ((Integer) args[2]) <= (Integer) ((Config) args[0]).get("max");
+            }
+        });
+        constraints.add(new ValidatorConstraint("value", settings, SOURCE_LINE));
+        constraints.add(new MaxSizeConstraint("other", 3, SOURCE_LINE));
+        ValidationPlan plan = plan();
+        Config config = new Config();
+        config.put("value", 5);
+        config.put("max", 10);
+        config.put("other", "abcd");
+        ConfigError[] results = new ConfigError[constraints.size()];
+        plan.validate(config, results);
+        assertEquals(1, ValidationPlan.collectErrors(results).size());
+
+        config.put("max", 4);
+        config.put("other", "abc");
+        plan.validate(config, singletonList("max"), results);
+
+        // "other" not re-evaluated
+        List<ConfigError> errors = ValidationPlan.collectErrors(results);
+        assertEquals(2, errors.size());
+        assertEquals("validator failed for key value", errors.get(0).toString());
+        assertEquals("maxSize failed for key other", errors.get(1).toString());
+    }
+
+    @Test
+    public void validate_noChangedKeys_keepPreviousResults() {
+        ValidationPlan plan = plan();
+        ConfigError[] results = new ConfigError[constraints.size()];
+        plan.validate(new Config(), results);
+
+        Config config = new Config();
+        config.put("key", "abc");
+        plan.validate(config, emptyList(), results);
+
+        assertEquals("nullable failed for key key", ValidationPlan.collectErrors(results).get(0).toString());
+
+        plan.validate(config, singletonList("key"), results);
+
+        assertEquals(emptyList(), ValidationPlan.collectErrors(results));
+    }
+
+    @Test
+    public void validate_manyKeys_errorsInSpecificationOrder() {
+        constraints.clear();
+        Config config = new Config();
+        for (int i = 0; i < ValidationPlan.PARALLEL_THRESHOLD * 4; i++) {
+            constraints.add(new MaxSizeConstraint("key" + i, 1, SOURCE_LINE));
+            config.put("key" + i, "value" + i);
+        }
+
+        List<ConfigError> errors = plan().validate(config);
+
+        assertEquals(constraints.size(), errors.size());
+        for (int i = 0; i < errors.size(); i++) {
+            assertEquals("maxSize failed for key key" + i, errors.get(i).toString());
+        }
+    }
+
+    @Test
+    public void validate_report_errorsReportedInSpecificationOrder() {
+        Config config = new Config();
+        config.put("other", "too long");
+        config.put("list", asList(item(0), item(5), item(11)));
+
+        List<ConfigError> errors = new ArrayList<>();
+        plan().validate(config, errors::add);
+
+        List<ConfigError> expected = plan().validate(config);
+        assertEquals(4, errors.size());
+        assertEquals(expected.size(), errors.size());
+        for (int i = 0; i < errors.size(); i++) {
+            assertEquals(expected.get(i).getClass(), errors.get(i).getClass());
+        }
+        assertEquals("maxSize failed for key other", errors.get(1).toString());
+    }
+
+    @Test
+    public void validate_manyKeysWithReport_errorsReportedInSpecificationOrder() {
+        constraints.clear();
+        Config config = new Config();
+        for (int i = 0; i < ValidationPlan.PARALLEL_THRESHOLD * 4; i++) {
+            constraints.add(new MaxSizeConstraint("key" + i, 1, SOURCE_LINE));
+            config.put("key" + i, "value" + i);
+        }
+
+        List<ConfigError> errors = Collections.synchronizedList(new ArrayList<>());
+        plan().validate(config, errors::add);
+
+        assertEquals(constraints.size(), errors.size());
+        for (int i = 0; i < errors.size(); i++) {
+            assertEquals("maxSize failed for key key" + i, errors.get(i).toString());
+        }
+    }
+
+    @Test
+    public void validate_errorBudget_skipConstraintsAfterExhaustedBudget() {
+        Config config = new Config();
+        config.put("other", "too long");
+        config.put("list", asList(item(0), item(5), item(11)));
+
+        List<ConfigError> errors = new ArrayList<>();
+        ErrorBudget budget = new ErrorBudget(2);
+        plan().validate(config, errors::add, budget);
+
+        assertEquals(2, errors.size());
+        assertEquals("nullable failed for key key", errors.get(0).toString());
+        assertEquals("maxSize failed for key other", errors.get(1).toString());
+        assertTrue(budget.isExhausted());
+    }
+
+    @Test
+    public void validate_manyKeysWithErrorBudget_onlyErrorsWithinBudget() {
+        constraints.clear();
+        Config config = new Config();
+        for (int i = 0; i < ValidationPlan.PARALLEL_THRESHOLD * 4; i++) {
+            constraints.add(new MaxSizeConstraint("key" + i, 1, SOURCE_LINE));
+            config.put("key" + i, "value" + i);
+        }
+
+        List<ConfigError> errors = Collections.synchronizedList(new ArrayList<>());
+        plan().validate(config, errors::add, new ErrorBudget(5));
+
+        assertEquals(5, errors.size());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation;
+
+import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.reference.SourceLine;
+import com.github.pjungermann.config.specification.ConfigSpecification;
+import com.github.pjungermann.config.specification.constraint.Constraint;
+import com.github.pjungermann.config.specification.constraint.maxSize.MaxSizeConstraint;
+import com.github.pjungermann.config.specification.constraint.nullable.NullableConstraint;
+import com.github.pjungermann.config.specification.types.AsTypeConverter;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link ValidationResult}.
+ *
+ * @author Patrick Jungermann
+ */
+public class ValidationResultTest {
+
+    static final SourceLine SOURCE_LINE = new SourceLine(new File("fake"), 1);
+
+    static List<String> messages(ValidationResult result) {
+        List<String> messages = new ArrayList<>();
+        result.getErrors().forEach(error -> messages.add(error.toString()));
+
+        return messages;
+    }
+
+    @Test
+    public void revalidate_changedConfig_sameErrorsAsFullValidation() {
+        List<Constraint> constraints = new ArrayList<>();
+        for (int i = 0; i < ValidationPlan.PARALLEL_THRESHOLD * 2; i++) {
+            constraints.add(new NullableConstraint("key" + i, false, SOURCE_LINE));
+            constraints.add(new MaxSizeConstraint("key" + i, 3, SOURCE_LINE));
+        }
+        ValidationPlan plan = new ValidationPlan(
+                new ConfigSpecification(new AsTypeConverter(), constraints, new ArrayList<>()));
+
+        Config config = new Config();
+        for (int i = 0; i < ValidationPlan.PARALLEL_THRESHOLD * 2; i++) {
+            config.put("key" + i, "abc");
+        }
+        config.put("key1", "abcd");
+        ValidationResult result = ValidationResult.validate(plan, config);
+        assertSame(config, result.getConfig());
+        assertSame(plan, result.getPlan());
+        assertEquals(asList("maxSize failed for key key1"), messages(result));
+
+        Config changed = new Config(config);
+        changed.put("key1", "abc");
+        changed.remove("key2");
+        changed.put("key3", "abcde");
+        ValidationResult changedResult = result.revalidate(changed);
+
+        assertEquals(messages(ValidationResult.validate(plan, changed)), messages(changedResult));
+        assertEquals(asList("nullable failed for key key2", "maxSize failed for key key3"), messages(changedResult));
+        // the previous result is unchanged
+        assertEquals(asList("maxSize failed for key key1"), messages(result));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link JsonLinesReportWriter}.
+ *
+ * @author Patrick Jungermann
+ */
+public class JsonLinesReportWriterTest {
+
+    @Test
+    public void report_errors_oneLinePerSingleError() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (JsonLinesReportWriter report = new JsonLinesReportWriter(
+                out, TextReportWriterTest.messageSource(), Locale.getDefault())) {
+            TextReportWriterTest.errors().forEach(report::report);
+        }
+
+        String[] lines = out.toString(UTF_8.name()).split("\n", -1);
+        assertEquals(6, lines.length);
+        assertEquals("", lines[5]);
+
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode file = mapper.readTree(lines[0]);
+        assertEquals("NoSuchFileError", file.get("type").asText());
+        assertEquals("missing.json", file.get("file").asText());
+        assertTrue(file.get("message").asText().endsWith("missing.json"));
+        assertNull(file.get("key"));
+
+        JsonNode constraint = mapper.readTree(lines[1]);
+        assertEquals("ConfigConstraintError", constraint.get("type").asText());
+        assertEquals("key is too long: ab", constraint.get("message").asText());
+        assertEquals("key", constraint.get("key").asText());
+        assertEquals("maxSize", constraint.get("constraint").asText());
+        assertEquals("spec.groovy", constraint.get("specification").get("file").asText());
+        assertEquals(3, constraint.get("specification").get("line").asInt());
+        assertNull(constraint.get("collection"));
+
+        JsonNode entry = mapper.readTree(lines[3]);
+        assertEquals("list.[*].name is too long: ef", entry.get("message").asText());
+        assertEquals("list", entry.get("collection").asText());
+
+        JsonNode document = mapper.readTree(lines[4]);
+        assertEquals("list.[*].name is too long: gh", document.get("message").asText());
+        assertEquals("list", document.get("collection").asText());
+        assertEquals(1, document.get("document").asInt());
+        assertEquals("documents.yaml", document.get("file").asText());
+    }
+
+    @Test
+    public void close_noErrors_emptyReport() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new JsonLinesReportWriter(out, TextReportWriterTest.messageSource(), Locale.getDefault()).close();
+
+        assertEquals(0, out.size());
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation.report;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link ReportFormat}.
+ *
+ * @author Patrick Jungermann
+ */
+public class ReportFormatTest {
+
+    @Test
+    public void of_caseInsensitiveName_format() {
+        assertEquals(ReportFormat.TEXT, ReportFormat.of("text"));
+        assertEquals(ReportFormat.JSONL, ReportFormat.of(" JSONL "));
+        assertEquals(ReportFormat.SARIF, ReportFormat.of("Sarif"));
+        assertEquals(ReportFormat.SARIF, ReportFormat.of(ReportFormat.SARIF));
+    }
+
+    @Test
+    public void of_unknownValue_null() {
+        assertNull(ReportFormat.of("xml"));
+        assertNull(ReportFormat.of(null));
+        assertNull(ReportFormat.of(1));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SarifReportWriter}.
+ *
+ * @author Patrick Jungermann
+ */
+public class SarifReportWriterTest {
+
+    @Test
+    public void report_errors_oneResultPerSingleError() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (SarifReportWriter report = new SarifReportWriter(
+                out, TextReportWriterTest.messageSource(), Locale.getDefault())) {
+            TextReportWriterTest.errors().forEach(report::report);
+        }
+
+        JsonNode log = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals(SarifReportWriter.VERSION, log.get("version").asText());
+        assertEquals(SarifReportWriter.SCHEMA, log.get("$schema").asText());
+        assertEquals(1, log.get("runs").size());
+
+        JsonNode run = log.get("runs").get(0);
+        assertEquals(SarifReportWriter.TOOL_NAME, run.get("tool").get("driver").get("name").asText());
+
+        JsonNode results = run.get("results");
+        assertEquals(5, results.size());
+
+        JsonNode file = results.get(0);
+        assertEquals("NoSuchFileError", file.get("ruleId").asText());
+        assertEquals("error", file.get("level").asText());
+        assertEquals(
+                new File("missing.json").toURI().toString(),
+                file.get("locations").get(0).get("physicalLocation").get("artifactLocation").get("uri").asText());
+        assertNull(file.get("relatedLocations"));
+
+        JsonNode constraint = results.get(1);
+        assertEquals("maxSize", constraint.get("ruleId").asText());
+        assertEquals("key is too long: ab", constraint.get("message").get("text").asText());
+        assertNull(constraint.get("locations"));
+        JsonNode specification = constraint.get("relatedLocations").get(0).get("physicalLocation");
+        assertEquals(
+                new File("spec.groovy").toURI().toString(),
+                specification.get("artifactLocation").get("uri").asText());
+        assertEquals(3, specification.get("region").get("startLine").asInt());
+        assertEquals("key", constraint.get("properties").get("key").asText());
+
+        JsonNode document = results.get(4);
+        assertEquals("list", document.get("properties").get("collection").asText());
+        assertEquals(1, document.get("properties").get("document").asInt());
+        assertEquals(
+                new File("documents.yaml").toURI().toString(),
+                document.get("locations").get(0).get("physicalLocation").get("artifactLocation").get("uri").asText());
+    }
+
+    @Test
+    public void close_noErrors_logWithoutResults() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new SarifReportWriter(out, TextReportWriterTest.messageSource(), Locale.getDefault()).close();
+
+        JsonNode log = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals(0, log.get("runs").get(0).get("results").size());
+    }
+}
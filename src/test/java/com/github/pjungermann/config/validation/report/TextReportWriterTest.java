@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.validation.report;
+
+import com.github.pjungermann.config.Config;
+import com.github.pjungermann.config.ConfigError;
+import com.github.pjungermann.config.errors.DocumentConfigError;
+import com.github.pjungermann.config.loader.ConfigDocument;
+import com.github.pjungermann.config.loader.errors.NoSuchFileError;
+import com.github.pjungermann.config.reference.SourceLine;
+import com.github.pjungermann.config.specification.constraint.ConfigConstraintError;
+import com.github.pjungermann.config.specification.constraint.maxSize.MaxSizeConstraint;
+import com.github.pjungermann.config.specification.constraint.multi.CollectionKeyBuilder;
+import com.github.pjungermann.config.specification.constraint.multi.MultiConfigError;
+import com.github.pjungermann.config.validation.ConfigValidationException;
+import org.junit.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link TextReportWriter}.
+ *
+ * @author Patrick Jungermann
+ */
+public class TextReportWriterTest {
+
+    static final SourceLine SOURCE_LINE = new SourceLine(new File("spec.groovy"), 3);
+
+    static StaticMessageSource messageSource() {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("constraints.invalid.maxSize.message", Locale.getDefault(), "{1} is too long: {2}");
+        messageSource.addMessage("errors.config_file.default", Locale.getDefault(), "{0}: {1}");
+
+        return messageSource;
+    }
+
+    static List<ConfigError> errors() {
+        List<ConfigError> errors = new ArrayList<>();
+        errors.add(new NoSuchFileError(new File("missing.json")));
+        errors.add(new ConfigConstraintError(new MaxSizeConstraint("key", 1, SOURCE_LINE), "ab"));
+        errors.add(new MultiConfigError(
+                CollectionKeyBuilder.build("list.[*].name"),
+                asList(
+                        new ConfigConstraintError(new MaxSizeConstraint("list.[*].name", 1, SOURCE_LINE), "cd"),
+                        new ConfigConstraintError(new MaxSizeConstraint("list.[*].name", 1, SOURCE_LINE), "ef")
+                )));
+        errors.add(new DocumentConfigError(
+                new ConfigDocument(new File("documents.yaml"), 1, new Config()),
+                singletonList(new MultiConfigError(
+                        CollectionKeyBuilder.build("list.[*].name"),
+                        singletonList(
+                                new ConfigConstraintError(new MaxSizeConstraint("list.[*].name", 1, SOURCE_LINE), "gh")
+                        )))));
+
+        return errors;
+    }
+
+    @Test
+    public void report_errors_sameMessageAsException() throws IOException {
+        StaticMessageSource messageSource = messageSource();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (TextReportWriter report = new TextReportWriter(out, messageSource, Locale.getDefault())) {
+            errors().forEach(report::report);
+        }
+
+        assertEquals(
+                new ConfigValidationException(messageSource, errors()).getMessage() + "\n",
+                out.toString(UTF_8.name()));
+    }
+
+    @Test
+    public void close_noErrors_emptyReport() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new TextReportWriter(out, messageSource(), Locale.getDefault()).close();
+
+        assertEquals(0, out.size());
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2015-2016 Patrick Jungermann
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.pjungermann.config.watch;
+
+import com.github.pjungermann.config.DefaultKeyBuilder;
+import com.github.pjungermann.config.loader.ConfigLoader;
+import com.github.pjungermann.config.loader.DefaultConfigLoader;
+import com.github.pjungermann.config.specification.ConfigSpecificationLoader;
+import com.github.pjungermann.config.specification.DefaultConfigSpecificationLoader;
+import com.github.pjungermann.config.specification.constraint.ConstraintRegistry;
+import com.github.pjungermann.config.specification.constraint.maxSize.MaxSizeConstraintFactory;
+import com.github.pjungermann.config.specification.constraint.nullable.NullableConstraintFactory;
+import com.github.pjungermann.config.specification.dsl.groovy.GroovyDSLSpecificationReader;
+import com.github.pjungermann.config.specification.types.AsTypeConverter;
+import com.github.pjungermann.config.specification.types.TypeConverter;
+import com.github.pjungermann.config.types.DefaultConfigFactorySelector;
+import com.github.pjungermann.config.types.properties.PropertiesConfigFactory;
+import com.github.pjungermann.config.types.properties.PropertiesConverter;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link WatchedValidation}.
+ *
+ * @author Patrick Jungermann
+ */
+public class WatchedValidationTest {
+
+    private static StaticApplicationContext applicationContext;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    File configs;
+    File specs;
+    List<File> loadedConfigs;
+    WatchedValidation validation;
+
+    static void register(final int autowireMode, final Class... classes) {
+        for (Class clazz : classes) {
+            applicationContext.registerBeanDefinition(
+                    clazz.getName(),
+                    BeanDefinitionBuilder
+                            .rootBeanDefinition(clazz)
+                            .setAutowireMode(autowireMode)
+                            .getBeanDefinition()
+            );
+        }
+    }
+
+    @BeforeClass
+    public static void setUpApplicationContext() {
+        applicationContext = new StaticApplicationContext();
+        register(AutowireCapableBeanFactory.AUTOWIRE_BY_TYPE,
+                DefaultKeyBuilder.class,
+                PropertiesConfigFactory.class,
+                PropertiesConverter.class,
+                DefaultConfigFactorySelector.class,
+                AsTypeConverter.class,
+                MaxSizeConstraintFactory.class,
+                NullableConstraintFactory.class
+        );
+        register(AutowireCapableBeanFactory.AUTOWIRE_CONSTRUCTOR,
+                ConstraintRegistry.class,
+                DefaultConfigLoader.class,
+                GroovyDSLSpecificationReader.class,
+                DefaultConfigSpecificationLoader.class
+        );
+        applicationContext.refresh();
+        applicationContext.getStaticMessageSource().addMessage(
+                "constraints.invalid.default.message", Locale.getDefault(), "{4} failed for {1}");
+        applicationContext.getStaticMessageSource().addMessage(
+                "errors.keys_without_specification", Locale.getDefault(), "without specification: {0}");
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        configs = temporaryFolder.newFolder("configs");
+        specs = temporaryFolder.newFolder("specs");
+        write(new File(configs, "a.properties"), "a=too long\n");
+        write(new File(configs, "b.properties"), "b=ok\n");
+        write(new File(specs, "spec.groovy"), "\"a\"(maxSize: 3)\n\"b\"(maxSize: 3)\n\"c\"(nullable: false)\n");
+
+        loadedConfigs = new ArrayList<>();
+        validation = validation(false);
+    }
+
+    WatchedValidation validation(final boolean strictMode) {
+        final ConfigLoader configLoader = applicationContext.getBean(ConfigLoader.class);
+
+        return new WatchedValidation(
+                applicationContext,
+                (profile, context, recursive, source) -> {
+                    loadedConfigs.add(source);
+                    return configLoader.load(profile, context, recursive, source);
+                },
+                applicationContext.getBean(ConfigSpecificationLoader.class),
+                applicationContext.getBean(TypeConverter.class),
+                new String[]{configs.getPath()},
+                new String[]{specs.getPath()},
+                true,
+                null,
+                strictMode
+        );
+    }
+
+    static void write(final File file, final String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+    }
+
+    @Test
+    public void validate_initially_allErrorsAreNew() {
+        ValidationDelta delta = validation.validate();
+
+        assertEquals(asList("maxSize failed for a", "nullable failed for c"), delta.newErrors);
+        assertEquals(emptyList(), delta.resolvedErrors);
+        assertEquals(delta.newErrors, delta.errors);
+        assertEquals(2, loadedConfigs.size());
+    }
+
+    @Test
+    public void update_changedConfig_reloadOnlyChangedFileAndReportDelta() throws IOException {
+        validation.validate();
+        loadedConfigs.clear();
+        File changed = new File(configs, "b.properties");
+        write(changed, "b=too long\nc=set\n");
+
+        ValidationDelta delta = validation.update(singletonList(changed.getAbsoluteFile()));
+
+        assertNotNull(delta);
+        assertEquals(singletonList(changed), loadedConfigs);
+        assertEquals(singletonList("maxSize failed for b"), delta.newErrors);
+        assertEquals(singletonList("nullable failed for c"), delta.resolvedErrors);
+        assertEquals(asList("maxSize failed for a", "maxSize failed for b"), delta.errors);
+    }
+
+    @Test
+    public void update_unrelatedFile_nothingToDo() throws IOException {
+        validation.validate();
+        loadedConfigs.clear();
+
+        assertNull(validation.update(singletonList(temporaryFolder.newFile("unrelated.properties"))));
+        assertEquals(emptyList(), loadedConfigs);
+    }
+
+    @Test
+    public void update_createdAndDeletedConfigs_loadNewAndForgetDeletedFiles() throws IOException {
+        validation.validate();
+        loadedConfigs.clear();
+        File created = new File(configs, "c.properties");
+        write(created, "c=set\n");
+        File deleted = new File(configs, "a.properties");
+        assertTrue(deleted.delete());
+
+        ValidationDelta delta = validation.update(asList(created, deleted));
+
+        assertNotNull(delta);
+        assertEquals(singletonList(created), loadedConfigs);
+        assertEquals(emptyList(), delta.newErrors);
+        assertEquals(asList("maxSize failed for a", "nullable failed for c"), delta.resolvedErrors);
+        assertTrue(delta.errors.isEmpty());
+    }
+
+    @Test
+    public void update_changedSpecification_revalidateAllWithoutReloadingConfigs() throws IOException {
+        validation.validate();
+        loadedConfigs.clear();
+        File spec = new File(specs, "spec.groovy");
+        write(spec, "\"a\"(maxSize: 20)\n\"b\"(maxSize: 1)\n");
+
+        ValidationDelta delta = validation.update(singletonList(spec));
+
+        assertNotNull(delta);
+        assertEquals(emptyList(), loadedConfigs);
+        assertEquals(singletonList("maxSize failed for b"), delta.newErrors);
+        assertEquals(asList("maxSize failed for a", "nullable failed for c"), delta.resolvedErrors);
+    }
+
+    @Test
+    public void update_strictMode_reportKeysWithoutSpecification() throws IOException {
+        validation = validation(true);
+        validation.validate();
+        File changed = new File(configs, "b.properties");
+        write(changed, "b=ok\nc=set\nd=unknown\n");
+
+        ValidationDelta delta = validation.update(singletonList(changed));
+
+        assertNotNull(delta);
+        assertEquals(singletonList("without specification: [d]"), delta.newErrors);
+        assertEquals(singletonList("nullable failed for c"), delta.resolvedErrors);
+    }
+
+    @Test
+    public void getWatchedDirectories_directorySources_directoriesAndSubDirectories() throws IOException {
+        File subDirectory = new File(configs, "sub");
+        assertTrue(subDirectory.mkdir());
+
+        assertEquals(
+                asList(configs.toPath(), subDirectory.toPath(), specs.toPath()),
+                new ArrayList<>(validation.getWatchedDirectories())
+        );
+    }
+}